@@ -140,13 +140,30 @@ tasks {
     }
 
     test {
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("benchmark")
+        }
         testLogging {
             events("passed", "skipped", "failed")
         }
         finalizedBy(jacocoTestReport)
     }
 
+    register<Test>("benchmark") {
+        description = "Runs the benchmarks, excluded from the unit tests."
+        group = "verification"
+        testClassesDirs = sourceSets["test"].output.classesDirs
+        classpath = sourceSets["test"].runtimeClasspath
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+        testLogging {
+            events("passed", "skipped", "failed")
+            showStandardStreams = true
+        }
+        shouldRunAfter(test)
+    }
+
     jacocoTestReport {
         dependsOn(test)
         reports.xml.required.set(true)
@@ -6,20 +6,26 @@
 package io.github.dronesecurity.dronesystem.drone.application.drone;
 
 import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.entities.Drone;
+import io.github.dronesecurity.lib.shared.AlertType;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Service that constantly reads data from sensors and publishes them.
+ * Service that constantly reads data from sensors and publishes them, each one as often as decided by the
+ * {@link SamplingScheduler}.
+ * Every sensor is read, analyzed and published by its own thread, so a slow sensor never delays the others.
  */
 public class DataSharingService {
 
-    private static final long ANALIZER_SLEEP_DURATION = 200;
-
     private final Drone drone;
-    private final ScheduledExecutorService dataExecutor;
+    private final Map<AlertType, ScheduledExecutorService> sensorExecutors = new EnumMap<>(AlertType.class);
+    private final SamplingScheduler scheduler;
 
     /**
      * Constructs the service with a specific drone.
@@ -28,23 +34,38 @@ public class DataSharingService {
      */
     public DataSharingService(final Drone drone) {
         this.drone = drone;
-        this.dataExecutor = Executors.newSingleThreadScheduledExecutor();
+        for (final AlertType sensor : AlertType.values()) {
+            this.sensorExecutors.put(sensor, Executors.newSingleThreadScheduledExecutor(runnable ->
+                    new Thread(runnable, sensor.name().toLowerCase(Locale.ROOT) + "-sensor")));
+        }
+        this.scheduler = SamplingScheduler.fromSettings();
     }
 
     /**
      * Activates the service.
      */
     public void start() {
-        this.dataExecutor.scheduleWithFixedDelay(() -> {
-                this.drone.performReading();
-                this.drone.publishSensorData();
-            }, 0, ANALIZER_SLEEP_DURATION, TimeUnit.MILLISECONDS);
+        this.sensorExecutors.forEach((sensor, executor) -> executor.execute(() -> this.sample(sensor)));
     }
 
     /**
      * Stops the service.
      */
     public void stop() {
-        this.dataExecutor.shutdownNow();
+        this.sensorExecutors.values().forEach(ScheduledExecutorService::shutdownNow);
+    }
+
+    private void sample(final AlertType sensor) {
+        final ScheduledExecutorService executor = this.sensorExecutors.get(sensor);
+        try {
+            final long now = System.nanoTime();
+            this.scheduler.update(this.drone.performReading(sensor), sensor, now);
+            if (this.scheduler.isPublicationDue(sensor, now))
+                this.drone.publishSensorData(EnumSet.of(sensor));
+        } finally {
+            if (!executor.isShutdown())
+                executor.schedule(() -> this.sample(sensor),
+                        this.scheduler.nanosUntilReading(sensor, System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
     }
 }
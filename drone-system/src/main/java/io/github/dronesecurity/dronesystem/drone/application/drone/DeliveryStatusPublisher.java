@@ -5,9 +5,9 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
@@ -24,7 +24,7 @@ public class DeliveryStatusPublisher {
      * @param status status to publish
      */
     public void publishCurrentStatus(final @NotNull OrderData orderData, final String status) {
-        final ObjectNode payload = new ObjectMapper().createObjectNode();
+        final ObjectNode payload = MessageCodecHelper.createObjectNode();
         payload.put(MqttMessageParameterConstants.STATUS_PARAMETER, status);
         Connection.getInstance().publish(MqttTopicConstants.LIFECYCLE_TOPIC + orderData.getOrderId(), payload);
     }
@@ -7,9 +7,9 @@ package io.github.dronesecurity.dronesystem.drone.application.drone;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.entities.Drone;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttMessageValueConstants;
@@ -19,7 +19,6 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.crt.mqtt.MqttMessage;
 
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CountDownLatch;
 
 /**
@@ -50,7 +49,7 @@ public class DroneRemoteCommands {
     public void waitForActivation() {
         Connection.getInstance().subscribe(MqttTopicConstants.ORDER_TOPIC + this.drone.getId(), msg -> {
             try {
-                final JsonNode json = new ObjectMapper().readTree(new String(msg.getPayload(), StandardCharsets.UTF_8));
+                final JsonNode json = MessageCodecHelper.readTree(msg.getPayload());
                 if (MqttMessageValueConstants.PERFORM_DELIVERY_MESSAGE
                         .equals(json.get(MqttMessageParameterConstants.SYNC_PARAMETER).asText())) {
                     this.orderData = this.getOrderDataFromJson(json);
@@ -90,10 +89,9 @@ public class DroneRemoteCommands {
 
         connection.subscribe(MqttTopicConstants.ORDER_TOPIC + this.orderData.getOrderId(), msg -> {
             try {
-                final JsonNode json = new ObjectMapper().readTree(new String(msg.getPayload(), StandardCharsets.UTF_8));
+                final JsonNode json = MessageCodecHelper.readTree(msg.getPayload());
                 if (MqttMessageValueConstants.DRONE_CALLBACK_MESSAGE
                         .equals(json.get(MqttMessageParameterConstants.SYNC_PARAMETER).asText())) {
-                    this.drone.proceed();
                     this.navigationService.callback(this::stopDrone);
                 }
             } catch (JsonProcessingException e) {
@@ -104,7 +102,7 @@ public class DroneRemoteCommands {
 
     private void control(final @NotNull MqttMessage message) {
         try {
-            final JsonNode json = new ObjectMapper().readTree(new String(message.getPayload(), StandardCharsets.UTF_8));
+            final JsonNode json = MessageCodecHelper.readTree(message.getPayload());
             if (json.has(MqttMessageParameterConstants.MODE_PARAMETER)) {
                 final String mode = json.get(MqttMessageParameterConstants.MODE_PARAMETER).asText();
                 if (MqttMessageValueConstants.AUTOMATIC_MODE_MESSAGE.equals(mode))
@@ -5,36 +5,45 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone;
 
+import io.github.dronesecurity.dronesystem.drone.application.drone.navigation.TimerWheel;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.entities.Drone;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.DroneState;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.Leg;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.services.DroneStateListener;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.lib.connection.MqttMessageValueConstants;
 import org.jetbrains.annotations.NotNull;
 
 import java.security.SecureRandom;
-import java.time.Instant;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Service that simulates a delivery.
+ * Each leg of the journey is a single timeout of a {@link TimerWheel}, scheduled while the drone moves and cancelled
+ * as soon as a {@link DroneState} change halts it, keeping the travel time left for when it proceeds again. Times are
+ * measured by the clock of the wheel, so journeys can be simulated faster than real time.
  */
 public class NavigationService {
 
     private static final long TRAVELING_TIME = 6000;
-    private static final long TRAVEL_SIMULATION_DELAY = 50;
     private static final int RANDOM_GENERATION_RANGE = 100;
     private static final int SUCCESS_PERCENTAGE = 70;
 
     private final SecureRandom randomGenerator;
-    private final ScheduledExecutorService deliveryExecutor;
-    private final ScheduledExecutorService returnExecutor;
+    private final TimerWheel timerWheel;
+    private final DroneStateListener stateListener;
 
     private final Drone drone;
     private final OrderData orderData;
 
     private final DeliveryStatusPublisher deliveryStatusPublisher;
 
+    private Runnable legEnd;
+    private long remainingTravelTime;
+    private long travelStartMillis;
+    private boolean traveling;
+    private TimerWheel.Timeout legTimeout;
+    private long legGeneration;
+
     /**
      * Instantiates the Navigation Service with a specific drone and data of the order to deliver.
      *
@@ -42,11 +51,22 @@ public class NavigationService {
      * @param orderData the data relative to the order to deliver
      */
     public NavigationService(final Drone drone, final OrderData orderData) {
+        this(drone, orderData, TimerWheel.shared());
+    }
+
+    /**
+     * Instantiates the Navigation Service with a specific drone, data of the order to deliver and wheel of timeouts.
+     *
+     * @param drone the drone to operate on
+     * @param orderData the data relative to the order to deliver
+     * @param timerWheel the wheel timing the legs of the journey
+     */
+    public NavigationService(final Drone drone, final OrderData orderData, final @NotNull TimerWheel timerWheel) {
         this.drone = drone;
         this.orderData = orderData;
         this.randomGenerator = new SecureRandom();
-        this.deliveryExecutor = Executors.newSingleThreadScheduledExecutor();
-        this.returnExecutor = Executors.newSingleThreadScheduledExecutor();
+        this.timerWheel = timerWheel;
+        this.stateListener = (previous, current) -> this.synchronizeTravel();
 
         this.deliveryStatusPublisher = new DeliveryStatusPublisher();
     }
@@ -56,7 +76,8 @@ public class NavigationService {
      */
     public void start() {
         this.deliveryStatusPublisher.publishCurrentStatus(this.orderData, MqttMessageValueConstants.DELIVERING_MESSAGE);
-        this.travelSimulation(this.deliveryExecutor, this::publishDelivery);
+        this.drone.addStateListener(this.stateListener);
+        this.startLeg(this::publishDelivery);
     }
 
     /**
@@ -67,7 +88,8 @@ public class NavigationService {
     public void callback(final Runnable closingAction) {
         this.deliveryStatusPublisher
                 .publishCurrentStatus(this.orderData, MqttMessageValueConstants.RETURNING_ACKNOWLEDGEMENT_MESSAGE);
-        this.travelSimulation(this.returnExecutor, () -> this.termination(closingAction));
+        this.startLeg(() -> this.termination(closingAction));
+        this.drone.startLeg(Leg.RETURNING);
     }
 
     private void publishDelivery() {
@@ -82,52 +104,49 @@ public class NavigationService {
     }
 
     private void termination(final @NotNull Runnable terminatingAction) {
+        this.drone.removeStateListener(this.stateListener);
         this.deliveryStatusPublisher.publishCurrentStatus(this.orderData,
                 MqttMessageValueConstants.RETURNED_ACKNOWLEDGEMENT_MESSAGE);
         terminatingAction.run();
     }
 
-    private void travelSimulation(final @NotNull ScheduledExecutorService executor, final Runnable terminationAction) {
-        executor.scheduleWithFixedDelay(new TravelSimulator(executor, terminationAction),
-                0, TRAVEL_SIMULATION_DELAY, TimeUnit.MILLISECONDS);
+    private synchronized void startLeg(final @NotNull Runnable end) {
+        this.legEnd = end;
+        this.remainingTravelTime = TRAVELING_TIME;
+        this.traveling = false;
+        this.synchronizeTravel();
     }
 
-    /**
-     * Travel simulator.
+    /*
+     * Notifications may arrive out of order from different threads, so the latest state of the drone is read
+     * instead of the notified one: applying it twice changes nothing.
      */
-    private final class TravelSimulator implements Runnable {
-
-        private final ScheduledExecutorService executor;
-        private final Runnable terminationAction;
-        private Instant startingInstant = Instant.now();
-        private long remainingTravelTime = TRAVELING_TIME;
-        private Instant deliveredMoment = this.startingInstant.plusMillis(this.remainingTravelTime);
-        private boolean wasStopped;
-
-        private TravelSimulator(final @NotNull ScheduledExecutorService executor, final Runnable terminationAction) {
-            this.executor = executor;
-            this.terminationAction = terminationAction;
+    private synchronized void synchronizeTravel() {
+        final boolean moving = this.drone.isOperating();
+        if (this.legEnd == null || moving == this.traveling)
+            return;
+        this.traveling = moving;
+        this.legGeneration++;
+        if (moving) {
+            this.travelStartMillis = this.timerWheel.getClock().millis();
+            final long generation = this.legGeneration;
+            this.legTimeout = this.timerWheel.schedule(() -> this.completeLeg(generation), this.remainingTravelTime);
+        } else {
+            this.legTimeout.cancel();
+            final long elapsed = this.timerWheel.getClock().millis() - this.travelStartMillis;
+            this.remainingTravelTime = Math.max(0, this.remainingTravelTime - elapsed);
         }
+    }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void run() {
-            if (NavigationService.this.drone.isOperating()) {
-                if (this.wasStopped) {
-                    this.startingInstant = Instant.now();
-                    this.deliveredMoment = this.startingInstant.plusMillis(this.remainingTravelTime);
-                    this.wasStopped = false;
-                } else if (Instant.now().isAfter(this.deliveredMoment)) {
-                    this.terminationAction.run();
-                    this.executor.shutdownNow();
-                }
-            } else if (!this.wasStopped && !NavigationService.this.drone.isOperating()) {
-                this.wasStopped = true;
-                final long timeElapsed = Instant.now().toEpochMilli() - this.startingInstant.toEpochMilli();
-                this.remainingTravelTime -= timeElapsed;
-            }
+    private void completeLeg(final long generation) {
+        final Runnable end;
+        synchronized (this) {
+            if (generation != this.legGeneration || this.legEnd == null)
+                return;
+            end = this.legEnd;
+            this.legEnd = null;
+            this.traveling = false;
         }
+        end.run();
     }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.SensorSetAlert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler deciding when each sensor, identified by the type of its alerts, has to be read and published.
+ * Each {@link AlertLevel} has its reading interval, from the maximum when {@link AlertLevel#STABLE} to the minimum
+ * when {@link AlertLevel#CRITICAL}. Readings changing quickly halve the interval, down to the minimum, while calm ones
+ * make it grow back to the one of the level. Stable sensors are published at the maximum interval, the others at
+ * every reading.
+ * The state of each sensor is only touched by the thread reading that sensor, so different sensors can be scheduled
+ * concurrently.
+ */
+final class SamplingScheduler {
+
+    /**
+     * Default shortest milliseconds between two readings.
+     */
+    static final long DEFAULT_MIN_INTERVAL_MILLIS = 50;
+    /**
+     * Default longest milliseconds between two readings or publications.
+     */
+    static final long DEFAULT_MAX_INTERVAL_MILLIS = 1000;
+
+    private static final double SPEED_UP = 0.5;
+    private static final double SLOW_DOWN = 1.5;
+    // Change per second above which readings are changing quickly: centimeters for the proximity, degrees for the
+    // accelerometer. Camera readings only follow their level.
+    private static final double FAST_DISTANCE_CHANGE = 50;
+    private static final double FAST_ANGLE_CHANGE = 20;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final Map<AlertType, SensorRate> rates = new EnumMap<>(AlertType.class);
+
+    /**
+     * Build the scheduler.
+     * @param minIntervalMillis shortest milliseconds between two readings
+     * @param maxIntervalMillis longest milliseconds between two readings or publications
+     */
+    SamplingScheduler(final long minIntervalMillis, final long maxIntervalMillis) {
+        if (minIntervalMillis <= 0 || maxIntervalMillis < minIntervalMillis)
+            throw new IllegalArgumentException("Sampling intervals must be positive, the maximum NOT below the "
+                    + "minimum.");
+        this.minNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        this.maxNanos = TimeUnit.MILLISECONDS.toNanos(maxIntervalMillis);
+        for (final AlertType type : AlertType.values())
+            this.rates.put(type, new SensorRate(this.minNanos));
+    }
+
+    /**
+     * Builds the scheduler as specified by the {@link DronePropertiesConstants} of the sampling.
+     * @return the configured scheduler, with the default intervals if the configured ones are NOT valid
+     */
+    static @NotNull SamplingScheduler fromSettings() {
+        final long min = (long) SensorPropertiesHelper.readNumber(DronePropertiesConstants.SAMPLING_MIN_INTERVAL_MILLIS,
+                DEFAULT_MIN_INTERVAL_MILLIS);
+        final long max = (long) SensorPropertiesHelper.readNumber(DronePropertiesConstants.SAMPLING_MAX_INTERVAL_MILLIS,
+                DEFAULT_MAX_INTERVAL_MILLIS);
+        if (min <= 0 || max < min) {
+            LoggerFactory.getLogger(SamplingScheduler.class).warn("Invalid sampling intervals, using the defaults.");
+            return new SamplingScheduler(DEFAULT_MIN_INTERVAL_MILLIS, DEFAULT_MAX_INTERVAL_MILLIS);
+        }
+        return new SamplingScheduler(min, max);
+    }
+
+    /**
+     * Checks if the data of a sensor has to be published, scheduling its next publication if so.
+     * @param type the sensor, identified by the type of its alerts
+     * @param now the current {@link System#nanoTime()}
+     * @return true if the data has to be published now, false otherwise
+     */
+    boolean isPublicationDue(final @NotNull AlertType type, final long now) {
+        final SensorRate rate = this.rates.get(type);
+        if (!rate.hasValue || (rate.publishedOnce && now - rate.nextPublish < 0))
+            return false;
+        rate.publishedOnce = true;
+        rate.nextPublish = now + rate.publishInterval;
+        return true;
+    }
+
+    /**
+     * Adapts the intervals of a sensor just read.
+     * @param alert the alerts detected by the reading
+     * @param type the sensor read, identified by the type of its alerts
+     * @param now the {@link System#nanoTime()} of the reading
+     */
+    void update(final @NotNull SensorSetAlert alert, final @NotNull AlertType type, final long now) {
+        switch (type) {
+            case DISTANCE:
+                this.update(type, alert.getProximityAlert().getAlertLevel(), alert.getProximityAlert().getDistance(),
+                        now);
+                break;
+            case ANGLE:
+                this.update(type, alert.getAccelerometerAlert().getAlertLevel(),
+                        Math.max(Math.abs(alert.getAccelerometerAlert().getPitch()),
+                                Math.abs(alert.getAccelerometerAlert().getRoll())), now);
+                break;
+            default:
+                this.update(type, alert.getCameraAlert().getAlertLevel(), 0, now);
+                break;
+        }
+    }
+
+    /**
+     * Adapts the intervals of a sensor read.
+     * @param type the sensor, identified by the type of its alerts
+     * @param level the level detected by the reading
+     * @param value the value read
+     * @param now the {@link System#nanoTime()} of the reading
+     */
+    void update(final @NotNull AlertType type, final @NotNull AlertLevel level, final double value, final long now) {
+        final SensorRate rate = this.rates.get(type);
+        final boolean fast = rate.hasValue && now != rate.lastReading
+                && Math.abs(value - rate.lastValue) * NANOS_PER_SECOND / (now - rate.lastReading)
+                >= fastChange(type);
+        final long target = this.levelInterval(level);
+        final double scaled = rate.readInterval * (fast ? SPEED_UP : SLOW_DOWN);
+        final long readInterval = Math.max(this.minNanos, Math.min(target, (long) scaled));
+        final long publishInterval = level == AlertLevel.STABLE ? this.maxNanos : readInterval;
+        if (readInterval != rate.readInterval || publishInterval != rate.publishInterval || level != rate.level) {
+            LoggerFactory.getLogger(getClass()).info("Sampling of " + type + " sensor on " + level + ": read every "
+                    + TimeUnit.NANOSECONDS.toMillis(readInterval) + " ms, published every "
+                    + TimeUnit.NANOSECONDS.toMillis(publishInterval) + " ms.");
+        }
+        // Following publications are brought forward when the interval shrinks, while a worse level is published
+        // right away.
+        rate.nextRead = now + readInterval;
+        rate.nextPublish = level.compareTo(rate.level) > 0 ? now : Math.min(rate.nextPublish, now + publishInterval);
+        rate.readInterval = readInterval;
+        rate.publishInterval = publishInterval;
+        rate.level = level;
+        rate.lastValue = value;
+        rate.lastReading = now;
+        rate.hasValue = true;
+    }
+
+    /**
+     * Gets the nanoseconds to wait before the next reading of a sensor.
+     * @param type the sensor, identified by the type of its alerts
+     * @param now the current {@link System#nanoTime()}
+     * @return the nanoseconds to wait, the shortest interval if the sensor has never been read
+     */
+    long nanosUntilReading(final @NotNull AlertType type, final long now) {
+        final SensorRate rate = this.rates.get(type);
+        return rate.hasValue ? Math.max(0, rate.nextRead - now) : rate.readInterval;
+    }
+
+    /**
+     * Gets the current reading interval of a sensor.
+     * @param type the sensor, identified by the type of its alerts
+     * @return the interval in milliseconds
+     */
+    long getReadIntervalMillis(final @NotNull AlertType type) {
+        return TimeUnit.NANOSECONDS.toMillis(this.rates.get(type).readInterval);
+    }
+
+    /**
+     * Gets the current publication interval of a sensor.
+     * @param type the sensor, identified by the type of its alerts
+     * @return the interval in milliseconds
+     */
+    long getPublishIntervalMillis(final @NotNull AlertType type) {
+        return TimeUnit.NANOSECONDS.toMillis(this.rates.get(type).publishInterval);
+    }
+
+    private long levelInterval(final @NotNull AlertLevel level) {
+        switch (level) {
+            case CRITICAL:
+                return this.minNanos;
+            case WARNING:
+                return (long) Math.sqrt((double) this.minNanos * this.maxNanos);
+            default:
+                return this.maxNanos;
+        }
+    }
+
+    private static double fastChange(final @NotNull AlertType type) {
+        switch (type) {
+            case DISTANCE:
+                return FAST_DISTANCE_CHANGE;
+            case ANGLE:
+                return FAST_ANGLE_CHANGE;
+            default:
+                return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private static final class SensorRate {
+
+        private long readInterval;
+        private long publishInterval;
+        private long nextRead;
+        private long nextPublish;
+        private boolean publishedOnce;
+        private AlertLevel level = AlertLevel.STABLE;
+        private boolean hasValue;
+        private double lastValue;
+        private long lastReading;
+
+        private SensorRate(final long interval) {
+            this.readInterval = interval;
+            this.publishInterval = interval;
+        }
+    }
+}
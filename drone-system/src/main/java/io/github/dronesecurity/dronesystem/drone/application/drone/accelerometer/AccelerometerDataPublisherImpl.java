@@ -5,35 +5,61 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AccelerometerWindowSummary;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AngleStatistics;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.services.AccelerometerDataPublisher;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.utilities.AccelerometerConstants;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Implementation of {@link AccelerometerDataPublisher} that publishes processed accelerometer data
- * to an established AWS connection.
+ * Implementation of {@link AccelerometerDataPublisher} that publishes the filtered attitude of each window of
+ * accelerometer data to an established AWS connection, along with the statistics of the window in the JSON payload.
  */
 public class AccelerometerDataPublisherImpl implements AccelerometerDataPublisher {
 
+    private final AtomicInteger sequence = new AtomicInteger();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void publishAccelerometerData(final @NotNull OrderData orderData,
-                                         final @NotNull ProcessedAccelerometerData accelerometerData) {
-        final ObjectMapper mapper = new ObjectMapper();
-        final ObjectNode mapJson = mapper.createObjectNode();
-        final ObjectNode accelerometerValues = mapper.createObjectNode();
-        accelerometerData.asMap().forEach(accelerometerValues::put);
-        mapJson.set(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, accelerometerValues);
-
-        Connection.getInstance().publish(MqttTopicConstants.DATA_TOPIC + orderData.getOrderId()
-                + " " + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, mapJson);
+                                         final @NotNull AccelerometerWindowSummary windowSummary) {
+        final ProcessedAccelerometerData attitude = windowSummary.getAttitude();
+        final TelemetryFrame frame = TelemetryFrame.accelerometer(orderData.getOrderId(),
+                this.sequence.getAndIncrement(), TelemetryCodecHelper.nowEpochNanos(),
+                new int[] {attitude.getPitch(), attitude.getRoll(), attitude.getYaw()});
+
+        Connection.getInstance().publishTelemetry(MqttTopicConstants.DATA_TOPIC + orderData.getOrderId()
+                + " " + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, frame, () -> {
+                    final ObjectNode mapJson = MessageCodecHelper.createObjectNode();
+                    final ObjectNode accelerometerValues = MessageCodecHelper.createObjectNode();
+                    attitude.asMap().forEach(accelerometerValues::put);
+                    final ObjectNode window = MessageCodecHelper.createObjectNode();
+                    window.put(AccelerometerConstants.SAMPLES, windowSummary.getSamples());
+                    window.set(AccelerometerConstants.PITCH, toJson(windowSummary.getPitch()));
+                    window.set(AccelerometerConstants.ROLL, toJson(windowSummary.getRoll()));
+                    window.set(AccelerometerConstants.YAW, toJson(windowSummary.getYaw()));
+                    accelerometerValues.set(AccelerometerConstants.WINDOW, window);
+                    mapJson.set(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, accelerometerValues);
+                    return mapJson;
+                });
+    }
+
+    private static @NotNull ObjectNode toJson(final @NotNull AngleStatistics statistics) {
+        final ObjectNode json = MessageCodecHelper.createObjectNode();
+        statistics.asMap().forEach(json::put);
+        return json;
     }
 }
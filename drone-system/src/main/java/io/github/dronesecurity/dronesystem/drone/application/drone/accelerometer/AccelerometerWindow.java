@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AccelerometerWindowSummary;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AngleStatistics;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streaming stage between the processing and the analysis of the accelerometer samples.
+ * Every sample is low-pass filtered by an exponential moving average, so that a single spike can NOT tilt the attitude
+ * analyzed, and kept in rings holding the last window of samples. Once a whole window has been added, its summary can
+ * be taken, to publish it instead of every single sample.
+ * The window is only touched by the thread reading the accelerometer.
+ */
+public final class AccelerometerWindow {
+
+    /**
+     * Default number of samples of each window.
+     */
+    static final int DEFAULT_SIZE = 20;
+    /**
+     * Default weight of each new sample in the filtered attitude.
+     */
+    static final double DEFAULT_ALPHA = 0.3;
+
+    private static final double HALF_TURN = 180;
+    private static final double TURN = 360;
+
+    private final int size;
+    private final double alpha;
+    private final double[] pitches;
+    private final double[] rolls;
+    private final double[] yaws;
+    private int next;
+    private int count;
+    private int sinceSummary;
+    private boolean primed;
+    private double filteredPitch;
+    private double filteredRoll;
+    private double filteredYaw;
+
+    /**
+     * Build the window.
+     * @param size number of samples of each window
+     * @param alpha weight of each new sample in the filtered attitude, 1 NOT to filter
+     */
+    public AccelerometerWindow(final int size, final double alpha) {
+        if (size <= 0 || alpha <= 0 || alpha > 1)
+            throw new IllegalArgumentException("Window size must be positive, filter weight between 0 and 1.");
+        this.size = size;
+        this.alpha = alpha;
+        this.pitches = new double[size];
+        this.rolls = new double[size];
+        this.yaws = new double[size];
+    }
+
+    /**
+     * Builds the window as specified by the {@link DronePropertiesConstants} of the accelerometer.
+     * @return the configured window, with the default values if the configured ones are NOT valid
+     */
+    public static @NotNull AccelerometerWindow fromSettings() {
+        final int size = (int) SensorPropertiesHelper.readNumber(DronePropertiesConstants.ACCELEROMETER_WINDOW_SAMPLES,
+                DEFAULT_SIZE);
+        final double alpha = SensorPropertiesHelper.readNumber(DronePropertiesConstants.ACCELEROMETER_FILTER_ALPHA,
+                DEFAULT_ALPHA);
+        if (size <= 0 || alpha <= 0 || alpha > 1) {
+            LoggerFactory.getLogger(AccelerometerWindow.class).warn("Invalid accelerometer window, using the "
+                    + "defaults.");
+            return new AccelerometerWindow(DEFAULT_SIZE, DEFAULT_ALPHA);
+        }
+        return new AccelerometerWindow(size, alpha);
+    }
+
+    /**
+     * Adds a sample to the window.
+     * @param sample the processed sample
+     * @return the filtered attitude after the sample
+     */
+    public @NotNull ProcessedAccelerometerData add(final @NotNull ProcessedAccelerometerData sample) {
+        if (this.primed) {
+            this.filteredPitch += this.alpha * (sample.getPitch() - this.filteredPitch);
+            this.filteredRoll += this.alpha * (sample.getRoll() - this.filteredRoll);
+            // The yaw wraps around, so it is moved towards the sample along the shortest way.
+            this.filteredYaw = wrap(this.filteredYaw + this.alpha * wrap(sample.getYaw() - this.filteredYaw));
+        } else {
+            this.filteredPitch = sample.getPitch();
+            this.filteredRoll = sample.getRoll();
+            this.filteredYaw = sample.getYaw();
+            this.primed = true;
+        }
+        this.pitches[this.next] = sample.getPitch();
+        this.rolls[this.next] = sample.getRoll();
+        this.yaws[this.next] = sample.getYaw();
+        this.next = (this.next + 1) % this.size;
+        this.count = Math.min(this.count + 1, this.size);
+        this.sinceSummary++;
+        return this.getAttitude();
+    }
+
+    /**
+     * Gets the filtered attitude.
+     * @return the filtered attitude after the last sample, null if no sample has been added
+     */
+    public @Nullable ProcessedAccelerometerData getAttitude() {
+        if (!this.primed)
+            return null;
+        return new ProcessedAccelerometerData((int) Math.round(this.filteredPitch),
+                (int) Math.round(this.filteredRoll), (int) Math.round(this.filteredYaw));
+    }
+
+    /**
+     * Takes the summary of the last window, if a whole window has been added since the last summary taken.
+     * @return the summary, null if NOT ready yet
+     */
+    public @Nullable AccelerometerWindowSummary takeSummary() {
+        if (this.sinceSummary < this.size)
+            return null;
+        this.sinceSummary = 0;
+        return new AccelerometerWindowSummary(this.count, this.getAttitude(), statistics(this.pitches),
+                statistics(this.rolls), statistics(this.yaws));
+    }
+
+    /**
+     * Forgets every sample and the filtered attitude.
+     */
+    public void clear() {
+        this.next = 0;
+        this.count = 0;
+        this.sinceSummary = 0;
+        this.primed = false;
+    }
+
+    private @NotNull AngleStatistics statistics(final double @NotNull [] ring) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        for (int i = 0; i < this.count; i++) {
+            min = Math.min(min, ring[i]);
+            max = Math.max(max, ring[i]);
+            sum += ring[i];
+        }
+        final double mean = sum / this.count;
+        double squares = 0;
+        for (int i = 0; i < this.count; i++)
+            squares += (ring[i] - mean) * (ring[i] - mean);
+        return new AngleStatistics(min, max, mean, squares / this.count);
+    }
+
+    private static double wrap(final double angle) {
+        final double wrapped = (angle + HALF_TURN) % TURN;
+        return (wrapped < 0 ? wrapped + TURN : wrapped) - HALF_TURN;
+    }
+}
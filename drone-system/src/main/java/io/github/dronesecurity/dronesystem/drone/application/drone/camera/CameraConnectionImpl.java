@@ -7,26 +7,27 @@ package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
 
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.RawCameraData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.CameraConnection;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.InetSocketAddress;
-import java.net.Socket;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
 /**
  * Implementation of {@link CameraConnection} that manages the connection with the camera sensor.
+ * Frames are read in background by a {@link CameraFrameReader}, so a reading only takes the newest one, without
+ * copying it. Its buffer is given back at the next reading, or later if still retained by its analysis.
  */
 public class CameraConnectionImpl implements CameraConnection {
 
     private static final int EMPTY_IMAGE = 0;
     private static final int CONNECTION_PORT = 10_000;
-    private Socket socket = new Socket();
-    private InputStream inputStream;
+    private static final int DEFAULT_QUEUED_FRAMES = 4;
+    private final CameraFrameReader reader =
+            new CameraFrameReader(new InetSocketAddress("localhost", CONNECTION_PORT), readQueuedFrames());
+    private RawCameraData currentFrame;
 
     /**
      * {@inheritDoc}
@@ -34,18 +35,14 @@ public class CameraConnectionImpl implements CameraConnection {
     @Override
     @Contract(" -> new")
     public @NotNull RawCameraData readCameraData() {
-        try {
-            if (this.tryConnect() && this.inputStream.available() > 0) {
-                final ByteBuffer buffer = ByteBuffer.wrap(this.inputStream.readNBytes(Integer.BYTES))
-                        .order(ByteOrder.LITTLE_ENDIAN);
-                final int length = buffer.getInt();
-                final byte[] image = this.inputStream.readNBytes(length);
-                return new RawCameraData(image.length);
-            }
-        } catch (IOException e) {
-            LoggerFactory.getLogger(CameraConnectionImpl.class).error("Cannot read image from camera", e);
-        }
-        return new RawCameraData(EMPTY_IMAGE);
+        this.reader.start();
+        this.releaseCurrentFrame();
+        final ByteBuffer frame = this.reader.takeLatest();
+        if (frame == null)
+            return new RawCameraData(EMPTY_IMAGE);
+        // The buffer goes back to the reader only once the analysis of the frame is over as well.
+        this.currentFrame = new RawCameraData(frame.asReadOnlyBuffer(), () -> this.reader.release(frame));
+        return this.currentFrame;
     }
 
     /**
@@ -53,25 +50,35 @@ public class CameraConnectionImpl implements CameraConnection {
      */
     @Override
     public void disconnect() {
-        try {
-            if (this.inputStream != null)
-                this.inputStream.close();
-            if (this.socket.isConnected())
-                this.socket.close();
-        } catch (IOException e) {
-            LoggerFactory.getLogger(CameraConnectionImpl.class).error("Error closing connection", e);
-        }
+        this.reader.stop();
+        this.releaseCurrentFrame();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReceivedFrames() {
+        return this.reader.getReceivedFrames();
     }
 
-    private boolean tryConnect() {
-        if (!this.socket.isConnected()) {
-            try {
-                this.socket.connect(new InetSocketAddress("localhost", CONNECTION_PORT));
-                this.inputStream = this.socket.getInputStream();
-            } catch (IOException e) {
-                this.socket = new Socket();
-            }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getDroppedFrames() {
+        return this.reader.getDroppedFrames();
+    }
+
+    private void releaseCurrentFrame() {
+        if (this.currentFrame != null) {
+            this.currentFrame.release();
+            this.currentFrame = null;
         }
-        return this.socket.isConnected();
+    }
+
+    private static int readQueuedFrames() {
+        return Math.max(1, (int) SensorPropertiesHelper.readNumber(DronePropertiesConstants.CAMERA_QUEUED_FRAMES,
+                DEFAULT_QUEUED_FRAMES));
     }
 }
@@ -6,21 +6,45 @@
 package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
 
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.FrameSignals;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.ProcessedCameraData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.CameraDataAnalyzer;
 import io.github.dronesecurity.lib.shared.AlertLevel;
 import io.github.dronesecurity.lib.shared.AlertType;
+import org.jetbrains.annotations.NotNull;
 
 /**
- * Base implementation of {@link CameraDataAnalyzer} that always gives a stable alert level as result.
+ * Implementation of {@link CameraDataAnalyzer} that informs of the {@link AlertLevel} depending on the signals of the
+ * frame, giving a stable alert level if the frame has NOT been analyzed.
  */
 public class CameraDataAnalyzerImpl implements CameraDataAnalyzer {
 
+    private static final double OCCLUSION_CRITICAL_THRESHOLD = 0.75;
+    private static final double OCCLUSION_WARNING_THRESHOLD = 0.4;
+    private static final double LUMINANCE_WARNING_THRESHOLD = 16;
+    private static final double SHARPNESS_WARNING_THRESHOLD = 0.004;
+    private static final double MOTION_WARNING_THRESHOLD = 0.25;
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public Alert analyzeCameraData(final ProcessedCameraData cameraData) {
+    public Alert analyzeCameraData(final @NotNull ProcessedCameraData cameraData) {
+        final FrameSignals signals = cameraData.getSignals();
+        if (signals == null)
+            return new Alert(AlertType.CAMERA, AlertLevel.STABLE);
+
+        final boolean isCritical = signals.getOcclusion() >= OCCLUSION_CRITICAL_THRESHOLD;
+
+        final boolean isWarning = signals.getOcclusion() >= OCCLUSION_WARNING_THRESHOLD
+                || signals.getLuminance() < LUMINANCE_WARNING_THRESHOLD
+                || signals.getSharpness() < SHARPNESS_WARNING_THRESHOLD
+                || signals.getMotion() > MOTION_WARNING_THRESHOLD;
+
+        if (isCritical)
+            return new Alert(AlertType.CAMERA, AlertLevel.CRITICAL);
+        else if (isWarning)
+            return new Alert(AlertType.CAMERA, AlertLevel.WARNING);
         return new Alert(AlertType.CAMERA, AlertLevel.STABLE);
     }
 }
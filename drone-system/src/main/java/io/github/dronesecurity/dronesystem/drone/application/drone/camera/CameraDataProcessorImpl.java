@@ -11,15 +11,19 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.Ca
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Base implementation of {@link CameraDataProcessor} that doesn't transform camera data.
+ * Implementation of {@link CameraDataProcessor} that analyzes the images received through a
+ * {@link CameraFrameAnalyzer}, keeping only the length of the images known by length only.
  */
 public class CameraDataProcessorImpl implements CameraDataProcessor {
 
+    private final CameraFrameAnalyzer frameAnalyzer = CameraFrameAnalyzer.fromSettings();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public ProcessedCameraData processCameraData(final @NotNull RawCameraData cameraData) {
-        return new ProcessedCameraData(cameraData.getImageLength());
+        return new ProcessedCameraData(cameraData.getImageLength(),
+                cameraData.getImage() == null ? null : this.frameAnalyzer.analyze(cameraData));
     }
 }
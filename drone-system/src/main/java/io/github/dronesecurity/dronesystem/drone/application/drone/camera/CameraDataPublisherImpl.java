@@ -5,32 +5,41 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.ProcessedCameraData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.CameraDataPublisher;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Implementation of {@link CameraDataPublisher} that publishes processed camera data
  * to an established AWS connection.
  */
 public class CameraDataPublisherImpl implements CameraDataPublisher {
 
+    private final AtomicInteger sequence = new AtomicInteger();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void publishCameraData(final @NotNull OrderData orderData, final @NotNull ProcessedCameraData cameraData) {
-        final ObjectMapper mapper = new ObjectMapper();
-        final ObjectNode mapJson = mapper.createObjectNode();
-        mapJson.put(MqttMessageParameterConstants.CAMERA_PARAMETER, cameraData.getImageLength());
+        final TelemetryFrame frame = TelemetryFrame.camera(orderData.getOrderId(),
+                this.sequence.getAndIncrement(), TelemetryCodecHelper.nowEpochNanos(), cameraData.getImageLength());
 
-        Connection.getInstance().publish(MqttTopicConstants.DATA_TOPIC + orderData.getOrderId()
-                + " " + MqttMessageParameterConstants.CAMERA_PARAMETER, mapJson);
+        Connection.getInstance().publishTelemetry(MqttTopicConstants.DATA_TOPIC + orderData.getOrderId()
+                + " " + MqttMessageParameterConstants.CAMERA_PARAMETER, frame, () -> {
+                    final ObjectNode mapJson = MessageCodecHelper.createObjectNode();
+                    mapJson.put(MqttMessageParameterConstants.CAMERA_PARAMETER, cameraData.getImageLength());
+                    return mapJson;
+                });
     }
 }
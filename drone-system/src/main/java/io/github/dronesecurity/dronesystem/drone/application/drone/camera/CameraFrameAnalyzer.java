@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.FrameSignals;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.RawCameraData;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyzer decoding the JPEG frames of the camera and computing their {@link FrameSignals} on a pool of workers, one
+ * tile of the frame per task. Each frame has a deadline: if the analysis does NOT finish in time the frame is skipped,
+ * and so are the next frames until every task of the late one has really finished, so frames never wait in queue.
+ * Late tasks are abandoned rather than cancelled, as decoding ignores interrupts: the tiles stop at their next row,
+ * while a count of the tasks NOT finished yet keeps the next frames out. The frame is retained until decoded, so that
+ * its buffer is NOT recycled while a late decoding still reads it.
+ */
+final class CameraFrameAnalyzer {
+
+    private static final int TILES_PER_SIDE = 4;
+    private static final int DARK_LUMINANCE = 24;
+    private static final double FLAT_SHARPNESS = 0.004;
+    private static final double MAX_LUMINANCE = 255.0;
+    private static final int RED_WEIGHT = 77;
+    private static final int GREEN_WEIGHT = 150;
+    private static final int BLUE_WEIGHT = 29;
+    private static final int CHANNEL_MASK = 0xFF;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+    private static final int WEIGHT_SHIFT = 8;
+    private static final long DEFAULT_DEADLINE_MILLIS = 150;
+    private static final int REPORT_INTERVAL = 100;
+
+    private final ExecutorService workers;
+    private final long deadlineNanos;
+    private final AtomicInteger running = new AtomicInteger();
+    private int[] previousLuminance;
+    private int previousWidth;
+    private int previousHeight;
+    private long analyzedFrames;
+    private long skippedFrames;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Build the analyzer.
+     * @param workers workers analyzing the frames
+     * @param deadlineMillis milliseconds given to the analysis of each frame
+     */
+    CameraFrameAnalyzer(final ExecutorService workers, final long deadlineMillis) {
+        this.workers = workers;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    }
+
+    /**
+     * Builds the analyzer as specified by the {@link DronePropertiesConstants} of the camera analysis.
+     * @return the configured analyzer
+     */
+    static @NotNull CameraFrameAnalyzer fromSettings() {
+        final int threads = (int) SensorPropertiesHelper.readNumber(DronePropertiesConstants.CAMERA_ANALYSIS_THREADS,
+                Runtime.getRuntime().availableProcessors());
+        final ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            final Thread thread = new Thread(runnable, "camera-analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long deadline = (long) SensorPropertiesHelper.readNumber(
+                DronePropertiesConstants.CAMERA_ANALYSIS_DEADLINE_MILLIS, DEFAULT_DEADLINE_MILLIS);
+        return new CameraFrameAnalyzer(workers, deadline);
+    }
+
+    /**
+     * Analyzes a JPEG frame, retaining it until decoded even if the deadline is missed.
+     * @param cameraData the encoded frame
+     * @return the signals of the frame, null if it has been skipped
+     */
+    @Nullable FrameSignals analyze(final @NotNull RawCameraData cameraData) {
+        final long start = System.nanoTime();
+        if (this.running.get() > 0)
+            return this.skip("workers still busy with a late frame");
+        if (!cameraData.retain())
+            return this.skip("frame already recycled");
+        final AtomicBoolean abandoned = new AtomicBoolean();
+        try {
+            final BufferedImage frame = this.await(this.submitDecode(cameraData), start);
+            if (frame == null)
+                return this.skip("NOT a JPEG image");
+            final FrameSignals signals = this.computeSignals(frame, start, abandoned);
+            this.record(signals.getAnalysisNanos());
+            return signals;
+        } catch (TimeoutException | CancellationException e) {
+            return this.skip("deadline missed");
+        } catch (ExecutionException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT analyze camera frame.", e.getCause());
+            return this.skip("analysis failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return this.skip("interrupted");
+        } finally {
+            abandoned.set(true);
+        }
+    }
+
+    private FrameSignals computeSignals(final @NotNull BufferedImage frame, final long start,
+                                        final @NotNull AtomicBoolean abandoned)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        final int width = frame.getWidth();
+        final int height = frame.getHeight();
+        final int[] luminance = new int[width * height];
+        final int[] previous = this.previousWidth == width && this.previousHeight == height
+                ? this.previousLuminance : null;
+        final List<Future<TileStatistics>> tiles = new ArrayList<>();
+        for (int row = 0; row < TILES_PER_SIDE; row++) {
+            for (int column = 0; column < TILES_PER_SIDE; column++) {
+                final int x = column * width / TILES_PER_SIDE;
+                final int y = row * height / TILES_PER_SIDE;
+                final int tileWidth = (column + 1) * width / TILES_PER_SIDE - x;
+                final int tileHeight = (row + 1) * height / TILES_PER_SIDE - y;
+                tiles.add(this.submit(() ->
+                        analyzeTile(frame, luminance, previous, x, y, tileWidth, tileHeight, abandoned)));
+            }
+        }
+        long pixels = 0;
+        long luminanceSum = 0;
+        long differenceSum = 0;
+        long gradientSum = 0;
+        long gradientPixels = 0;
+        int occludedTiles = 0;
+        for (final Future<TileStatistics> tile : tiles) {
+            final TileStatistics statistics = this.await(tile, start);
+            pixels += statistics.pixels;
+            luminanceSum += statistics.luminanceSum;
+            differenceSum += statistics.differenceSum;
+            gradientSum += statistics.gradientSum;
+            gradientPixels += statistics.gradientPixels;
+            if (statistics.isOccluded())
+                occludedTiles++;
+        }
+        this.previousLuminance = luminance;
+        this.previousWidth = width;
+        this.previousHeight = height;
+        return new FrameSignals(pixels == 0 ? 0 : (double) luminanceSum / pixels,
+                previous == null || pixels == 0 ? 0 : differenceSum / MAX_LUMINANCE / pixels,
+                gradientPixels == 0 ? 0 : gradientSum / (2 * MAX_LUMINANCE) / gradientPixels,
+                (double) occludedTiles / tiles.size(),
+                System.nanoTime() - start);
+    }
+
+    private @NotNull Future<BufferedImage> submitDecode(final @NotNull RawCameraData cameraData) {
+        try {
+            return this.submit(() -> {
+                try {
+                    return decode(cameraData.getImage());
+                } finally {
+                    cameraData.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cameraData.release();
+            throw e;
+        }
+    }
+
+    private <T> @NotNull Future<T> submit(final @NotNull Callable<T> task) {
+        this.running.incrementAndGet();
+        try {
+            return this.workers.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    this.running.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.running.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private <T> T await(final @NotNull Future<T> task, final long start)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        return task.get(this.deadlineNanos - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+    }
+
+    private @Nullable FrameSignals skip(final String reason) {
+        this.skippedFrames++;
+        LoggerFactory.getLogger(getClass()).debug("Camera frame skipped: " + reason + ".");
+        return null;
+    }
+
+    private void record(final long analysisNanos) {
+        this.analyzedFrames++;
+        this.totalNanos += analysisNanos;
+        this.maxNanos = Math.max(this.maxNanos, analysisNanos);
+        LoggerFactory.getLogger(getClass()).debug("Camera frame analyzed in "
+                + TimeUnit.NANOSECONDS.toMicros(analysisNanos) + " us.");
+        if (this.analyzedFrames % REPORT_INTERVAL == 0) {
+            LoggerFactory.getLogger(getClass()).info("Camera frames analyzed: " + this.analyzedFrames
+                    + ", skipped: " + this.skippedFrames
+                    + ", average: " + TimeUnit.NANOSECONDS.toMillis(this.totalNanos / this.analyzedFrames) + " ms"
+                    + ", max: " + TimeUnit.NANOSECONDS.toMillis(this.maxNanos) + " ms.");
+        }
+    }
+
+    private static @Nullable BufferedImage decode(final @NotNull ByteBuffer image) throws IOException {
+        // The stream is closed by ImageIO once read.
+        return ImageIO.read(new MemoryCacheImageInputStream(new ByteBufferInputStream(image)));
+    }
+
+    private static @NotNull TileStatistics analyzeTile(final @NotNull BufferedImage frame,
+                                                       final int @NotNull [] luminance,
+                                                       final int @Nullable [] previous,
+                                                       final int x,
+                                                       final int y,
+                                                       final int width,
+                                                       final int height,
+                                                       final @NotNull AtomicBoolean abandoned) {
+        final TileStatistics statistics = new TileStatistics();
+        final int[] row = new int[width];
+        final int frameWidth = frame.getWidth();
+        for (int j = 0; j < height && !abandoned.get(); j++) {
+            frame.getRGB(x, y + j, width, 1, row, 0, width);
+            for (int i = 0; i < width; i++) {
+                final int index = (y + j) * frameWidth + x + i;
+                final int value = toLuminance(row[i]);
+                luminance[index] = value;
+                statistics.pixels++;
+                statistics.luminanceSum += value;
+                if (previous != null)
+                    statistics.differenceSum += Math.abs(value - previous[index]);
+                if (i > 0 && j > 0) {
+                    statistics.gradientSum += Math.abs(value - luminance[index - 1])
+                            + Math.abs(value - luminance[index - frameWidth]);
+                    statistics.gradientPixels++;
+                }
+            }
+        }
+        return statistics;
+    }
+
+    private static int toLuminance(final int rgb) {
+        return (RED_WEIGHT * (rgb >> RED_SHIFT & CHANNEL_MASK)
+                + GREEN_WEIGHT * (rgb >> GREEN_SHIFT & CHANNEL_MASK)
+                + BLUE_WEIGHT * (rgb & CHANNEL_MASK)) >> WEIGHT_SHIFT;
+    }
+
+    private static final class TileStatistics {
+
+        private long pixels;
+        private long luminanceSum;
+        private long differenceSum;
+        private long gradientSum;
+        private long gradientPixels;
+
+        private boolean isOccluded() {
+            return (this.pixels > 0 && this.luminanceSum / this.pixels < DARK_LUMINANCE)
+                    || (this.gradientPixels > 0
+                    && (double) this.gradientSum / (2 * MAX_LUMINANCE) / this.gradientPixels < FLAT_SHARPNESS);
+        }
+    }
+
+    /**
+     * Stream reading the bytes of a buffer, without copying them.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final @NotNull ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & CHANNEL_MASK : -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(final byte @NotNull [] bytes, final int offset, final int length) {
+            if (length == 0)
+                return 0;
+            if (!this.buffer.hasRemaining())
+                return -1;
+            final int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reader of the frames streamed by the camera script, each one prefixed by its length as a little endian int.
+ * Frames are read on a dedicated thread into the buffers of a {@link FrameBufferPool} and only the newest ones are
+ * kept: once the queue is full, the oldest frame is dropped, as well as the frames arriving while every buffer is in
+ * use. Every frame read is handed to the {@link CameraRecorder} before being queued.
+ */
+final class CameraFrameReader implements Runnable {
+
+    private static final int MAX_FRAME_SIZE = 8 * 1024 * 1024;
+    private static final int INITIAL_FRAME_CAPACITY = 128 * 1024;
+    private static final int DISCARD_SIZE = 16 * 1024;
+    private static final int SPARE_BUFFERS = 2;
+
+    private final SocketAddress address;
+    private final FrameBufferPool pool;
+    private final BlockingQueue<ByteBuffer> frames;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer discard = ByteBuffer.allocateDirect(DISCARD_SIZE);
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final CameraRecorder recorder = CameraRecorder.getInstance();
+    private volatile SocketChannel channel;
+    private volatile boolean running;
+
+    /**
+     * Build the reader.
+     * @param address address of the camera script
+     * @param queuedFrames maximum number of frames kept while waiting to be taken
+     */
+    CameraFrameReader(final SocketAddress address, final int queuedFrames) {
+        if (queuedFrames <= 0)
+            throw new IllegalArgumentException("Queued frames must be positive.");
+        this.address = address;
+        this.frames = new ArrayBlockingQueue<>(queuedFrames);
+        // One buffer being filled and one held by the consumer, besides the queued ones.
+        this.pool = new FrameBufferPool(queuedFrames + SPARE_BUFFERS, INITIAL_FRAME_CAPACITY);
+    }
+
+    /**
+     * Starts reading on a dedicated thread, unless already reading.
+     */
+    void start() {
+        if (this.running)
+            return;
+        this.running = true;
+        final Thread thread = new Thread(this, "camera-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops reading, closing the connection.
+     */
+    void stop() {
+        this.running = false;
+        final SocketChannel current = this.channel;
+        try {
+            if (current != null)
+                current.close();
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).error("Error closing connection", e);
+        }
+    }
+
+    /**
+     * Takes the newest frame, dropping the older ones still queued. The buffer has to be given back through
+     * {@link #release(ByteBuffer)} once used.
+     * @return the newest frame, null if none has arrived since the last one taken
+     */
+    @Nullable ByteBuffer takeLatest() {
+        ByteBuffer latest = null;
+        ByteBuffer frame = this.frames.poll();
+        while (frame != null) {
+            if (latest != null) {
+                this.pool.release(latest);
+                this.dropped.incrementAndGet();
+            }
+            latest = frame;
+            frame = this.frames.poll();
+        }
+        return latest;
+    }
+
+    /**
+     * Gives back the buffer of a frame taken.
+     * @param frame the frame
+     */
+    void release(final @NotNull ByteBuffer frame) {
+        this.pool.release(frame);
+    }
+
+    /**
+     * Gets the number of frames received.
+     * @return the number of frames
+     */
+    long getReceivedFrames() {
+        return this.received.get();
+    }
+
+    /**
+     * Gets the number of frames received but never taken.
+     * @return the number of frames
+     */
+    long getDroppedFrames() {
+        return this.dropped.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        try (SocketChannel socketChannel = SocketChannel.open(this.address)) {
+            this.channel = socketChannel;
+            boolean open = true;
+            while (this.running && open)
+                open = this.readFrame(socketChannel);
+        } catch (IOException e) {
+            if (this.running && this.channel != null)
+                LoggerFactory.getLogger(getClass()).error("Cannot read image from camera", e);
+        } finally {
+            this.channel = null;
+            this.running = false;
+        }
+    }
+
+    private boolean readFrame(final SocketChannel socketChannel) throws IOException {
+        this.header.clear();
+        if (!readFully(socketChannel, this.header))
+            return false;
+        final int length = this.header.flip().getInt();
+        if (length == 0)
+            return false;
+        if (length < 0 || length > MAX_FRAME_SIZE)
+            throw new IOException("Invalid frame length " + length + ".");
+        final ByteBuffer frame = this.pool.acquire(length);
+        if (frame == null) {
+            final boolean skipped = this.skip(socketChannel, length);
+            this.dropped.incrementAndGet();
+            this.received.incrementAndGet();
+            return skipped;
+        }
+        if (!readFully(socketChannel, frame)) {
+            this.pool.release(frame);
+            return false;
+        }
+        this.recorder.record(frame.flip());
+        this.publish(frame);
+        this.received.incrementAndGet();
+        return true;
+    }
+
+    private void publish(final ByteBuffer frame) {
+        while (!this.frames.offer(frame)) {
+            final ByteBuffer oldest = this.frames.poll();
+            if (oldest != null) {
+                this.pool.release(oldest);
+                this.dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean skip(final SocketChannel socketChannel, final int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            this.discard.clear().limit(Math.min(remaining, DISCARD_SIZE));
+            if (!readFully(socketChannel, this.discard))
+                return false;
+            remaining -= this.discard.limit();
+        }
+        return true;
+    }
+
+    private static boolean readFully(final SocketChannel socketChannel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (socketChannel.read(buffer) < 0)
+                return false;
+        return true;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recorder of the camera frames of the order being delivered, appending them to {@link FrameSegment}s of fixed size
+ * in a folder per order, as specified by the {@link DronePropertiesConstants} of the camera recording.
+ * Recording a frame only copies it into the mapped segment: creating, sealing and evicting segments is done on a
+ * dedicated thread, which prepares the next segment in advance. If it is NOT ready when the current one is full, the
+ * frame is dropped instead of waiting for it. Once the recordings exceed their quota, the oldest segments of any
+ * order are deleted.
+ */
+public final class CameraRecorder {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long DEFAULT_QUOTA = 1024L * 1024 * 1024;
+    private static final long NO_ORDER = -1;
+    // Zero padded, so that sorting the segments by name sorts them by age.
+    private static final String SEGMENT_NAME_FORMAT = "%013d-%06d";
+
+    private final FrameArchive archive;
+    private final int segmentSize;
+    private final long quota;
+    private final ExecutorService writer;
+    private final Set<Path> activeSegments = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long orderId = NO_ORDER;
+    private long lastOrderId = NO_ORDER;
+    private FrameSegment current;
+    private Future<FrameSegment> next;
+
+    /**
+     * Build the recorder.
+     * @param root folder of the recordings, null to NOT record
+     * @param segmentSize size in bytes of each segment
+     * @param quota bytes the recordings can take on disk
+     * @param writer single thread preparing, sealing and evicting the segments
+     */
+    CameraRecorder(final @Nullable Path root, final int segmentSize, final long quota,
+                   final @NotNull ExecutorService writer) {
+        if (segmentSize <= FrameSegment.FRAME_HEADER_SIZE)
+            throw new IllegalArgumentException("Segment size must be greater than the frame header.");
+        this.archive = root == null ? null : new FrameArchive(root);
+        this.segmentSize = segmentSize;
+        this.quota = quota;
+        this.writer = writer;
+    }
+
+    /**
+     * Gets the recorder instance.
+     * @return the recorder configured by the {@link DronePropertiesConstants} of the camera recording
+     */
+    public static CameraRecorder getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Starts recording the frames of an order, stopping the recording of the previous one.
+     * @param order identifier of the order
+     */
+    public synchronized void start(final long order) {
+        if (this.archive == null || this.orderId == order)
+            return;
+        this.stop();
+        this.orderId = order;
+        this.lastOrderId = order;
+        this.next = this.prepare(order);
+    }
+
+    /**
+     * Stops recording, sealing the current segment.
+     */
+    public synchronized void stop() {
+        if (this.orderId != NO_ORDER)
+            LoggerFactory.getLogger(getClass()).info("Camera frames recorded: " + this.recorded.get()
+                    + ", dropped: " + this.dropped.get() + ".");
+        if (this.current != null)
+            this.seal(this.current);
+        if (this.next != null) {
+            final Future<FrameSegment> unused = this.next;
+            this.writer.execute(() -> this.discard(unused));
+        }
+        this.current = null;
+        this.next = null;
+        this.orderId = NO_ORDER;
+    }
+
+    /**
+     * Records a frame, unless NOT recording.
+     * @param frame the frame, from its position to its limit, left untouched
+     */
+    public void record(final @NotNull ByteBuffer frame) {
+        this.record(System.currentTimeMillis(), frame);
+    }
+
+    /**
+     * Counts the frames of the last order recorded in an interval.
+     * @param from milliseconds from the epoch at which the interval starts, inclusive
+     * @param to milliseconds from the epoch at which the interval ends, inclusive
+     * @return the number of frames, 0 if NOT recording
+     */
+    public long countFrames(final long from, final long to) {
+        final long order;
+        synchronized (this) {
+            order = this.lastOrderId;
+        }
+        return this.archive == null || order == NO_ORDER ? 0 : this.archive.countFrames(order, from, to);
+    }
+
+    /**
+     * Gets the archive of the recordings.
+     * @return the archive, null if NOT recording
+     */
+    public @Nullable FrameArchive getArchive() {
+        return this.archive;
+    }
+
+    /**
+     * Gets the number of frames recorded.
+     * @return the number of frames
+     */
+    public long getRecordedFrames() {
+        return this.recorded.get();
+    }
+
+    /**
+     * Gets the number of frames NOT recorded because no segment was ready.
+     * @return the number of frames
+     */
+    public long getDroppedFrames() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Records a frame, unless NOT recording.
+     * @param timestamp milliseconds from the epoch at which the frame has been received
+     * @param frame the frame, from its position to its limit, left untouched
+     */
+    synchronized void record(final long timestamp, final @NotNull ByteBuffer frame) {
+        if (this.orderId == NO_ORDER)
+            return;
+        if (this.current != null && this.current.append(timestamp, frame)) {
+            this.recorded.incrementAndGet();
+            return;
+        }
+        final FrameSegment ready = this.takeNext();
+        if (ready == null) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        if (this.current != null)
+            this.seal(this.current);
+        this.current = ready;
+        this.next = this.prepare(this.orderId);
+        if (ready.append(timestamp, frame))
+            this.recorded.incrementAndGet();
+        else
+            this.dropped.incrementAndGet();
+    }
+
+    private @Nullable FrameSegment takeNext() {
+        if (this.next == null || !this.next.isDone())
+            return null;
+        try {
+            return this.next.get();
+        } catch (ExecutionException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT create camera segment, recording stopped.",
+                    e.getCause());
+            this.next = null;
+            this.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private @NotNull Future<FrameSegment> prepare(final long order) {
+        return this.writer.submit(() -> {
+            final Path folder = this.archive.orderFolder(order);
+            Files.createDirectories(folder);
+            final Path path = folder.resolve(String.format(SEGMENT_NAME_FORMAT, System.currentTimeMillis(),
+                    this.sequence.getAndIncrement()) + FrameSegment.SEGMENT_EXTENSION);
+            this.activeSegments.add(path);
+            try {
+                final FrameSegment segment = FrameSegment.create(path, this.segmentSize);
+                this.enforceQuota();
+                return segment;
+            } catch (IOException e) {
+                this.activeSegments.remove(path);
+                throw e;
+            }
+        });
+    }
+
+    private void seal(final @NotNull FrameSegment segment) {
+        this.writer.execute(() -> {
+            try {
+                segment.seal();
+            } catch (IOException e) {
+                LoggerFactory.getLogger(getClass()).error("Can NOT seal camera segment " + segment.getPath() + ".", e);
+            } finally {
+                this.activeSegments.remove(segment.getPath());
+            }
+        });
+    }
+
+    private void discard(final @NotNull Future<FrameSegment> unused) {
+        try {
+            final Path path = unused.get().getPath();
+            this.activeSegments.remove(path);
+            Files.deleteIfExists(path);
+        } catch (ExecutionException e) {
+            LoggerFactory.getLogger(getClass()).debug("Unused camera segment never created.", e.getCause());
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT delete unused camera segment.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enforceQuota() throws IOException {
+        final List<Path> segments = this.archive.allSegments();
+        long used = 0;
+        for (final Path segment : segments)
+            used += sizeOf(segment) + sizeOf(FrameSegment.indexPath(segment));
+        for (int i = 0; i < segments.size() && used > this.quota; i++) {
+            final Path segment = segments.get(i);
+            if (!this.activeSegments.contains(segment)) {
+                final Path index = FrameSegment.indexPath(segment);
+                used -= sizeOf(segment) + sizeOf(index);
+                Files.deleteIfExists(index);
+                Files.deleteIfExists(segment);
+                LoggerFactory.getLogger(getClass()).debug("Camera segment " + segment + " evicted.");
+            }
+        }
+        if (used > this.quota)
+            LoggerFactory.getLogger(getClass()).warn("Camera recordings exceed their quota of " + this.quota
+                    + " bytes.");
+    }
+
+    private static long sizeOf(final @NotNull Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static final class InstanceHolder {
+        private static final CameraRecorder INSTANCE = fromSettings();
+
+        private static @NotNull CameraRecorder fromSettings() {
+            final String folder = SensorPropertiesHelper.read(DronePropertiesConstants.CAMERA_RECORDING_FOLDER);
+            final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "camera-recorder");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final int segmentSize = (int) SensorPropertiesHelper.readNumber(
+                    DronePropertiesConstants.CAMERA_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE);
+            final long quota = (long) SensorPropertiesHelper.readNumber(
+                    DronePropertiesConstants.CAMERA_RECORDING_QUOTA, DEFAULT_QUOTA);
+            return new CameraRecorder(folder == null || folder.isBlank() ? null : Paths.get(folder.trim()),
+                    segmentSize > FrameSegment.FRAME_HEADER_SIZE ? segmentSize : DEFAULT_SEGMENT_SIZE,
+                    quota,
+                    writer);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.RecordedFrame;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reader of the camera frames recorded by the {@link CameraRecorder}, looking them up through the index of each
+ * segment. Segments still being written are read as well, rebuilding their index from the frames written so far.
+ */
+public final class FrameArchive {
+
+    private final Path root;
+
+    /**
+     * Build the archive.
+     * @param root folder of the recordings
+     */
+    public FrameArchive(final @NotNull Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets the frames of an order recorded in an interval.
+     * @param orderId identifier of the order
+     * @param from milliseconds from the epoch at which the interval starts, inclusive
+     * @param to milliseconds from the epoch at which the interval ends, inclusive
+     * @return the frames in the order they have been recorded
+     */
+    public @NotNull List<RecordedFrame> framesBetween(final long orderId, final long from, final long to) {
+        final List<RecordedFrame> frames = new ArrayList<>();
+        for (final Path segment : this.segments(orderId)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                final FrameIndex index = FrameSegment.readIndex(segment);
+                for (int i = index.firstFrom(from); i < index.size() && index.getTimestamp(i) <= to; i++)
+                    frames.add(readFrame(channel, index.getOffset(i)));
+            } catch (NoSuchFileException e) {
+                LoggerFactory.getLogger(getClass()).debug("Camera segment evicted while reading.", e);
+            } catch (IOException e) {
+                LoggerFactory.getLogger(getClass()).error("Can NOT read camera segment " + segment + ".", e);
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Counts the frames of an order recorded in an interval, without reading them.
+     * @param orderId identifier of the order
+     * @param from milliseconds from the epoch at which the interval starts, inclusive
+     * @param to milliseconds from the epoch at which the interval ends, inclusive
+     * @return the number of frames
+     */
+    public long countFrames(final long orderId, final long from, final long to) {
+        long count = 0;
+        for (final Path segment : this.segments(orderId)) {
+            try {
+                final FrameIndex index = FrameSegment.readIndex(segment);
+                count += index.firstFrom(to + 1) - index.firstFrom(from);
+            } catch (NoSuchFileException e) {
+                LoggerFactory.getLogger(getClass()).debug("Camera segment evicted while counting.", e);
+            } catch (IOException e) {
+                LoggerFactory.getLogger(getClass()).error("Can NOT read camera segment " + segment + ".", e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the folder of the recordings of an order.
+     * @param orderId identifier of the order
+     * @return the folder
+     */
+    @NotNull Path orderFolder(final long orderId) {
+        return this.root.resolve(String.valueOf(orderId));
+    }
+
+    /**
+     * Gets every segment recorded, of any order, from the oldest to the newest.
+     * @return the segments
+     * @throws IOException if the folder of the recordings can NOT be read
+     */
+    @NotNull List<Path> allSegments() throws IOException {
+        if (!Files.isDirectory(this.root))
+            return List.of();
+        try (Stream<Path> files = Files.walk(this.root, 2)) {
+            return sortByName(files);
+        }
+    }
+
+    private @NotNull List<Path> segments(final long orderId) {
+        final Path folder = this.orderFolder(orderId);
+        if (!Files.isDirectory(folder))
+            return List.of();
+        try (Stream<Path> files = Files.list(folder)) {
+            return sortByName(files);
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT list camera segments of order " + orderId + ".", e);
+            return List.of();
+        }
+    }
+
+    private static @NotNull List<Path> sortByName(final @NotNull Stream<Path> files) {
+        // Segment names start with their creation instant, so sorting them by name sorts them by age.
+        return files.filter(file -> file.getFileName().toString().endsWith(FrameSegment.SEGMENT_EXTENSION))
+                .sorted((first, second) -> first.getFileName().toString().compareTo(second.getFileName().toString()))
+                .collect(Collectors.toList());
+    }
+
+    private static @NotNull RecordedFrame readFrame(final @NotNull FileChannel channel, final int offset)
+            throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(FrameSegment.FRAME_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header, offset);
+        final long timestamp = header.getLong(0);
+        final ByteBuffer image = ByteBuffer.allocate(header.getInt(Long.BYTES));
+        readFully(channel, image, offset + FrameSegment.FRAME_HEADER_SIZE);
+        return new RecordedFrame(timestamp, image.flip());
+    }
+
+    private static void readFully(final @NotNull FileChannel channel, final @NotNull ByteBuffer buffer,
+                                  final long position) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Camera segment truncated.");
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed set of direct buffers reused for the camera frames, so that no buffer is allocated per frame.
+ */
+final class FrameBufferPool {
+
+    private final BlockingQueue<ByteBuffer> free;
+
+    /**
+     * Build the pool.
+     * @param size number of buffers
+     * @param bufferCapacity initial capacity in bytes of each buffer
+     */
+    FrameBufferPool(final int size, final int bufferCapacity) {
+        this.free = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++)
+            this.free.add(ByteBuffer.allocateDirect(bufferCapacity));
+    }
+
+    /**
+     * Takes a free buffer, replacing it with a larger one if it can NOT hold the frame.
+     * @param length length in bytes of the frame
+     * @return the buffer, limited to the length of the frame, null if every buffer is in use
+     */
+    @Nullable ByteBuffer acquire(final int length) {
+        ByteBuffer buffer = this.free.poll();
+        if (buffer == null)
+            return null;
+        if (buffer.capacity() < length)
+            buffer = ByteBuffer.allocateDirect(length);
+        buffer.clear().limit(length);
+        return buffer;
+    }
+
+    /**
+     * Gives back a buffer taken from the pool.
+     * @param buffer the buffer
+     */
+    void release(final @NotNull ByteBuffer buffer) {
+        this.free.offer(buffer);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Index of the frames of a recording segment, made of the timestamp and the offset of each frame in append order,
+ * so that the first frame at or after an instant is found by binary search. Stored in little endian as the number of
+ * frames, followed by the timestamp as a long and the offset as an int of each frame.
+ */
+final class FrameIndex {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a frame, which must NOT be older than the last one added.
+     * @param timestamp milliseconds from the epoch at which the frame has been received
+     * @param offset offset of the frame in the segment
+     */
+    void add(final long timestamp, final int offset) {
+        if (this.size == this.timestamps.length) {
+            this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+            this.offsets = Arrays.copyOf(this.offsets, this.size * 2);
+        }
+        this.timestamps[this.size] = timestamp;
+        this.offsets[this.size] = offset;
+        this.size++;
+    }
+
+    /**
+     * Gets the number of frames.
+     * @return the number of frames
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the timestamp of a frame.
+     * @param position position of the frame in the index
+     * @return milliseconds from the epoch at which the frame has been received
+     */
+    long getTimestamp(final int position) {
+        return this.timestamps[position];
+    }
+
+    /**
+     * Gets the offset of a frame in the segment.
+     * @param position position of the frame in the index
+     * @return the offset of the frame
+     */
+    int getOffset(final int position) {
+        return this.offsets[position];
+    }
+
+    /**
+     * Finds the first frame received at or after an instant.
+     * @param timestamp milliseconds from the epoch
+     * @return the position of the frame, the number of frames if all of them are older
+     */
+    int firstFrom(final long timestamp) {
+        int low = 0;
+        int high = this.size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (this.timestamps[middle] < timestamp)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Writes the index to a file.
+     * @param path the file
+     * @throws IOException if the file can NOT be written
+     */
+    void write(final @NotNull Path path) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + this.size * ENTRY_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(this.size);
+        for (int i = 0; i < this.size; i++)
+            buffer.putLong(this.timestamps[i]).putInt(this.offsets[i]);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads an index written to a file.
+     * @param path the file
+     * @return the index
+     * @throws IOException if the file can NOT be read
+     */
+    static @NotNull FrameIndex read(final @NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            int read = 0;
+            while (buffer.hasRemaining() && read >= 0)
+                read = channel.read(buffer);
+            buffer.flip();
+            final FrameIndex index = new FrameIndex();
+            final int size = buffer.remaining() >= Integer.BYTES ? buffer.getInt() : 0;
+            for (int i = 0; i < size && buffer.remaining() >= ENTRY_SIZE; i++)
+                index.add(buffer.getLong(), buffer.getInt());
+            return index;
+        }
+    }
+}
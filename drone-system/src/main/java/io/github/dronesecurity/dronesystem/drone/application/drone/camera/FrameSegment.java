@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped file of fixed size the recorded frames are appended to, each one written in little endian as its
+ * timestamp, its length and its bytes. Once full, the segment is sealed: its {@link FrameIndex} is written next to it
+ * and the file is truncated to the frames written.
+ */
+final class FrameSegment {
+
+    /**
+     * Extension of the segment files.
+     */
+    static final String SEGMENT_EXTENSION = ".seg";
+    /**
+     * Extension of the index files.
+     */
+    static final String INDEX_EXTENSION = ".idx";
+    /**
+     * Size in bytes of the header of each frame.
+     */
+    static final int FRAME_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final FrameIndex index = new FrameIndex();
+
+    private FrameSegment(final Path path, final MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates a new segment.
+     * @param path the file of the segment
+     * @param size size in bytes of the segment
+     * @return the segment
+     * @throws IOException if the file can NOT be created or mapped
+     */
+    static @NotNull FrameSegment create(final @NotNull Path path, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new FrameSegment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Gets the file of the index of a segment.
+     * @param segmentPath the file of the segment
+     * @return the file of the index
+     */
+    static @NotNull Path indexPath(final @NotNull Path segmentPath) {
+        final String name = segmentPath.getFileName().toString();
+        return segmentPath.resolveSibling(name.substring(0, name.length() - SEGMENT_EXTENSION.length())
+                + INDEX_EXTENSION);
+    }
+
+    /**
+     * Appends a frame, if there is room for it.
+     * @param timestamp milliseconds from the epoch at which the frame has been received
+     * @param frame the frame, from its position to its limit
+     * @return true if the frame has been appended, false if the segment is full
+     */
+    boolean append(final long timestamp, final @NotNull ByteBuffer frame) {
+        final int length = frame.remaining();
+        if (this.buffer.remaining() < FRAME_HEADER_SIZE + length)
+            return false;
+        final int offset = this.buffer.position();
+        this.buffer.putLong(timestamp).putInt(length).put(frame.duplicate());
+        this.index.add(timestamp, offset);
+        return true;
+    }
+
+    /**
+     * Gets the file of the segment.
+     * @return the path of the file
+     */
+    Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Gets the index of the frames appended.
+     * @return the index
+     */
+    FrameIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Seals the segment, writing its index and releasing the room NOT used.
+     * @throws IOException if the index can NOT be written or the file can NOT be truncated
+     */
+    void seal() throws IOException {
+        this.buffer.force();
+        this.index.write(indexPath(this.path));
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+            channel.truncate(this.buffer.position());
+        }
+    }
+
+    /**
+     * Reads the index of a segment, rebuilding it from the frames if the segment has NOT been sealed.
+     * @param segmentPath the file of the segment
+     * @return the index
+     * @throws IOException if the segment can NOT be read
+     */
+    static @NotNull FrameIndex readIndex(final @NotNull Path segmentPath) throws IOException {
+        final Path indexPath = indexPath(segmentPath);
+        if (Files.exists(indexPath))
+            return FrameIndex.read(indexPath);
+        final FrameIndex index = new FrameIndex();
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            long offset = 0;
+            while (offset + FRAME_HEADER_SIZE <= channel.size()) {
+                header.clear();
+                if (channel.read(header, offset) < FRAME_HEADER_SIZE)
+                    break;
+                final long timestamp = header.getLong(0);
+                final int length = header.getInt(Long.BYTES);
+                if (timestamp == 0 || length <= 0 || offset + FRAME_HEADER_SIZE + length > channel.size())
+                    break;
+                index.add(timestamp, (int) offset);
+                offset += FRAME_HEADER_SIZE + length;
+            }
+        }
+        return index;
+    }
+}
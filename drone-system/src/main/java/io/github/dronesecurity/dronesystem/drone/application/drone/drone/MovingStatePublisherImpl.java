@@ -5,10 +5,10 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone.drone;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.services.MovingStatePublisher;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttMessageValueConstants;
@@ -38,7 +38,7 @@ public class MovingStatePublisherImpl implements MovingStatePublisher {
     }
 
     private void publishMovingState(final @NotNull OrderData orderData, final String movingState) {
-        final ObjectNode payload = new ObjectMapper().createObjectNode();
+        final ObjectNode payload = MessageCodecHelper.createObjectNode();
         payload.put(MqttMessageParameterConstants.DRONE_MOVING_STATE_PARAMETER, movingState);
         Connection.getInstance().publish(MqttTopicConstants.DRONE_MOVING_TOPIC + orderData.getOrderId(), payload);
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.navigation;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimulationClock} running a fixed number of times faster than real time, as specified by the
+ * {@link DronePropertiesConstants#SIMULATION_SPEED} setting.
+ */
+public final class ScaledClock implements SimulationClock {
+
+    private static final double DEFAULT_SPEED = 1;
+
+    private final double speed;
+    private final long originNanos = System.nanoTime();
+
+    /**
+     * Build the clock.
+     * @param speed how many times faster than real time the clock runs
+     */
+    public ScaledClock(final double speed) {
+        if (!(speed > 0) || Double.isInfinite(speed))
+            throw new IllegalArgumentException("Speed of the clock must be positive.");
+        this.speed = speed;
+    }
+
+    /**
+     * Builds the clock with the speed specified by the {@link DronePropertiesConstants#SIMULATION_SPEED} setting.
+     * @return the configured clock, following real time if the configured speed is invalid
+     */
+    public static @NotNull ScaledClock fromSettings() {
+        final double speed =
+                SensorPropertiesHelper.readNumber(DronePropertiesConstants.SIMULATION_SPEED, DEFAULT_SPEED);
+        try {
+            return new ScaledClock(speed);
+        } catch (IllegalArgumentException e) {
+            LoggerFactory.getLogger(ScaledClock.class).warn("Invalid simulation speed, using real time.", e);
+            return new ScaledClock(DEFAULT_SPEED);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long millis() {
+        return TimeUnit.NANOSECONDS.toMillis((long) ((System.nanoTime() - this.originNanos) * this.speed));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sleepUntil(final long targetMillis) throws InterruptedException {
+        final long remaining = targetMillis - this.millis();
+        if (remaining > 0)
+            TimeUnit.MICROSECONDS.sleep((long) Math.ceil(TimeUnit.MILLISECONDS.toMicros(remaining) / this.speed));
+    }
+}
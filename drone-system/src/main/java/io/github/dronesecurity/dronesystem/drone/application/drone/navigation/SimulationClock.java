@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.navigation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Clock measuring the time of the simulated journeys, which may run faster than real time.
+ */
+public interface SimulationClock {
+
+    /**
+     * Gets the current simulated time.
+     * @return the milliseconds elapsed from an arbitrary origin, never decreasing
+     */
+    long millis();
+
+    /**
+     * Waits until the simulated time reaches an instant.
+     * @param targetMillis the simulated instant, as given by {@link #millis()}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void sleepUntil(long targetMillis) throws InterruptedException;
+
+    /**
+     * Gets the clock following real time.
+     * @return the real time clock
+     */
+    static @NotNull SimulationClock system() {
+        return new ScaledClock(1);
+    }
+}
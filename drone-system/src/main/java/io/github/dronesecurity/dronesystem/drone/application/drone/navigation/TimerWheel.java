@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.navigation;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed wheel of timeouts, shared by the journeys of many drones.
+ * A single thread advances the wheel one tick at a time, following a {@link SimulationClock}, and hands the expired
+ * tasks to an executor: scheduling and cancelling a timeout are constant time, so thousands of drones only cost a
+ * few threads and no periodic wake-up each. Timeouts expire within a tick after their deadline.
+ * While no timeout is waiting the thread parks, woken up by the next one scheduled, so an idle wheel does NOT tick.
+ */
+public final class TimerWheel {
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int DEFAULT_TASK_THREADS = 2;
+
+    private final SimulationClock clock;
+    private final long tickMillis;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final long startMillis;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean parked = new AtomicBoolean();
+    private final Thread worker;
+    private volatile boolean stopped;
+    private long tick;
+    private long waiting;
+
+    /**
+     * Build the wheel.
+     * @param clock clock measuring the deadlines
+     * @param tickMillis milliseconds of the clock covered by each tick
+     * @param wheelSize number of buckets, a power of two
+     * @param taskExecutor executor of the expired tasks
+     */
+    public TimerWheel(final @NotNull SimulationClock clock, final long tickMillis, final int wheelSize,
+                      final @NotNull Executor taskExecutor) {
+        if (tickMillis <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1)
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two.");
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++)
+            this.wheel[i] = new Bucket();
+        this.mask = wheelSize - 1;
+        this.taskExecutor = taskExecutor;
+        this.startMillis = clock.millis();
+        this.worker = new Thread(this::work, "navigation-timer");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Gets the wheel shared by all the journeys, following the {@link ScaledClock#fromSettings() configured} clock.
+     * @return the shared wheel
+     */
+    public static @NotNull TimerWheel shared() {
+        return SharedHolder.WHEEL;
+    }
+
+    /**
+     * Gets the clock measuring the deadlines.
+     * @return the clock
+     */
+    public @NotNull SimulationClock getClock() {
+        return this.clock;
+    }
+
+    /**
+     * Schedules a task.
+     * @param task task to execute once expired
+     * @param delayMillis milliseconds of the clock after which the task expires
+     * @return the timeout of the task, to cancel it
+     * @throws IllegalStateException if the wheel has been stopped
+     */
+    public @NotNull Timeout schedule(final @NotNull Runnable task, final long delayMillis) {
+        if (this.stopped)
+            throw new IllegalStateException("Timer wheel has been stopped.");
+        final Timeout timeout = new Timeout(task, this.clock.millis() + Math.max(0, delayMillis));
+        this.pending.add(timeout);
+        if (this.started.compareAndSet(false, true))
+            this.worker.start();
+        else if (this.parked.compareAndSet(true, false))
+            this.worker.interrupt();
+        return timeout;
+    }
+
+    /**
+     * Stops the wheel, discarding every timeout NOT expired yet. No timeout can be scheduled afterwards.
+     */
+    public void stop() {
+        this.stopped = true;
+        this.worker.interrupt();
+    }
+
+    private void work() {
+        while (!this.stopped) {
+            try {
+                if (this.waiting == 0)
+                    this.parkWhileIdle();
+                this.clock.sleepUntil(this.startMillis + (this.tick + 1) * this.tickMillis);
+            } catch (InterruptedException e) {
+                // Woken up by a new timeout while parked, or stopped.
+                continue;
+            }
+            this.transferPending();
+            this.waiting -= this.wheel[(int) (this.tick & this.mask)].expire(this.taskExecutor);
+            this.tick++;
+        }
+    }
+
+    private void parkWhileIdle() throws InterruptedException {
+        this.parked.set(true);
+        // A timeout scheduled after parking either sees the flag and interrupts the sleep, or is seen here.
+        if (this.pending.isEmpty() || !this.parked.compareAndSet(true, false))
+            this.clock.sleepUntil(Long.MAX_VALUE);
+        // Every bucket is empty, so the ticks elapsed while parked are skipped but the last one, expiring right away
+        // the timeouts already due.
+        this.tick = Math.max(this.tick, (this.clock.millis() - this.startMillis) / this.tickMillis - 1);
+    }
+
+    private void transferPending() {
+        Timeout timeout = this.pending.poll();
+        while (timeout != null) {
+            if (!timeout.isCancelled()) {
+                final long calculated = (timeout.deadlineMillis - this.startMillis) / this.tickMillis;
+                timeout.remainingRounds = (calculated - this.tick) / this.wheel.length;
+                this.wheel[(int) (Math.max(calculated, this.tick) & this.mask)].add(timeout);
+                this.waiting++;
+            }
+            timeout = this.pending.poll();
+        }
+    }
+
+    /**
+     * Task waiting for its deadline in the wheel.
+     */
+    public static final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long remainingRounds;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(final Runnable task, final long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * Cancels the task, unless already expired.
+         * @return true if the task will NOT be executed anymore because of this call, false otherwise
+         */
+        public boolean cancel() {
+            return this.state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        /**
+         * Checks if the task has been cancelled.
+         * @return true if cancelled, false otherwise
+         */
+        public boolean isCancelled() {
+            return this.state.get() == CANCELLED;
+        }
+
+        /**
+         * Checks if the task has expired, being handed for execution.
+         * @return true if expired, false otherwise
+         */
+        public boolean isExpired() {
+            return this.state.get() == EXPIRED;
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed in the same slot, accessed by the worker thread only.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(final @NotNull Timeout timeout) {
+            timeout.previous = this.tail;
+            if (this.tail == null)
+                this.head = timeout;
+            else
+                this.tail.next = timeout;
+            this.tail = timeout;
+        }
+
+        private int expire(final @NotNull Executor taskExecutor) {
+            int removed = 0;
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.isCancelled() || timeout.remainingRounds <= 0) {
+                    this.remove(timeout);
+                    removed++;
+                    if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED))
+                        execute(taskExecutor, timeout.task);
+                } else
+                    timeout.remainingRounds--;
+                timeout = next;
+            }
+            return removed;
+        }
+
+        private void remove(final @NotNull Timeout timeout) {
+            if (timeout.previous == null)
+                this.head = timeout.next;
+            else
+                timeout.previous.next = timeout.next;
+            if (timeout.next == null)
+                this.tail = timeout.previous;
+            else
+                timeout.next.previous = timeout.previous;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        private static void execute(final @NotNull Executor taskExecutor, final @NotNull Runnable task) {
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        LoggerFactory.getLogger(TimerWheel.class).error("Timed task failed.", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LoggerFactory.getLogger(TimerWheel.class).warn("Timed task rejected.", e);
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+
+        private static final TimerWheel WHEEL = new TimerWheel(ScaledClock.fromSettings(), DEFAULT_TICK_MILLIS,
+                DEFAULT_WHEEL_SIZE, taskExecutor());
+
+        private static @NotNull ExecutorService taskExecutor() {
+            final AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(DEFAULT_TASK_THREADS, runnable -> {
+                final Thread thread = new Thread(runnable, "navigation-task-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
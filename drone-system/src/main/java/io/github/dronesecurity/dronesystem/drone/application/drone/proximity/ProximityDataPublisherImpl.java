@@ -5,33 +5,42 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone.proximity;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.objects.ProcessedProximityData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.services.ProximityDataPublisher;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Implementation of {@link ProximityDataPublisher} that publishes processed proximity sensor data
  * to an established AWS connection.
  */
 public class ProximityDataPublisherImpl implements ProximityDataPublisher {
 
+    private final AtomicInteger sequence = new AtomicInteger();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void publishProximityData(final @NotNull OrderData orderData,
                                      final @NotNull ProcessedProximityData proximityData) {
-        final ObjectMapper mapper = new ObjectMapper();
-        final ObjectNode mapJson = mapper.createObjectNode();
-        mapJson.put(MqttMessageParameterConstants.PROXIMITY_PARAMETER, proximityData.getDistance());
+        final TelemetryFrame frame = TelemetryFrame.proximity(orderData.getOrderId(),
+                this.sequence.getAndIncrement(), TelemetryCodecHelper.nowEpochNanos(), proximityData.getDistance());
 
-        Connection.getInstance().publish(MqttTopicConstants.DATA_TOPIC + orderData.getOrderId()
-                + " " + MqttMessageParameterConstants.PROXIMITY_PARAMETER, mapJson);
+        Connection.getInstance().publishTelemetry(MqttTopicConstants.DATA_TOPIC + orderData.getOrderId()
+                + " " + MqttMessageParameterConstants.PROXIMITY_PARAMETER, frame, () -> {
+                    final ObjectNode mapJson = MessageCodecHelper.createObjectNode();
+                    mapJson.put(MqttMessageParameterConstants.PROXIMITY_PARAMETER, proximityData.getDistance());
+                    return mapJson;
+                });
     }
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.rule;
+
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule raising an {@link AlertLevel} when all its conditions hold, written as name: LEVEL when condition and ...
+ * Each condition compares a {@link RuleSignal} with a number or a level, like distance &lt; 25, and can be checked
+ * over the last samples, like distance &lt; 25 for 3 of 5, or on the rate of change per second over the last
+ * milliseconds, like tilt rate &gt; 90 within 500 ms.
+ * Rules are only parsed here: they are compiled into the tables of the {@link AlertRuleEngine} to be evaluated.
+ */
+final class AlertRule {
+
+    private static final Pattern RULE_FORMAT = Pattern.compile("(\\w+)\\s*:\\s*(\\w+)\\s+when\\s+(.+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONDITION_SEPARATOR = Pattern.compile("\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONDITION_FORMAT = Pattern.compile(
+            "(\\w+)\\s+(rate\\s+)?(<=|>=|==|!=|<|>)\\s*([\\w.+-]+)"
+                    + "(?:\\s+for\\s+(\\d+)\\s+of\\s+(\\d+)|\\s+within\\s+(\\d+)\\s*ms)?", Pattern.CASE_INSENSITIVE);
+    private static final int NAME_GROUP = 1;
+    private static final int LEVEL_GROUP = 2;
+    private static final int CONDITIONS_GROUP = 3;
+    private static final int SIGNAL_GROUP = 1;
+    private static final int RATE_GROUP = 2;
+    private static final int OPERATOR_GROUP = 3;
+    private static final int VALUE_GROUP = 4;
+    private static final int HITS_GROUP = 5;
+    private static final int SAMPLES_GROUP = 6;
+    private static final int WINDOW_GROUP = 7;
+
+    private final String name;
+    private final AlertLevel level;
+    private final List<Condition> conditions;
+
+    private AlertRule(final String name, final AlertLevel level, final List<Condition> conditions) {
+        this.name = name;
+        this.level = level;
+        this.conditions = Collections.unmodifiableList(conditions);
+    }
+
+    /**
+     * Parses a semicolon separated list of rules, skipping the malformed ones.
+     * @param script the list of rules
+     * @return the parsed rules, in the same order
+     */
+    static @NotNull List<AlertRule> parseAll(final @NotNull String script) {
+        final List<AlertRule> rules = new ArrayList<>();
+        for (final String entry : script.split(";")) {
+            if (entry.isBlank())
+                continue;
+            try {
+                rules.add(parse(entry.trim()));
+            } catch (IllegalArgumentException e) {
+                LoggerFactory.getLogger(AlertRule.class).warn("Invalid alert rule " + entry.trim() + ".", e);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Gets the name of the rule.
+     * @return the name
+     */
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the level raised by the rule.
+     * @return the level
+     */
+    AlertLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Gets the conditions of the rule, all of which must hold.
+     * @return the conditions
+     */
+    List<Condition> getConditions() {
+        return this.conditions;
+    }
+
+    private static @NotNull AlertRule parse(final @NotNull String entry) {
+        final Matcher matcher = RULE_FORMAT.matcher(entry);
+        if (!matcher.matches())
+            throw new IllegalArgumentException("Expected name: LEVEL when condition and ...");
+        final AlertLevel level = AlertLevel.valueOf(matcher.group(LEVEL_GROUP).toUpperCase(Locale.ROOT));
+        final List<Condition> conditions = new ArrayList<>();
+        for (final String condition : CONDITION_SEPARATOR.split(matcher.group(CONDITIONS_GROUP).trim()))
+            conditions.add(parseCondition(condition.trim()));
+        return new AlertRule(matcher.group(NAME_GROUP), level, conditions);
+    }
+
+    private static @NotNull Condition parseCondition(final @NotNull String condition) {
+        final Matcher matcher = CONDITION_FORMAT.matcher(condition);
+        if (!matcher.matches())
+            throw new IllegalArgumentException("Expected signal [rate] operator value [for hits of samples | within "
+                    + "millis ms] instead of " + condition + ".");
+        final RuleSignal signal = RuleSignal.fromName(matcher.group(SIGNAL_GROUP));
+        if (signal == null)
+            throw new IllegalArgumentException("Unknown signal " + matcher.group(SIGNAL_GROUP) + ".");
+        final boolean rate = matcher.group(RATE_GROUP) != null;
+        if (rate != (matcher.group(WINDOW_GROUP) != null))
+            throw new IllegalArgumentException("Rates, and only rates, must be checked within some milliseconds.");
+        final int hits = matcher.group(HITS_GROUP) == null ? 1 : Integer.parseInt(matcher.group(HITS_GROUP));
+        final int samples = matcher.group(SAMPLES_GROUP) == null ? 1 : Integer.parseInt(matcher.group(SAMPLES_GROUP));
+        if (hits <= 0 || samples < hits)
+            throw new IllegalArgumentException("Hits must be positive and NOT more than the samples.");
+        final long windowNanos = rate ? TimeUnit.MILLISECONDS.toNanos(Long.parseLong(matcher.group(WINDOW_GROUP))) : 0;
+        if (rate && windowNanos <= 0)
+            throw new IllegalArgumentException("Rates must be checked within a positive time.");
+        return new Condition(signal, Operator.fromSymbol(matcher.group(OPERATOR_GROUP)),
+                parseValue(matcher.group(VALUE_GROUP)), hits, samples, windowNanos);
+    }
+
+    private static double parseValue(final @NotNull String value) {
+        for (final AlertLevel level : AlertLevel.values()) {
+            if (level.name().equalsIgnoreCase(value))
+                return level.ordinal();
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * Comparison between a signal and the value of a condition.
+     */
+    enum Operator {
+        /**
+         * Less than.
+         */
+        LESS("<"),
+        /**
+         * Less than or equal to.
+         */
+        LESS_OR_EQUAL("<="),
+        /**
+         * Greater than.
+         */
+        GREATER(">"),
+        /**
+         * Greater than or equal to.
+         */
+        GREATER_OR_EQUAL(">="),
+        /**
+         * Equal to.
+         */
+        EQUAL("=="),
+        /**
+         * NOT equal to.
+         */
+        NOT_EQUAL("!=");
+
+        private final String symbol;
+
+        Operator(final String symbol) {
+            this.symbol = symbol;
+        }
+
+        private static @NotNull Operator fromSymbol(final @NotNull String symbol) {
+            for (final Operator operator : values()) {
+                if (operator.symbol.equals(symbol))
+                    return operator;
+            }
+            throw new IllegalArgumentException("Unknown operator " + symbol + ".");
+        }
+    }
+
+    /**
+     * Condition of a rule on a single signal.
+     */
+    static final class Condition {
+
+        private final RuleSignal signal;
+        private final Operator operator;
+        private final double value;
+        private final int hits;
+        private final int samples;
+        private final long windowNanos;
+
+        private Condition(final RuleSignal signal, final Operator operator, final double value, final int hits,
+                          final int samples, final long windowNanos) {
+            this.signal = signal;
+            this.operator = operator;
+            this.value = value;
+            this.hits = hits;
+            this.samples = samples;
+            this.windowNanos = windowNanos;
+        }
+
+        /**
+         * Gets the signal checked.
+         * @return the signal
+         */
+        RuleSignal getSignal() {
+            return this.signal;
+        }
+
+        /**
+         * Gets the comparison between the signal, or its rate, and the value.
+         * @return the operator
+         */
+        Operator getOperator() {
+            return this.operator;
+        }
+
+        /**
+         * Gets the value the signal, or its rate, is compared with.
+         * @return the value, the ordinal for levels
+         */
+        double getValue() {
+            return this.value;
+        }
+
+        /**
+         * Gets the number of samples that must satisfy the comparison.
+         * @return the hits, 1 for rates
+         */
+        int getHits() {
+            return this.hits;
+        }
+
+        /**
+         * Gets the number of last samples checked.
+         * @return the samples, 1 for rates
+         */
+        int getSamples() {
+            return this.samples;
+        }
+
+        /**
+         * Gets the time over which the rate of change is computed.
+         * @return the nanoseconds, 0 if the signal itself is compared
+         */
+        long getWindowNanos() {
+            return this.windowNanos;
+        }
+    }
+}
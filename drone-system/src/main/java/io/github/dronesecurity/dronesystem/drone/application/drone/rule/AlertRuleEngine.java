@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.rule;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Engine evaluating the {@link AlertRule}s configured by the {@link DronePropertiesConstants} of the alert rules on the
+ * samples of the {@link RuleSignal}s.
+ * Rules are compiled into tables of primitives, and the samples of each signal are kept in primitive rings, so that
+ * updating and evaluating the rules allocate nothing. The level of the drone is the worst one raised by the rules
+ * holding, the first rule declared winning among the ones of the same level.
+ * The engine is NOT thread safe: its callers must synchronize on it.
+ */
+public final class AlertRuleEngine {
+
+    /**
+     * Rules used if none is configured: the levels of the sensors, with critical levels of the angle and the camera
+     * confirmed by two of the last three samples, a blind approach to an obstacle and fast swings. A critical
+     * proximity halts the drone at its first sample, as backends with no emergency path of the proximity sensor
+     * rely on the readings alone to halt it.
+     */
+    static final String DEFAULT_RULES = "proximityCritical: CRITICAL when proximityLevel >= CRITICAL;"
+            + "angleCritical: CRITICAL when angleLevel >= CRITICAL for 2 of 3;"
+            + "cameraCritical: CRITICAL when cameraLevel >= CRITICAL for 2 of 3;"
+            + "blindApproach: CRITICAL when occlusion >= 0.4 and proximityLevel >= WARNING;"
+            + "proximityWarning: WARNING when proximityLevel >= WARNING;"
+            + "angleWarning: WARNING when angleLevel >= WARNING;"
+            + "cameraWarning: WARNING when cameraLevel >= WARNING;"
+            + "swing: WARNING when tilt rate > 90 within 500 ms";
+
+    // Samples kept for the signals whose rate is checked, enough for the shortest sampling interval.
+    private static final int RATE_SAMPLES = 64;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int NO_RULE = -1;
+
+    private final String[] ruleNames;
+    private final AlertLevel[] ruleLevels;
+    private final AlertType[] ruleTypes;
+    private final int[] ruleFirstCondition;
+    private final int[] ruleEndCondition;
+    private final int[] conditionSignals;
+    private final AlertRule.Operator[] conditionOperators;
+    private final double[] conditionValues;
+    private final int[] conditionHits;
+    private final int[] conditionSamples;
+    private final long[] conditionWindows;
+    private final double[][] values;
+    private final long[][] times;
+    private final int[] next;
+    private final int[] sizes;
+    private int firedRule = NO_RULE;
+
+    /**
+     * Build the engine.
+     * @param rules the rules, in order of precedence
+     */
+    AlertRuleEngine(final @NotNull List<AlertRule> rules) {
+        final int ruleCount = rules.size();
+        this.ruleNames = new String[ruleCount];
+        this.ruleLevels = new AlertLevel[ruleCount];
+        this.ruleTypes = new AlertType[ruleCount];
+        this.ruleFirstCondition = new int[ruleCount];
+        this.ruleEndCondition = new int[ruleCount];
+        final int conditionCount = rules.stream().mapToInt(rule -> rule.getConditions().size()).sum();
+        this.conditionSignals = new int[conditionCount];
+        this.conditionOperators = new AlertRule.Operator[conditionCount];
+        this.conditionValues = new double[conditionCount];
+        this.conditionHits = new int[conditionCount];
+        this.conditionSamples = new int[conditionCount];
+        this.conditionWindows = new long[conditionCount];
+        final int[] capacities = new int[RuleSignal.values().length];
+        int condition = 0;
+        for (int rule = 0; rule < ruleCount; rule++) {
+            this.ruleNames[rule] = rules.get(rule).getName();
+            this.ruleLevels[rule] = rules.get(rule).getLevel();
+            this.ruleTypes[rule] = rules.get(rule).getConditions().get(0).getSignal().getAlertType();
+            this.ruleFirstCondition[rule] = condition;
+            for (final AlertRule.Condition parsed : rules.get(rule).getConditions()) {
+                final int signal = parsed.getSignal().ordinal();
+                this.conditionSignals[condition] = signal;
+                this.conditionOperators[condition] = parsed.getOperator();
+                this.conditionValues[condition] = parsed.getValue();
+                this.conditionHits[condition] = parsed.getHits();
+                this.conditionSamples[condition] = parsed.getSamples();
+                this.conditionWindows[condition] = parsed.getWindowNanos();
+                capacities[signal] = Math.max(capacities[signal],
+                        parsed.getWindowNanos() > 0 ? RATE_SAMPLES : parsed.getSamples());
+                condition++;
+            }
+            this.ruleEndCondition[rule] = condition;
+        }
+        this.values = new double[capacities.length][];
+        this.times = new long[capacities.length][];
+        for (int signal = 0; signal < capacities.length; signal++) {
+            this.values[signal] = new double[capacities[signal]];
+            this.times[signal] = new long[capacities[signal]];
+        }
+        this.next = new int[capacities.length];
+        this.sizes = new int[capacities.length];
+    }
+
+    /**
+     * Builds the engine with the rules specified by the {@link DronePropertiesConstants} of the alert rules.
+     * @return the configured engine, with the default rules if none of the configured ones is valid
+     */
+    public static @NotNull AlertRuleEngine fromSettings() {
+        final String script = SensorPropertiesHelper.read(DronePropertiesConstants.ALERT_RULES);
+        final List<AlertRule> rules = AlertRule.parseAll(script == null ? DEFAULT_RULES : script);
+        if (rules.isEmpty()) {
+            LoggerFactory.getLogger(AlertRuleEngine.class).warn("No valid alert rule, using the defaults.");
+            return new AlertRuleEngine(AlertRule.parseAll(DEFAULT_RULES));
+        }
+        return new AlertRuleEngine(rules);
+    }
+
+    /**
+     * Adds a sample of a signal.
+     * @param signal the signal sampled
+     * @param value the value of the signal
+     * @param now the {@link System#nanoTime()} of the sample
+     */
+    public void update(final @NotNull RuleSignal signal, final double value, final long now) {
+        final int index = signal.ordinal();
+        final int capacity = this.values[index].length;
+        if (capacity == 0)
+            return;
+        this.values[index][this.next[index]] = value;
+        this.times[index][this.next[index]] = now;
+        this.next[index] = (this.next[index] + 1) % capacity;
+        this.sizes[index] = Math.min(this.sizes[index] + 1, capacity);
+    }
+
+    /**
+     * Evaluates the rules on the samples added so far.
+     * @param now the current {@link System#nanoTime()}
+     * @return the worst level raised by the rules holding, {@link AlertLevel#STABLE} if none holds
+     */
+    public @NotNull AlertLevel evaluate(final long now) {
+        this.firedRule = NO_RULE;
+        for (int rule = 0; rule < this.ruleNames.length; rule++) {
+            if ((this.firedRule == NO_RULE || this.ruleLevels[rule].compareTo(this.ruleLevels[this.firedRule]) > 0)
+                    && this.holds(rule, now))
+                this.firedRule = rule;
+        }
+        return this.firedRule == NO_RULE ? AlertLevel.STABLE : this.ruleLevels[this.firedRule];
+    }
+
+    /**
+     * Gets the rule that raised the level of the last evaluation.
+     * @return the name of the rule, null if none held
+     */
+    public @Nullable String getFiredRule() {
+        return this.firedRule == NO_RULE ? null : this.ruleNames[this.firedRule];
+    }
+
+    /**
+     * Gets the type of the alert raised by the last evaluation, the one of the first signal of the rule.
+     * @return the type of the alert, null if no rule held
+     */
+    public @Nullable AlertType getFiredType() {
+        return this.firedRule == NO_RULE ? null : this.ruleTypes[this.firedRule];
+    }
+
+    private boolean holds(final int rule, final long now) {
+        for (int condition = this.ruleFirstCondition[rule]; condition < this.ruleEndCondition[rule]; condition++) {
+            if (!this.holdsCondition(condition, now))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean holdsCondition(final int condition, final long now) {
+        final int signal = this.conditionSignals[condition];
+        final double[] ring = this.values[signal];
+        final int size = this.sizes[signal];
+        if (size == 0)
+            return false;
+        final int newest = (this.next[signal] - 1 + ring.length) % ring.length;
+        if (this.conditionWindows[condition] > 0)
+            return compare(this.conditionOperators[condition], this.rate(signal, newest, condition, now),
+                    this.conditionValues[condition]);
+        final int samples = Math.min(this.conditionSamples[condition], size);
+        int hits = 0;
+        for (int i = 0; i < samples && hits < this.conditionHits[condition]; i++) {
+            if (compare(this.conditionOperators[condition], ring[(newest - i + ring.length) % ring.length],
+                    this.conditionValues[condition]))
+                hits++;
+        }
+        return hits >= this.conditionHits[condition];
+    }
+
+    private double rate(final int signal, final int newest, final int condition, final long now) {
+        final double[] ring = this.values[signal];
+        final long[] ringTimes = this.times[signal];
+        int oldest = newest;
+        for (int i = 1; i < this.sizes[signal]; i++) {
+            final int index = (newest - i + ring.length) % ring.length;
+            if (now - ringTimes[index] > this.conditionWindows[condition])
+                break;
+            oldest = index;
+        }
+        final long elapsed = ringTimes[newest] - ringTimes[oldest];
+        return elapsed <= 0 ? 0 : Math.abs(ring[newest] - ring[oldest]) * NANOS_PER_SECOND / elapsed;
+    }
+
+    private static boolean compare(final @NotNull AlertRule.Operator operator, final double signal,
+                                   final double value) {
+        switch (operator) {
+            case LESS:
+                return signal < value;
+            case LESS_OR_EQUAL:
+                return signal <= value;
+            case GREATER:
+                return signal > value;
+            case GREATER_OR_EQUAL:
+                return signal >= value;
+            case EQUAL:
+                return signal == value;
+            default:
+                return signal != value;
+        }
+    }
+}
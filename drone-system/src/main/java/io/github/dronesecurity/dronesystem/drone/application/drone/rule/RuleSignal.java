@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.rule;
+
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Enumeration representing the values of the sensors the alert rules can refer to. Levels are given by the ordinal of
+ * their {@link AlertLevel}.
+ */
+public enum RuleSignal {
+    /**
+     * Distance in centimeters detected by the proximity sensor, 0 if nothing is detected.
+     */
+    DISTANCE(AlertType.DISTANCE),
+    /**
+     * Widest angle in degrees between the pitch and the roll of the accelerometer.
+     */
+    TILT(AlertType.ANGLE),
+    /**
+     * Fraction of the frame of the camera occluded.
+     */
+    OCCLUSION(AlertType.CAMERA),
+    /**
+     * Level of the proximity sensor.
+     */
+    PROXIMITY_LEVEL(AlertType.DISTANCE),
+    /**
+     * Level of the accelerometer.
+     */
+    ANGLE_LEVEL(AlertType.ANGLE),
+    /**
+     * Level of the camera.
+     */
+    CAMERA_LEVEL(AlertType.CAMERA);
+
+    private final AlertType alertType;
+
+    RuleSignal(final AlertType alertType) {
+        this.alertType = alertType;
+    }
+
+    /**
+     * Gets the type of the alerts of the sensor producing the signal.
+     * @return the type of the alerts
+     */
+    public AlertType getAlertType() {
+        return this.alertType;
+    }
+
+    /**
+     * Finds the signal written in a rule, in camel case like proximityLevel.
+     * @param name name of the signal, case-insensitive
+     * @return the signal, null if unknown
+     */
+    static @Nullable RuleSignal fromName(final @NotNull String name) {
+        for (final RuleSignal signal : values()) {
+            if (signal.name().replace("_", "").equalsIgnoreCase(name))
+                return signal;
+        }
+        return null;
+    }
+}
@@ -5,11 +5,11 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone.sensor;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.service.AlertLevelPublisher;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.shared.AlertLevel;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
@@ -27,7 +27,7 @@ public class AlertLevelPublisherImpl implements AlertLevelPublisher {
      */
     @Override
     public void publishCurrentAlertLevel(final @NotNull OrderData orderData, final @NotNull Alert currentAlert) {
-        final ObjectNode payload = new ObjectMapper().createObjectNode();
+        final ObjectNode payload = MessageCodecHelper.createObjectNode();
         payload.put(MqttMessageParameterConstants.ALERT_LEVEL_PARAMETER, String.valueOf(currentAlert.getAlertLevel()));
         payload.put(MqttMessageParameterConstants.ALERT_TYPE_PARAMETER, currentAlert.getAlertType().toString());
         Connection.getInstance().publish(MqttTopicConstants.ALERT_LEVEL_TOPIC + orderData.getOrderId(), payload);
@@ -38,7 +38,7 @@ public class AlertLevelPublisherImpl implements AlertLevelPublisher {
      */
     @Override
     public void publishStableAlertLevel(final @NotNull OrderData orderData) {
-        final ObjectNode payload = new ObjectMapper().createObjectNode();
+        final ObjectNode payload = MessageCodecHelper.createObjectNode();
         payload.put(MqttMessageParameterConstants.ALERT_LEVEL_PARAMETER, AlertLevel.STABLE.toString());
         Connection.getInstance().publish(MqttTopicConstants.ALERT_LEVEL_TOPIC + orderData.getOrderId(), payload);
     }
@@ -5,25 +5,37 @@
 
 package io.github.dronesecurity.dronesystem.drone.application.drone.sensor;
 
+import io.github.dronesecurity.dronesystem.drone.application.drone.rule.AlertRuleEngine;
+import io.github.dronesecurity.dronesystem.drone.application.drone.rule.RuleSignal;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.AccelerometerAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.CameraAlert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.ProximityAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.service.AlertLevelPublisher;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.service.AlertSituationAnalyzer;
 import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
 
 /**
- * Implementation of {@link AlertSituationAnalyzer} that tracks the changes of the alert level among the sensors.
+ * Implementation of {@link AlertSituationAnalyzer} that feeds the alerts of the sensors just read to the
+ * {@link AlertRuleEngine}, publishing the alert level of the drone whenever the rules change it.
  */
 public class AlertSituationAnalyzerImpl implements AlertSituationAnalyzer {
 
     private final AlertLevelPublisher alertLevelPublisher;
+    private final AlertRuleEngine ruleEngine;
+    private AlertLevel lastLevel = AlertLevel.STABLE;
+    private AlertType lastType;
 
     /**
      * Initializes the analyzer with its relative publisher.
      */
     public AlertSituationAnalyzerImpl() {
         this.alertLevelPublisher = new AlertLevelPublisherImpl();
+        this.ruleEngine = AlertRuleEngine.fromSettings();
     }
 
     /**
@@ -33,23 +45,60 @@ public class AlertSituationAnalyzerImpl implements AlertSituationAnalyzer {
     public AlertLevel analyzeAlerts(final OrderData orderData,
                                      final @NotNull Alert previousProximityAlert,
                                      final @NotNull Alert previousAccelerometerAlert,
+                                     final @NotNull Alert previousCameraAlert,
                                      final @NotNull Alert currentProximityAlert,
-                                     final @NotNull Alert currentAccelerometerAlert) {
-
-        if (previousProximityAlert.getAlertLevel() != currentProximityAlert.getAlertLevel()
-                || previousAccelerometerAlert.getAlertLevel() != currentAccelerometerAlert.getAlertLevel()) {
-            if (currentProximityAlert.getAlertLevel() == AlertLevel.STABLE
-                    && currentAccelerometerAlert.getAlertLevel() == AlertLevel.STABLE)
-                this.alertLevelPublisher.publishStableAlertLevel(orderData);
-            else {
-                if (currentProximityAlert.getAlertLevel().compareTo(currentAccelerometerAlert.getAlertLevel()) >= 0)
-                    this.alertLevelPublisher.publishCurrentAlertLevel(orderData, currentProximityAlert);
-                else
-                    this.alertLevelPublisher.publishCurrentAlertLevel(orderData, currentAccelerometerAlert);
-            }
+                                     final @NotNull Alert currentAccelerometerAlert,
+                                     final @NotNull Alert currentCameraAlert) {
+
+        final long now = System.nanoTime();
+        // Sensors are read by different threads, so the samples are added, evaluated and published atomically: a
+        // level published out of the lock could overtake a later one, leaving a stale level to the user.
+        synchronized (this.ruleEngine) {
+            // Each reading produces a new alert, so only the sensors just read are sampled.
+            if (currentProximityAlert != previousProximityAlert)
+                this.sampleProximity(currentProximityAlert, now);
+            if (currentAccelerometerAlert != previousAccelerometerAlert)
+                this.sampleAccelerometer(currentAccelerometerAlert, now);
+            if (currentCameraAlert != previousCameraAlert)
+                this.sampleCamera(currentCameraAlert, now);
+            final AlertLevel level = this.ruleEngine.evaluate(now);
+            final AlertType type = this.ruleEngine.getFiredType();
+            if (level != this.lastLevel || type != this.lastType)
+                this.publish(orderData, level, type);
+            this.lastLevel = level;
+            this.lastType = type;
+            return level;
+        }
+    }
+
+    private void publish(final OrderData orderData, final @NotNull AlertLevel level, final AlertType type) {
+        if (level == AlertLevel.STABLE)
+            this.alertLevelPublisher.publishStableAlertLevel(orderData);
+        else {
+            LoggerFactory.getLogger(getClass()).info("Alert rule " + this.ruleEngine.getFiredRule()
+                    + " raised the level to " + level + ".");
+            this.alertLevelPublisher.publishCurrentAlertLevel(orderData, new Alert(type, level));
+        }
+    }
+
+    private void sampleProximity(final @NotNull Alert alert, final long now) {
+        this.ruleEngine.update(RuleSignal.PROXIMITY_LEVEL, alert.getAlertLevel().ordinal(), now);
+        if (alert instanceof ProximityAlert)
+            this.ruleEngine.update(RuleSignal.DISTANCE, ((ProximityAlert) alert).getDistance(), now);
+    }
+
+    private void sampleAccelerometer(final @NotNull Alert alert, final long now) {
+        this.ruleEngine.update(RuleSignal.ANGLE_LEVEL, alert.getAlertLevel().ordinal(), now);
+        if (alert instanceof AccelerometerAlert) {
+            final AccelerometerAlert angles = (AccelerometerAlert) alert;
+            this.ruleEngine.update(RuleSignal.TILT, Math.max(Math.abs(angles.getPitch()), Math.abs(angles.getRoll())),
+                    now);
         }
+    }
 
-        return currentProximityAlert.getAlertLevel().compareTo(currentAccelerometerAlert.getAlertLevel()) >= 0
-                ? currentProximityAlert.getAlertLevel() : currentAccelerometerAlert.getAlertLevel();
+    private void sampleCamera(final @NotNull Alert alert, final long now) {
+        this.ruleEngine.update(RuleSignal.CAMERA_LEVEL, alert.getAlertLevel().ordinal(), now);
+        if (alert instanceof CameraAlert)
+            this.ruleEngine.update(RuleSignal.OCCLUSION, ((CameraAlert) alert).getOcclusion(), now);
     }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.sensor;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Black box of the drone, always recording the last seconds of every sensor stream, as specified by the
+ * {@link DronePropertiesConstants} of the flight record.
+ * Each stream is kept in a ring of primitive arrays, allocated once: recording a sample only copies its values,
+ * while building a {@link FlightRecord} is left to a dedicated thread, once the seconds following a critical event
+ * have been recorded as well.
+ */
+public final class FlightRecorder {
+
+    private static final long DEFAULT_BEFORE_SECONDS = 10;
+    private static final long DEFAULT_AFTER_SECONDS = 2;
+    private static final long DEFAULT_RATE = 50;
+
+    private final long beforeMillis;
+    private final long afterMillis;
+    private final Map<TelemetryType, Ring> rings = new EnumMap<>(TelemetryType.class);
+    private final ScheduledExecutorService freezer;
+
+    /**
+     * Build the recorder.
+     * @param beforeMillis milliseconds recorded before a critical event
+     * @param afterMillis milliseconds recorded after a critical event
+     * @param rate most samples per second kept for each stream
+     * @param freezer single thread building the records
+     */
+    FlightRecorder(final long beforeMillis, final long afterMillis, final long rate,
+                   final @NotNull ScheduledExecutorService freezer) {
+        if (beforeMillis < 0 || afterMillis < 0 || rate <= 0)
+            throw new IllegalArgumentException("Recorded times must NOT be negative and the rate must be positive.");
+        this.beforeMillis = beforeMillis;
+        this.afterMillis = afterMillis;
+        this.freezer = freezer;
+        final int capacity = (int) Math.max(1, (beforeMillis + afterMillis) * rate / TimeUnit.SECONDS.toMillis(1));
+        for (final TelemetryType type : TelemetryType.values())
+            this.rings.put(type, new Ring(capacity, type.getValueCount()));
+    }
+
+    /**
+     * Builds the recorder with the times specified by the {@link DronePropertiesConstants} of the flight record.
+     * @return the configured recorder, with the default times if the configured ones are invalid
+     */
+    public static @NotNull FlightRecorder fromSettings() {
+        final ScheduledExecutorService freezer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "flight-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long before = (long) SensorPropertiesHelper.readNumber(DronePropertiesConstants.FLIGHT_RECORD_BEFORE,
+                DEFAULT_BEFORE_SECONDS);
+        final long after = (long) SensorPropertiesHelper.readNumber(DronePropertiesConstants.FLIGHT_RECORD_AFTER,
+                DEFAULT_AFTER_SECONDS);
+        final long rate = (long) SensorPropertiesHelper.readNumber(DronePropertiesConstants.FLIGHT_RECORD_RATE,
+                DEFAULT_RATE);
+        if (before < 0 || after < 0 || rate <= 0) {
+            LoggerFactory.getLogger(FlightRecorder.class).warn("Invalid flight record settings, using the defaults.");
+            return new FlightRecorder(TimeUnit.SECONDS.toMillis(DEFAULT_BEFORE_SECONDS),
+                    TimeUnit.SECONDS.toMillis(DEFAULT_AFTER_SECONDS), DEFAULT_RATE, freezer);
+        }
+        return new FlightRecorder(TimeUnit.SECONDS.toMillis(before), TimeUnit.SECONDS.toMillis(after), rate, freezer);
+    }
+
+    /**
+     * Records a sample of a stream with a single value.
+     * @param type type of the stream
+     * @param timeMillis milliseconds from the epoch of the sample
+     * @param value value of the sample
+     */
+    public void record(final @NotNull TelemetryType type, final long timeMillis, final double value) {
+        this.rings.get(type).add(timeMillis, value, 0, 0);
+    }
+
+    /**
+     * Records a sample of a stream with three values.
+     * @param type type of the stream
+     * @param timeMillis milliseconds from the epoch of the sample
+     * @param first first value of the sample
+     * @param second second value of the sample
+     * @param third third value of the sample
+     */
+    public void record(final @NotNull TelemetryType type, final long timeMillis, final double first,
+                       final double second, final double third) {
+        this.rings.get(type).add(timeMillis, first, second, third);
+    }
+
+    /**
+     * Freezes the samples around a critical event, once the ones following it have been recorded.
+     * @param id identifier of the record
+     * @param detectionMillis milliseconds from the epoch at which the critical event has been detected
+     * @param consumer consumer of the record, called on the thread of the recorder
+     */
+    public void freeze(final @NotNull String id, final long detectionMillis,
+                       final @NotNull Consumer<FlightRecord> consumer) {
+        this.freezer.schedule(() -> {
+            try {
+                consumer.accept(this.snapshot(id, detectionMillis));
+            } catch (RuntimeException e) {
+                LoggerFactory.getLogger(getClass()).error("Can NOT deliver flight record " + id + ".", e);
+            }
+        }, this.afterMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Copies the samples recorded around a critical event.
+     * @param id identifier of the record
+     * @param detectionMillis milliseconds from the epoch at which the critical event has been detected
+     * @return the record
+     */
+    @NotNull FlightRecord snapshot(final @NotNull String id, final long detectionMillis) {
+        final Map<TelemetryType, FlightRecord.Samples> samples = new EnumMap<>(TelemetryType.class);
+        for (final Map.Entry<TelemetryType, Ring> ring : this.rings.entrySet()) {
+            final FlightRecord.Samples copy = ring.getValue().copy(ring.getKey(),
+                    detectionMillis - this.beforeMillis, detectionMillis + this.afterMillis);
+            if (copy.size() > 0)
+                samples.put(ring.getKey(), copy);
+        }
+        return new FlightRecord(id, detectionMillis, samples);
+    }
+
+    /**
+     * Fixed-size ring of the samples of a stream, overwriting the oldest sample once full.
+     */
+    private static final class Ring {
+
+        private final int valueCount;
+        private final long[] times;
+        private final double[] values;
+        private int next;
+        private int size;
+
+        private Ring(final int capacity, final int valueCount) {
+            this.valueCount = valueCount;
+            this.times = new long[capacity];
+            this.values = new double[capacity * valueCount];
+        }
+
+        private synchronized void add(final long timeMillis, final double first, final double second,
+                                      final double third) {
+            final int offset = this.next * this.valueCount;
+            this.times[this.next] = timeMillis;
+            this.values[offset] = first;
+            if (this.valueCount > 1) {
+                this.values[offset + 1] = second;
+                this.values[offset + 2] = third;
+            }
+            this.next = (this.next + 1) % this.times.length;
+            this.size = Math.min(this.size + 1, this.times.length);
+        }
+
+        private synchronized @NotNull FlightRecord.Samples copy(final @NotNull TelemetryType type, final long from,
+                                                                final long to) {
+            final int oldest = (this.next - this.size + this.times.length) % this.times.length;
+            int count = 0;
+            for (int i = 0; i < this.size; i++) {
+                final long time = this.times[(oldest + i) % this.times.length];
+                if (time >= from && time <= to)
+                    count++;
+            }
+            final long[] copiedTimes = new long[count];
+            final double[] copiedValues = new double[count * this.valueCount];
+            int copied = 0;
+            for (int i = 0; i < this.size; i++) {
+                final int index = (oldest + i) % this.times.length;
+                if (this.times[index] >= from && this.times[index] <= to) {
+                    copiedTimes[copied] = this.times[index];
+                    System.arraycopy(this.values, index * this.valueCount, copiedValues, copied * this.valueCount,
+                            this.valueCount);
+                    copied++;
+                }
+            }
+            return new FlightRecord.Samples(type, copiedTimes, copiedValues);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sensor simulated in the JVM, producing samples shaped like the ones of the python scripts at the configured rate.
+ * Every sample also carries its timestamp and index, like the ones of the performance scripts.
+ */
+public abstract class AbstractSensorSimulator {
+
+    private static final String TIMESTAMP = "timestamp";
+    private static final String INDEX = "index";
+
+    private final String name;
+    private final SimulatorSettings settings;
+    private final Random random = new Random();
+    private ScheduledExecutorService scheduler;
+    private long startNanos;
+    private long index;
+
+    /**
+     * Build the simulator.
+     * @param name name of the simulated sensor, used by the fault script
+     * @param settings settings of the simulation
+     */
+    protected AbstractSensorSimulator(final String name, final SimulatorSettings settings) {
+        this.name = name;
+        this.settings = settings;
+    }
+
+    /**
+     * Starts producing samples on a dedicated thread.
+     * @param consumer consumer of the samples
+     */
+    public void start(final @NotNull Consumer<JsonNode> consumer) {
+        this.stop();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, this.name + "-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.startNanos = System.nanoTime();
+        this.index = 0;
+        this.scheduler.scheduleAtFixedRate(() -> this.emit(consumer),
+                0, TimeUnit.SECONDS.toNanos(1) / this.settings.getSampleRate(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops producing samples.
+     */
+    public void stop() {
+        if (this.scheduler != null)
+            this.scheduler.shutdownNow();
+    }
+
+    /**
+     * Writes the simulated values at a given time.
+     * @param sample the sample to fill
+     * @param elapsedMillis milliseconds from the start of the simulation
+     */
+    protected abstract void fill(ObjectNode sample, long elapsedMillis);
+
+    /**
+     * Gets the value of the configured waveform at a given time.
+     * @param elapsedMillis milliseconds from the start of the simulation
+     * @param periodMillis period of the waveform
+     * @return the value, from -1 to 1
+     */
+    protected final double waveform(final long elapsedMillis, final long periodMillis) {
+        return this.settings.getWaveform().valueAt((double) (elapsedMillis % periodMillis) / periodMillis);
+    }
+
+    /**
+     * Gets a random noise with the configured standard deviation.
+     * @param range range of the values the noise is added to
+     * @return the noise
+     */
+    protected final double noise(final double range) {
+        return this.settings.getNoise() == 0 ? 0 : this.random.nextGaussian() * this.settings.getNoise() * range;
+    }
+
+    /**
+     * Checks if a fault affects this sensor at a given time.
+     * @param faultType the fault
+     * @param elapsedMillis milliseconds from the start of the simulation
+     * @return true if the fault is active, false otherwise
+     */
+    protected final boolean isFaultActive(final FaultType faultType, final long elapsedMillis) {
+        return this.settings.isFaultActive(this.name, faultType, elapsedMillis);
+    }
+
+    private void emit(final @NotNull Consumer<JsonNode> consumer) {
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startNanos);
+        if (this.isFaultActive(FaultType.BLACKOUT, elapsedMillis))
+            return;
+        final ObjectNode sample = MessageCodecHelper.createObjectNode();
+        this.fill(sample, elapsedMillis);
+        sample.put(TIMESTAMP, System.currentTimeMillis());
+        sample.put(INDEX, this.index++);
+        consumer.accept(sample);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.utilities.AccelerometerConstants;
+import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Simulated accelerometer, swaying slightly around the level position of the accelerometer python simulator.
+ */
+public final class AccelerometerSimulator extends AbstractSensorSimulator {
+
+    /**
+     * Name of the sensor in the fault script.
+     */
+    public static final String NAME = "accelerometer";
+
+    private static final double SWAY = 0.1;
+    private static final double TILT = 1.0;
+    private static final double GRAVITY = 1.0;
+    private static final long PERIOD_MILLIS = 4000;
+
+    /**
+     * Build the simulator.
+     * @param settings settings of the simulation
+     */
+    public AccelerometerSimulator(final SimulatorSettings settings) {
+        super(NAME, settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void fill(final @NotNull ObjectNode sample, final long elapsedMillis) {
+        final double x = this.isFaultActive(FaultType.TILT, elapsedMillis)
+                ? TILT
+                : SWAY * this.waveform(elapsedMillis, PERIOD_MILLIS);
+        sample.putObject(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER)
+                .put(AccelerometerConstants.X, x + this.noise(SWAY))
+                .put(AccelerometerConstants.Y, GRAVITY + this.noise(SWAY))
+                .put(AccelerometerConstants.Z, this.noise(SWAY));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Simulated camera, producing the lengths of frames sized like the JPEG captures of the real camera.
+ */
+public final class CameraSimulator extends AbstractSensorSimulator {
+
+    /**
+     * Name of the sensor in the fault script.
+     */
+    public static final String NAME = "camera";
+
+    /**
+     * Key of the frame length in the samples.
+     */
+    public static final String IMAGE_LENGTH = "imageLength";
+
+    private static final int MEAN_FRAME_LENGTH = 40_000;
+    private static final int FRAME_LENGTH_SPREAD = 8000;
+    private static final int MIN_FRAME_LENGTH = 1024;
+    private static final long PERIOD_MILLIS = 10_000;
+
+    /**
+     * Build the simulator.
+     * @param settings settings of the simulation
+     */
+    public CameraSimulator(final SimulatorSettings settings) {
+        super(NAME, settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void fill(final @NotNull ObjectNode sample, final long elapsedMillis) {
+        final double length = MEAN_FRAME_LENGTH + FRAME_LENGTH_SPREAD * this.waveform(elapsedMillis, PERIOD_MILLIS)
+                + this.noise(FRAME_LENGTH_SPREAD);
+        sample.put(IMAGE_LENGTH, Math.max(MIN_FRAME_LENGTH, (int) length));
+    }
+}
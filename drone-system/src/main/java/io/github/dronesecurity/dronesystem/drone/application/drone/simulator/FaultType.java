@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+/**
+ * Fault that can be injected in a simulated sensor.
+ */
+public enum FaultType {
+
+    /**
+     * Sudden drop of the proximity distance, like an obstacle appearing in front of the drone.
+     */
+    DROP,
+
+    /**
+     * Spike of the accelerometer tilt, like a gust of wind.
+     */
+    TILT,
+
+    /**
+     * No sample at all, like a disconnected sensor.
+     */
+    BLACKOUT
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Simulated proximity sensor, approaching and leaving an obstacle like the proximity python simulator.
+ */
+public final class ProximitySimulator extends AbstractSensorSimulator {
+
+    /**
+     * Name of the sensor in the fault script.
+     */
+    public static final String NAME = "proximity";
+
+    private static final double MIN_DISTANCE = 19.5;
+    private static final double MAX_DISTANCE = 72.0;
+    private static final double DROP_DISTANCE = 5.0;
+    private static final double LOWEST_DISTANCE = 0.5;
+    private static final long PERIOD_MILLIS = 7200;
+
+    /**
+     * Build the simulator.
+     * @param settings settings of the simulation
+     */
+    public ProximitySimulator(final SimulatorSettings settings) {
+        super(NAME, settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void fill(final @NotNull ObjectNode sample, final long elapsedMillis) {
+        final double range = MAX_DISTANCE - MIN_DISTANCE;
+        final double distance = this.isFaultActive(FaultType.DROP, elapsedMillis)
+                ? DROP_DISTANCE
+                : (MAX_DISTANCE + MIN_DISTANCE) / 2 + range / 2 * this.waveform(elapsedMillis, PERIOD_MILLIS);
+        sample.put(MqttMessageParameterConstants.PROXIMITY_PARAMETER,
+                Math.max(LOWEST_DISTANCE, distance + this.noise(range)));
+    }
+}
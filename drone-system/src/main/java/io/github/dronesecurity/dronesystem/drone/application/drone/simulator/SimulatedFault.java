@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fault injected in a simulated sensor for a while, written as sensor:fault@startMillis+durationMillis.
+ */
+public final class SimulatedFault {
+
+    private static final Pattern FORMAT = Pattern.compile("(\\w+):(\\w+)@(\\d+)\\+(\\d+)");
+    private static final int SENSOR_GROUP = 1;
+    private static final int TYPE_GROUP = 2;
+    private static final int START_GROUP = 3;
+    private static final int DURATION_GROUP = 4;
+
+    private final String sensor;
+    private final FaultType type;
+    private final long startMillis;
+    private final long durationMillis;
+
+    /**
+     * Build the fault.
+     * @param sensor name of the simulated sensor affected
+     * @param type the fault
+     * @param startMillis milliseconds from the start of the simulation to the start of the fault
+     * @param durationMillis milliseconds the fault lasts
+     */
+    public SimulatedFault(final @NotNull String sensor,
+                          final FaultType type,
+                          final long startMillis,
+                          final long durationMillis) {
+        this.sensor = sensor.toLowerCase(Locale.ROOT);
+        this.type = type;
+        this.startMillis = startMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Parses a comma separated list of faults, skipping the malformed ones.
+     * @param script the list of faults
+     * @return the parsed faults
+     */
+    public static @NotNull List<SimulatedFault> parseAll(final @NotNull String script) {
+        final List<SimulatedFault> faults = new ArrayList<>();
+        for (final String entry : script.split(",")) {
+            if (entry.isBlank())
+                continue;
+            final Matcher matcher = FORMAT.matcher(entry.trim());
+            try {
+                if (!matcher.matches())
+                    throw new IllegalArgumentException("Expected sensor:fault@startMillis+durationMillis.");
+                faults.add(new SimulatedFault(matcher.group(SENSOR_GROUP),
+                        FaultType.valueOf(matcher.group(TYPE_GROUP).toUpperCase(Locale.ROOT)),
+                        Long.parseLong(matcher.group(START_GROUP)),
+                        Long.parseLong(matcher.group(DURATION_GROUP))));
+            } catch (IllegalArgumentException e) {
+                LoggerFactory.getLogger(SimulatedFault.class).warn("Invalid simulated fault " + entry + ".", e);
+            }
+        }
+        return faults;
+    }
+
+    /**
+     * Checks if the fault affects a sensor at a given time.
+     * @param sensorName name of the simulated sensor
+     * @param faultType the fault
+     * @param elapsedMillis milliseconds from the start of the simulation
+     * @return true if the fault is active, false otherwise
+     */
+    public boolean isActive(final String sensorName, final FaultType faultType, final long elapsedMillis) {
+        return this.type == faultType && this.sensor.equals(sensorName)
+                && elapsedMillis >= this.startMillis && elapsedMillis - this.startMillis < this.durationMillis;
+    }
+}
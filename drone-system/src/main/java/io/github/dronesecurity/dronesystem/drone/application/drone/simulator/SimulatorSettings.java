@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Settings shared by the simulated sensors.
+ */
+public final class SimulatorSettings {
+
+    private static final int DEFAULT_SAMPLE_RATE = 10;
+    private static final int MAX_SAMPLE_RATE = 10_000;
+
+    private final int sampleRate;
+    private final Waveform waveform;
+    private final double noise;
+    private final List<SimulatedFault> faults;
+
+    /**
+     * Build the settings.
+     * @param sampleRate samples per second
+     * @param waveform shape of the simulated values
+     * @param noise standard deviation of the noise, as a fraction of the range of the values
+     * @param faults faults to inject
+     */
+    public SimulatorSettings(final int sampleRate,
+                             final Waveform waveform,
+                             final double noise,
+                             final @NotNull List<SimulatedFault> faults) {
+        if (sampleRate <= 0 || sampleRate > MAX_SAMPLE_RATE)
+            throw new IllegalArgumentException("Sample rate must be between 1 and " + MAX_SAMPLE_RATE + ".");
+        this.sampleRate = sampleRate;
+        this.waveform = waveform;
+        this.noise = noise;
+        this.faults = List.copyOf(faults);
+    }
+
+    /**
+     * Reads the settings specified by the {@link DronePropertiesConstants} of the simulator.
+     * @return the configured settings
+     */
+    public static @NotNull SimulatorSettings fromSettings() {
+        final String faults = SensorPropertiesHelper.read(DronePropertiesConstants.SIMULATOR_FAULTS);
+        final int sampleRate = (int) SensorPropertiesHelper.readNumber(
+                DronePropertiesConstants.SIMULATOR_SAMPLE_RATE, DEFAULT_SAMPLE_RATE);
+        return new SimulatorSettings(
+                Math.min(MAX_SAMPLE_RATE, Math.max(1, sampleRate)),
+                readWaveform(),
+                SensorPropertiesHelper.readNumber(DronePropertiesConstants.SIMULATOR_NOISE, 0),
+                faults == null ? List.of() : SimulatedFault.parseAll(faults));
+    }
+
+    /**
+     * Gets the number of samples per second.
+     * @return the sample rate
+     */
+    public int getSampleRate() {
+        return this.sampleRate;
+    }
+
+    /**
+     * Gets the shape of the simulated values.
+     * @return the waveform
+     */
+    public Waveform getWaveform() {
+        return this.waveform;
+    }
+
+    /**
+     * Gets the standard deviation of the noise, as a fraction of the range of the values.
+     * @return the noise
+     */
+    public double getNoise() {
+        return this.noise;
+    }
+
+    /**
+     * Checks if a fault affects a sensor at a given time.
+     * @param sensorName name of the simulated sensor
+     * @param faultType the fault
+     * @param elapsedMillis milliseconds from the start of the simulation
+     * @return true if the fault is active, false otherwise
+     */
+    public boolean isFaultActive(final String sensorName, final FaultType faultType, final long elapsedMillis) {
+        return this.faults.stream().anyMatch(fault -> fault.isActive(sensorName, faultType, elapsedMillis));
+    }
+
+    private static @NotNull Waveform readWaveform() {
+        final String value = SensorPropertiesHelper.read(DronePropertiesConstants.SIMULATOR_WAVEFORM);
+        if (value == null)
+            return Waveform.TRIANGLE;
+        try {
+            return Waveform.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LoggerFactory.getLogger(SimulatorSettings.class).warn("Unknown waveform " + value + ", using TRIANGLE.", e);
+            return Waveform.TRIANGLE;
+        }
+    }
+}
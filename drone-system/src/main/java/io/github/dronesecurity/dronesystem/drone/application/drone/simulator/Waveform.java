@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.simulator;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Shape of the values produced by a simulated sensor over a period, from 1 at its start to -1 at its middle.
+ */
+public enum Waveform {
+
+    /**
+     * Linear descent and ascent, like the proximity python simulator.
+     */
+    TRIANGLE(phase -> Math.abs(1 - 2 * phase) * 2 - 1),
+
+    /**
+     * Smooth oscillation.
+     */
+    SINE(phase -> Math.cos(2 * Math.PI * phase)),
+
+    /**
+     * Sudden switch between the extremes.
+     */
+    SQUARE(phase -> phase * 2 < 1 ? 1 : -1),
+
+    /**
+     * Value held at its start.
+     */
+    CONSTANT(phase -> 1);
+
+    private final DoubleUnaryOperator shape;
+
+    Waveform(final DoubleUnaryOperator shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Gets the value at a point of the period.
+     * @param phase fraction of the period elapsed, from 0 to 1
+     * @return the value, from -1 to 1
+     */
+    public double valueAt(final double phase) {
+        return this.shape.applyAsDouble(phase);
+    }
+}
@@ -5,12 +5,16 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.entities;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer.AccelerometerDataAnalyzerImpl;
 import io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer.AccelerometerDataProcessorImpl;
 import io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer.AccelerometerDataPublisherImpl;
+import io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer.AccelerometerWindow;
+import io.github.dronesecurity.dronesystem.drone.application.drone.sensor.FlightRecorder;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.AbstractSensorSimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.AccelerometerSimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.SimulatorSettings;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AccelerometerWindowSummary;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.RawAccelerometerData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.services.AccelerometerDataAnalyzer;
@@ -20,18 +24,28 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Acce
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.AbstractSensor;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.utilities.AccelerometerConstants;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
-import org.slf4j.LoggerFactory;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Item representing a real accelerometer sensor and observing its values.
+ * Each reading takes every sample produced since the previous one and analyzes each of them, once low-pass filtered
+ * by the {@link AccelerometerWindow}. Only the summaries of the windows of samples are published, while every filtered
+ * sample is recorded by the {@link FlightRecorder}, if any.
  */
 public class Accelerometer extends AbstractSensor {
 
-    private RawAccelerometerData accelerometerData;
+    private static final int MAPPED_VALUE_COUNT = 3;
+
+    private final double[] mappedValues = new double[MAPPED_VALUE_COUNT];
+    private final List<RawAccelerometerData> rawSamples = new ArrayList<>();
+    private final List<ProcessedAccelerometerData> filteredSamples = new ArrayList<>();
+    private final AccelerometerWindow window;
     private ProcessedAccelerometerData processedData;
 
     private final AccelerometerDataProcessor accelerometerDataProcessor;
@@ -40,11 +54,31 @@ public class Accelerometer extends AbstractSensor {
 
     /**
      * Initializes the sensor with its services.
+     * @param backend source of the samples
      */
-    public Accelerometer() {
+    public Accelerometer(final SensorBackend backend) {
+        super(backend);
         this.accelerometerDataProcessor = new AccelerometerDataProcessorImpl();
         this.accelerometerDataAnalyzer = new AccelerometerDataAnalyzerImpl();
         this.accelerometerDataPublisher = new AccelerometerDataPublisherImpl();
+        this.window = AccelerometerWindow.fromSettings();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void activate() {
+        this.window.clear();
+        super.activate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected AbstractSensorSimulator createSimulator(final SimulatorSettings settings) {
+        return new AccelerometerSimulator(settings);
     }
 
     /**
@@ -55,12 +89,22 @@ public class Accelerometer extends AbstractSensor {
        return this.isRaspberry() ? "accelerometer" : "accelerometerSimulator";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getMappedValueCount() {
+        return MAPPED_VALUE_COUNT;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void publishData(final OrderData orderData) {
-        this.accelerometerDataPublisher.publishAccelerometerData(orderData, this.processedData);
+        final AccelerometerWindowSummary summary = this.window.takeSummary();
+        if (summary != null)
+            this.accelerometerDataPublisher.publishAccelerometerData(orderData, summary);
     }
 
     /**
@@ -81,7 +125,7 @@ public class Accelerometer extends AbstractSensor {
 
     /**
      * Gets the processed data of the Accelerometer.
-     * @return processed accelerometer data of the last reading
+     * @return filtered accelerometer data of the last reading
      */
     protected ProcessedAccelerometerData getProcessedData() {
         return this.processedData;
@@ -92,24 +136,20 @@ public class Accelerometer extends AbstractSensor {
      */
     @Override
     protected void readData() {
-        if (this.isOn() && getOutputStream().size() > 0) {
-            final String orig = getOutputStream().toString(StandardCharsets.UTF_8).trim();
-
-            final int index = orig.lastIndexOf("\"accelerometer") - 1;
-
-            final String jsonValues = orig.substring(index);
-
-            try {
-                final JsonNode accelValues = new ObjectMapper().readTree(jsonValues)
-                        .get(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER);
-                this.accelerometerData = new RawAccelerometerData(
-                        accelValues.get(AccelerometerConstants.X).asDouble(),
-                        accelValues.get(AccelerometerConstants.Y).asDouble(),
-                        accelValues.get(AccelerometerConstants.Z).asDouble());
-            } catch (JsonProcessingException e) {
-                LoggerFactory.getLogger(getClass()).error("Can NOT read json correctly.", e);
-            }
-            getOutputStream().reset();
+        this.rawSamples.clear();
+        if (this.isMapped()) {
+            this.drainMappedSamples(this.mappedValues, values ->
+                    this.rawSamples.add(new RawAccelerometerData(values[0], values[1], values[2])));
+        } else if (this.isOn()) {
+            this.drainSamples(sample -> {
+                if (sample.has(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER)) {
+                    final JsonNode accelValues = sample.get(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER);
+                    this.rawSamples.add(new RawAccelerometerData(
+                            accelValues.get(AccelerometerConstants.X).asDouble(),
+                            accelValues.get(AccelerometerConstants.Y).asDouble(),
+                            accelValues.get(AccelerometerConstants.Z).asDouble()));
+                }
+            });
         }
     }
 
@@ -118,14 +158,35 @@ public class Accelerometer extends AbstractSensor {
      */
     @Override
     protected void processData() {
-        this.processedData = this.accelerometerDataProcessor.processAccelerometerData(this.accelerometerData);
+        this.filteredSamples.clear();
+        final FlightRecorder recorder = this.getFlightRecorder();
+        final long now = System.currentTimeMillis();
+        for (final RawAccelerometerData sample : this.rawSamples) {
+            final ProcessedAccelerometerData filtered =
+                    this.window.add(this.accelerometerDataProcessor.processAccelerometerData(sample));
+            this.filteredSamples.add(filtered);
+            if (recorder != null)
+                recorder.record(TelemetryType.ACCELEROMETER, now, filtered.getPitch(), filtered.getRoll(),
+                        filtered.getYaw());
+        }
+        if (!this.filteredSamples.isEmpty())
+            this.processedData = this.filteredSamples.get(this.filteredSamples.size() - 1);
     }
 
     /**
      * {@inheritDoc}
+     * The level of the reading is the worst one among the samples read, so that none is missed.
      */
     @Override
     protected Alert analyzeData() {
-        return this.accelerometerDataAnalyzer.analyzeAccelerometerData(this.processedData);
+        if (this.filteredSamples.isEmpty())
+            return this.accelerometerDataAnalyzer.analyzeAccelerometerData(this.processedData);
+        Alert worst = null;
+        for (final ProcessedAccelerometerData sample : this.filteredSamples) {
+            final Alert alert = this.accelerometerDataAnalyzer.analyzeAccelerometerData(sample);
+            if (worst == null || alert.getAlertLevel().compareTo(worst.getAlertLevel()) > 0)
+                worst = alert;
+        }
+        return worst;
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects;
+
+/**
+ * Class representing the summary of a window of accelerometer samples, published instead of the single samples.
+ */
+public class AccelerometerWindowSummary {
+
+    private final int samples;
+    private final ProcessedAccelerometerData attitude;
+    private final AngleStatistics pitch;
+    private final AngleStatistics roll;
+    private final AngleStatistics yaw;
+
+    /**
+     * Builds the summary.
+     *
+     * @param samples number of samples of the window
+     * @param attitude low-pass filtered attitude at the end of the window
+     * @param pitch statistics of the pitch angle
+     * @param roll statistics of the roll angle
+     * @param yaw statistics of the yaw angle
+     */
+    public AccelerometerWindowSummary(final int samples, final ProcessedAccelerometerData attitude,
+                                      final AngleStatistics pitch, final AngleStatistics roll,
+                                      final AngleStatistics yaw) {
+        this.samples = samples;
+        this.attitude = attitude;
+        this.pitch = pitch;
+        this.roll = roll;
+        this.yaw = yaw;
+    }
+
+    /**
+     * Gets the number of samples of the window.
+     * @return the number of samples
+     */
+    public int getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * Gets the low-pass filtered attitude at the end of the window.
+     * @return the filtered pitch/roll/yaw angles
+     */
+    public ProcessedAccelerometerData getAttitude() {
+        return this.attitude;
+    }
+
+    /**
+     * Gets the statistics of the pitch angle.
+     * @return the pitch statistics of the window
+     */
+    public AngleStatistics getPitch() {
+        return this.pitch;
+    }
+
+    /**
+     * Gets the statistics of the roll angle.
+     * @return the roll statistics of the window
+     */
+    public AngleStatistics getRoll() {
+        return this.roll;
+    }
+
+    /**
+     * Gets the statistics of the yaw angle.
+     * @return the yaw statistics of the window
+     */
+    public AngleStatistics getYaw() {
+        return this.yaw;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.utilities.AccelerometerConstants;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class representing the statistics of an angle over a window of accelerometer samples.
+ */
+public class AngleStatistics {
+
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double variance;
+
+    /**
+     * Builds the statistics.
+     *
+     * @param min minimum angle of the window
+     * @param max maximum angle of the window
+     * @param mean mean angle of the window
+     * @param variance variance of the angle over the window
+     */
+    public AngleStatistics(final double min, final double max, final double mean, final double variance) {
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.variance = variance;
+    }
+
+    /**
+     * Gets the minimum angle.
+     * @return the minimum angle of the window
+     */
+    public double getMin() {
+        return this.min;
+    }
+
+    /**
+     * Gets the maximum angle.
+     * @return the maximum angle of the window
+     */
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * Gets the mean angle.
+     * @return the mean angle of the window
+     */
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Gets the variance of the angle.
+     * @return the variance of the angle over the window
+     */
+    public double getVariance() {
+        return this.variance;
+    }
+
+    /**
+     * Gets the statistics as a map.
+     * @return the map with respective min/max/mean/variance
+     */
+    public Map<String, Double> asMap() {
+        final Map<String, Double> statistics = new ConcurrentHashMap<>();
+        statistics.put(AccelerometerConstants.MIN, this.min);
+        statistics.put(AccelerometerConstants.MAX, this.max);
+        statistics.put(AccelerometerConstants.MEAN, this.mean);
+        statistics.put(AccelerometerConstants.VARIANCE, this.variance);
+        return statistics;
+    }
+}
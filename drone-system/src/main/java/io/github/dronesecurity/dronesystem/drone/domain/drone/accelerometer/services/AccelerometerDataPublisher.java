@@ -5,18 +5,18 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.services;
 
-import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AccelerometerWindowSummary;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 
 /**
- * Publishes {@link ProcessedAccelerometerData} to a topic.
+ * Publishes {@link AccelerometerWindowSummary} to a topic.
  */
 public interface AccelerometerDataPublisher {
 
     /**
-     * Publishes {@link ProcessedAccelerometerData} to a specific topic.
+     * Publishes {@link AccelerometerWindowSummary} to a specific topic.
      * @param orderData data of the order which is currently being delivered
-     * @param accelerometerData accelerometer data to publish
+     * @param windowSummary summary of the window of accelerometer samples to publish
      */
-    void publishAccelerometerData(OrderData orderData, ProcessedAccelerometerData accelerometerData);
+    void publishAccelerometerData(OrderData orderData, AccelerometerWindowSummary windowSummary);
 }
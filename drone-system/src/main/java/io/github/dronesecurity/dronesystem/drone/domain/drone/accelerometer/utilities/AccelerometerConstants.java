@@ -42,5 +42,35 @@ public final class AccelerometerConstants {
      */
     public static final String YAW = MqttMessageParameterConstants.YAW;
 
+    /**
+     * Parameter that contains the summary of the window of samples.
+     */
+    public static final String WINDOW = "window";
+
+    /**
+     * Parameter that contains the number of samples of the window.
+     */
+    public static final String SAMPLES = "samples";
+
+    /**
+     * Key for the minimum angle of the window.
+     */
+    public static final String MIN = "min";
+
+    /**
+     * Key for the maximum angle of the window.
+     */
+    public static final String MAX = "max";
+
+    /**
+     * Key for the mean angle of the window.
+     */
+    public static final String MEAN = "mean";
+
+    /**
+     * Key for the variance of the angle over the window.
+     */
+    public static final String VARIANCE = "variance";
+
     private AccelerometerConstants() { }
 }
@@ -14,6 +14,7 @@ import io.github.dronesecurity.lib.shared.AlertType;
 public class CameraAlert extends Alert {
 
     private final int imageSize;
+    private final double occlusion;
 
     /**
      * Builds the Alert with its own type and level.
@@ -22,8 +23,21 @@ public class CameraAlert extends Alert {
      * @param imageSize The size of the image detected by the camera
      */
     public CameraAlert(final AlertType alertType, final AlertLevel alertLevel, final int imageSize) {
+        this(alertType, alertLevel, imageSize, 0);
+    }
+
+    /**
+     * Builds the Alert with its own type and level.
+     * @param alertType The type of the alert
+     * @param alertLevel The gravity of the alert
+     * @param imageSize The size of the image detected by the camera
+     * @param occlusion The fraction of the frame occluded, 0 if the frame has NOT been analyzed
+     */
+    public CameraAlert(final AlertType alertType, final AlertLevel alertLevel, final int imageSize,
+                       final double occlusion) {
         super(alertType, alertLevel);
         this.imageSize = imageSize;
+        this.occlusion = occlusion;
     }
 
     /**
@@ -33,4 +47,12 @@ public class CameraAlert extends Alert {
     public int getImageSize() {
         return this.imageSize;
     }
+
+    /**
+     * Gets the fraction of the frame occluded.
+     * @return The occlusion of the frame, 0 if the frame has NOT been analyzed
+     */
+    public double getOcclusion() {
+        return this.occlusion;
+    }
 }
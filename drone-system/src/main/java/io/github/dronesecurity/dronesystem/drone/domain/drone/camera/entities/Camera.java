@@ -5,9 +5,13 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.camera.entities;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.dronesecurity.dronesystem.drone.application.drone.camera.CameraDataAnalyzerImpl;
 import io.github.dronesecurity.dronesystem.drone.application.drone.camera.CameraDataProcessorImpl;
 import io.github.dronesecurity.dronesystem.drone.application.drone.camera.CameraDataPublisherImpl;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.AbstractSensorSimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.CameraSimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.SimulatorSettings;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import io.github.dronesecurity.dronesystem.drone.application.drone.camera.CameraConnectionImpl;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.CameraAlert;
@@ -19,6 +23,8 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.Ca
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.CameraDataPublisher;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.AbstractSensor;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
+import org.slf4j.LoggerFactory;
 
 /**
  * Item representing a real camera sensor and observing its values.
@@ -35,14 +41,24 @@ public class Camera extends AbstractSensor {
 
     /**
      * Initializes the sensor with its services.
+     * @param backend source of the samples
      */
-    public Camera() {
+    public Camera(final SensorBackend backend) {
+        super(backend);
         this.cameraConnection = new CameraConnectionImpl();
         this.cameraDataProcessor = new CameraDataProcessorImpl();
         this.cameraDataAnalyzer = new CameraDataAnalyzerImpl();
         this.cameraDataPublisher = new CameraDataPublisherImpl();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected AbstractSensorSimulator createSimulator(final SimulatorSettings settings) {
+        return new CameraSimulator(settings);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -58,6 +74,10 @@ public class Camera extends AbstractSensor {
     public void deactivate() {
         super.deactivate();
         this.cameraConnection.disconnect();
+        if (!this.isSimulated())
+            LoggerFactory.getLogger(getClass()).info("Camera frames received: "
+                    + this.cameraConnection.getReceivedFrames() + ", dropped: "
+                    + this.cameraConnection.getDroppedFrames() + ".");
     }
 
     /**
@@ -79,7 +99,9 @@ public class Camera extends AbstractSensor {
         else
             return new CameraAlert(alert.getAlertType(),
                     alert.getAlertLevel(),
-                    this.processedCameraData.getImageLength());
+                    this.processedCameraData.getImageLength(),
+                    this.processedCameraData.getSignals() == null ? 0
+                            : this.processedCameraData.getSignals().getOcclusion());
     }
 
     /**
@@ -95,7 +117,11 @@ public class Camera extends AbstractSensor {
      */
     @Override
     protected void readData() {
-        this.rawCameraData = this.cameraConnection.readCameraData();
+        if (this.isSimulated()) {
+            final JsonNode frame = this.pollLatestSample();
+            this.rawCameraData = new RawCameraData(frame == null ? 0 : frame.get(CameraSimulator.IMAGE_LENGTH).asInt());
+        } else
+            this.rawCameraData = this.cameraConnection.readCameraData();
     }
 
     /**
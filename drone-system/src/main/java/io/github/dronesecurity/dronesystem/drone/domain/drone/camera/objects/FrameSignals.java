@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects;
+
+/**
+ * Class representing the signals computed from a camera frame.
+ */
+public class FrameSignals {
+
+    private final double luminance;
+    private final double motion;
+    private final double sharpness;
+    private final double occlusion;
+    private final long analysisNanos;
+
+    /**
+     * Builds the signals of a frame.
+     *
+     * @param luminance Mean luminance, from 0 to 255
+     * @param motion Mean luminance change from the previous frame, from 0 to 1
+     * @param sharpness Mean luminance gradient, from 0 to 1, low when the frame is blurred
+     * @param occlusion Fraction of the frame that is dark or flat, from 0 to 1
+     * @param analysisNanos Nanoseconds spent analyzing the frame
+     */
+    public FrameSignals(final double luminance,
+                        final double motion,
+                        final double sharpness,
+                        final double occlusion,
+                        final long analysisNanos) {
+        this.luminance = luminance;
+        this.motion = motion;
+        this.sharpness = sharpness;
+        this.occlusion = occlusion;
+        this.analysisNanos = analysisNanos;
+    }
+
+    /**
+     * Gets the mean luminance of the frame.
+     * @return the luminance, from 0 to 255
+     */
+    public double getLuminance() {
+        return this.luminance;
+    }
+
+    /**
+     * Gets the mean luminance change from the previous frame.
+     * @return the motion, from 0 to 1
+     */
+    public double getMotion() {
+        return this.motion;
+    }
+
+    /**
+     * Gets the mean luminance gradient of the frame.
+     * @return the sharpness, from 0 to 1
+     */
+    public double getSharpness() {
+        return this.sharpness;
+    }
+
+    /**
+     * Gets the fraction of the frame that is dark or flat, like when the lens is covered.
+     * @return the occlusion, from 0 to 1
+     */
+    public double getOcclusion() {
+        return this.occlusion;
+    }
+
+    /**
+     * Gets the time spent analyzing the frame.
+     * @return the nanoseconds of the analysis
+     */
+    public long getAnalysisNanos() {
+        return this.analysisNanos;
+    }
+}
@@ -5,17 +5,41 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
- * Class representing processed camera data. In this case no transformation of data is needed.
+ * Class representing processed camera data, made of the size of the image and the signals computed from it, if
+ * analyzed.
  */
 public class ProcessedCameraData extends RawCameraData {
 
+    private final FrameSignals signals;
+
     /**
      * Builds the processed camera data.
      *
      * @param imageLength The length of the image
      */
     public ProcessedCameraData(final int imageLength) {
+        this(imageLength, null);
+    }
+
+    /**
+     * Builds the processed camera data of an analyzed image.
+     *
+     * @param imageLength The length of the image
+     * @param signals The signals computed from the image, null if NOT analyzed
+     */
+    public ProcessedCameraData(final int imageLength, final @Nullable FrameSignals signals) {
         super(imageLength);
+        this.signals = signals;
+    }
+
+    /**
+     * Gets the signals computed from the image.
+     * @return the signals, null if the image has NOT been analyzed
+     */
+    public @Nullable FrameSignals getSignals() {
+        return this.signals;
     }
 }
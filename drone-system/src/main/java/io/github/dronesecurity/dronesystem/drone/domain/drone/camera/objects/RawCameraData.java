@@ -6,6 +6,11 @@
 package io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects;
 
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.exceptions.NotAcceptableImageSizeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class representing raw camera data, represented as the size of the image received.
@@ -13,6 +18,9 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.exceptions.
 public class RawCameraData {
 
     private final int imageLength;
+    private final ByteBuffer image;
+    private final Runnable recycler;
+    private final AtomicInteger references = new AtomicInteger(1);
 
     /**
      * Builds the raw camera data.
@@ -22,6 +30,30 @@ public class RawCameraData {
     public RawCameraData(final int imageLength) {
         if (imageLength < 0) throw new NotAcceptableImageSizeException();
         this.imageLength = imageLength;
+        this.image = null;
+        this.recycler = null;
+    }
+
+    /**
+     * Builds the raw camera data of an image received, without copying it.
+     *
+     * @param image The image received, from its position to its limit
+     */
+    public RawCameraData(final @NotNull ByteBuffer image) {
+        this(image, null);
+    }
+
+    /**
+     * Builds the raw camera data of an image received in a reused buffer, without copying it. The data starts with a
+     * reference held by its builder, and the buffer is recycled once every reference has been released.
+     *
+     * @param image The image received, from its position to its limit
+     * @param recycler The action giving the buffer back, null if NOT reused
+     */
+    public RawCameraData(final @NotNull ByteBuffer image, final @Nullable Runnable recycler) {
+        this.imageLength = image.remaining();
+        this.image = image;
+        this.recycler = recycler;
     }
 
     /**
@@ -31,4 +63,34 @@ public class RawCameraData {
     public int getImageLength() {
         return this.imageLength;
     }
+
+    /**
+     * Gets a read-only view of the image read, valid while a reference to the data is held.
+     * @return the image, null if only its length is known
+     */
+    public @Nullable ByteBuffer getImage() {
+        return this.image == null ? null : this.image.asReadOnlyBuffer();
+    }
+
+    /**
+     * Takes a reference to the data, so that its image is NOT recycled until released.
+     * @return true if taken, false if the image has already been recycled
+     */
+    public boolean retain() {
+        int count = this.references.get();
+        while (count > 0) {
+            if (this.references.compareAndSet(count, count + 1))
+                return true;
+            count = this.references.get();
+        }
+        return false;
+    }
+
+    /**
+     * Releases a reference to the data, recycling its image once no reference is left.
+     */
+    public void release() {
+        if (this.references.decrementAndGet() == 0 && this.recycler != null)
+            this.recycler.run();
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Class representing a camera frame read back from a recording.
+ */
+public class RecordedFrame {
+
+    private final long timestamp;
+    private final ByteBuffer image;
+
+    /**
+     * Builds the recorded frame.
+     *
+     * @param timestamp Milliseconds from the epoch at which the frame has been received
+     * @param image The encoded frame
+     */
+    public RecordedFrame(final long timestamp, final @NotNull ByteBuffer image) {
+        this.timestamp = timestamp;
+        this.image = image;
+    }
+
+    /**
+     * Gets the instant at which the frame has been received.
+     * @return milliseconds from the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Gets the encoded frame.
+     * @return a read-only view of the frame
+     */
+    public @NotNull ByteBuffer getImage() {
+        return this.image.asReadOnlyBuffer();
+    }
+}
@@ -13,7 +13,8 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.Raw
 public interface CameraConnection {
 
     /**
-     * Performs the reading of a frame detected by the camera.
+     * Performs the reading of the newest frame detected by the camera. The frame stays valid until the next reading
+     * or the disconnection.
      * @return a {@link RawCameraData}
      */
     RawCameraData readCameraData();
@@ -22,4 +23,16 @@ public interface CameraConnection {
      * Closes the connection with the camera sensor.
      */
     void disconnect();
+
+    /**
+     * Gets the number of frames received from the camera sensor.
+     * @return the number of frames
+     */
+    long getReceivedFrames();
+
+    /**
+     * Gets the number of frames received from the camera sensor but never read, being replaced by newer ones.
+     * @return the number of frames
+     */
+    long getDroppedFrames();
 }
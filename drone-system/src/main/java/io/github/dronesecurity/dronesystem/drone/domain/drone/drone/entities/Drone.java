@@ -8,28 +8,55 @@ package io.github.dronesecurity.dronesystem.drone.domain.drone.drone.entities;
 import com.amazonaws.s3.model.InvalidObjectStateException;
 import io.github.dronesecurity.dronesystem.drone.application.drone.drone.MovingStatePublisherImpl;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.SensorSetAlert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.DroneState;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.Leg;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.services.DroneStateListener;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.services.MovingStatePublisher;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorSet;
 import io.github.dronesecurity.dronesystem.drone.domain.negligence.DroneReportService;
 import io.github.dronesecurity.dronesystem.drone.domain.negligence.NegligenceReport;
 import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
 import io.github.dronesecurity.lib.shared.DrivingMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Item representing a drone with all its physical sensors.
+ * Its {@link DroneState} is kept in a single atomic reference and changed only by compare and set, so that remote
+ * commands, navigation and sensors can drive the drone from their own threads without locking, and
+ * {@link DroneStateListener}s are notified of every change as soon as it happens.
+ * Besides the analysis of the readings, critical distances halt the drone straight from the thread receiving the
+ * samples of the proximity sensor. Moving state changes and negligence reports are published by a publisher thread of
+ * the drone, in the order of the changes, so that a publication waiting for the connection never holds back the
+ * thread changing the state, nor the following samples.
  */
 public class Drone {
 
+    private static final long REVIEW_WINDOW_MILLIS = 10_000;
+
     private final String id;
     private final SensorSet sensorSet;
-    private DrivingMode drivingMode;
-    private OrderData orderData;
-    private boolean isMoving;
+    private final AtomicReference<DroneState> state = new AtomicReference<>(DroneState.initial());
+    private final List<DroneStateListener> listeners = new CopyOnWriteArrayList<>();
+    // Accessed by the publisher thread only.
+    private long publishedVersion = -1;
 
     private final MovingStatePublisher movingStatePublisher;
 
     private final DroneReportService reportService;
+    private final Executor publisher;
 
     /**
      * Constructs drone's sensors.
@@ -38,21 +65,29 @@ public class Drone {
     public Drone(final String id) {
         this.id = id;
         this.sensorSet = new SensorSet();
-        this.drivingMode = DrivingMode.AUTOMATIC;
         this.movingStatePublisher = new MovingStatePublisherImpl();
         this.reportService = new DroneReportService();
+        this.publisher = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, id + "-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sensorSet.setEmergencyListener(this::emergencyHalt);
+        this.listeners.add(this::publishMovingState);
     }
 
     /**
      * Activates the Drone, making it operative.
      * @param currentOrderData data of the order that is being delivered
      */
-    public void activate(final OrderData currentOrderData) {
-        if (this.orderData == null) {
-            this.orderData = currentOrderData;
-            this.proceed();
-            this.sensorSet.activate(this.orderData);
-        }
+    public void activate(final @NotNull OrderData currentOrderData) {
+        final DroneState activated = this.transition(current -> current.getOrder() == null
+                ? current.withOrder(currentOrderData)
+                    .withLeg(Leg.DELIVERING)
+                    .withMoving(current.getMode() == DrivingMode.AUTOMATIC)
+                : current);
+        if (activated != null)
+            this.sensorSet.activate(currentOrderData);
     }
 
     /**
@@ -68,19 +103,49 @@ public class Drone {
      * @return true if Drone is moving, false otherwise
      */
     public boolean isOperating() {
-        return this.isMoving;
+        return this.state.get().isMoving();
+    }
+
+    /**
+     * Gets the current state of the Drone.
+     * @return the {@link DroneState}
+     */
+    public @NotNull DroneState getState() {
+        return this.state.get();
+    }
+
+    /**
+     * Adds a listener of the changes of the {@link DroneState}.
+     * @param listener the listener to add
+     */
+    public void addStateListener(final @NotNull DroneStateListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the changes of the {@link DroneState}.
+     * @param listener the listener to remove
+     */
+    public void removeStateListener(final @NotNull DroneStateListener listener) {
+        this.listeners.remove(listener);
     }
 
     /**
      * Executes the analysis of the raw data of all sensors.
      */
     public void performReading() {
-        final SensorSetAlert sensorSetAlert = this.sensorSet.performReading();
+        this.react(this.sensorSet.performReading());
+    }
 
-        if (sensorSetAlert.getAlertLevel() == AlertLevel.CRITICAL && this.isOperating()) {
-            this.halt();
-            this.reportService.reportsNegligence(new NegligenceReport(this.orderData, sensorSetAlert));
-        }
+    /**
+     * Executes the analysis of the raw data of a sensor, together with the last data of the others.
+     * @param sensor the sensor to read, identified by the type of its alerts
+     * @return the alerts detected by all the sensors
+     */
+    public SensorSetAlert performReading(final @NotNull AlertType sensor) {
+        final SensorSetAlert sensorSetAlert = this.sensorSet.performReading(sensor);
+        this.react(sensorSetAlert);
+        return sensorSetAlert;
     }
 
     /**
@@ -90,36 +155,45 @@ public class Drone {
         this.sensorSet.publishData();
     }
 
+    /**
+     * Publishes the data of some of the drone's sensors.
+     * @param sensors the sensors to publish, identified by the type of their alerts
+     */
+    public void publishSensorData(final @NotNull Set<AlertType> sensors) {
+        this.sensorSet.publishData(sensors);
+    }
+
     /**
      * Makes the Drone proceed with its delivery.
      */
     public void proceed() {
-        if (this.drivingMode == DrivingMode.AUTOMATIC) {
-            this.isMoving = true;
-            if (this.orderData == null) throw InvalidObjectStateException.builder()
-                    .message("Drone cannot operate with no order assigned.").build();
-            this.movingStatePublisher.droneProceeding(this.orderData);
-        }
+        this.transition(current -> requireOrder(current).getMode() == DrivingMode.AUTOMATIC
+                ? current.withMoving(true) : current);
     }
 
     /**
      * Halts the Drone.
      */
     public void halt() {
-        this.isMoving = false;
-        if (this.orderData == null) throw InvalidObjectStateException.builder()
-                        .message("Drone cannot operate with no order assigned.").build();
-        this.movingStatePublisher.droneHalted(this.orderData);
+        this.transition(current -> requireOrder(current).withMoving(false));
+    }
+
+    /**
+     * Starts a leg of the journey, proceeding if in automatic mode.
+     * @param leg the {@link Leg} to start
+     */
+    public void startLeg(final @NotNull Leg leg) {
+        this.transition(current -> requireOrder(current).withLeg(leg)
+                .withMoving(current.isMoving() || current.getMode() == DrivingMode.AUTOMATIC));
     }
 
     /**
-     * Changes the current driving mode into the new.
+     * Changes the current driving mode into the new, halting the Drone when switching to manual.
      * @param newDrivingMode {@link DrivingMode} to apply
      */
-    public void changeMode(final DrivingMode newDrivingMode) {
-        this.drivingMode = newDrivingMode;
-        if (this.drivingMode == DrivingMode.MANUAL)
-            this.halt();
+    public void changeMode(final @NotNull DrivingMode newDrivingMode) {
+        this.transition(current -> newDrivingMode == DrivingMode.MANUAL
+                ? current.withMode(newDrivingMode).withMoving(false) : current.withMode(newDrivingMode));
     }
 
     /**
@@ -129,4 +203,84 @@ public class Drone {
     public String getId() {
         return this.id;
     }
+
+    private void react(final @NotNull SensorSetAlert sensorSetAlert) {
+        if (sensorSetAlert.getAlertLevel() == AlertLevel.CRITICAL) {
+            // Only the thread actually halting the drone reports, so readings and emergencies never report twice.
+            final DroneState halted = this.transition(current -> current.withMoving(false));
+            if (halted != null)
+                this.publishLater(() -> this.reportNegligence(halted, sensorSetAlert), "Negligence report failed.");
+        }
+    }
+
+    private void emergencyHalt(final @NotNull SensorSetAlert sensorSetAlert, final long detectedNanos) {
+        final DroneState halted = this.transition(current -> current.withMoving(false));
+        if (halted == null)
+            return;
+        final long latencyNanos = System.nanoTime() - detectedNanos;
+        this.publishLater(() -> this.reportNegligence(halted, sensorSetAlert),
+                "Negligence report after the emergency halt failed.");
+        LoggerFactory.getLogger(getClass()).info("Emergency halt "
+                + TimeUnit.NANOSECONDS.toMicros(latencyNanos) + " us after the critical distance.");
+    }
+
+    private void reportNegligence(final @NotNull DroneState halted, final @NotNull SensorSetAlert sensorSetAlert) {
+        final OrderData orderData = requireOrder(halted).getOrder();
+        final String negligent = orderData.getCourier();
+        final String flightRecordId = this.sensorSet.freezeFlightRecord(record ->
+                this.reportService.reportsFlightRecord(negligent, record));
+        this.reportService.reportsNegligence(new NegligenceReport(orderData, sensorSetAlert,
+                this.sensorSet.countRecordedFrames(REVIEW_WINDOW_MILLIS), flightRecordId));
+    }
+
+    private @Nullable DroneState transition(final @NotNull UnaryOperator<DroneState> change) {
+        DroneState previous;
+        DroneState next;
+        do {
+            previous = this.state.get();
+            next = change.apply(previous);
+            if (next == previous)
+                return null;
+        } while (!this.state.compareAndSet(previous, next));
+        for (final DroneStateListener listener : this.listeners) {
+            try {
+                listener.onStateChange(previous, next);
+            } catch (RuntimeException e) {
+                LoggerFactory.getLogger(getClass()).error("Drone state listener failed.", e);
+            }
+        }
+        return next;
+    }
+
+    private void publishMovingState(final @NotNull DroneState previous, final @NotNull DroneState current) {
+        if (previous.isMoving() != current.isMoving() && current.getOrder() != null)
+            this.publishLater(() -> this.publishIfLatest(current), "Moving state publication failed.");
+    }
+
+    private void publishIfLatest(final @NotNull DroneState current) {
+        // Changes may be handed over out of order: one older than the last published is stale.
+        if (current.getVersion() < this.publishedVersion)
+            return;
+        this.publishedVersion = current.getVersion();
+        if (current.isMoving())
+            this.movingStatePublisher.droneProceeding(current.getOrder());
+        else
+            this.movingStatePublisher.droneHalted(current.getOrder());
+    }
+
+    private void publishLater(final @NotNull Runnable publication, final @NotNull String failure) {
+        this.publisher.execute(() -> {
+            try {
+                publication.run();
+            } catch (RuntimeException e) {
+                LoggerFactory.getLogger(getClass()).error(failure, e);
+            }
+        });
+    }
+
+    private static @NotNull DroneState requireOrder(final @NotNull DroneState current) {
+        if (current.getOrder() == null) throw InvalidObjectStateException.builder()
+                .message("Drone cannot operate with no order assigned.").build();
+        return current;
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.shared.DrivingMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable state of the drone, made of its driving mode, whether it is moving, the order assigned and the leg of the
+ * journey. Every change gives a new state with a greater version, while a change that modifies nothing gives the
+ * same state back, so that transitions can be applied by compare and set.
+ */
+public final class DroneState {
+
+    private final DrivingMode mode;
+    private final boolean moving;
+    private final OrderData order;
+    private final Leg leg;
+    private final long version;
+
+    private DroneState(final DrivingMode mode, final boolean moving, final @Nullable OrderData order, final Leg leg,
+                       final long version) {
+        this.mode = mode;
+        this.moving = moving;
+        this.order = order;
+        this.leg = leg;
+        this.version = version;
+    }
+
+    /**
+     * Gets the state of a drone just built, halted in automatic mode with no order assigned.
+     * @return the initial state
+     */
+    public static @NotNull DroneState initial() {
+        return new DroneState(DrivingMode.AUTOMATIC, false, null, Leg.NONE, 0);
+    }
+
+    /**
+     * Gets the driving mode.
+     * @return the driving mode
+     */
+    public @NotNull DrivingMode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Checks if the drone is moving.
+     * @return true if moving, false if halted
+     */
+    public boolean isMoving() {
+        return this.moving;
+    }
+
+    /**
+     * Gets the order assigned.
+     * @return the data of the order, null if none has been assigned yet
+     */
+    public @Nullable OrderData getOrder() {
+        return this.order;
+    }
+
+    /**
+     * Gets the leg of the journey.
+     * @return the leg
+     */
+    public @NotNull Leg getLeg() {
+        return this.leg;
+    }
+
+    /**
+     * Gets the version of the state, increased by every change.
+     * @return the version
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Changes the driving mode.
+     * @param newMode the new driving mode
+     * @return the changed state, this one if the mode is the same
+     */
+    public @NotNull DroneState withMode(final @NotNull DrivingMode newMode) {
+        return newMode == this.mode ? this : new DroneState(newMode, this.moving, this.order, this.leg,
+                this.version + 1);
+    }
+
+    /**
+     * Changes whether the drone is moving.
+     * @param newMoving true to move, false to halt
+     * @return the changed state, this one if already so
+     */
+    public @NotNull DroneState withMoving(final boolean newMoving) {
+        return newMoving == this.moving ? this : new DroneState(this.mode, newMoving, this.order, this.leg,
+                this.version + 1);
+    }
+
+    /**
+     * Assigns an order.
+     * @param newOrder the data of the order
+     * @return the changed state, this one if the order is the same
+     */
+    public @NotNull DroneState withOrder(final @NotNull OrderData newOrder) {
+        return newOrder == this.order ? this : new DroneState(this.mode, this.moving, newOrder, this.leg,
+                this.version + 1);
+    }
+
+    /**
+     * Changes the leg of the journey.
+     * @param newLeg the new leg
+     * @return the changed state, this one if the leg is the same
+     */
+    public @NotNull DroneState withLeg(final @NotNull Leg newLeg) {
+        return newLeg == this.leg ? this : new DroneState(this.mode, this.moving, this.order, newLeg,
+                this.version + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "DroneState{mode=" + this.mode + ", moving=" + this.moving
+                + ", order=" + (this.order == null ? "none" : this.order.getOrderId())
+                + ", leg=" + this.leg + ", version=" + this.version + "}";
+    }
+}
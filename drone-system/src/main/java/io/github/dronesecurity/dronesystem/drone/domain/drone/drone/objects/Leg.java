@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects;
+
+/**
+ * Leg of the journey of the drone.
+ */
+public enum Leg {
+
+    /**
+     * No order assigned yet.
+     */
+    NONE,
+
+    /**
+     * Travelling to deliver the order.
+     */
+    DELIVERING,
+
+    /**
+     * Travelling back after the delivery.
+     */
+    RETURNING
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.drone.services;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.DroneState;
+
+/**
+ * Observer of the changes of the {@link DroneState}.
+ */
+@FunctionalInterface
+public interface DroneStateListener {
+
+    /**
+     * Notifies a change of state, on the thread that performed it. Concurrent changes can be notified in a different
+     * order than they happened, so listeners must rely on {@link DroneState#getVersion()} to ignore stale ones.
+     * @param previous the state before the change
+     * @param current the state after the change
+     */
+    void onStateChange(DroneState previous, DroneState current);
+}
@@ -5,12 +5,14 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.entities;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.application.drone.proximity.ProximityDataAnalyzerImpl;
 import io.github.dronesecurity.dronesystem.drone.application.drone.proximity.ProximityDataProcessorImpl;
 import io.github.dronesecurity.dronesystem.drone.application.drone.proximity.ProximityDataPublisherImpl;
+import io.github.dronesecurity.dronesystem.drone.application.drone.sensor.FlightRecorder;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.AbstractSensorSimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.ProximitySimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.SimulatorSettings;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.ProximityAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
@@ -20,18 +22,31 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.services
 import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.services.ProximityDataProcessor;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.services.ProximityDataPublisher;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.AbstractSensor;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorPropertiesHelper;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.LoggerFactory;
-
-import java.nio.charset.StandardCharsets;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Item representing a real proximity sensor and observing its values.
+ * Besides the readings, every sample is checked as soon as it is received: once the distance has been critical for
+ * the consecutive samples specified by {@link DronePropertiesConstants#EMERGENCY_CONFIRMATION_SAMPLES}, just the
+ * critical one by default like the readings, the {@link EmergencyListener} is notified right away, without waiting for
+ * the next reading. Every sample is recorded as well, by the {@link FlightRecorder} if any.
  */
 public class ProximitySensor extends AbstractSensor {
 
+    private static final int DEFAULT_CONFIRMATION_SAMPLES = 1;
+
+    private final double[] mappedValues = new double[1];
+    private final int confirmationSamples;
+    private volatile EmergencyListener emergencyListener;
+    private int criticalSamples;
     private RawProximityData rawProximityData;
     private ProcessedProximityData processedProximityData;
 
@@ -41,13 +56,25 @@ public class ProximitySensor extends AbstractSensor {
 
     /**
      * Initializes the sensor with its services.
+     * @param backend source of the samples
      */
-    public ProximitySensor() {
+    public ProximitySensor(final SensorBackend backend) {
+        super(backend);
+        this.confirmationSamples = Math.max(1, (int) SensorPropertiesHelper.readNumber(
+                DronePropertiesConstants.EMERGENCY_CONFIRMATION_SAMPLES, DEFAULT_CONFIRMATION_SAMPLES));
         this.proximityDataProcessor = new ProximityDataProcessorImpl();
         this.proximityDataAnalyzer = new ProximityDataAnalyzerImpl();
         this.proximityDataPublisher = new ProximityDataPublisherImpl();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected AbstractSensorSimulator createSimulator(final SimulatorSettings settings) {
+        return new ProximitySimulator(settings);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -56,6 +83,14 @@ public class ProximitySensor extends AbstractSensor {
         return this.isRaspberry() ? "proximitySensor" : "proximitySimulator";
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getMappedValueCount() {
+        return this.mappedValues.length;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -78,6 +113,14 @@ public class ProximitySensor extends AbstractSensor {
                     this.processedProximityData.getDistance());
     }
 
+    /**
+     * Sets the listener notified of the emergencies, on the thread producing the samples.
+     * @param listener the listener, null to NOT notify emergencies
+     */
+    public void setEmergencyListener(final @Nullable EmergencyListener listener) {
+        this.emergencyListener = listener;
+    }
+
     /**
      * Gets the processed data of the Proximity sensor.
      * @return processed proximity sensor data of the last reading
@@ -86,23 +129,49 @@ public class ProximitySensor extends AbstractSensor {
         return this.rawProximityData;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void inspectSample(final @NotNull JsonNode sample, final long receivedNanos) {
+        if (!sample.has(MqttMessageParameterConstants.PROXIMITY_PARAMETER))
+            return;
+        final double distance = sample.get(MqttMessageParameterConstants.PROXIMITY_PARAMETER).asDouble();
+        // Recorded before any emergency is notified, so the record frozen by the halt holds its critical sample.
+        this.record(distance);
+        final EmergencyListener listener = this.emergencyListener;
+        if (listener == null)
+            return;
+        final Alert alert = this.proximityDataAnalyzer.analyzeProximityData(
+                this.proximityDataProcessor.processProximityData(new RawProximityData(distance)));
+        if (alert.getAlertLevel() != AlertLevel.CRITICAL) {
+            this.criticalSamples = 0;
+            return;
+        }
+        this.criticalSamples++;
+        // Notified once per crossing of the threshold, NOT at every critical sample.
+        if (this.criticalSamples == this.confirmationSamples)
+            listener.onEmergency(new ProximityAlert(alert.getAlertType(), AlertLevel.CRITICAL, distance), sample,
+                    receivedNanos);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected void readData() {
-        if (this.isOn() && getOutputStream().size() > 0) {
-            final String orig = getOutputStream().toString(StandardCharsets.UTF_8).trim();
-            try {
-                final JsonNode proximityData = new ObjectMapper().readTree(orig);
-                this.rawProximityData =
-                        new RawProximityData(
-                                proximityData.get(MqttMessageParameterConstants.PROXIMITY_PARAMETER).asDouble());
-            } catch (JsonProcessingException e) {
-                LoggerFactory.getLogger(getClass()).error("Can NOT read json correctly.", e);
+        if (this.isMapped()) {
+            if (this.readMappedSample(this.mappedValues)) {
+                this.rawProximityData = new RawProximityData(this.mappedValues[0]);
+                this.record(this.mappedValues[0]);
             }
-            getOutputStream().reset();
+            return;
         }
+        final JsonNode proximityData = this.isOn() ? this.pollLatestSample() : null;
+        if (proximityData != null && proximityData.has(MqttMessageParameterConstants.PROXIMITY_PARAMETER))
+            this.rawProximityData =
+                    new RawProximityData(
+                            proximityData.get(MqttMessageParameterConstants.PROXIMITY_PARAMETER).asDouble());
     }
 
     /**
@@ -121,4 +190,25 @@ public class ProximitySensor extends AbstractSensor {
     protected @NotNull Alert analyzeData() {
         return this.proximityDataAnalyzer.analyzeProximityData(this.processedProximityData);
     }
+
+    private void record(final double distance) {
+        final FlightRecorder recorder = this.getFlightRecorder();
+        if (recorder != null)
+            recorder.record(TelemetryType.PROXIMITY, System.currentTimeMillis(), distance);
+    }
+
+    /**
+     * Listener of the critical distances detected as soon as the samples are received.
+     */
+    @FunctionalInterface
+    public interface EmergencyListener {
+
+        /**
+         * Notifies that the distance has become critical.
+         * @param alert the critical alert
+         * @param sample the sample confirming the critical distance
+         * @param receivedNanos the {@link System#nanoTime()} at which the sample has been received
+         */
+        void onEmergency(ProximityAlert alert, JsonNode sample, long receivedNanos);
+    }
 }
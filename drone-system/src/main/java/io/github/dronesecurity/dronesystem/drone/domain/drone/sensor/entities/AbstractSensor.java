@@ -5,6 +5,10 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.dronesecurity.dronesystem.drone.application.drone.sensor.FlightRecorder;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.AbstractSensorSimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.SimulatorSettings;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
@@ -15,43 +19,55 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Abstract sensor that defines basic sensor behaviours.
+ * The output of the sensor script is framed into JSON samples by the thread pumping it, each sample being parsed once
+ * and kept in a {@link SampleRing} until a reading takes it. With the {@link SensorBackend#SIMULATOR} backend, the
+ * samples are produced by an {@link AbstractSensorSimulator} instead of the script. With the
+ * {@link SensorBackend#SHARED_MEMORY} backend, the real drivers write binary samples to a {@link MappedSampleRing}
+ * instead, read in place on each reading, either the newest or every one NOT read yet.
+ * Sensors given a {@link FlightRecorder} record their own samples, as soon as they get them.
  */
 public abstract class AbstractSensor implements Sensor {
 
-    private static final int COMPATIBLE_PYTHON_MAJOR_VERSION = 3;
-    private static final int COMPATIBLE_PYTHON_MINOR_VERSION = 7;
     private static final int[] SUCCESSFUL_TERMINATION_CODES = {0, 1, 143};
+    private static final int SAMPLE_CAPACITY = 64;
+    private static final int MAPPED_CAPACITY = 256;
     private static final String SCRIPT_EXTENSION = ".py";
-    private static final String CMD = System.getProperty("os.name").toLowerCase(Locale.getDefault()).contains("win")
-                                                                                                        ? "python "
-                                                                                                        : "python3 ";
-    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final SampleRing<JsonNode> samples = new SampleRing<>(SAMPLE_CAPACITY);
+    private final JsonFrameOutputStream outputStream = new JsonFrameOutputStream(this::onSample);
     private final DefaultExecutor executor = new DefaultExecutor();
+    private final SensorBackend backend;
+    private AbstractSensorSimulator simulator;
+    private volatile MappedSampleRing mappedRing;
+    private volatile FlightRecorder flightRecorder;
     private String scriptFilePath;
+    private JsonNode lastSample;
+    private volatile long activationNanos;
+    private volatile boolean awaitingFirstSample;
 
     private boolean on;
 
     /**
      * Initialize the executor for the sensor.
+     * @param backend source of the samples
      */
-    protected AbstractSensor() {
+    protected AbstractSensor(final SensorBackend backend) {
+        this.backend = backend;
         final PumpStreamHandler streamHandler = new PumpStreamHandler(this.outputStream);
         this.executor.setStreamHandler(streamHandler);
         this.executor.setWatchdog(new ExecuteWatchdog(ExecuteWatchdog.INFINITE_TIMEOUT));
@@ -70,10 +86,25 @@ public abstract class AbstractSensor implements Sensor {
      */
     @Override
     public void activate() {
-        if (this.isPythonVersionCompatible()) {
+        final long start = System.nanoTime();
+        if (this.isSimulated()) {
+            this.activationNanos = start;
+            this.simulator = this.createSimulator(SimulatorSettings.fromSettings());
+            this.awaitingFirstSample = true;
+            this.setOn(true);
+            this.simulator.start(this::onSample);
+        } else if (this.isPythonVersionCompatible()) {
+            this.activationNanos = start;
             this.scriptFilePath = this.getScriptFile(this.getScriptName());
+            this.mappedRing = this.backend == SensorBackend.SHARED_MEMORY ? this.createMappedRing() : null;
+            final String arguments = this.mappedRing == null
+                    ? this.scriptFilePath
+                    : this.scriptFilePath + " " + this.mappedRing.getPath();
+            this.awaitingFirstSample = true;
             this.setOn(true);
-            new Thread(() -> this.executeScript(this.scriptFilePath)).start();
+            new Thread(() -> this.executeScript(arguments)).start();
+            LoggerFactory.getLogger(getClass()).info("Script launched in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.activationNanos) + " ms.");
         }
     }
 
@@ -82,13 +113,14 @@ public abstract class AbstractSensor implements Sensor {
      */
     @Override
     public void deactivate() {
+        if (this.simulator != null) {
+            this.simulator.stop();
+            this.setOn(false);
+            return;
+        }
         this.executor.setExitValues(SUCCESSFUL_TERMINATION_CODES);
         this.executor.getWatchdog().destroyProcess();
-        try {
-            this.outputStream.close();
-        } catch (IOException e) {
-            LoggerFactory.getLogger(getClass()).error("Failed to close output stream.", e);
-        }
+        this.outputStream.close();
         this.setOn(false);
         try {
             if (this.scriptFilePath != null)
@@ -96,6 +128,14 @@ public abstract class AbstractSensor implements Sensor {
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error("Failed to delete sensor script.", e);
         }
+        final MappedSampleRing ring = this.mappedRing;
+        this.mappedRing = null;
+        try {
+            if (ring != null)
+                ring.close();
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).error("Failed to delete sample ring.", e);
+        }
     }
 
     /**
@@ -108,38 +148,124 @@ public abstract class AbstractSensor implements Sensor {
         return this.analyzeData();
     }
 
+    /**
+     * Sets the recorder of the samples of the sensor.
+     *
+     * @param recorder the recorder, null to NOT record the samples
+     */
+    public final void setFlightRecorder(final @Nullable FlightRecorder recorder) {
+        this.flightRecorder = recorder;
+    }
+
+    /**
+     * Gets the recorder of the samples of the sensor.
+     *
+     * @return the recorder, null if the samples are NOT recorded
+     */
+    protected final @Nullable FlightRecorder getFlightRecorder() {
+        return this.flightRecorder;
+    }
+
     /**
      * Check the compatibility of python version with sensor scripts (should be 3.7 or greater).
      *
      * @return if installed python version is compatible or not
      */
     protected boolean isPythonVersionCompatible() {
-        this.executeScript("--version");
+        return PlatformProbe.getInstance().isPythonVersionCompatible();
+    }
+
+    /**
+     * Checks if the samples are produced by a simulator in the JVM instead of the script.
+     *
+     * @return true if the sensor is simulated, false otherwise
+     */
+    protected final boolean isSimulated() {
+        return this.backend == SensorBackend.SIMULATOR;
+    }
+
+    /**
+     * Checks if the samples are read from the memory-mapped ring written by the driver.
+     *
+     * @return true if the sensor is mapped, false otherwise
+     */
+    protected final boolean isMapped() {
+        return this.mappedRing != null;
+    }
+
+    /**
+     * Copies the values of the newest sample written to the memory-mapped ring, if it has NOT been read yet.
+     *
+     * @param values array receiving the values, as long as {@link #getMappedValueCount()}
+     * @return true if a new sample has been read, false otherwise
+     */
+    protected final boolean readMappedSample(final double @NotNull [] values) {
+        final MappedSampleRing ring = this.mappedRing;
+        if (ring == null || !ring.readLatest(values))
+            return false;
+        this.logFirstSample();
+        return true;
+    }
+
+    /**
+     * Copies the values of every sample written to the memory-mapped ring since the last one read, oldest first.
+     *
+     * @param values array receiving the values of each sample, as long as {@link #getMappedValueCount()}
+     * @param consumer consumer of the values of each sample, called before the next one is copied
+     * @return the number of samples read
+     */
+    protected final int drainMappedSamples(final double @NotNull [] values,
+                                           final @NotNull Consumer<double[]> consumer) {
+        final MappedSampleRing ring = this.mappedRing;
+        if (ring == null)
+            return 0;
+        final int read = ring.drain(values, (sample, timestamp) -> consumer.accept(sample));
+        if (read > 0)
+            this.logFirstSample();
+        return read;
+    }
 
-        String pythonVersion;
-        do {
-            pythonVersion = this.outputStream.toString(StandardCharsets.UTF_8).trim();
-        } while (pythonVersion.isEmpty());
-        final String[] splitPythonVersion = pythonVersion.split(" ")[1].split("\\.");
-        this.outputStream.reset();
+    /**
+     * Gets the number of values of each sample written by the driver to the memory-mapped ring.
+     *
+     * @return the number of values, 0 if the driver does NOT support the {@link SensorBackend#SHARED_MEMORY} backend
+     */
+    protected int getMappedValueCount() {
+        return 0;
+    }
 
-        //Getting major version of python
-        final int majorPythonVersion = Integer.parseInt(splitPythonVersion[0]);
-        //Getting minor version of python
-        final int minorPythonVersion = Integer.parseInt(splitPythonVersion[1]);
+    /**
+     * Takes the newest sample of the sensor, discarding the older ones NOT taken yet.
+     *
+     * @return the newest sample, null if none has been produced since the last one taken
+     */
+    protected @Nullable JsonNode pollLatestSample() {
+        final JsonNode sample = this.samples.pollLatest();
+        if (sample != null)
+            this.lastSample = sample;
+        return sample;
+    }
 
-        return majorPythonVersion > COMPATIBLE_PYTHON_MAJOR_VERSION
-                || majorPythonVersion == COMPATIBLE_PYTHON_MAJOR_VERSION
-                && minorPythonVersion >= COMPATIBLE_PYTHON_MINOR_VERSION;
+    /**
+     * Takes every sample of the sensor produced since the last one taken, oldest first.
+     *
+     * @param consumer consumer of the samples
+     * @return the number of samples taken
+     */
+    protected int drainSamples(final @NotNull Consumer<? super JsonNode> consumer) {
+        return this.samples.drain(sample -> {
+            this.lastSample = sample;
+            consumer.accept(sample);
+        });
     }
 
     /**
-     * Gives the output stream of the script execution.
+     * Gives the last sample taken from the sensor.
      *
-     * @return output stream of the script execution
+     * @return the last sample taken, null if none has been taken yet
      */
-    protected ByteArrayOutputStream getOutputStream() {
-        return this.outputStream;
+    protected @Nullable JsonNode getLastSample() {
+        return this.lastSample;
     }
 
     /**
@@ -148,23 +274,19 @@ public abstract class AbstractSensor implements Sensor {
      * @return true if is Raspberry, false otherwise
      */
     protected final boolean isRaspberry() {
-        final String osDetectorPath = this.getScriptFile("os_detector");
-        this.executeScript(osDetectorPath);
-
-        String nodeName;
-        do {
-            nodeName = this.outputStream.toString(StandardCharsets.UTF_8).trim();
-        } while (nodeName.isEmpty());
-        this.outputStream.reset();
-        try {
-            if (osDetectorPath != null)
-                Files.deleteIfExists(Path.of(osDetectorPath));
-        } catch (IOException e) {
-            LoggerFactory.getLogger(getClass()).error("Failed to delete os detector script.", e);
-        }
-        return nodeName.toLowerCase(Locale.getDefault()).contains("raspberry");
+        return PlatformProbe.getInstance().isRaspberry();
     }
 
+    /**
+     * Inspects a sample as soon as it is received, on the thread producing the samples, before any reading takes it.
+     * It must be quick, as it delays the following samples. Samples of the {@link MappedSampleRing} are NOT inspected,
+     * since no thread receives them.
+     *
+     * @param sample the sample received
+     * @param receivedNanos the {@link System#nanoTime()} at which the sample has been received
+     */
+    protected void inspectSample(final @NotNull JsonNode sample, final long receivedNanos) { }
+
     /**
      * Gets the filename of the script that reads the sensor data.
      *
@@ -172,6 +294,14 @@ public abstract class AbstractSensor implements Sensor {
      */
     protected abstract String getScriptName();
 
+    /**
+     * Creates the simulator producing the samples of the {@link SensorBackend#SIMULATOR} backend.
+     *
+     * @param settings settings of the simulation
+     * @return the simulator of the sensor
+     */
+    protected abstract AbstractSensorSimulator createSimulator(SimulatorSettings settings);
+
     /**
      * Read raw data from sensor.
      */
@@ -192,8 +322,36 @@ public abstract class AbstractSensor implements Sensor {
         this.on = on;
     }
 
+    private void onSample(final @NotNull JsonNode sample) {
+        this.inspectSample(sample, System.nanoTime());
+        this.samples.offer(sample);
+        this.logFirstSample();
+    }
+
+    private void logFirstSample() {
+        if (this.awaitingFirstSample) {
+            this.awaitingFirstSample = false;
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.activationNanos);
+            LoggerFactory.getLogger(getClass()).info("First sample received " + elapsedMillis
+                    + " ms after activation.");
+        }
+    }
+
+    private @Nullable MappedSampleRing createMappedRing() {
+        if (this.getMappedValueCount() == 0 || !this.isRaspberry()) {
+            LoggerFactory.getLogger(getClass()).warn("Shared memory NOT supported, reading the script output.");
+            return null;
+        }
+        try {
+            return MappedSampleRing.create(this.getScriptName(), MAPPED_CAPACITY, this.getMappedValueCount());
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT create sample ring, reading the script output.", e);
+            return null;
+        }
+    }
+
     private void executeScript(final String pythonArgument) {
-        final String versionControl = CMD + pythonArgument;
+        final String versionControl = PlatformProbe.COMMAND + pythonArgument;
         final CommandLine cmdLine = CommandLine.parse(versionControl);
 
         try {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+/**
+ * Property keys of the drone settings, read by the {@link SensorPropertiesHelper}.
+ */
+public final class DronePropertiesConstants {
+
+    /**
+     * Path of the file caching the python version and board detected by the drone sensors, so that they are probed
+     * once instead of at every start. If NOT specified, they are probed at every start.
+     */
+    public static final String PLATFORM_PROBE_CACHE_FILE = "platformProbeCacheFile";
+
+    /**
+     * Source of the drone sensor samples, either SCRIPT (default) for the python scripts, SIMULATOR for the
+     * simulators running in the JVM or SHARED_MEMORY for the drivers writing to a memory-mapped ring on a Raspberry.
+     */
+    public static final String SENSOR_BACKEND = "sensorBackend";
+
+    /**
+     * Samples per second produced by each simulated sensor, 10 by default.
+     */
+    public static final String SIMULATOR_SAMPLE_RATE = "simulatorSampleRate";
+
+    /**
+     * Shape of the values produced by the simulated sensors, either TRIANGLE (default), SINE, SQUARE or CONSTANT.
+     */
+    public static final String SIMULATOR_WAVEFORM = "simulatorWaveform";
+
+    /**
+     * Standard deviation of the gaussian noise added to the simulated values, as a fraction of their range, 0 by
+     * default.
+     */
+    public static final String SIMULATOR_NOISE = "simulatorNoise";
+
+    /**
+     * Faults injected in the simulated sensors, as a comma separated list of sensor:fault@startMillis+durationMillis
+     * entries, like proximity:drop@5000+2000. Faults are DROP, TILT and BLACKOUT.
+     */
+    public static final String SIMULATOR_FAULTS = "simulatorFaults";
+
+    /**
+     * Number of camera frames kept while waiting to be read, 4 by default. Once full, the oldest frame is dropped.
+     */
+    public static final String CAMERA_QUEUED_FRAMES = "cameraQueuedFrames";
+
+    /**
+     * Number of threads analyzing the camera frames, the number of processors by default.
+     */
+    public static final String CAMERA_ANALYSIS_THREADS = "cameraAnalysisThreads";
+
+    /**
+     * Milliseconds given to the analysis of each camera frame, 150 by default. Frames missing it are skipped.
+     */
+    public static final String CAMERA_ANALYSIS_DEADLINE_MILLIS = "cameraAnalysisDeadlineMillis";
+
+    /**
+     * Folder the camera frames are recorded to, one sub folder per order. If NOT specified, frames are NOT recorded.
+     */
+    public static final String CAMERA_RECORDING_FOLDER = "cameraRecordingFolder";
+
+    /**
+     * Size in bytes of each camera recording segment, 16 MiB by default. Once full, recording moves to a new one.
+     */
+    public static final String CAMERA_SEGMENT_SIZE = "cameraSegmentSize";
+
+    /**
+     * Bytes the camera recordings can take on disk, 1 GiB by default. Once exceeded, the oldest segments are deleted.
+     */
+    public static final String CAMERA_RECORDING_QUOTA = "cameraRecordingQuota";
+
+    /**
+     * Shortest milliseconds between two readings of a drone sensor, 50 by default, used in critical situations or
+     * while its readings change quickly.
+     */
+    public static final String SAMPLING_MIN_INTERVAL_MILLIS = "samplingMinIntervalMillis";
+
+    /**
+     * Longest milliseconds between two readings or publications of a drone sensor, 1000 by default, used in stable
+     * situations.
+     */
+    public static final String SAMPLING_MAX_INTERVAL_MILLIS = "samplingMaxIntervalMillis";
+
+    /**
+     * Number of accelerometer samples summarized by each window published, 20 by default.
+     */
+    public static final String ACCELEROMETER_WINDOW_SAMPLES = "accelerometerWindowSamples";
+
+    /**
+     * Weight of each new accelerometer sample in the low-pass filtered attitude, between 0 excluded and 1 included,
+     * 0.3 by default. Lower values smooth more, at the cost of following real tilts later.
+     */
+    public static final String ACCELEROMETER_FILTER_ALPHA = "accelerometerFilterAlpha";
+
+    /**
+     * Rules deciding the alert level of the drone, as a semicolon separated list of name: LEVEL when condition and ...
+     * entries, like obstacle: CRITICAL when distance &lt; 25 for 3 of 5. Conditions compare distance, tilt, occlusion,
+     * proximityLevel, angleLevel or cameraLevel with a number or a level, over the last samples or, like
+     * tilt rate &gt; 90 within 500 ms, on their rate of change per second. By default, the levels of the sensors.
+     */
+    public static final String ALERT_RULES = "alertRules";
+
+    /**
+     * Consecutive critical samples of the proximity sensor halting the drone as soon as they are received, without
+     * waiting for the next reading, 1 by default. Higher values ignore single spikes.
+     */
+    public static final String EMERGENCY_CONFIRMATION_SAMPLES = "emergencyConfirmationSamples";
+
+    /**
+     * Seconds of every sensor stream the flight recorder of the drone keeps before a critical event, 10 by default.
+     */
+    public static final String FLIGHT_RECORD_BEFORE = "flightRecordBefore";
+
+    /**
+     * Seconds of every sensor stream the flight recorder of the drone keeps after a critical event, 2 by default.
+     */
+    public static final String FLIGHT_RECORD_AFTER = "flightRecordAfter";
+
+    /**
+     * Most samples per second the flight recorder of the drone keeps for each sensor stream, 50 by default. Faster
+     * streams keep a shorter history.
+     */
+    public static final String FLIGHT_RECORD_RATE = "flightRecordRate";
+
+    /**
+     * How many times faster than real time the journeys of the drones are simulated, 1 by default.
+     */
+    public static final String SIMULATION_SPEED = "simulationSpeed";
+
+    private DronePropertiesConstants() { }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Stream receiving the output of a sensor script and splitting it into JSON objects as bytes arrive, no matter how
+ * many lines each one spans. Every complete object is parsed once and handed to a consumer, while anything outside
+ * the objects, like blank lines, is skipped.
+ */
+final class JsonFrameOutputStream extends OutputStream {
+
+    private static final int INITIAL_FRAME_SIZE = 256;
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    private final Consumer<JsonNode> consumer;
+    private byte[] frame = new byte[INITIAL_FRAME_SIZE];
+    private int length;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * Build the stream.
+     * @param consumer consumer of the parsed objects, called by the thread writing to the stream
+     */
+    JsonFrameOutputStream(final Consumer<JsonNode> consumer) {
+        this.consumer = consumer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) {
+        if (this.depth == 0) {
+            if (b == '{')
+                this.startFrame();
+            return;
+        }
+        if (!this.append((byte) b))
+            return;
+        if (this.inString)
+            this.scanString(b);
+        else if (b == '"')
+            this.inString = true;
+        else if (b == '{' || b == '[')
+            this.depth++;
+        else if ((b == '}' || b == ']') && --this.depth == 0)
+            this.emitFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte @NotNull [] b, final int off, final int len) {
+        for (int i = off; i < off + len; i++)
+            this.write(b[i]);
+    }
+
+    /**
+     * Drops the object being framed, if any.
+     */
+    @Override
+    public void close() {
+        this.depth = 0;
+        this.length = 0;
+        this.inString = false;
+        this.escaped = false;
+    }
+
+    private void startFrame() {
+        this.close();
+        this.depth = 1;
+        this.append((byte) '{');
+    }
+
+    private void scanString(final int b) {
+        if (this.escaped)
+            this.escaped = false;
+        else if (b == '\\')
+            this.escaped = true;
+        else if (b == '"')
+            this.inString = false;
+    }
+
+    private boolean append(final byte b) {
+        if (this.length == this.frame.length) {
+            if (this.length == MAX_FRAME_SIZE) {
+                LoggerFactory.getLogger(getClass()).warn("Sensor output exceeds " + MAX_FRAME_SIZE
+                        + " bytes without closing its JSON object, skipping it.");
+                this.close();
+                return false;
+            }
+            this.frame = Arrays.copyOf(this.frame, Math.min(this.length * 2, MAX_FRAME_SIZE));
+        }
+        this.frame[this.length++] = b;
+        return true;
+    }
+
+    private void emitFrame() {
+        try {
+            this.consumer.accept(MessageCodecHelper.readTree(this.frame, 0, this.length));
+        } catch (JsonProcessingException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT read json correctly.", e);
+        }
+        this.length = 0;
+    }
+}
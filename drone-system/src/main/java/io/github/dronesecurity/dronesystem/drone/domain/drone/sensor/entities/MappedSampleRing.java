@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Ring of fixed-size binary samples in a memory-mapped file, written by a sensor script and read in place by the
+ * thread performing the readings, with no text to decode.
+ * <p>
+ * The file starts with a header of {@value #HEADER_SIZE} bytes, in little endian: magic, version, capacity and
+ * number of values of the records as ints, then the sequence of the next record to write as a long. Each record
+ * holds its sequence and its timestamp in milliseconds as longs, followed by its values as doubles. The writer marks
+ * a record as invalid with sequence -1 while filling it, then sets its sequence and finally advances the header, so
+ * a record is taken only if its sequence is the expected one both before and after copying its values.
+ */
+final class MappedSampleRing implements AutoCloseable {
+
+    /**
+     * Size in bytes of the header.
+     */
+    static final int HEADER_SIZE = 32;
+    /**
+     * Marker identifying the file.
+     */
+    static final int MAGIC = 0x44535242;
+    /**
+     * Version of the layout.
+     */
+    static final int VERSION = 1;
+    /**
+     * Offset in bytes of the sequence of the next record to write.
+     */
+    static final int WRITE_SEQUENCE_OFFSET = 16;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int VALUE_COUNT_OFFSET = 12;
+    private static final int RECORD_HEADER_SIZE = 2 * Long.BYTES;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int valueCount;
+    private final int recordSize;
+    private long lastSequence = -1;
+    private long lastTimestamp;
+
+    private MappedSampleRing(final Path path, final ByteBuffer buffer, final int capacity, final int valueCount) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.valueCount = valueCount;
+        this.recordSize = RECORD_HEADER_SIZE + valueCount * Double.BYTES;
+    }
+
+    /**
+     * Creates the ring in a new temporary file, ready to be opened by the writer.
+     * @param name prefix of the file name
+     * @param capacity number of records kept
+     * @param valueCount number of values of each record
+     * @return the ring
+     * @throws IOException if the file can NOT be created or mapped
+     */
+    static @NotNull MappedSampleRing create(final String name, final int capacity, final int valueCount)
+            throws IOException {
+        if (capacity <= 0 || valueCount <= 0)
+            throw new IllegalArgumentException("Capacity and number of values must be positive.");
+        final Path path = Files.createTempFile(name, ".ring");
+        final long size = HEADER_SIZE + (long) capacity * (RECORD_HEADER_SIZE + valueCount * Double.BYTES);
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        final ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC)
+                .putInt(Integer.BYTES, VERSION)
+                .putInt(CAPACITY_OFFSET, capacity)
+                .putInt(VALUE_COUNT_OFFSET, valueCount);
+        LONGS.setRelease(buffer, WRITE_SEQUENCE_OFFSET, 0L);
+        mapped.force();
+        return new MappedSampleRing(path, buffer, capacity, valueCount);
+    }
+
+    /**
+     * Gets the file of the ring.
+     * @return the path of the file
+     */
+    Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Copies the values of the newest record, if it has NOT been read yet.
+     * @param values array receiving the values, as long as the number of values of the records
+     * @return true if a new record has been read, false otherwise
+     */
+    boolean readLatest(final double @NotNull [] values) {
+        this.checkValueCount(values);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final long sequence = this.getWriteSequence() - 1;
+            if (sequence < 0 || sequence == this.lastSequence)
+                return false;
+            if (this.copy(sequence, values))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copies the values of every record written since the last one read, oldest first. Records already overwritten by
+     * the writer are skipped, as well as the ones written while draining beyond the capacity of the ring.
+     * @param values array receiving the values of each record, as long as the number of values of the records
+     * @param consumer consumer of the values and of the timestamp of each record, called before the next is copied
+     * @return the number of records read
+     */
+    int drain(final double @NotNull [] values, final @NotNull ObjLongConsumer<double[]> consumer) {
+        this.checkValueCount(values);
+        int read = 0;
+        long sequence = this.lastSequence + 1;
+        while (read < this.capacity) {
+            final long next = this.getWriteSequence();
+            if (sequence >= next)
+                break;
+            sequence = Math.max(sequence, next - this.capacity);
+            if (this.copy(sequence, values)) {
+                consumer.accept(values, this.lastTimestamp);
+                read++;
+            } else if (sequence >= this.getWriteSequence() - this.capacity) {
+                // Still being written, NOT overwritten: left to the next drain.
+                break;
+            }
+            sequence++;
+        }
+        return read;
+    }
+
+    /**
+     * Gets the timestamp of the last record read.
+     * @return milliseconds from the epoch, 0 if no record has been read yet
+     */
+    long getLastTimestamp() {
+        return this.lastTimestamp;
+    }
+
+    /**
+     * Deletes the file of the ring. The mapping is released once the ring is no longer referenced.
+     * @throws IOException if the file can NOT be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+
+    private long getWriteSequence() {
+        return (long) LONGS.getAcquire(this.buffer, WRITE_SEQUENCE_OFFSET);
+    }
+
+    private void checkValueCount(final double @NotNull [] values) {
+        if (values.length != this.valueCount)
+            throw new IllegalArgumentException("Expected " + this.valueCount + " values.");
+    }
+
+    private boolean copy(final long sequence, final double @NotNull [] values) {
+        final int offset = HEADER_SIZE + (int) (sequence % this.capacity) * this.recordSize;
+        if ((long) LONGS.getAcquire(this.buffer, offset) != sequence)
+            return false;
+        final long timestamp = this.buffer.getLong(offset + Long.BYTES);
+        for (int i = 0; i < values.length; i++)
+            values[i] = this.buffer.getDouble(offset + RECORD_HEADER_SIZE + i * Double.BYTES);
+        VarHandle.acquireFence();
+        if ((long) LONGS.getVolatile(this.buffer, offset) != sequence)
+            return false;
+        this.lastSequence = sequence;
+        this.lastTimestamp = timestamp;
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.apache.commons.exec.CommandLine;
+import org.apache.commons.exec.DefaultExecutor;
+import org.apache.commons.exec.PumpStreamHandler;
+import org.apache.commons.lang3.SystemUtils;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Details of the platform the sensor scripts run on, namely the python version and whether the board is a Raspberry.
+ * They are probed once per run, launching the interpreter only once, and may be cached in the file specified by
+ * {@link DronePropertiesConstants#PLATFORM_PROBE_CACHE_FILE} to skip the probe at the next runs.
+ */
+final class PlatformProbe {
+
+    /**
+     * Command launching the python interpreter, followed by a space.
+     */
+    static final String COMMAND = SystemUtils.IS_OS_WINDOWS ? "python " : "python3 ";
+
+    private static final int COMPATIBLE_PYTHON_MAJOR_VERSION = 3;
+    private static final int COMPATIBLE_PYTHON_MINOR_VERSION = 7;
+    private static final String RASPBERRY = "raspberry";
+    private static final Path HOSTNAME_FILE = Path.of("/proc/sys/kernel/hostname");
+    private static final Path BOARD_MODEL_FILE = Path.of("/proc/device-tree/model");
+    private static final String PYTHON_VERSION_KEY = "pythonVersion";
+    private static final String RASPBERRY_KEY = "raspberry";
+
+    private final String pythonVersion;
+    private final boolean raspberry;
+
+    private PlatformProbe() {
+        final long start = System.nanoTime();
+        final String cacheFile = SensorPropertiesHelper.read(DronePropertiesConstants.PLATFORM_PROBE_CACHE_FILE);
+        final Properties cache = cacheFile == null ? new Properties() : readCache(Path.of(cacheFile));
+        final boolean cached = cache.containsKey(PYTHON_VERSION_KEY) && cache.containsKey(RASPBERRY_KEY);
+        if (cached) {
+            this.pythonVersion = cache.getProperty(PYTHON_VERSION_KEY);
+            this.raspberry = Boolean.parseBoolean(cache.getProperty(RASPBERRY_KEY));
+        } else {
+            this.pythonVersion = probePythonVersion();
+            this.raspberry = probeRaspberry();
+            if (cacheFile != null && !this.pythonVersion.isEmpty())
+                this.writeCache(Path.of(cacheFile));
+        }
+        LoggerFactory.getLogger(getClass()).info((cached ? "Platform read from cache" : "Platform probed") + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms: python " + this.pythonVersion
+                + ", raspberry " + this.raspberry + ".");
+    }
+
+    /**
+     * Gets the platform details, probing them at the first call.
+     * @return the platform details
+     */
+    static PlatformProbe getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Checks the compatibility of python version with sensor scripts (should be 3.7 or greater).
+     * @return if installed python version is compatible or not
+     */
+    boolean isPythonVersionCompatible() {
+        final String[] splitPythonVersion = this.pythonVersion.split("\\.");
+        if (splitPythonVersion.length < 2)
+            return false;
+        try {
+            final int majorPythonVersion = Integer.parseInt(splitPythonVersion[0]);
+            final int minorPythonVersion = Integer.parseInt(splitPythonVersion[1]);
+            return majorPythonVersion > COMPATIBLE_PYTHON_MAJOR_VERSION
+                    || majorPythonVersion == COMPATIBLE_PYTHON_MAJOR_VERSION
+                    && minorPythonVersion >= COMPATIBLE_PYTHON_MINOR_VERSION;
+        } catch (NumberFormatException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT read python version " + this.pythonVersion + ".", e);
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the device is a Raspberry.
+     * @return true if is Raspberry, false otherwise
+     */
+    boolean isRaspberry() {
+        return this.raspberry;
+    }
+
+    private static @NotNull String probePythonVersion() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DefaultExecutor executor = new DefaultExecutor();
+        executor.setStreamHandler(new PumpStreamHandler(output));
+        try {
+            executor.execute(CommandLine.parse(COMMAND + "--version"));
+        } catch (IOException e) {
+            LoggerFactory.getLogger(PlatformProbe.class).error("Can NOT execute python.", e);
+        }
+        final String[] words = output.toString(StandardCharsets.UTF_8).trim().split(" ");
+        return words.length < 2 ? "" : words[1];
+    }
+
+    private static boolean probeRaspberry() {
+        if (!SystemUtils.IS_OS_LINUX)
+            return false;
+        final String nodeName = readSystemFile(HOSTNAME_FILE);
+        final String boardModel = readSystemFile(BOARD_MODEL_FILE);
+        return nodeName.toLowerCase(Locale.ROOT).contains(RASPBERRY)
+                || boardModel.toLowerCase(Locale.ROOT).contains(RASPBERRY);
+    }
+
+    private static @NotNull String readSystemFile(final @NotNull Path file) {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static @NotNull Properties readCache(final @NotNull Path file) {
+        final Properties cache = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            cache.load(inputStream);
+        } catch (NoSuchFileException e) {
+            return cache;
+        } catch (IOException e) {
+            LoggerFactory.getLogger(PlatformProbe.class).warn("Can NOT read platform cache, probing again.", e);
+        }
+        return cache;
+    }
+
+    private void writeCache(final @NotNull Path file) {
+        final Properties cache = new Properties();
+        cache.setProperty(PYTHON_VERSION_KEY, this.pythonVersion);
+        cache.setProperty(RASPBERRY_KEY, String.valueOf(this.raspberry));
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            cache.store(outputStream, null);
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).warn("Can NOT write platform cache.", e);
+        }
+    }
+
+    private static final class InstanceHolder {
+        private static final PlatformProbe INSTANCE = new PlatformProbe();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free ring of samples written by a single producer, the thread reading the sensor output, and read by a single
+ * consumer, the thread performing the readings. Once full, the oldest sample is dropped to make room for the newest,
+ * so the consumer always finds the freshest values.
+ * @param <T> type of the samples
+ */
+final class SampleRing<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Build the ring.
+     * @param capacity maximum number of samples kept, rounded up to a power of two
+     */
+    SampleRing(final int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive.");
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds a sample, dropping the oldest one if the ring is full. Called by the producer only.
+     * @param sample the sample to add
+     */
+    void offer(final @NotNull T sample) {
+        final long position = this.tail.get();
+        final long oldest = this.head.get();
+        if (position - oldest == this.slots.length() && this.head.compareAndSet(oldest, oldest + 1))
+            this.dropped.incrementAndGet();
+        this.slots.lazySet((int) position & this.mask, sample);
+        this.tail.lazySet(position + 1);
+    }
+
+    /**
+     * Takes the newest sample, discarding the older ones still waiting. Called by the consumer only.
+     * @return the newest sample, null if none has been added since the last call
+     */
+    @Nullable T pollLatest() {
+        while (true) {
+            final long position = this.tail.get();
+            final long oldest = this.head.get();
+            if (position == oldest)
+                return null;
+            final T sample = this.slots.get((int) (position - 1) & this.mask);
+            if (this.head.compareAndSet(oldest, position))
+                return sample;
+        }
+    }
+
+    /**
+     * Hands every sample added since the last call to a consumer, oldest first. Called by the consumer only.
+     * @param consumer consumer of the samples
+     * @return the number of samples handed
+     */
+    int drain(final @NotNull Consumer<? super T> consumer) {
+        int count = 0;
+        while (true) {
+            final long oldest = this.head.get();
+            if (oldest == this.tail.get())
+                return count;
+            final T sample = this.slots.get((int) oldest & this.mask);
+            if (this.head.compareAndSet(oldest, oldest + 1)) {
+                consumer.accept(sample);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of samples dropped because the consumer fell behind.
+     * @return the number of dropped samples
+     */
+    long getDropped() {
+        return this.dropped.get();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helper activating the sensors of a set in parallel, so that the launch of a script does NOT wait for the others.
+ */
+public final class SensorActivationHelper {
+
+    private static final String THREAD_NAME = "sensor-activation";
+
+    private SensorActivationHelper() { }
+
+    /**
+     * Activates the sensors in parallel, returning once all of them have been activated.
+     * @param sensors the sensors to activate
+     */
+    public static void activateAll(final Sensor @NotNull ... sensors) {
+        final long start = System.nanoTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(sensors.length, runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final CompletableFuture<?>[] activations = new CompletableFuture<?>[sensors.length];
+            for (int i = 0; i < sensors.length; i++)
+                activations[i] = CompletableFuture.runAsync(sensors[i]::activate, executor);
+            CompletableFuture.allOf(activations).join();
+        } finally {
+            executor.shutdown();
+        }
+        LoggerFactory.getLogger(SensorActivationHelper.class).info(sensors.length + " sensors activated in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+    }
+}
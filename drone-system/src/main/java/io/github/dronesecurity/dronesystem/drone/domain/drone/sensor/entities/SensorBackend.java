@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * Source of the samples read by the sensors.
+ */
+public enum SensorBackend {
+
+    /**
+     * Python scripts reading the real sensors on a Raspberry, or simulating them elsewhere.
+     */
+    SCRIPT,
+
+    /**
+     * Simulators running in the JVM, with no need of python.
+     */
+    SIMULATOR,
+
+    /**
+     * Python drivers on a Raspberry writing binary samples to a memory-mapped ring, read in place by the JVM.
+     * Sensors whose samples are NOT plain numbers fall back to {@link #SCRIPT}.
+     */
+    SHARED_MEMORY;
+
+    /**
+     * Gets the backend specified by {@link DronePropertiesConstants#SENSOR_BACKEND}.
+     * @return the configured backend, {@link #SCRIPT} if NOT specified
+     */
+    public static @NotNull SensorBackend fromSettings() {
+        final String value = SensorPropertiesHelper.read(DronePropertiesConstants.SENSOR_BACKEND);
+        if (value == null)
+            return SCRIPT;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LoggerFactory.getLogger(SensorBackend.class).warn("Unknown sensor backend " + value + ", using SCRIPT.", e);
+            return SCRIPT;
+        }
+    }
+}
@@ -14,13 +14,15 @@ import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.entities
  */
 public class SensorFactory {
 
+    private final SensorBackend backend = SensorBackend.fromSettings();
+
     /**
      * Creates an accelerometer.
      *
      * @return The instantiated accelerometer
      */
     public Sensor getAccelerometer() {
-        return new Accelerometer();
+        return new Accelerometer(this.backend);
     }
 
     /**
@@ -29,7 +31,7 @@ public class SensorFactory {
      * @return The instantiated proximity sensor
      */
     public Sensor getProximitySensor() {
-        return new ProximitySensor();
+        return new ProximitySensor(this.backend);
     }
 
     /**
@@ -38,6 +40,6 @@ public class SensorFactory {
      * @return The instantiated camera
      */
     public Sensor getCamera() {
-        return new Camera();
+        return new Camera(this.backend);
     }
 }
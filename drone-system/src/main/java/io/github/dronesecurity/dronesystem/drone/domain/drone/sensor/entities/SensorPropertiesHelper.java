@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import io.github.dronesecurity.lib.connection.PropertiesConstants;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Helper reading the drone settings of {@link DronePropertiesConstants}, either from the system properties or from the
+ * properties file, which is read once.
+ */
+public final class SensorPropertiesHelper {
+
+    private SensorPropertiesHelper() { }
+
+    /**
+     * Reads a setting, giving precedence to the system property with the same key.
+     * @param key key of the setting
+     * @return the value of the setting, null if it is NOT specified
+     */
+    public static @Nullable String read(final @NotNull String key) {
+        return System.getProperty(key, FileHolder.PROPERTIES.getProperty(key));
+    }
+
+    /**
+     * Reads a numeric setting, giving precedence to the system property with the same key.
+     * @param key key of the setting
+     * @param defaultValue value used if the setting is NOT specified or is NOT a number
+     * @return the value of the setting
+     */
+    public static double readNumber(final @NotNull String key, final double defaultValue) {
+        final String value = read(key);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            LoggerFactory.getLogger(SensorPropertiesHelper.class).warn("Invalid value for property " + key + ".", e);
+            return defaultValue;
+        }
+    }
+
+    private static final class FileHolder {
+
+        private static final Properties PROPERTIES = load();
+
+        private static @NotNull Properties load() {
+            final Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(Path.of(PropertiesConstants.PROPERTIES_FILENAME))) {
+                properties.load(inputStream);
+            } catch (NoSuchFileException e) {
+                return properties;
+            } catch (IOException e) {
+                LoggerFactory.getLogger(SensorPropertiesHelper.class).warn("Can NOT read sensor settings.", e);
+            }
+            return properties;
+        }
+    }
+}
@@ -5,21 +5,35 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
 
+import io.github.dronesecurity.dronesystem.drone.application.drone.camera.CameraRecorder;
 import io.github.dronesecurity.dronesystem.drone.application.drone.sensor.AlertSituationAnalyzerImpl;
+import io.github.dronesecurity.dronesystem.drone.application.drone.sensor.FlightRecorder;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.AccelerometerAlert;
-import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.CameraAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.ProximityAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.SensorSetAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.entities.ProximitySensor;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.exceptions.SensorNotActivatedException;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.service.AlertSituationAnalyzer;
 import io.github.dronesecurity.lib.shared.AlertLevel;
 import io.github.dronesecurity.lib.shared.AlertType;
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
 import io.github.dronesecurity.lib.utilities.CastHelper;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Set of all sensors installed on the drone.
+ * The last alert of each sensor is kept in its own atomic slot, so that sensors can be read independently.
+ * The {@link FlightRecorder} of the drone records every sample of the proximity sensor and of the accelerometer, as
+ * soon as they get it, and the alert of every reading of the camera.
  */
 public class SensorSet {
 
@@ -27,8 +41,11 @@ public class SensorSet {
     private final Sensor proximity;
     private final Sensor accelerometer;
     private final Sensor camera;
-    private Alert currentProximityAlert;
-    private Alert currentAccelerometerAlert;
+    private final AtomicReference<ProximityAlert> proximityAlert;
+    private final AtomicReference<AccelerometerAlert> accelerometerAlert;
+    private final AtomicReference<CameraAlert> cameraAlert;
+    private final AtomicReference<Snapshot> lastSnapshot;
+    private final FlightRecorder flightRecorder;
     private OrderData orderData;
 
     private final AlertSituationAnalyzer alertAnalyzer;
@@ -40,8 +57,17 @@ public class SensorSet {
         this.proximity = SENSOR_FACTORY.getProximitySensor();
         this.accelerometer = SENSOR_FACTORY.getAccelerometer();
         this.camera = SENSOR_FACTORY.getCamera();
-        this.currentProximityAlert = new Alert(AlertType.DISTANCE, AlertLevel.STABLE);
-        this.currentAccelerometerAlert = new Alert(AlertType.ANGLE, AlertLevel.STABLE);
+        this.proximityAlert = new AtomicReference<>(new ProximityAlert(AlertType.DISTANCE, AlertLevel.STABLE, 0));
+        this.accelerometerAlert =
+                new AtomicReference<>(new AccelerometerAlert(AlertType.ANGLE, AlertLevel.STABLE, 0, 0, 0));
+        this.cameraAlert = new AtomicReference<>(new CameraAlert(AlertType.CAMERA, AlertLevel.STABLE, 0));
+        this.lastSnapshot = new AtomicReference<>(
+                new Snapshot(this.proximityAlert.get(), this.accelerometerAlert.get(), this.cameraAlert.get()));
+        this.flightRecorder = FlightRecorder.fromSettings();
+        CastHelper.safeCast(this.proximity, AbstractSensor.class)
+                .ifPresent(sensor -> sensor.setFlightRecorder(this.flightRecorder));
+        CastHelper.safeCast(this.accelerometer, AbstractSensor.class)
+                .ifPresent(sensor -> sensor.setFlightRecorder(this.flightRecorder));
 
         this.alertAnalyzer = new AlertSituationAnalyzerImpl();
     }
@@ -53,9 +79,8 @@ public class SensorSet {
     public void activate(final OrderData currentOrderData) {
         if (this.orderData == null) {
             this.orderData = currentOrderData;
-            this.proximity.activate();
-            this.accelerometer.activate();
-            this.camera.activate();
+            CameraRecorder.getInstance().start(currentOrderData.getOrderId());
+            SensorActivationHelper.activateAll(this.proximity, this.accelerometer, this.camera);
         }
     }
 
@@ -66,6 +91,20 @@ public class SensorSet {
         this.proximity.deactivate();
         this.accelerometer.deactivate();
         this.camera.deactivate();
+        CameraRecorder.getInstance().stop();
+    }
+
+    /**
+     * Sets the listener of the critical distances detected by the proximity sensor as soon as its samples are
+     * received, without waiting for its next reading.
+     * @param listener the listener, notified on the thread producing the samples with the alerts of the sensors and
+     *                 the {@link System#nanoTime()} at which the critical sample has been received
+     */
+    public void setEmergencyListener(final @NotNull ObjLongConsumer<SensorSetAlert> listener) {
+        CastHelper.safeCast(this.proximity, ProximitySensor.class).ifPresent(sensor ->
+                sensor.setEmergencyListener((alert, sample, receivedNanos) -> listener.accept(
+                        new SensorSetAlert(AlertLevel.CRITICAL, alert, this.accelerometerAlert.get(),
+                                this.cameraAlert.get()), receivedNanos)));
     }
 
     /**
@@ -73,33 +112,117 @@ public class SensorSet {
      * @return the alert level detected after analyzing all the sensors
      */
     public SensorSetAlert performReading() {
-        final ProximityAlert proximityAlert =
-                CastHelper.safeCast(this.proximity.performReading(), ProximityAlert.class).orElseThrow();
-        final AccelerometerAlert accelerometerAlert =
-                CastHelper.safeCast(this.accelerometer.performReading(), AccelerometerAlert.class).orElseThrow();
-        final CameraAlert cameraAlert =
-                CastHelper.safeCast(this.camera.performReading(), CameraAlert.class).orElseThrow();
+        this.performReading(AlertType.DISTANCE);
+        this.performReading(AlertType.ANGLE);
+        return this.performReading(AlertType.CAMERA);
+    }
+
+    /**
+     * Makes a sensor of the drone perform a single reading, then analyzes a snapshot of the last alert of every
+     * sensor. Different sensors can be read concurrently, each one by its own thread, without waiting for each other.
+     * @param sensor the sensor to read, identified by the type of its alerts
+     * @return the alert level detected after analyzing all the sensors
+     */
+    public SensorSetAlert performReading(final @NotNull AlertType sensor) {
+        switch (sensor) {
+            case DISTANCE:
+                final ProximityAlert proximityReading =
+                        CastHelper.safeCast(this.proximity.performReading(), ProximityAlert.class).orElseThrow();
+                this.proximityAlert.set(proximityReading);
+                break;
+            case ANGLE:
+                final AccelerometerAlert accelerometerReading = CastHelper.safeCast(
+                        this.accelerometer.performReading(), AccelerometerAlert.class).orElseThrow();
+                this.accelerometerAlert.set(accelerometerReading);
+                break;
+            default:
+                final CameraAlert cameraReading =
+                        CastHelper.safeCast(this.camera.performReading(), CameraAlert.class).orElseThrow();
+                this.cameraAlert.set(cameraReading);
+                this.flightRecorder.record(TelemetryType.CAMERA, System.currentTimeMillis(),
+                        cameraReading.getImageSize());
+                break;
+        }
+
+        // Each snapshot is analyzed against the one it replaced, so every change is seen exactly once.
+        Snapshot previous;
+        Snapshot current;
+        do {
+            previous = this.lastSnapshot.get();
+            current = new Snapshot(this.proximityAlert.get(), this.accelerometerAlert.get(), this.cameraAlert.get());
+        } while (!this.lastSnapshot.compareAndSet(previous, current));
 
         final AlertLevel currentAlertLevel =
                 this.alertAnalyzer.analyzeAlerts(this.orderData,
-                        this.currentProximityAlert,
-                        this.currentAccelerometerAlert,
-                        proximityAlert,
-                        accelerometerAlert);
+                        previous.proximity,
+                        previous.accelerometer,
+                        previous.camera,
+                        current.proximity,
+                        current.accelerometer,
+                        current.camera);
 
-        this.currentProximityAlert = proximityAlert;
-        this.currentAccelerometerAlert = accelerometerAlert;
+        return new SensorSetAlert(currentAlertLevel, current.proximity, current.accelerometer, current.camera);
+    }
 
-        return new SensorSetAlert(currentAlertLevel, proximityAlert, accelerometerAlert, cameraAlert);
+    /**
+     * Counts the camera frames recorded in the last milliseconds.
+     * @param windowMillis the milliseconds to look back
+     * @return the number of frames recorded, 0 if the camera is NOT being recorded
+     */
+    public long countRecordedFrames(final long windowMillis) {
+        final long now = System.currentTimeMillis();
+        return CameraRecorder.getInstance().countFrames(now - windowMillis, now);
+    }
+
+    /**
+     * Freezes the last seconds of every sensor stream, shipping them once the following seconds have been recorded.
+     * @param consumer consumer of the flight record, called on the thread of the recorder
+     * @return the identifier of the flight record
+     */
+    public String freezeFlightRecord(final @NotNull Consumer<FlightRecord> consumer) {
+        if (this.orderData == null) throw new SensorNotActivatedException();
+        final long now = System.currentTimeMillis();
+        final String id = this.orderData.getOrderId() + "-" + now;
+        this.flightRecorder.freeze(id, now, consumer);
+        return id;
     }
 
     /**
      * Publishes the data of the last reading performed by all the drone's sensors.
      */
     public void publishData() {
+        this.publishData(EnumSet.allOf(AlertType.class));
+    }
+
+    /**
+     * Publishes the data of the last reading performed by some of the drone's sensors.
+     * @param sensors the sensors to publish, identified by the type of their alerts
+     */
+    public void publishData(final @NotNull Set<AlertType> sensors) {
         if (this.orderData == null) throw new SensorNotActivatedException();
-        this.proximity.publishData(this.orderData);
-        this.accelerometer.publishData(this.orderData);
-        this.camera.publishData(this.orderData);
+        if (sensors.contains(AlertType.DISTANCE))
+            this.proximity.publishData(this.orderData);
+        if (sensors.contains(AlertType.ANGLE))
+            this.accelerometer.publishData(this.orderData);
+        if (sensors.contains(AlertType.CAMERA))
+            this.camera.publishData(this.orderData);
+    }
+
+    /**
+     * Last alerts of all the sensors, taken together.
+     */
+    private static final class Snapshot {
+
+        private final ProximityAlert proximity;
+        private final AccelerometerAlert accelerometer;
+        private final CameraAlert camera;
+
+        private Snapshot(final ProximityAlert proximity,
+                         final AccelerometerAlert accelerometer,
+                         final CameraAlert camera) {
+            this.proximity = proximity;
+            this.accelerometer = accelerometer;
+            this.camera = camera;
+        }
     }
 }
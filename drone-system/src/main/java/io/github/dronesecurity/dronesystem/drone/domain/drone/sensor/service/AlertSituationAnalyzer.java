@@ -19,13 +19,17 @@ public interface AlertSituationAnalyzer {
      * @param orderData the data of the order currently delivered
      * @param previousProximityAlert previous alert of the proximity sensor
      * @param previousAccelerometerAlert previous alert of the accelerometer
+     * @param previousCameraAlert previous alert of the camera
      * @param currentProximityAlert current alert of the proximity sensor
      * @param currentAccelerometerAlert current alert of the accelerometer
+     * @param currentCameraAlert current alert of the camera
      * @return current alert level of the whole drone
      */
     AlertLevel analyzeAlerts(OrderData orderData,
                              Alert previousProximityAlert,
                              Alert previousAccelerometerAlert,
+                             Alert previousCameraAlert,
                              Alert currentProximityAlert,
-                             Alert currentAccelerometerAlert);
+                             Alert currentAccelerometerAlert,
+                             Alert currentCameraAlert);
 }
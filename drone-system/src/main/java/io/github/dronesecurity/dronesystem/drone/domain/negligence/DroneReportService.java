@@ -6,9 +6,11 @@
 package io.github.dronesecurity.dronesystem.drone.domain.negligence;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.FlightRecordCodecHelper;
 
 /**
  * Service providing methods to reports negligence.
@@ -20,7 +22,20 @@ public final class DroneReportService {
      * @param report the report to record
      */
     public void reportsNegligence(final NegligenceReport report) {
-        final JsonNode json = new ObjectMapper().convertValue(report, JsonNode.class);
+        final JsonNode json = MessageCodecHelper.valueToTree(report);
         Connection.getInstance().publish(MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + report.getNegligent(), json);
     }
+
+    /**
+     * Publish the {@link FlightRecord} of a {@link NegligenceReport} compressed, in as many chunks as needed, to
+     * particular MQTT topic based on {@link MqttTopicConstants}.
+     * @param negligent the negligent of the report
+     * @param record the record to send
+     */
+    public void reportsFlightRecord(final String negligent, final FlightRecord record) {
+        final byte[] encoded = FlightRecordCodecHelper.encode(record);
+        for (final byte[] chunk : FlightRecordCodecHelper.split(record.getId(), encoded,
+                FlightRecordCodecHelper.DEFAULT_CHUNK_SIZE))
+            Connection.getInstance().publish(MqttTopicConstants.FLIGHT_RECORDS_TOPIC + negligent, chunk);
+    }
 }
@@ -5,10 +5,10 @@
 
 package io.github.dronesecurity.dronesystem.drone.domain.negligence;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.SensorSetAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.utilities.DateHelper;
 import org.jetbrains.annotations.NotNull;
@@ -28,20 +28,26 @@ public final class NegligenceReport {
      * Build the report.
      * @param orderData the order data related to this negligence
      * @param sensorSetAlert the sensor data alert detected by its sensor set
+     * @param recordedFrames the number of camera frames recorded before the negligence
+     * @param flightRecordId the identifier of the flight record around the negligence, sent apart
      */
-    public NegligenceReport(final @NotNull OrderData orderData, final @NotNull SensorSetAlert sensorSetAlert) {
+    public NegligenceReport(final @NotNull OrderData orderData,
+                            final @NotNull SensorSetAlert sensorSetAlert,
+                            final long recordedFrames,
+                            final @NotNull String flightRecordId) {
         this.negligent = orderData.getCourier();
-        final ObjectMapper objectMapper = new ObjectMapper();
-        this.data = objectMapper.createObjectNode();
+        this.data = MessageCodecHelper.createObjectNode();
 
         this.data.put(MqttMessageParameterConstants.PROXIMITY_PARAMETER,
                 sensorSetAlert.getProximityAlert().getDistance());
-        final ObjectNode accelerometerData = objectMapper.createObjectNode();
+        final ObjectNode accelerometerData = MessageCodecHelper.createObjectNode();
         accelerometerData.put(MqttMessageParameterConstants.PITCH, sensorSetAlert.getAccelerometerAlert().getPitch());
         accelerometerData.put(MqttMessageParameterConstants.ROLL, sensorSetAlert.getAccelerometerAlert().getRoll());
         accelerometerData.put(MqttMessageParameterConstants.YAW, sensorSetAlert.getAccelerometerAlert().getYaw());
         this.data.set(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, accelerometerData);
         this.data.put(MqttMessageParameterConstants.CAMERA_PARAMETER, sensorSetAlert.getCameraAlert().getImageSize());
+        this.data.put(MqttMessageParameterConstants.RECORDED_FRAMES, recordedFrames);
+        this.data.put(MqttMessageParameterConstants.FLIGHT_RECORD, flightRecordId);
         this.data.put(MqttMessageParameterConstants.DETECTION_INSTANT, DateHelper.toString(Instant.now()));
         this.orderId = orderData.getOrderId();
     }
@@ -5,17 +5,20 @@
 
 package io.github.dronesecurity.dronesystem.performance.application.accelerometer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
 import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.objects.ProcessedAccelerometerPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.services.AccelerometerPerformancePublisher;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Implementation of the {@link AccelerometerPerformancePublisher}.
  */
@@ -28,16 +31,22 @@ public class AccelerometerPerformancePublisherImpl implements AccelerometerPerfo
     public void publishAccelerometer(
             final @NotNull ProcessedAccelerometerPerformanceData accelerometerPerformanceData) {
 
-        final ObjectNode accelerometerJson = new ObjectMapper().createObjectNode();
         final ProcessedAccelerometerData accelerometerData = accelerometerPerformanceData.getAccelerometerData();
-        accelerometerJson.put(MqttMessageParameterConstants.PITCH, accelerometerData.getPitch());
-        accelerometerJson.put(MqttMessageParameterConstants.ROLL, accelerometerData.getRoll());
-        accelerometerJson.put(MqttMessageParameterConstants.YAW, accelerometerData.getYaw());
-        accelerometerJson.put(PerformanceStringConstants.TIMESTAMP, accelerometerPerformanceData.getTimestamp());
-        accelerometerJson.put(PerformanceStringConstants.INDEX, accelerometerPerformanceData.getIndex());
+        final TelemetryFrame frame = TelemetryFrame.accelerometer(0, accelerometerPerformanceData.getIndex(),
+                TimeUnit.MILLISECONDS.toNanos(accelerometerPerformanceData.getTimestamp()),
+                new int[] {accelerometerData.getPitch(), accelerometerData.getRoll(), accelerometerData.getYaw()});
 
-        Connection.getInstance().publish(
+        Connection.getInstance().publishTelemetry(
                 MqttTopicConstants.PERFORMANCE_TOPIC + " " + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER,
-                accelerometerJson);
+                frame, () -> {
+                    final ObjectNode accelerometerJson = MessageCodecHelper.createObjectNode();
+                    accelerometerJson.put(MqttMessageParameterConstants.PITCH, accelerometerData.getPitch());
+                    accelerometerJson.put(MqttMessageParameterConstants.ROLL, accelerometerData.getRoll());
+                    accelerometerJson.put(MqttMessageParameterConstants.YAW, accelerometerData.getYaw());
+                    accelerometerJson.put(PerformanceStringConstants.TIMESTAMP,
+                            accelerometerPerformanceData.getTimestamp());
+                    accelerometerJson.put(PerformanceStringConstants.INDEX, accelerometerPerformanceData.getIndex());
+                    return accelerometerJson;
+                });
     }
 }
@@ -5,16 +5,19 @@
 
 package io.github.dronesecurity.dronesystem.performance.application.camera;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.performance.domain.camera.objects.CameraPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.domain.camera.services.CameraPerformancePublisher;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Implementation of the {@link CameraPerformancePublisher}.
  */
@@ -25,13 +28,19 @@ public class CameraPerformancePublisherImpl implements CameraPerformancePublishe
      */
     @Override
     public void publishCamera(final @NotNull CameraPerformanceData cameraPerformanceData) {
-        final ObjectNode cameraJson = new ObjectMapper().createObjectNode();
-        cameraJson.put(PerformanceStringConstants.IMAGE_SIZE, cameraPerformanceData.getCameraData().getImageLength());
-        cameraJson.put(PerformanceStringConstants.TIMESTAMP, cameraPerformanceData.getTimestamp());
-        cameraJson.put(PerformanceStringConstants.INDEX, cameraPerformanceData.getIndex());
+        final TelemetryFrame frame = TelemetryFrame.camera(0, cameraPerformanceData.getIndex(),
+                TimeUnit.MILLISECONDS.toNanos(cameraPerformanceData.getTimestamp()),
+                cameraPerformanceData.getCameraData().getImageLength());
 
-        Connection.getInstance().publish(
+        Connection.getInstance().publishTelemetry(
                 MqttTopicConstants.PERFORMANCE_TOPIC + " " + MqttMessageParameterConstants.CAMERA_PARAMETER,
-                cameraJson);
+                frame, () -> {
+                    final ObjectNode cameraJson = MessageCodecHelper.createObjectNode();
+                    cameraJson.put(PerformanceStringConstants.IMAGE_SIZE,
+                            cameraPerformanceData.getCameraData().getImageLength());
+                    cameraJson.put(PerformanceStringConstants.TIMESTAMP, cameraPerformanceData.getTimestamp());
+                    cameraJson.put(PerformanceStringConstants.INDEX, cameraPerformanceData.getIndex());
+                    return cameraJson;
+                });
     }
 }
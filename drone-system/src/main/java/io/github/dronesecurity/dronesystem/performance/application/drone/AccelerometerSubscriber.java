@@ -6,13 +6,16 @@
 package io.github.dronesecurity.dronesystem.performance.application.drone;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
 import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.objects.ProcessedAccelerometerPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryEncoding;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.crt.mqtt.MqttMessage;
@@ -53,8 +56,10 @@ public class AccelerometerSubscriber {
 
         final Connection connection = Connection.getInstance();
 
-        connection.subscribe(MqttTopicConstants.PERFORMANCE_TOPIC + SPACE_SEPARATOR
-                + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, this::accelerometerPerformanceHandler);
+        final String topic = MqttTopicConstants.PERFORMANCE_TOPIC + SPACE_SEPARATOR
+                + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER;
+        connection.subscribe(connection.getTelemetryEncoding() == TelemetryEncoding.BINARY
+                ? topic + MqttTopicConstants.BINARY_TOPIC_SUFFIX : topic, this::accelerometerPerformanceHandler);
     }
 
     /**
@@ -74,9 +79,14 @@ public class AccelerometerSubscriber {
     }
 
     private void accelerometerPerformanceHandler(final @NotNull MqttMessage message) {
+        if (TelemetryCodecHelper.isBinaryFrame(message.getPayload())) {
+            final TelemetryFrame frame = TelemetryCodecHelper.decode(message.getPayload());
+            this.trackAccelerometerPerformance(frame.getSequence(), frame.getEpochMillis(),
+                    new ProcessedAccelerometerData(frame.getPitch(), frame.getRoll(), frame.getYaw()));
+            return;
+        }
         try {
-            final JsonNode accelerometerJson = new ObjectMapper()
-                    .readTree(new String(message.getPayload(), StandardCharsets.UTF_8));
+            final JsonNode accelerometerJson = MessageCodecHelper.readTree(message.getPayload());
             final ProcessedAccelerometerData accelerometerData = new ProcessedAccelerometerData(
                     accelerometerJson.get(MqttMessageParameterConstants.PITCH).asInt(),
                     accelerometerJson.get(MqttMessageParameterConstants.ROLL).asInt(),
@@ -86,19 +96,23 @@ public class AccelerometerSubscriber {
                     accelerometerJson.get(PerformanceStringConstants.TIMESTAMP).asLong();
             final int accelerometerDataIndex =
                     accelerometerJson.get(PerformanceStringConstants.INDEX).asInt();
-
-            final long accelerometerDelay = System.currentTimeMillis() - accelerometerDataTimestamp;
-            this.totalAccelerometerSubscriberDelay += accelerometerDelay;
-            this.totalAccelerometerSubscriberReadings++;
-            PerformanceOutputHelper.printAccelerometerPerformance(this.accelerometerWriter,
-                    new ProcessedAccelerometerPerformanceData(
-                            accelerometerDataIndex,
-                            accelerometerDataTimestamp,
-                            accelerometerData),
-                    accelerometerDelay);
-
+            this.trackAccelerometerPerformance(accelerometerDataIndex, accelerometerDataTimestamp, accelerometerData);
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error(INVALID_MESSAGE_EXCEPTION_MSG, e);
         }
     }
+
+    private void trackAccelerometerPerformance(final int accelerometerDataIndex,
+                                               final long accelerometerDataTimestamp,
+                                               final ProcessedAccelerometerData accelerometerData) {
+        final long accelerometerDelay = System.currentTimeMillis() - accelerometerDataTimestamp;
+        this.totalAccelerometerSubscriberDelay += accelerometerDelay;
+        this.totalAccelerometerSubscriberReadings++;
+        PerformanceOutputHelper.printAccelerometerPerformance(this.accelerometerWriter,
+                new ProcessedAccelerometerPerformanceData(
+                        accelerometerDataIndex,
+                        accelerometerDataTimestamp,
+                        accelerometerData),
+                accelerometerDelay);
+    }
 }
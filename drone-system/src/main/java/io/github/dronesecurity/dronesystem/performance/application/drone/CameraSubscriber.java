@@ -6,13 +6,16 @@
 package io.github.dronesecurity.dronesystem.performance.application.drone;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.ProcessedCameraData;
 import io.github.dronesecurity.dronesystem.performance.domain.camera.objects.CameraPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryEncoding;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.crt.mqtt.MqttMessage;
@@ -53,8 +56,10 @@ public class CameraSubscriber {
 
         final Connection connection = Connection.getInstance();
 
-        connection.subscribe(MqttTopicConstants.PERFORMANCE_TOPIC + SPACE_SEPARATOR
-                + MqttMessageParameterConstants.CAMERA_PARAMETER, this::cameraPerformanceHandler);
+        final String topic = MqttTopicConstants.PERFORMANCE_TOPIC + SPACE_SEPARATOR
+                + MqttMessageParameterConstants.CAMERA_PARAMETER;
+        connection.subscribe(connection.getTelemetryEncoding() == TelemetryEncoding.BINARY
+                ? topic + MqttTopicConstants.BINARY_TOPIC_SUFFIX : topic, this::cameraPerformanceHandler);
     }
 
     /**
@@ -74,25 +79,34 @@ public class CameraSubscriber {
     }
 
     private void cameraPerformanceHandler(final @NotNull MqttMessage message) {
+        if (TelemetryCodecHelper.isBinaryFrame(message.getPayload())) {
+            final TelemetryFrame frame = TelemetryCodecHelper.decode(message.getPayload());
+            this.trackCameraPerformance(frame.getSequence(), frame.getEpochMillis(),
+                    new ProcessedCameraData(frame.getImageLength()));
+            return;
+        }
         try {
-            final JsonNode cameraJson = new ObjectMapper()
-                    .readTree(new String(message.getPayload(), StandardCharsets.UTF_8));
+            final JsonNode cameraJson = MessageCodecHelper.readTree(message.getPayload());
             final ProcessedCameraData cameraData =
                     new ProcessedCameraData(cameraJson.get(PerformanceStringConstants.IMAGE_SIZE).asInt());
-            if (cameraData.getImageLength() > 0) {
-                final long cameraDataTimestamp = cameraJson.get(PerformanceStringConstants.TIMESTAMP).asLong();
-                final int cameraDataIndex = cameraJson.get(PerformanceStringConstants.INDEX).asInt();
-
-                final long cameraDelay = System.currentTimeMillis() - cameraDataTimestamp;
-                this.totalCameraSubscriberDelay += cameraDelay;
-                this.totalCameraSubscriberReadings++;
-                PerformanceOutputHelper.printCameraPerformance(this.cameraWriter,
-                        new CameraPerformanceData(cameraDataIndex, cameraDataTimestamp, cameraData),
-                        cameraDelay);
-            }
-
+            final long cameraDataTimestamp = cameraJson.get(PerformanceStringConstants.TIMESTAMP).asLong();
+            final int cameraDataIndex = cameraJson.get(PerformanceStringConstants.INDEX).asInt();
+            this.trackCameraPerformance(cameraDataIndex, cameraDataTimestamp, cameraData);
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error(INVALID_MESSAGE_EXCEPTION_MSG, e);
         }
     }
+
+    private void trackCameraPerformance(final int cameraDataIndex,
+                                        final long cameraDataTimestamp,
+                                        final @NotNull ProcessedCameraData cameraData) {
+        if (cameraData.getImageLength() > 0) {
+            final long cameraDelay = System.currentTimeMillis() - cameraDataTimestamp;
+            this.totalCameraSubscriberDelay += cameraDelay;
+            this.totalCameraSubscriberReadings++;
+            PerformanceOutputHelper.printCameraPerformance(this.cameraWriter,
+                    new CameraPerformanceData(cameraDataIndex, cameraDataTimestamp, cameraData),
+                    cameraDelay);
+        }
+    }
 }
@@ -124,5 +124,7 @@ public final class PerformanceOutputHelper {
                 + averageResults.getAverageAccelerometerDelay());
         writer.println(MqttMessageParameterConstants.CAMERA_PARAMETER + ARROW
                 + averageResults.getAverageCameraDelay());
+        if (averageResults.getAverageEmergencyHaltDelay() != AveragePerformanceData.NOT_MEASURED)
+            writer.println("emergencyHalt" + ARROW + averageResults.getAverageEmergencyHaltDelay());
     }
 }
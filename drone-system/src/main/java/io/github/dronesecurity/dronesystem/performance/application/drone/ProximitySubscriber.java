@@ -6,13 +6,16 @@
 package io.github.dronesecurity.dronesystem.performance.application.drone;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.objects.ProcessedProximityData;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.objects.ProximityPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryEncoding;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.crt.mqtt.MqttMessage;
@@ -53,8 +56,10 @@ public class ProximitySubscriber {
 
         final Connection connection = Connection.getInstance();
 
-        connection.subscribe(MqttTopicConstants.PERFORMANCE_TOPIC + SPACE_SEPARATOR
-                + MqttMessageParameterConstants.PROXIMITY_PARAMETER, this::proximityPerformanceHandler);
+        final String topic = MqttTopicConstants.PERFORMANCE_TOPIC + SPACE_SEPARATOR
+                + MqttMessageParameterConstants.PROXIMITY_PARAMETER;
+        connection.subscribe(connection.getTelemetryEncoding() == TelemetryEncoding.BINARY
+                ? topic + MqttTopicConstants.BINARY_TOPIC_SUFFIX : topic, this::proximityPerformanceHandler);
     }
 
     /**
@@ -74,24 +79,33 @@ public class ProximitySubscriber {
     }
 
     private void proximityPerformanceHandler(final @NotNull MqttMessage message) {
+        if (TelemetryCodecHelper.isBinaryFrame(message.getPayload())) {
+            final TelemetryFrame frame = TelemetryCodecHelper.decode(message.getPayload());
+            this.trackProximityPerformance(frame.getSequence(), frame.getEpochMillis(),
+                    new ProcessedProximityData(frame.getDistance()));
+            return;
+        }
         try {
-            final JsonNode proximityJson = new ObjectMapper()
-                    .readTree(new String(message.getPayload(), StandardCharsets.UTF_8));
+            final JsonNode proximityJson = MessageCodecHelper.readTree(message.getPayload());
             final ProcessedProximityData distance =
                     new ProcessedProximityData(proximityJson.get(PerformanceStringConstants.DISTANCE_PARAMETER)
                             .asDouble());
             final long proximitySensorTimestamp = proximityJson.get(PerformanceStringConstants.TIMESTAMP).asLong();
             final int proximitySensorIndex = proximityJson.get(PerformanceStringConstants.INDEX).asInt();
-
-            final long proximityDelay = System.currentTimeMillis() - proximitySensorTimestamp;
-            this.totalProximitySubscriberDelay += proximityDelay;
-            this.totalProximitySubscriberReadings++;
-            PerformanceOutputHelper.printProximityPerformance(this.proximityWriter,
-                    new ProximityPerformanceData(proximitySensorIndex, proximitySensorTimestamp, distance),
-                    proximityDelay);
-
+            this.trackProximityPerformance(proximitySensorIndex, proximitySensorTimestamp, distance);
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error(INVALID_MESSAGE_EXCEPTION_MSG, e);
         }
     }
+
+    private void trackProximityPerformance(final int proximitySensorIndex,
+                                           final long proximitySensorTimestamp,
+                                           final ProcessedProximityData distance) {
+        final long proximityDelay = System.currentTimeMillis() - proximitySensorTimestamp;
+        this.totalProximitySubscriberDelay += proximityDelay;
+        this.totalProximitySubscriberReadings++;
+        PerformanceOutputHelper.printProximityPerformance(this.proximityWriter,
+                new ProximityPerformanceData(proximitySensorIndex, proximitySensorTimestamp, distance),
+                proximityDelay);
+    }
 }
@@ -5,16 +5,19 @@
 
 package io.github.dronesecurity.dronesystem.performance.application.proximity;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.objects.ProximityPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.services.ProximityPerformancePublisher;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Implementation of the {@link ProximityPerformancePublisher}.
  */
@@ -25,15 +28,20 @@ public class ProximityPerformancePublisherImpl implements ProximityPerformancePu
      */
     @Override
     public void publishProximity(final @NotNull ProximityPerformanceData proximityPerformanceData) {
-        final ObjectNode proximityJson = new ObjectMapper().createObjectNode();
-        proximityJson.put(PerformanceStringConstants.DISTANCE_PARAMETER,
+        final TelemetryFrame frame = TelemetryFrame.proximity(0, proximityPerformanceData.getIndex(),
+                TimeUnit.MILLISECONDS.toNanos(proximityPerformanceData.getTimestamp()),
                 proximityPerformanceData.getProximityData().getDistance());
-        proximityJson.put(PerformanceStringConstants.TIMESTAMP, proximityPerformanceData.getTimestamp());
-        proximityJson.put(PerformanceStringConstants.INDEX, proximityPerformanceData.getIndex());
 
-        Connection.getInstance().publish(
+        Connection.getInstance().publishTelemetry(
                 MqttTopicConstants.PERFORMANCE_TOPIC + " " + MqttMessageParameterConstants.PROXIMITY_PARAMETER,
-                proximityJson);
+                frame, () -> {
+                    final ObjectNode proximityJson = MessageCodecHelper.createObjectNode();
+                    proximityJson.put(PerformanceStringConstants.DISTANCE_PARAMETER,
+                            proximityPerformanceData.getProximityData().getDistance());
+                    proximityJson.put(PerformanceStringConstants.TIMESTAMP, proximityPerformanceData.getTimestamp());
+                    proximityJson.put(PerformanceStringConstants.INDEX, proximityPerformanceData.getIndex());
+                    return proximityJson;
+                });
 
     }
 }
@@ -5,11 +5,10 @@
 
 package io.github.dronesecurity.dronesystem.performance.domain.accelerometer.entities;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.entities.Accelerometer;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
 import io.github.dronesecurity.dronesystem.performance.application.accelerometer.AccelerometerOutputHelperImpl;
 import io.github.dronesecurity.dronesystem.performance.application.accelerometer.AccelerometerPerformancePublisherImpl;
 import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.objects.ProcessedAccelerometerPerformanceData;
@@ -17,10 +16,8 @@ import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.serv
 import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.services.AccelerometerPerformancePublisher;
 import io.github.dronesecurity.dronesystem.performance.domain.sensor.entities.PerformanceSensor;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Class representing an {@link Accelerometer} sensor that evaluates its script performance.
@@ -40,9 +37,11 @@ public class PerformanceAccelerometer extends Accelerometer implements Performan
 
     /**
      * Builds the accelerometer that keeps track of its performance data.
+     * @param backend source of the samples
      * @throws IOException whether it's impossible to access the file that will contain the performance data
      */
-    public PerformanceAccelerometer() throws IOException {
+    public PerformanceAccelerometer(final SensorBackend backend) throws IOException {
+        super(backend);
         this.outputHelper = new AccelerometerOutputHelperImpl();
         this.publisher = new AccelerometerPerformancePublisherImpl();
     }
@@ -72,6 +71,15 @@ public class PerformanceAccelerometer extends Accelerometer implements Performan
         return alert;
     }
 
+    /**
+     * {@inheritDoc}
+     * The performance scripts print their samples along with their metadata, so they are NEVER mapped.
+     */
+    @Override
+    protected int getMappedValueCount() {
+        return 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -97,16 +105,10 @@ public class PerformanceAccelerometer extends Accelerometer implements Performan
     }
 
     private void readMetadata() {
-        if (this.isOn() && getOutputStream().size() > 0) {
-            final String orig = getOutputStream().toString(StandardCharsets.UTF_8).trim();
-
-            try {
-                final JsonNode metadata = new ObjectMapper().readTree(orig);
-                this.timestamp = metadata.get(PerformanceStringConstants.TIMESTAMP).asLong();
-                this.index = metadata.get(PerformanceStringConstants.INDEX).asInt();
-            } catch (JsonProcessingException e) {
-                LoggerFactory.getLogger(getClass()).error("Can NOT read json correctly.", e);
-            }
+        final JsonNode metadata = this.isOn() ? this.getLastSample() : null;
+        if (metadata != null && metadata.has(PerformanceStringConstants.TIMESTAMP)) {
+            this.timestamp = metadata.get(PerformanceStringConstants.TIMESTAMP).asLong();
+            this.index = metadata.get(PerformanceStringConstants.INDEX).asInt();
         }
     }
 }
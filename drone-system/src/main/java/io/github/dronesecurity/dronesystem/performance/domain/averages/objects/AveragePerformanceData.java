@@ -10,9 +10,15 @@ package io.github.dronesecurity.dronesystem.performance.domain.averages.objects;
  */
 public class AveragePerformanceData {
 
+    /**
+     * Average delay of the measures never taken.
+     */
+    public static final long NOT_MEASURED = -1;
+
     private final long averageProximityDelay;
     private final long averageAccelerometerDelay;
     private final long averageCameraDelay;
+    private final long averageEmergencyHaltDelay;
 
     /**
      * Builds the average data of all performance sensors.
@@ -23,9 +29,24 @@ public class AveragePerformanceData {
     public AveragePerformanceData(final long averageProximityDelay,
                                   final long averageAccelerometerDelay,
                                   final long averageCameraDelay) {
+        this(averageProximityDelay, averageAccelerometerDelay, averageCameraDelay, NOT_MEASURED);
+    }
+
+    /**
+     * Builds the average data of all performance sensors, along with the emergency halts.
+     * @param averageProximityDelay Average delay of the proximity sensor
+     * @param averageAccelerometerDelay Average delay of the accelerometer sensor
+     * @param averageCameraDelay Average delay of the camera sensor
+     * @param averageEmergencyHaltDelay Average delay between a critical distance and the emergency halt
+     */
+    public AveragePerformanceData(final long averageProximityDelay,
+                                  final long averageAccelerometerDelay,
+                                  final long averageCameraDelay,
+                                  final long averageEmergencyHaltDelay) {
         this.averageProximityDelay = averageProximityDelay;
         this.averageAccelerometerDelay = averageAccelerometerDelay;
         this.averageCameraDelay = averageCameraDelay;
+        this.averageEmergencyHaltDelay = averageEmergencyHaltDelay;
     }
 
     /**
@@ -51,4 +72,12 @@ public class AveragePerformanceData {
     public long getAverageCameraDelay() {
         return this.averageCameraDelay;
     }
+
+    /**
+     * Gets the average delay between a critical distance and the emergency halt.
+     * @return average delay of the emergency halts, {@link #NOT_MEASURED} if none happened
+     */
+    public long getAverageEmergencyHaltDelay() {
+        return this.averageEmergencyHaltDelay;
+    }
 }
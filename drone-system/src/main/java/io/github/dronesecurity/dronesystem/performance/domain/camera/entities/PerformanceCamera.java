@@ -5,11 +5,10 @@
 
 package io.github.dronesecurity.dronesystem.performance.domain.camera.entities;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.entities.Camera;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
 import io.github.dronesecurity.dronesystem.performance.application.camera.CameraOutputHelperImpl;
 import io.github.dronesecurity.dronesystem.performance.application.camera.CameraPerformancePublisherImpl;
 import io.github.dronesecurity.dronesystem.performance.domain.camera.objects.CameraPerformanceData;
@@ -17,10 +16,8 @@ import io.github.dronesecurity.dronesystem.performance.domain.camera.services.Ca
 import io.github.dronesecurity.dronesystem.performance.domain.camera.services.CameraPerformancePublisher;
 import io.github.dronesecurity.dronesystem.performance.domain.sensor.entities.PerformanceSensor;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Class representing a {@link Camera} sensor that evaluates its script performance.
@@ -40,9 +37,11 @@ public class PerformanceCamera extends Camera implements PerformanceSensor {
 
     /**
      * Builds the camera that keeps track of its performance data.
+     * @param backend source of the samples
      * @throws IOException whether it's impossible to access the file that will contain the performance data
      */
-    public PerformanceCamera() throws IOException {
+    public PerformanceCamera(final SensorBackend backend) throws IOException {
+        super(backend);
         this.outputHelper = new CameraOutputHelperImpl();
         this.publisher = new CameraPerformancePublisherImpl();
     }
@@ -96,17 +95,12 @@ public class PerformanceCamera extends Camera implements PerformanceSensor {
     }
 
     private void readMetadata() {
-        if (this.isOn() && getOutputStream().size() > 0) {
-            final String orig = getOutputStream().toString(StandardCharsets.UTF_8).trim();
-
-            try {
-                final JsonNode metadata = new ObjectMapper().readTree(orig);
-                this.timestamp = metadata.get(PerformanceStringConstants.TIMESTAMP).asLong();
-                this.index = metadata.get(PerformanceStringConstants.INDEX).asInt();
-            } catch (JsonProcessingException e) {
-                LoggerFactory.getLogger(getClass()).error("Can NOT read json correctly.", e);
-            }
-            getOutputStream().reset();
+        if (!this.isSimulated())
+            this.pollLatestSample();
+        final JsonNode metadata = this.isOn() ? this.getLastSample() : null;
+        if (metadata != null && metadata.has(PerformanceStringConstants.TIMESTAMP)) {
+            this.timestamp = metadata.get(PerformanceStringConstants.TIMESTAMP).asLong();
+            this.index = metadata.get(PerformanceStringConstants.INDEX).asInt();
         }
     }
 }
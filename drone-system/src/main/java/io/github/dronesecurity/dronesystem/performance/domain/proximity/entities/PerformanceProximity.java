@@ -5,25 +5,27 @@
 
 package io.github.dronesecurity.dronesystem.performance.domain.proximity.entities;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.ProximityAlert;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.entities.ProximitySensor;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
 import io.github.dronesecurity.dronesystem.performance.application.proximity.ProximityOutputHelperImpl;
 import io.github.dronesecurity.dronesystem.performance.application.proximity.ProximityPerformancePublisherImpl;
+import io.github.dronesecurity.dronesystem.performance.domain.averages.objects.AveragePerformanceData;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.objects.ProximityPerformanceData;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.services.ProximityOutputHelper;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.services.ProximityPerformancePublisher;
 import io.github.dronesecurity.dronesystem.performance.domain.sensor.entities.PerformanceSensor;
 import io.github.dronesecurity.dronesystem.performance.utilities.PerformanceStringConstants;
-import org.slf4j.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Class representing a {@link ProximitySensor} that evaluates its script performance.
+ * Class representing a {@link ProximitySensor} that evaluates its script performance, along with the delay between
+ * each critical distance and its emergency halt, to compare with the delay of the readings.
  */
 public class PerformanceProximity extends ProximitySensor implements PerformanceSensor {
 
@@ -32,6 +34,8 @@ public class PerformanceProximity extends ProximitySensor implements Performance
 
     private long totalProximityReaderDelay;
     private long totalProximityReadings;
+    private final AtomicLong totalEmergencyHaltDelay = new AtomicLong();
+    private final AtomicLong totalEmergencyHalts = new AtomicLong();
 
     private long timestamp;
     private int index;
@@ -39,11 +43,14 @@ public class PerformanceProximity extends ProximitySensor implements Performance
 
     /**
      * Builds the proximity sensor that keeps track of its performance data.
+     * @param backend source of the samples
      * @throws IOException whether it's impossible to access the file that will contain the performance data
      */
-    public PerformanceProximity() throws IOException {
+    public PerformanceProximity(final SensorBackend backend) throws IOException {
+        super(backend);
         this.outputHelper = new ProximityOutputHelperImpl();
         this.publisher = new ProximityPerformancePublisherImpl();
+        this.setEmergencyListener(this::recordEmergencyHalt);
     }
 
     /**
@@ -60,8 +67,8 @@ public class PerformanceProximity extends ProximitySensor implements Performance
      */
     @Override
     public Alert performReading() {
-        this.readMetadata();
         final Alert alert = super.performReading();
+        this.readMetadata();
 
         this.proximityData = new ProximityPerformanceData(this.index, this.timestamp, this.getDistance());
         final long delay = System.currentTimeMillis() - this.timestamp;
@@ -72,6 +79,15 @@ public class PerformanceProximity extends ProximitySensor implements Performance
         return alert;
     }
 
+    /**
+     * {@inheritDoc}
+     * The performance scripts print their samples along with their metadata, so they are NEVER mapped.
+     */
+    @Override
+    protected int getMappedValueCount() {
+        return 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -96,17 +112,29 @@ public class PerformanceProximity extends ProximitySensor implements Performance
         return this.totalProximityReaderDelay / this.totalProximityReadings;
     }
 
+    /**
+     * Gets the average delay between a critical distance and its emergency halt.
+     * @return the average delay in milliseconds, {@link AveragePerformanceData#NOT_MEASURED} if none happened
+     */
+    public long getAverageEmergencyHaltDelay() {
+        final long halts = this.totalEmergencyHalts.get();
+        return halts == 0 ? AveragePerformanceData.NOT_MEASURED : this.totalEmergencyHaltDelay.get() / halts;
+    }
+
+    private void recordEmergencyHalt(final ProximityAlert alert, final @NotNull JsonNode sample,
+                                     final long receivedNanos) {
+        if (sample.has(PerformanceStringConstants.TIMESTAMP)) {
+            this.totalEmergencyHaltDelay.addAndGet(
+                    System.currentTimeMillis() - sample.get(PerformanceStringConstants.TIMESTAMP).asLong());
+            this.totalEmergencyHalts.incrementAndGet();
+        }
+    }
+
     private void readMetadata() {
-        if (this.isOn() && getOutputStream().size() > 0) {
-            final String orig = getOutputStream().toString(StandardCharsets.UTF_8).trim();
-
-            try {
-                final JsonNode metadata = new ObjectMapper().readTree(orig);
-                this.timestamp = metadata.get(PerformanceStringConstants.TIMESTAMP).asLong();
-                this.index = metadata.get(PerformanceStringConstants.INDEX).asInt();
-            } catch (JsonProcessingException e) {
-                LoggerFactory.getLogger(getClass()).error("Can NOT read json correctly.", e);
-            }
+        final JsonNode metadata = this.isOn() ? this.getLastSample() : null;
+        if (metadata != null && metadata.has(PerformanceStringConstants.TIMESTAMP)) {
+            this.timestamp = metadata.get(PerformanceStringConstants.TIMESTAMP).asLong();
+            this.index = metadata.get(PerformanceStringConstants.INDEX).asInt();
         }
     }
 }
@@ -5,6 +5,7 @@
 
 package io.github.dronesecurity.dronesystem.performance.domain.sensor.entities;
 
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
 import io.github.dronesecurity.dronesystem.performance.domain.accelerometer.entities.PerformanceAccelerometer;
 import io.github.dronesecurity.dronesystem.performance.domain.camera.entities.PerformanceCamera;
 import io.github.dronesecurity.dronesystem.performance.domain.proximity.entities.PerformanceProximity;
@@ -16,6 +17,8 @@ import java.io.IOException;
  */
 public class PerformanceSensorFactory {
 
+    private final SensorBackend backend = SensorBackend.fromSettings();
+
     /**
      * Creates an accelerometer.
      *
@@ -23,7 +26,7 @@ public class PerformanceSensorFactory {
      * @throws IOException whether the sensor failed to create their writer that keeps the track of the performances
      */
     public PerformanceSensor getAccelerometer() throws IOException {
-        return new PerformanceAccelerometer();
+        return new PerformanceAccelerometer(this.backend);
     }
 
     /**
@@ -33,7 +36,7 @@ public class PerformanceSensorFactory {
      * @throws IOException whether the sensor failed to create their writer that keeps the track of the performances
      */
     public PerformanceSensor getProximitySensor() throws IOException {
-        return new PerformanceProximity();
+        return new PerformanceProximity(this.backend);
     }
 
     /**
@@ -43,6 +46,6 @@ public class PerformanceSensorFactory {
      * @throws IOException whether the sensor failed to create their writer that keeps the track of the performances
      */
     public PerformanceSensor getCamera() throws IOException {
-        return new PerformanceCamera();
+        return new PerformanceCamera(this.backend);
     }
 }
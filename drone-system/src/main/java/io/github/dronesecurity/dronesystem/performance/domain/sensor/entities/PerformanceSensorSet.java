@@ -5,7 +5,10 @@
 
 package io.github.dronesecurity.dronesystem.performance.domain.sensor.entities;
 
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorActivationHelper;
 import io.github.dronesecurity.dronesystem.performance.domain.averages.objects.AveragePerformanceData;
+import io.github.dronesecurity.dronesystem.performance.domain.proximity.entities.PerformanceProximity;
+import io.github.dronesecurity.lib.utilities.CastHelper;
 
 import java.io.IOException;
 
@@ -33,9 +36,7 @@ public class PerformanceSensorSet {
      * Activates all the sensors of the set.
      */
     public void activate() {
-        this.proximity.activate();
-        this.accelerometer.activate();
-        this.camera.activate();
+        SensorActivationHelper.activateAll(this.proximity, this.accelerometer, this.camera);
     }
 
     /**
@@ -73,6 +74,9 @@ public class PerformanceSensorSet {
         return new AveragePerformanceData(
                 this.proximity.getAverageDelay(),
                 this.accelerometer.getAverageDelay(),
-                this.camera.getAverageDelay());
+                this.camera.getAverageDelay(),
+                CastHelper.safeCast(this.proximity, PerformanceProximity.class)
+                        .map(PerformanceProximity::getAverageEmergencyHaltDelay)
+                        .orElse(AveragePerformanceData.NOT_MEASURED));
     }
 }
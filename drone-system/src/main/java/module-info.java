@@ -9,4 +9,5 @@ open module io.github.dronesecurity.dronesystem {
     requires aws.iot.device.sdk;
     requires aws.crt;
     requires org.slf4j;
+    requires java.desktop;
 }
@@ -1,4 +1,6 @@
+import mmap
 import smbus2
+import struct
 import time
 import sys
 
@@ -25,6 +27,40 @@ GYRE_ADR = {
 TEMP_ADR = 0x41
 # Power management address
 POWER_MGMT_1 = 0x6b
+# Seconds between samples, printed or written to the shared memory ring
+PRINT_PERIOD = 0.1
+RING_PERIOD = 0.01
+
+
+# Shared memory ring layout, see MappedSampleRing
+RING_HEADER = struct.Struct("<iiiiq")
+RING_MAGIC = 0x44535242
+RING_VERSION = 1
+RING_HEADER_SIZE = 32
+RING_WRITE_SEQUENCE_OFFSET = 16
+RING_SEQUENCE = struct.Struct("<q")
+
+
+# Open the ring created by the JVM, checking its layout
+def open_ring(path, value_count):
+    ring_file = open(path, "r+b")
+    ring_map = mmap.mmap(ring_file.fileno(), 0)
+    magic, version, capacity, count, _ = RING_HEADER.unpack_from(ring_map, 0)
+    if magic != RING_MAGIC or version != RING_VERSION or count != value_count:
+        sys.exit("Invalid sample ring " + path)
+    record = struct.Struct("<qq" + "d" * value_count)
+    return {"map": ring_map, "capacity": capacity, "record": record, "sequence": 0}
+
+
+# Write a sample to the ring: the record is invalid while filled, then published with its sequence
+def write_ring(ring, *values):
+    sequence = ring["sequence"]
+    record = ring["record"]
+    offset = RING_HEADER_SIZE + (sequence % ring["capacity"]) * record.size
+    record.pack_into(ring["map"], offset, -1, time.time_ns() // 1000000, *values)
+    RING_SEQUENCE.pack_into(ring["map"], offset, sequence)
+    ring["sequence"] = sequence + 1
+    RING_SEQUENCE.pack_into(ring["map"], RING_WRITE_SEQUENCE_OFFSET, sequence + 1)
 
 
 # Read a byte from the sensor
@@ -71,6 +107,9 @@ def read_scaled_val(adr):
     return read_word_2_comp(adr) / scale
 
 
+# Samples go to the shared memory ring if its path is given, to the standard output otherwise
+sample_ring = open_ring(sys.argv[1], 3) if len(sys.argv) > 1 else None
+
 with smbus2.SMBus(1) as bus:
     # Read sensor data indefinitely
     while True:
@@ -80,6 +119,11 @@ with smbus2.SMBus(1) as bus:
         accelY = read_scaled_val(ACCEL_ADR["y"])
         accelZ = read_scaled_val(ACCEL_ADR["z"])
 
+        if sample_ring is not None:
+            write_ring(sample_ring, accelX, accelY, accelZ)
+            time.sleep(RING_PERIOD)
+            continue
+
         print("{\"accelerometer\": {"
               "\n        \"x\": " + str(accelX) +
               ",\n        \"y\": " + str(accelY) +
@@ -88,4 +132,4 @@ with smbus2.SMBus(1) as bus:
               "\n}")
         sys.stdout.flush()
 
-        time.sleep(0.1)
+        time.sleep(PRINT_PERIOD)
@@ -1,6 +1,7 @@
 import io
 import socket
 import struct
+import time
 
 # Creates a Server socket to localhost:10000 and awaits the connection
 server_socket = socket.socket()
@@ -18,6 +19,7 @@ try:
         connection.write(struct.pack('<L', length))
         connection.flush()
         # Rewind the stream and send the image data over the wire
+        stream.seek(0)
         connection.write(stream.read())
         time.sleep(0.1)
 
@@ -1,8 +1,41 @@
+import mmap
+import struct
 import wiringpi as wp
 import time
 import sys
 
 
+# Shared memory ring layout, see MappedSampleRing
+RING_HEADER = struct.Struct("<iiiiq")
+RING_MAGIC = 0x44535242
+RING_VERSION = 1
+RING_HEADER_SIZE = 32
+RING_WRITE_SEQUENCE_OFFSET = 16
+RING_SEQUENCE = struct.Struct("<q")
+
+
+# Open the ring created by the JVM, checking its layout
+def open_ring(path, value_count):
+    ring_file = open(path, "r+b")
+    ring_map = mmap.mmap(ring_file.fileno(), 0)
+    magic, version, capacity, count, _ = RING_HEADER.unpack_from(ring_map, 0)
+    if magic != RING_MAGIC or version != RING_VERSION or count != value_count:
+        sys.exit("Invalid sample ring " + path)
+    record = struct.Struct("<qq" + "d" * value_count)
+    return {"map": ring_map, "capacity": capacity, "record": record, "sequence": 0}
+
+
+# Write a sample to the ring: the record is invalid while filled, then published with its sequence
+def write_ring(ring, *values):
+    sequence = ring["sequence"]
+    record = ring["record"]
+    offset = RING_HEADER_SIZE + (sequence % ring["capacity"]) * record.size
+    record.pack_into(ring["map"], offset, -1, time.time_ns() // 1000000, *values)
+    RING_SEQUENCE.pack_into(ring["map"], offset, sequence)
+    ring["sequence"] = sequence + 1
+    RING_SEQUENCE.pack_into(ring["map"], RING_WRITE_SEQUENCE_OFFSET, sequence + 1)
+
+
 # Waits for pin to go to a specified level or until timeout is reached.
 def wait_pin_level(pin, level, timeout):
     done = False
@@ -36,6 +69,9 @@ wp.pinMode(pin_echo, wp.INPUT)
 wp.pinMode(pin_trigger, wp.OUTPUT)
 wp.digitalWrite(pin_trigger, wp.LOW)
 
+# Samples go to the shared memory ring if its path is given, to the standard output otherwise
+sample_ring = open_ring(sys.argv[1], 1) if len(sys.argv) > 1 else None
+
 while True:
     # Sensor activation
     wp.digitalWrite(pin_trigger, wp.HIGH)
@@ -52,7 +88,10 @@ while True:
             # Computing distance
             distance = 0.034 * elapsed / 2.0
             if elapsed < 38000:
-                print("{\"proximity\": " + str(distance) +
-                      "\n}", flush=True)
+                if sample_ring is not None:
+                    write_ring(sample_ring, distance)
+                else:
+                    print("{\"proximity\": " + str(distance) +
+                          "\n}", flush=True)
 
     time.sleep(0.1)
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone;
+
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link SamplingScheduler} with the former fixed schedule, reading and publishing every sensor each
+ * 200 ms, on a simulated flight: stable for half a minute, then approaching an obstacle until the proximity is
+ * critical. Flights run on a virtual clock, so results do NOT depend on the machine. Publications, standing for the
+ * uplink bandwidth, and the delay between the proximity becoming critical and its detection are logged, averaged over
+ * flights starting at different phases of the schedules.
+ */
+@Tag("benchmark")
+final class SamplingSchedulerBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SamplingSchedulerBenchmark.class);
+    private static final long FIXED_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long FLIGHT = TimeUnit.SECONDS.toNanos(40);
+    private static final long APPROACH_START = TimeUnit.SECONDS.toNanos(30);
+    private static final int FLIGHTS = 20;
+    private static final long PHASE_STEP = TimeUnit.MILLISECONDS.toNanos(37);
+    private static final double CRUISE_DISTANCE = 200;
+    private static final double MIN_DISTANCE = 10;
+    private static final double APPROACH_SPEED = 100;
+    private static final double WARNING_DISTANCE = 50;
+    private static final double CRITICAL_DISTANCE = 25;
+    private static final double WOBBLE = 3;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String REPORT_FORMAT = "{} schedule: {} publications, {} ms average detection latency";
+
+    @Test
+    void benchmarkAgainstFixedSchedule() {
+        long fixedPublications = 0;
+        long fixedLatency = 0;
+        long adaptivePublications = 0;
+        long adaptiveLatency = 0;
+        for (int i = 0; i < FLIGHTS; i++) {
+            final long phase = i * PHASE_STEP;
+            final Result fixed = flyFixed(phase);
+            final Result adaptive = flyAdaptive(phase);
+            fixedPublications += fixed.publications;
+            fixedLatency += fixed.latency;
+            adaptivePublications += adaptive.publications;
+            adaptiveLatency += adaptive.latency;
+        }
+        LOGGER.info(REPORT_FORMAT, "Fixed", fixedPublications / FLIGHTS,
+                TimeUnit.NANOSECONDS.toMillis(fixedLatency / FLIGHTS));
+        LOGGER.info(REPORT_FORMAT, "Adaptive", adaptivePublications / FLIGHTS,
+                TimeUnit.NANOSECONDS.toMillis(adaptiveLatency / FLIGHTS));
+        Assertions.assertTrue(adaptivePublications < fixedPublications,
+                "Adaptive schedule should publish less than the fixed one.");
+        Assertions.assertTrue(adaptiveLatency <= fixedLatency,
+                "Adaptive schedule should detect the critical proximity as soon as the fixed one.");
+    }
+
+    private static Result flyFixed(final long phase) {
+        final Result result = new Result();
+        for (long now = phase; now < FLIGHT; now += FIXED_INTERVAL) {
+            result.detect(now);
+            result.publications += AlertType.values().length;
+        }
+        return result;
+    }
+
+    private static Result flyAdaptive(final long phase) {
+        final SamplingScheduler scheduler = new SamplingScheduler(SamplingScheduler.DEFAULT_MIN_INTERVAL_MILLIS,
+                SamplingScheduler.DEFAULT_MAX_INTERVAL_MILLIS);
+        final Result result = new Result();
+        // Each sensor runs its own loop: the next one to run is the one whose reading comes first.
+        final Map<AlertType, Long> nextReadings = new EnumMap<>(AlertType.class);
+        for (final AlertType sensor : AlertType.values())
+            nextReadings.put(sensor, phase);
+        while (true) {
+            final AlertType sensor = Collections.min(nextReadings.entrySet(), Map.Entry.comparingByValue()).getKey();
+            final long now = nextReadings.get(sensor);
+            if (now >= FLIGHT)
+                return result;
+            if (sensor == AlertType.DISTANCE) {
+                final double distance = distance(now);
+                scheduler.update(sensor, level(distance), distance, now);
+                result.detect(now);
+            } else if (sensor == AlertType.ANGLE)
+                scheduler.update(sensor, AlertLevel.STABLE, WOBBLE * Math.sin(now / NANOS_PER_SECOND), now);
+            else
+                scheduler.update(sensor, AlertLevel.STABLE, 0, now);
+            if (scheduler.isPublicationDue(sensor, now))
+                result.publications++;
+            nextReadings.put(sensor, now + Math.max(1, scheduler.nanosUntilReading(sensor, now)));
+        }
+    }
+
+    private static double distance(final long now) {
+        if (now < APPROACH_START)
+            return CRUISE_DISTANCE;
+        return Math.max(MIN_DISTANCE, CRUISE_DISTANCE - APPROACH_SPEED * (now - APPROACH_START) / NANOS_PER_SECOND);
+    }
+
+    private static AlertLevel level(final double distance) {
+        if (distance <= CRITICAL_DISTANCE)
+            return AlertLevel.CRITICAL;
+        return distance <= WARNING_DISTANCE ? AlertLevel.WARNING : AlertLevel.STABLE;
+    }
+
+    private static final class Result {
+
+        private static final long CRITICAL_INSTANT = APPROACH_START
+                + (long) ((CRUISE_DISTANCE - CRITICAL_DISTANCE) / APPROACH_SPEED * NANOS_PER_SECOND);
+
+        private long publications;
+        private long latency = -1;
+
+        private void detect(final long now) {
+            if (this.latency < 0 && level(distance(now)) == AlertLevel.CRITICAL)
+                this.latency = now - CRITICAL_INSTANT;
+        }
+    }
+}
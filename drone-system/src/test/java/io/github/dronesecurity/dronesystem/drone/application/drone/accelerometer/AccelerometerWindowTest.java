@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.accelerometer;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.AccelerometerWindowSummary;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.objects.ProcessedAccelerometerData;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.accelerometer.services.AccelerometerDataAnalyzer;
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link AccelerometerWindow}.
+ */
+class AccelerometerWindowTest {
+
+    private static final int SIZE = 4;
+    private static final double ALPHA = 0.3;
+    private static final double DELTA = 1e-9;
+    private static final int[] PITCHES = {2, 4, 6, 8, 10, 12};
+    private static final double LAST_MEAN = 9;
+    private static final double LAST_VARIANCE = 5;
+    private static final int LEVEL_PITCH = 5;
+    private static final int SPIKE_PITCH = 60;
+    private static final int TILT_PITCH = 60;
+    private static final int TILT_SAMPLES = 20;
+    private static final int YAW_BEFORE_TURN = 170;
+    private static final int YAW_AFTER_TURN = -170;
+    private static final int MAX_YAW_STEP = 10;
+    private static final int TURN = 360;
+
+    /**
+     * Tests that summaries are taken once per window, with the statistics of its last samples.
+     */
+    @Test
+    void summaryTest() {
+        final AccelerometerWindow window = new AccelerometerWindow(SIZE, 1);
+        for (int i = 0; i < SIZE - 1; i++)
+            window.add(new ProcessedAccelerometerData(PITCHES[i], 0, 0));
+        Assertions.assertNull(window.takeSummary(), "Summary should NOT be ready before a whole window.");
+        for (int i = SIZE - 1; i < PITCHES.length; i++)
+            window.add(new ProcessedAccelerometerData(PITCHES[i], 0, 0));
+
+        final AccelerometerWindowSummary summary = window.takeSummary();
+        Assertions.assertNotNull(summary, "Summary should be ready after a whole window.");
+        Assertions.assertEquals(SIZE, summary.getSamples(), "Summary should cover the window size.");
+        Assertions.assertEquals(PITCHES[PITCHES.length - SIZE], summary.getPitch().getMin(), DELTA,
+                "Minimum should be the one of the last samples.");
+        Assertions.assertEquals(PITCHES[PITCHES.length - 1], summary.getPitch().getMax(), DELTA,
+                "Maximum should be the one of the last samples.");
+        Assertions.assertEquals(LAST_MEAN, summary.getPitch().getMean(), DELTA,
+                "Mean should be the one of the last samples.");
+        Assertions.assertEquals(LAST_VARIANCE, summary.getPitch().getVariance(), DELTA,
+                "Variance should be the one of the last samples.");
+        Assertions.assertEquals(0, summary.getRoll().getVariance(), DELTA, "Constant angles should NOT vary.");
+        Assertions.assertNull(window.takeSummary(), "Summary should be taken once per window.");
+    }
+
+    /**
+     * Tests that a single spike does NOT raise a critical alert, while a lasting tilt does.
+     */
+    @Test
+    void spikeTest() {
+        final AccelerometerDataAnalyzer analyzer = new AccelerometerDataAnalyzerImpl();
+        final AccelerometerWindow window = new AccelerometerWindow(SIZE, ALPHA);
+        window.add(new ProcessedAccelerometerData(LEVEL_PITCH, 0, 0));
+        final ProcessedAccelerometerData afterSpike = window.add(new ProcessedAccelerometerData(SPIKE_PITCH, 0, 0));
+        Assertions.assertEquals(AlertLevel.STABLE, analyzer.analyzeAccelerometerData(afterSpike).getAlertLevel(),
+                "A single spike should be filtered out.");
+
+        ProcessedAccelerometerData attitude = afterSpike;
+        for (int i = 0; i < TILT_SAMPLES; i++)
+            attitude = window.add(new ProcessedAccelerometerData(TILT_PITCH, 0, 0));
+        Assertions.assertEquals(AlertLevel.CRITICAL, analyzer.analyzeAccelerometerData(attitude).getAlertLevel(),
+                "A lasting tilt should be detected.");
+    }
+
+    /**
+     * Tests that the filtered yaw follows the shortest way when it wraps around.
+     */
+    @Test
+    void yawWrapTest() {
+        final AccelerometerWindow window = new AccelerometerWindow(SIZE, ALPHA);
+        window.add(new ProcessedAccelerometerData(0, 0, YAW_BEFORE_TURN));
+        final ProcessedAccelerometerData attitude = window.add(new ProcessedAccelerometerData(0, 0, YAW_AFTER_TURN));
+        final int step = Math.abs(attitude.getYaw() - YAW_BEFORE_TURN);
+        Assertions.assertTrue(Math.min(step, TURN - step) <= MAX_YAW_STEP,
+                "Filtered yaw should cross the wrap around instead of turning back.");
+    }
+}
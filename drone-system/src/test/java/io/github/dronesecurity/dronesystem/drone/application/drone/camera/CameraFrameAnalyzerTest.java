@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.FrameSignals;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.RawCameraData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test class for the analysis of the camera frames.
+ */
+class CameraFrameAnalyzerTest {
+
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+    private static final int SQUARE = 16;
+    private static final int THREADS = 4;
+    private static final long DEADLINE_MILLIS = 5000;
+    private static final long SHORT_DEADLINE_MILLIS = 500;
+    private static final double BRIGHT = 100;
+    private static final double COVERED = 0.9;
+
+    /**
+     * Tests the signals of a clear frame, of a moving one and of a covered one.
+     * @throws IOException if the frames can NOT be encoded
+     */
+    @Test
+    void signalsTest() throws IOException {
+        final ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        final CameraFrameAnalyzer analyzer = new CameraFrameAnalyzer(workers, DEADLINE_MILLIS);
+
+        final FrameSignals clear = analyzer.analyze(new RawCameraData(checkerboard(0)));
+        Assertions.assertNotNull(clear, "A clear frame should be analyzed.");
+        Assertions.assertTrue(clear.getLuminance() > BRIGHT, "A checkerboard should be bright.");
+        Assertions.assertEquals(0, clear.getOcclusion(), "A checkerboard should NOT be covered.");
+        Assertions.assertEquals(0, clear.getMotion(), "The first frame should have no motion.");
+
+        final FrameSignals moved = analyzer.analyze(new RawCameraData(checkerboard(SQUARE)));
+        Assertions.assertNotNull(moved, "A moved frame should be analyzed.");
+        Assertions.assertTrue(moved.getMotion() > clear.getMotion(), "A shifted frame should have motion.");
+
+        final FrameSignals covered = analyzer.analyze(new RawCameraData(encode(new BufferedImage(WIDTH, HEIGHT,
+                BufferedImage.TYPE_INT_RGB))));
+        Assertions.assertNotNull(covered, "A covered frame should be analyzed.");
+        Assertions.assertTrue(covered.getOcclusion() > COVERED, "A black frame should be covered.");
+        workers.shutdownNow();
+    }
+
+    /**
+     * Tests that frames missing the deadline or NOT being images are skipped.
+     * @throws IOException if the frame can NOT be encoded
+     */
+    @Test
+    void skipTest() throws IOException {
+        final ExecutorService workers = Executors.newSingleThreadExecutor();
+        Assertions.assertNull(new CameraFrameAnalyzer(workers, 0).analyze(new RawCameraData(checkerboard(0))),
+                "A frame missing the deadline should be skipped.");
+        Assertions.assertNull(new CameraFrameAnalyzer(workers, DEADLINE_MILLIS)
+                .analyze(new RawCameraData(ByteBuffer.wrap("abcd".getBytes(StandardCharsets.UTF_8)))),
+                "A frame NOT being an image should be skipped.");
+        workers.shutdownNow();
+    }
+
+    /**
+     * Tests that, while a late frame is still decoding despite its deadline, the next frames are skipped instead of
+     * waiting behind it.
+     * @throws IOException if the frame can NOT be encoded
+     * @throws ExecutionException if the workers fail
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    @Test
+    void slowDecodeTest() throws IOException, ExecutionException, InterruptedException {
+        final CountDownLatch decoding = new CountDownLatch(1);
+        final AtomicBoolean first = new AtomicBoolean(true);
+        // Like ImageIO, the first task ignores interrupts, going on well after its deadline.
+        final ExecutorService workers = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>()) {
+            @Override
+            protected void beforeExecute(final Thread thread, final Runnable task) {
+                while (first.get() && decoding.getCount() > 0) {
+                    try {
+                        decoding.await();
+                    } catch (InterruptedException ignored) {
+                        // Interrupts are ignored, as by ImageIO.
+                    }
+                }
+                first.set(false);
+            }
+        };
+        final CameraFrameAnalyzer analyzer = new CameraFrameAnalyzer(workers, SHORT_DEADLINE_MILLIS);
+        final CountDownLatch recycled = new CountDownLatch(1);
+        final RawCameraData late = new RawCameraData(checkerboard(0), recycled::countDown);
+        Assertions.assertNull(analyzer.analyze(late), "A frame missing the deadline should be skipped.");
+        late.release();
+        Assertions.assertEquals(1, recycled.getCount(), "A frame still decoding should NOT be recycled.");
+        final long start = System.nanoTime();
+        Assertions.assertNull(analyzer.analyze(new RawCameraData(checkerboard(0))),
+                "A frame should be skipped while the late one is still decoding.");
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(SHORT_DEADLINE_MILLIS),
+                "A frame should be skipped without waiting for the workers.");
+
+        decoding.countDown();
+        workers.submit(() -> { }).get();
+        Assertions.assertEquals(0, recycled.getCount(), "A frame should be recycled once decoded.");
+        Assertions.assertNotNull(analyzer.analyze(new RawCameraData(checkerboard(0))),
+                "Frames should be analyzed again once the late one is over.");
+        workers.shutdownNow();
+    }
+
+    private static ByteBuffer checkerboard(final int offset) throws IOException {
+        final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 0; y < HEIGHT; y += SQUARE)
+            for (int x = (y / SQUARE % 2) * SQUARE + offset; x < WIDTH; x += 2 * SQUARE)
+                graphics.fillRect(x, y, SQUARE, SQUARE);
+        graphics.dispose();
+        return encode(image);
+    }
+
+    private static ByteBuffer encode(final BufferedImage image) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", output);
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+}
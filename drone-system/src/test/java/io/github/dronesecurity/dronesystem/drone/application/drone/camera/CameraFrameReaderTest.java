@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test class for the reading of the frames streamed by the camera.
+ */
+class CameraFrameReaderTest {
+
+    private static final int QUEUED_FRAMES = 2;
+    private static final int FRAMES = 5;
+    private static final int LARGE_FRAME_SIZE = 200 * 1024;
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final long POLL_MILLIS = 10;
+
+    /**
+     * Tests that only the newest frames are kept, counting the ones dropped.
+     * @throws IOException if the camera stream can NOT be simulated
+     */
+    @Test
+    void dropOldestTest() throws IOException {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("localhost", 0));
+            final CameraFrameReader reader = new CameraFrameReader(server.getLocalAddress(), QUEUED_FRAMES);
+            reader.start();
+            try (SocketChannel camera = server.accept()) {
+                camera.write(frame(LARGE_FRAME_SIZE, (byte) 0));
+                for (int i = 1; i < FRAMES; i++)
+                    camera.write(frame(i, (byte) i));
+                final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+                while (reader.getReceivedFrames() < FRAMES && System.currentTimeMillis() < deadline)
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS));
+            }
+
+            final ByteBuffer latest = reader.takeLatest();
+            Assertions.assertNotNull(latest, "The newest frame should be kept.");
+            Assertions.assertEquals(FRAMES - 1, latest.remaining(), "The newest frame should be whole.");
+            Assertions.assertEquals(FRAMES - 1, latest.get(0), "The newest frame should be taken.");
+            Assertions.assertEquals(FRAMES, reader.getReceivedFrames(), "Every frame should be received.");
+            Assertions.assertEquals(FRAMES - 1, reader.getDroppedFrames(), "Older frames should be dropped.");
+            Assertions.assertNull(reader.takeLatest(), "A frame should be taken only once.");
+            reader.release(latest);
+            reader.stop();
+        }
+    }
+
+    private static ByteBuffer frame(final int length, final byte content) {
+        final ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + length).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putInt(length);
+        while (frame.hasRemaining())
+            frame.put(content);
+        return frame.flip();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.camera;
+
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.RecordedFrame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the recording of the camera frames.
+ */
+class CameraRecorderTest {
+
+    private static final int FRAME_SIZE = 40;
+    private static final int FRAMES_PER_SEGMENT = 2;
+    private static final int SEGMENT_SIZE = FRAMES_PER_SEGMENT * (FrameSegment.FRAME_HEADER_SIZE + FRAME_SIZE) + 1;
+    private static final int FRAMES = 10;
+    private static final long FIRST_TIMESTAMP = 1000;
+    private static final long SEEK_FROM = 1003;
+    private static final long SEEK_TO = 1006;
+    private static final long FIRST_ORDER = 1;
+    private static final long SECOND_ORDER = 2;
+    private static final int KEPT_SEGMENTS = 3;
+
+    /**
+     * Tests that frames are split in segments and found back by their timestamp.
+     * @throws IOException if the recordings can NOT be written
+     * @throws ExecutionException if the recorder fails
+     * @throws InterruptedException if interrupted while waiting for the recorder
+     */
+    @Test
+    void seekTest() throws IOException, ExecutionException, InterruptedException {
+        final Path root = Files.createTempDirectory("recordings");
+        final ExecutorService writer = Executors.newSingleThreadExecutor();
+        final CameraRecorder recorder = new CameraRecorder(root, SEGMENT_SIZE, Long.MAX_VALUE, writer);
+        recordFrames(recorder, writer, FIRST_ORDER);
+
+        Assertions.assertEquals(FRAMES / FRAMES_PER_SEGMENT, countSegments(root),
+                "Frames should be split in full segments.");
+        final FrameArchive archive = new FrameArchive(root);
+        final List<RecordedFrame> frames = archive.framesBetween(FIRST_ORDER, SEEK_FROM, SEEK_TO);
+        Assertions.assertEquals(SEEK_TO - SEEK_FROM + 1, frames.size(), "Every frame in the interval should be read.");
+        for (int i = 0; i < frames.size(); i++) {
+            Assertions.assertEquals(SEEK_FROM + i, frames.get(i).getTimestamp(), "Frames should be read in order.");
+            Assertions.assertEquals(frame(SEEK_FROM + i), frames.get(i).getImage(),
+                    "Frames should be read as recorded.");
+        }
+        Assertions.assertEquals(SEEK_TO - SEEK_FROM + 1, recorder.countFrames(SEEK_FROM, SEEK_TO),
+                "Frames of the last order should be counted.");
+        Assertions.assertEquals(FRAMES, recorder.getRecordedFrames(), "Every frame should be recorded.");
+        Assertions.assertTrue(archive.framesBetween(SECOND_ORDER, 0, Long.MAX_VALUE).isEmpty(),
+                "Frames of other orders should NOT be read.");
+        writer.shutdownNow();
+    }
+
+    /**
+     * Tests that the oldest segments are evicted once the quota is exceeded.
+     * @throws IOException if the recordings can NOT be written
+     * @throws ExecutionException if the recorder fails
+     * @throws InterruptedException if interrupted while waiting for the recorder
+     */
+    @Test
+    void quotaTest() throws IOException, ExecutionException, InterruptedException {
+        final Path root = Files.createTempDirectory("recordings");
+        final ExecutorService writer = Executors.newSingleThreadExecutor();
+        final CameraRecorder recorder = new CameraRecorder(root, SEGMENT_SIZE, (long) KEPT_SEGMENTS * SEGMENT_SIZE,
+                writer);
+        recordFrames(recorder, writer, FIRST_ORDER);
+        recordFrames(recorder, writer, SECOND_ORDER);
+
+        final FrameArchive archive = new FrameArchive(root);
+        Assertions.assertTrue(archive.framesBetween(FIRST_ORDER, 0, Long.MAX_VALUE).isEmpty(),
+                "Segments of the oldest order should be evicted.");
+        final List<RecordedFrame> frames = archive.framesBetween(SECOND_ORDER, 0, Long.MAX_VALUE);
+        Assertions.assertFalse(frames.isEmpty(), "Newest segments should be kept.");
+        Assertions.assertEquals(FIRST_TIMESTAMP + FRAMES - 1, frames.get(frames.size() - 1).getTimestamp(),
+                "Newest frame should be kept.");
+        Assertions.assertTrue(frames.get(0).getTimestamp() > FIRST_TIMESTAMP,
+                "Oldest frames of the order should be evicted.");
+        writer.shutdownNow();
+    }
+
+    private static void recordFrames(final CameraRecorder recorder, final ExecutorService writer, final long order)
+            throws ExecutionException, InterruptedException {
+        recorder.start(order);
+        for (int i = 0; i < FRAMES; i++) {
+            // Waits for the next segment, so that no frame is dropped.
+            writer.submit(() -> { }).get();
+            recorder.record(FIRST_TIMESTAMP + i, frame(FIRST_TIMESTAMP + i));
+        }
+        recorder.stop();
+        writer.submit(() -> { }).get();
+    }
+
+    private static long countSegments(final Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(file -> file.toString().endsWith(FrameSegment.SEGMENT_EXTENSION)).count();
+        }
+    }
+
+    private static ByteBuffer frame(final long timestamp) {
+        final byte[] bytes = new byte[FRAME_SIZE];
+        Arrays.fill(bytes, (byte) timestamp);
+        return ByteBuffer.wrap(bytes);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.navigation;
+
+/**
+ * {@link SimulationClock} advanced by hand, waiting for the sleeping thread to catch up.
+ */
+final class ManualClock implements SimulationClock {
+
+    private long now;
+    private long waitingFor = Long.MIN_VALUE;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long millis() {
+        return this.now;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void sleepUntil(final long targetMillis) throws InterruptedException {
+        this.waitingFor = targetMillis;
+        this.notifyAll();
+        while (this.now < targetMillis)
+            this.wait();
+    }
+
+    /**
+     * Advances the clock, returning once the sleeping thread waits for a later instant.
+     * @param millis milliseconds to advance
+     * @throws InterruptedException if interrupted while waiting for the sleeping thread
+     */
+    synchronized void advance(final long millis) throws InterruptedException {
+        this.now += millis;
+        this.notifyAll();
+        while (this.waitingFor <= this.now)
+            this.wait();
+    }
+
+    /**
+     * Checks if the sleeping thread waits with no deadline.
+     * @return true if parked, false otherwise
+     */
+    synchronized boolean isParked() {
+        return this.waitingFor == Long.MAX_VALUE;
+    }
+
+    /**
+     * Waits until the sleeping thread waits for a deadline.
+     * @throws InterruptedException if interrupted while waiting for the sleeping thread
+     */
+    synchronized void awaitDeadline() throws InterruptedException {
+        while (this.waitingFor == Long.MAX_VALUE)
+            this.wait();
+    }
+}
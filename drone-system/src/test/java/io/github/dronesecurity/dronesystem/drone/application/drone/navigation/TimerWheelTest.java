@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.navigation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test class for the {@link TimerWheel}.
+ */
+class TimerWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 8;
+    private static final long SHORT_DELAY = 25;
+    private static final long LONG_DELAY = 200;
+    private static final int TIMEOUTS = 10_000;
+    private static final int MAX_DELAY = 1000;
+    private static final long SEED = 42;
+
+    /**
+     * Tests that tasks expire within a tick after their deadline, even when farther than a revolution of the wheel.
+     * @throws InterruptedException if interrupted while advancing the clock
+     */
+    @Test
+    void expireTest() throws InterruptedException {
+        final ManualClock clock = new ManualClock();
+        final TimerWheel wheel = new TimerWheel(clock, TICK_MILLIS, WHEEL_SIZE, Runnable::run);
+        try {
+            final List<String> expired = new CopyOnWriteArrayList<>();
+            wheel.schedule(() -> expired.add("long"), LONG_DELAY);
+            wheel.schedule(() -> expired.add("short"), SHORT_DELAY);
+            wheel.schedule(() -> expired.add("now"), 0);
+
+            clock.advance(TICK_MILLIS);
+            Assertions.assertEquals(List.of("now"), expired, "Tasks with no delay should expire at the first tick.");
+            clock.advance(SHORT_DELAY);
+            Assertions.assertEquals(List.of("now", "short"), expired, "Tasks should expire after their delay.");
+            clock.advance(LONG_DELAY - SHORT_DELAY - TICK_MILLIS * 2);
+            Assertions.assertEquals(2, expired.size(), "Tasks should NOT expire a revolution of the wheel earlier.");
+            clock.advance(TICK_MILLIS * 2);
+            Assertions.assertEquals(List.of("now", "short", "long"), expired,
+                    "Tasks should expire after many revolutions of the wheel.");
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    /**
+     * Tests that cancelled tasks are never executed, while expired ones can NOT be cancelled.
+     * @throws InterruptedException if interrupted while advancing the clock
+     */
+    @Test
+    void cancelTest() throws InterruptedException {
+        final ManualClock clock = new ManualClock();
+        final TimerWheel wheel = new TimerWheel(clock, TICK_MILLIS, WHEEL_SIZE, Runnable::run);
+        try {
+            final List<String> expired = new CopyOnWriteArrayList<>();
+            final TimerWheel.Timeout cancelled = wheel.schedule(() -> expired.add("cancelled"), SHORT_DELAY);
+            final TimerWheel.Timeout kept = wheel.schedule(() -> expired.add("kept"), SHORT_DELAY);
+            Assertions.assertTrue(cancelled.cancel(), "Waiting tasks should be cancelled.");
+            Assertions.assertFalse(cancelled.cancel(), "Tasks should be cancelled only once.");
+
+            clock.advance(SHORT_DELAY + TICK_MILLIS);
+            Assertions.assertEquals(List.of("kept"), expired, "Only tasks NOT cancelled should expire.");
+            Assertions.assertTrue(cancelled.isCancelled(), "Cancelled tasks should stay cancelled.");
+            Assertions.assertTrue(kept.isExpired(), "Executed tasks should be expired.");
+            Assertions.assertFalse(kept.cancel(), "Expired tasks should NOT be cancelled.");
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    /**
+     * Tests that an idle wheel parks until a task is scheduled, and that no task is scheduled once stopped.
+     * @throws InterruptedException if interrupted while advancing the clock
+     */
+    @Test
+    void idleTest() throws InterruptedException {
+        final ManualClock clock = new ManualClock();
+        final TimerWheel wheel = new TimerWheel(clock, TICK_MILLIS, WHEEL_SIZE, Runnable::run);
+        try {
+            final List<String> expired = new CopyOnWriteArrayList<>();
+            wheel.schedule(() -> expired.add("first"), SHORT_DELAY);
+            clock.advance(SHORT_DELAY + TICK_MILLIS);
+            Assertions.assertEquals(List.of("first"), expired, "Tasks should expire after their delay.");
+            Assertions.assertTrue(clock.isParked(), "Wheel with no task should NOT tick.");
+
+            wheel.schedule(() -> expired.add("second"), SHORT_DELAY);
+            clock.awaitDeadline();
+            clock.advance(SHORT_DELAY + TICK_MILLIS);
+            Assertions.assertEquals(List.of("first", "second"), expired,
+                    "Tasks scheduled on a parked wheel should expire after their delay.");
+        } finally {
+            wheel.stop();
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> { }, SHORT_DELAY),
+                "Stopped wheel should NOT schedule tasks.");
+    }
+
+    /**
+     * Tests that many timeouts all expire within a tick after their deadlines.
+     * @throws InterruptedException if interrupted while advancing the clock
+     */
+    @Test
+    void manyTimeoutsTest() throws InterruptedException {
+        final ManualClock clock = new ManualClock();
+        final TimerWheel wheel = new TimerWheel(clock, TICK_MILLIS, WHEEL_SIZE, Runnable::run);
+        try {
+            final Random random = new Random(SEED);
+            final Map<Integer, Long> lateness = new ConcurrentHashMap<>();
+            for (int i = 0; i < TIMEOUTS; i++) {
+                final int index = i;
+                final long delay = random.nextInt(MAX_DELAY);
+                wheel.schedule(() -> lateness.put(index, clock.millis() - delay), delay);
+            }
+            for (long time = 0; time <= MAX_DELAY; time += TICK_MILLIS)
+                clock.advance(TICK_MILLIS);
+
+            Assertions.assertEquals(TIMEOUTS, lateness.size(), "Every task should expire.");
+            for (final long late : lateness.values())
+                Assertions.assertTrue(late >= 0 && late <= TICK_MILLIS, "Tasks should expire within a tick.");
+        } finally {
+            wheel.stop();
+        }
+    }
+}
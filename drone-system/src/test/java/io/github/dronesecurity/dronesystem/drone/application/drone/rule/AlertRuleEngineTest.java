@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.rule;
+
+import io.github.dronesecurity.lib.shared.AlertLevel;
+import io.github.dronesecurity.lib.shared.AlertType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the {@link AlertRuleEngine}.
+ */
+class AlertRuleEngineTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double NEAR = 10;
+    private static final double FAR = 100;
+    private static final double SLOW_TILT_STEP = 2;
+    private static final double FAST_TILT_STEP = 20;
+    private static final int TILT_STEPS = 5;
+    private static final double OCCLUDED = 0.9;
+
+    /**
+     * Tests that a counting condition holds only once enough of the last samples satisfy it.
+     */
+    @Test
+    void countTest() {
+        final AlertRuleEngine engine = engine("obstacle: CRITICAL when distance < 25 for 3 of 5");
+        long now = 0;
+        final double[] distances = {NEAR, FAR, NEAR, FAR, FAR, NEAR};
+        for (final double distance : distances) {
+            engine.update(RuleSignal.DISTANCE, distance, now);
+            now += TICK;
+        }
+        Assertions.assertEquals(AlertLevel.STABLE, engine.evaluate(now), "Isolated near samples should NOT hold.");
+        engine.update(RuleSignal.DISTANCE, NEAR, now);
+        Assertions.assertEquals(AlertLevel.CRITICAL, engine.evaluate(now),
+                "Three near samples out of five should hold.");
+        Assertions.assertEquals("obstacle", engine.getFiredRule(), "Rule holding should be reported.");
+        Assertions.assertEquals(AlertType.DISTANCE, engine.getFiredType(), "Type of the rule should be reported.");
+    }
+
+    /**
+     * Tests that a rate condition holds only when the signal changes quickly enough.
+     */
+    @Test
+    void rateTest() {
+        final AlertRuleEngine engine = engine("swing: WARNING when tilt rate > 90 within 500 ms");
+        long now = 0;
+        for (int i = 0; i < TILT_STEPS; i++) {
+            engine.update(RuleSignal.TILT, i * SLOW_TILT_STEP, now);
+            now += TICK;
+        }
+        Assertions.assertEquals(AlertLevel.STABLE, engine.evaluate(now), "Slow tilts should NOT hold.");
+        for (int i = 0; i < TILT_STEPS; i++) {
+            engine.update(RuleSignal.TILT, i * FAST_TILT_STEP, now);
+            now += TICK;
+        }
+        Assertions.assertEquals(AlertLevel.WARNING, engine.evaluate(now), "Fast tilts should hold.");
+    }
+
+    /**
+     * Tests that a rule holds only when all its conditions hold, and that the worst level wins.
+     */
+    @Test
+    void conjunctionTest() {
+        final AlertRuleEngine engine = engine("near: WARNING when proximityLevel >= WARNING;"
+                + "blind: CRITICAL when occlusion >= 0.75 and proximityLevel >= WARNING");
+        engine.update(RuleSignal.PROXIMITY_LEVEL, AlertLevel.WARNING.ordinal(), 0);
+        Assertions.assertEquals(AlertLevel.WARNING, engine.evaluate(0), "Only the first rule should hold.");
+        engine.update(RuleSignal.OCCLUSION, OCCLUDED, TICK);
+        Assertions.assertEquals(AlertLevel.CRITICAL, engine.evaluate(TICK), "Worst rule holding should win.");
+        Assertions.assertEquals("blind", engine.getFiredRule(), "Worst rule holding should be reported.");
+    }
+
+    /**
+     * Tests that malformed rules are skipped.
+     */
+    @Test
+    void malformedTest() {
+        Assertions.assertEquals(1, AlertRule.parseAll("broken: CRITICAL distance < 25;"
+                + "unknown: CRITICAL when altitude < 25;"
+                + "rate: WARNING when tilt rate > 90;"
+                + "valid: WARNING when tilt > 30 for 2 of 3").size(), "Only valid rules should be parsed.");
+        Assertions.assertEquals(AlertRuleEngine.DEFAULT_RULES.split(";").length,
+                AlertRule.parseAll(AlertRuleEngine.DEFAULT_RULES).size(), "Default rules should be valid.");
+    }
+
+    /**
+     * Tests that the default rules raise a critical proximity at its first sample, and the others once confirmed.
+     */
+    @Test
+    void defaultRulesTest() {
+        final AlertRuleEngine engine = engine(AlertRuleEngine.DEFAULT_RULES);
+        engine.update(RuleSignal.PROXIMITY_LEVEL, AlertLevel.CRITICAL.ordinal(), 0);
+        Assertions.assertEquals(AlertLevel.CRITICAL, engine.evaluate(0),
+                "Single critical proximity sample should hold.");
+        Assertions.assertEquals("proximityCritical", engine.getFiredRule(), "Proximity rule should be reported.");
+        final AlertRuleEngine angle = engine(AlertRuleEngine.DEFAULT_RULES);
+        angle.update(RuleSignal.ANGLE_LEVEL, AlertLevel.CRITICAL.ordinal(), 0);
+        Assertions.assertEquals(AlertLevel.WARNING, angle.evaluate(0),
+                "Single critical angle sample should NOT be critical.");
+        angle.update(RuleSignal.ANGLE_LEVEL, AlertLevel.CRITICAL.ordinal(), TICK);
+        Assertions.assertEquals(AlertLevel.CRITICAL, angle.evaluate(TICK),
+                "Confirmed critical angle should hold.");
+    }
+
+    private static AlertRuleEngine engine(final String rules) {
+        return new AlertRuleEngine(AlertRule.parseAll(rules));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.application.drone.sensor;
+
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Test class for the {@link FlightRecorder}.
+ */
+class FlightRecorderTest {
+
+    private static final long BEFORE_MILLIS = 1000;
+    private static final long AFTER_MILLIS = 200;
+    private static final long RATE = 20;
+    private static final long PERIOD_MILLIS = 100;
+    private static final long DETECTION_MILLIS = 1_650_000_000_000L;
+    private static final double PITCH = 10;
+    private static final double ROLL = 20;
+    private static final double YAW = 30;
+    private static final double DELTA = 1e-9;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * Tests that a record covers only the samples around the event, within the capacity of the rings.
+     */
+    @Test
+    void windowTest() {
+        final ScheduledExecutorService freezer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final FlightRecorder recorder = new FlightRecorder(BEFORE_MILLIS, AFTER_MILLIS, RATE, freezer);
+            for (long time = DETECTION_MILLIS - 2 * BEFORE_MILLIS; time <= DETECTION_MILLIS + AFTER_MILLIS;
+                 time += PERIOD_MILLIS)
+                recorder.record(TelemetryType.PROXIMITY, time, time - DETECTION_MILLIS);
+
+            final FlightRecord.Samples distances =
+                    recorder.snapshot("record", DETECTION_MILLIS).getSamples(TelemetryType.PROXIMITY);
+            Assertions.assertEquals((BEFORE_MILLIS + AFTER_MILLIS) / PERIOD_MILLIS + 1, distances.size(),
+                    "Only the samples around the event should be recorded.");
+            Assertions.assertEquals(DETECTION_MILLIS - BEFORE_MILLIS, distances.getTime(0),
+                    "Oldest sample should be the first one within the window.");
+            Assertions.assertEquals(-BEFORE_MILLIS, distances.getValue(0, 0), DELTA,
+                    "Values should be recorded along with their times.");
+            Assertions.assertEquals(DETECTION_MILLIS + AFTER_MILLIS, distances.getTime(distances.size() - 1),
+                    "Newest sample should be the last one within the window.");
+            for (int i = 1; i < distances.size(); i++)
+                Assertions.assertTrue(distances.getTime(i) > distances.getTime(i - 1),
+                        "Samples should be in chronological order.");
+            Assertions.assertEquals(0, recorder.snapshot("record", DETECTION_MILLIS)
+                    .getSamples(TelemetryType.CAMERA).size(), "Streams NOT recorded should be empty.");
+        } finally {
+            freezer.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a frozen record is delivered once the samples following the event have been recorded.
+     */
+    @Test
+    void freezeTest() throws InterruptedException, ExecutionException, TimeoutException {
+        final ScheduledExecutorService freezer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final FlightRecorder recorder = new FlightRecorder(BEFORE_MILLIS, AFTER_MILLIS, RATE, freezer);
+            final long detection = System.currentTimeMillis();
+            final CompletableFuture<FlightRecord> delivered = new CompletableFuture<>();
+            recorder.freeze("record", detection, delivered::complete);
+            recorder.record(TelemetryType.ACCELEROMETER, detection + 1, PITCH, ROLL, YAW);
+
+            final FlightRecord record = delivered.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assertions.assertTrue(System.currentTimeMillis() - detection >= AFTER_MILLIS,
+                    "Record should be delivered after the samples following the event.");
+            final FlightRecord.Samples angles = record.getSamples(TelemetryType.ACCELEROMETER);
+            Assertions.assertEquals(1, angles.size(), "Samples following the event should be recorded.");
+            Assertions.assertEquals(YAW, angles.getValue(0, 2), DELTA, "Every value should be recorded.");
+        } finally {
+            freezer.shutdownNow();
+        }
+    }
+}
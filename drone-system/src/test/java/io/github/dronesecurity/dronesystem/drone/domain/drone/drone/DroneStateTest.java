@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.drone;
+
+import com.amazonaws.s3.model.InvalidObjectStateException;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.entities.Drone;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.DroneState;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.drone.objects.Leg;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.order.objects.OrderData;
+import io.github.dronesecurity.lib.shared.DrivingMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the {@link DroneState} and its transitions in the {@link Drone}.
+ */
+class DroneStateTest {
+
+    private static final OrderData ORDER = new OrderData(1, "courier");
+
+    /**
+     * Tests that only actual changes give new states, with greater versions.
+     */
+    @Test
+    void transitionTest() {
+        final DroneState initial = DroneState.initial();
+        Assertions.assertSame(initial, initial.withMode(DrivingMode.AUTOMATIC).withMoving(false).withLeg(Leg.NONE),
+                "Changes modifying nothing should give the same state back.");
+        final DroneState delivering = initial.withOrder(ORDER).withLeg(Leg.DELIVERING).withMoving(true);
+        Assertions.assertEquals(initial.getVersion() + 3, delivering.getVersion(),
+                "Every change should increase the version.");
+        Assertions.assertTrue(delivering.isMoving(), "State should keep every change.");
+        Assertions.assertEquals(Leg.DELIVERING, delivering.getLeg(), "State should keep every change.");
+        Assertions.assertFalse(initial.isMoving(), "Changes should NOT modify the original state.");
+    }
+
+    /**
+     * Tests that listeners are notified of every change of the drone, and only of those.
+     */
+    @Test
+    void listenerTest() {
+        final Drone drone = new Drone("drone");
+        final List<DroneState> notified = new ArrayList<>();
+        drone.addStateListener((previous, current) -> notified.add(current));
+
+        drone.changeMode(DrivingMode.MANUAL);
+        drone.changeMode(DrivingMode.MANUAL);
+        Assertions.assertEquals(1, notified.size(), "Only actual changes should be notified.");
+        Assertions.assertSame(drone.getState(), notified.get(0), "Listeners should receive the new state.");
+        Assertions.assertThrows(InvalidObjectStateException.class, drone::proceed,
+                "Drone should NOT operate with no order assigned.");
+        Assertions.assertEquals(1, notified.size(), "Rejected changes should NOT be notified.");
+        Assertions.assertFalse(drone.isOperating(), "Drone should NOT move with no order assigned.");
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.dronesecurity.dronesystem.drone.application.drone.sensor.FlightRecorder;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.FaultType;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.ProximitySimulator;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.SimulatedFault;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.SimulatorSettings;
+import io.github.dronesecurity.dronesystem.drone.application.drone.simulator.Waveform;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.ProximityAlert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.proximity.entities.ProximitySensor;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.DronePropertiesConstants;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities.SensorBackend;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
+import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test class for the sensors simulated in the JVM.
+ */
+class SimulatedSensorTest {
+
+    private static final int SAMPLE_RATE = 1000;
+    private static final long FAULT_DURATION_MILLIS = 60_000;
+    private static final long WAIT_MILLIS = 200;
+    private static final double DROP_DISTANCE = 5.0;
+
+    /**
+     * Tests that a simulated sensor is read without python, at the configured rate.
+     */
+    @Test
+    void simulatedReadingTest() {
+        loadCodec();
+        System.setProperty(DronePropertiesConstants.SIMULATOR_SAMPLE_RATE, String.valueOf(SAMPLE_RATE));
+        final ProximitySensor sensor = new ProximitySensor(SensorBackend.SIMULATOR);
+        sensor.activate();
+        Assertions.assertTrue(sensor.isOn(), "Simulated sensor should be on.");
+        this.waitSamples();
+        final ProximityAlert alert = (ProximityAlert) sensor.performReading();
+        sensor.deactivate();
+        System.clearProperty(DronePropertiesConstants.SIMULATOR_SAMPLE_RATE);
+
+        Assertions.assertFalse(sensor.isOn(), "Simulated sensor should be off.");
+        Assertions.assertTrue(alert.getDistance() > 0, "Simulated distance should be read.");
+    }
+
+    /**
+     * Tests that scripted faults alter the simulated samples.
+     */
+    @Test
+    void faultInjectionTest() {
+        loadCodec();
+        final List<JsonNode> dropped = this.simulate("proximity:drop@0+" + FAULT_DURATION_MILLIS);
+        Assertions.assertFalse(dropped.isEmpty(), "Samples should be produced during a drop.");
+        dropped.forEach(sample -> Assertions.assertEquals(DROP_DISTANCE,
+                sample.get(MqttMessageParameterConstants.PROXIMITY_PARAMETER).asDouble(),
+                "Distance should drop while the fault is active."));
+
+        Assertions.assertTrue(this.simulate("proximity:blackout@0+" + FAULT_DURATION_MILLIS).isEmpty(),
+                "No sample should be produced during a blackout.");
+        Assertions.assertEquals(List.of(), SimulatedFault.parseAll("proximity:melt@0+1, nonsense"),
+                "Malformed faults should be skipped.");
+        Assertions.assertTrue(SimulatedFault.parseAll("Proximity:TILT@10+5").get(0)
+                .isActive(ProximitySimulator.NAME, FaultType.TILT, 12), "Faults should be case insensitive.");
+    }
+
+    /**
+     * Tests that a critical distance is notified once, as soon as confirmed, without any reading, and that the flight
+     * record frozen by the emergency holds the critical sample.
+     */
+    @Test
+    void emergencyTest() {
+        loadCodec();
+        System.setProperty(DronePropertiesConstants.SIMULATOR_SAMPLE_RATE, String.valueOf(SAMPLE_RATE));
+        System.setProperty(DronePropertiesConstants.SIMULATOR_FAULTS, "proximity:drop@0+" + FAULT_DURATION_MILLIS);
+        System.setProperty(DronePropertiesConstants.FLIGHT_RECORD_AFTER, "0");
+        final FlightRecorder recorder = FlightRecorder.fromSettings();
+        final List<ProximityAlert> emergencies = new CopyOnWriteArrayList<>();
+        final List<FlightRecord> records = new CopyOnWriteArrayList<>();
+        final ProximitySensor sensor = new ProximitySensor(SensorBackend.SIMULATOR);
+        sensor.setFlightRecorder(recorder);
+        sensor.setEmergencyListener((alert, sample, receivedNanos) -> {
+            emergencies.add(alert);
+            recorder.freeze("emergency", System.currentTimeMillis(), records::add);
+        });
+        sensor.activate();
+        this.waitSamples();
+        sensor.deactivate();
+        System.clearProperty(DronePropertiesConstants.FLIGHT_RECORD_AFTER);
+        System.clearProperty(DronePropertiesConstants.SIMULATOR_FAULTS);
+        System.clearProperty(DronePropertiesConstants.SIMULATOR_SAMPLE_RATE);
+
+        Assertions.assertEquals(1, emergencies.size(), "Critical distance should be notified once per crossing.");
+        Assertions.assertEquals(DROP_DISTANCE, emergencies.get(0).getDistance(),
+                "Critical distance should be notified.");
+        Assertions.assertEquals(1, records.size(), "Flight record should be frozen.");
+        final FlightRecord.Samples distances = records.get(0).getSamples(TelemetryType.PROXIMITY);
+        Assertions.assertTrue(distances.size() > 0, "Critical sample should be recorded before the freeze.");
+        Assertions.assertEquals(DROP_DISTANCE, distances.getValue(distances.size() - 1, 0),
+                "Critical distance should be recorded.");
+    }
+
+    private List<JsonNode> simulate(final String faults) {
+        final List<JsonNode> samples = new CopyOnWriteArrayList<>();
+        final ProximitySimulator simulator = new ProximitySimulator(
+                new SimulatorSettings(SAMPLE_RATE, Waveform.CONSTANT, 0, SimulatedFault.parseAll(faults)));
+        simulator.start(samples::add);
+        this.waitSamples();
+        simulator.stop();
+        return samples;
+    }
+
+    private static void loadCodec() {
+        // Loads the JSON codec beforehand, so that its startup does NOT delay the first samples.
+        MessageCodecHelper.createObjectNode();
+    }
+
+    private void waitSamples() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(WAIT_MILLIS));
+    }
+}
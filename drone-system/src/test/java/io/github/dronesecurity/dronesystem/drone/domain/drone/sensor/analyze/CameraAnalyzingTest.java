@@ -7,11 +7,13 @@ package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.analyze;
 
 import io.github.dronesecurity.dronesystem.drone.application.drone.camera.CameraDataAnalyzerImpl;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.alert.objects.Alert;
+import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.FrameSignals;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.objects.ProcessedCameraData;
 import io.github.dronesecurity.dronesystem.drone.domain.drone.camera.services.CameraDataAnalyzer;
 import io.github.dronesecurity.lib.shared.AlertLevel;
 import io.github.dronesecurity.lib.shared.AlertType;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -25,14 +27,20 @@ class CameraAnalyzingTest {
     private static final int MEDIUM_IMAGE = 1_000;
     private static final int BIG_IMAGE = 10_000;
     private static final int VERY_BIG_IMAGE = 100_000;
+    private static final double BRIGHT = 120;
+    private static final double DARK = 5;
+    private static final double SHARP = 0.05;
+    private static final double STILL = 0.01;
+    private static final double COVERED = 0.9;
+    private static final double HALF_COVERED = 0.5;
 
     /**
-     * Tests that camera analyzer gives always stable alert level.
+     * Tests that camera analyzer gives stable alert level for images NOT analyzed.
      * @param imageSize size of the image to be analyzed
      */
     @ParameterizedTest
     @ValueSource(ints = {EMPTY_IMAGE, SMALL_IMAGE, MEDIUM_IMAGE, BIG_IMAGE, VERY_BIG_IMAGE})
-    void alwaysStableTest(final int imageSize) {
+    void notAnalyzedStableTest(final int imageSize) {
         final CameraDataAnalyzer analyzer = new CameraDataAnalyzerImpl();
 
         final ProcessedCameraData cameraData = new ProcessedCameraData(imageSize);
@@ -40,6 +48,27 @@ class CameraAnalyzingTest {
         final Alert alert = analyzer.analyzeCameraData(cameraData);
 
         Assertions.assertEquals(AlertType.CAMERA, alert.getAlertType(), "Alert should be of the CAMERA type.");
-        Assertions.assertEquals(AlertLevel.STABLE, alert.getAlertLevel(), "Alert level should ALWAYS be STABLE.");
+        Assertions.assertEquals(AlertLevel.STABLE, alert.getAlertLevel(), "Frames NOT analyzed should be STABLE.");
+    }
+
+    /**
+     * Tests that camera analyzer detects a covered or dark camera from the signals of the frame.
+     */
+    @Test
+    void signalsTest() {
+        final CameraDataAnalyzer analyzer = new CameraDataAnalyzerImpl();
+
+        Assertions.assertEquals(AlertLevel.STABLE, analyzer.analyzeCameraData(
+                new ProcessedCameraData(BIG_IMAGE, new FrameSignals(BRIGHT, STILL, SHARP, 0, 0))).getAlertLevel(),
+                "A clear frame should be STABLE.");
+        Assertions.assertEquals(AlertLevel.WARNING, analyzer.analyzeCameraData(
+                new ProcessedCameraData(BIG_IMAGE, new FrameSignals(DARK, STILL, SHARP, 0, 0))).getAlertLevel(),
+                "A dark frame should be a WARNING.");
+        Assertions.assertEquals(AlertLevel.WARNING, analyzer.analyzeCameraData(
+                new ProcessedCameraData(BIG_IMAGE, new FrameSignals(BRIGHT, STILL, SHARP, HALF_COVERED, 0)))
+                .getAlertLevel(), "A partially covered frame should be a WARNING.");
+        Assertions.assertEquals(AlertLevel.CRITICAL, analyzer.analyzeCameraData(
+                new ProcessedCameraData(BIG_IMAGE, new FrameSignals(BRIGHT, STILL, SHARP, COVERED, 0)))
+                .getAlertLevel(), "A covered frame should be CRITICAL.");
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the framing of sensor script output into samples.
+ */
+class JsonFrameOutputStreamTest {
+
+    private static final String ACCELEROMETER_OUTPUT = "{\"accelerometer\": {\n        \"x\": 0,\n        \"y\": 1,"
+            + "\n        \"z\": 0\n    }\n}\n";
+    private static final String PROXIMITY_OUTPUT = "{\"proximity\": 72.0\n}\n";
+    private static final String TRICKY_OUTPUT = "\n{\"label\": \"} { \\\" ]\", \"values\": [{\"a\": 1}]}";
+    private static final int CAPACITY = 4;
+    private static final int SAMPLES = 10;
+
+    /**
+     * Tests that objects spanning several lines and split across writes are framed once each.
+     */
+    @Test
+    void framingTest() {
+        final List<JsonNode> frames = new ArrayList<>();
+        final JsonFrameOutputStream stream = new JsonFrameOutputStream(frames::add);
+        final byte[] output = (ACCELEROMETER_OUTPUT + PROXIMITY_OUTPUT + TRICKY_OUTPUT)
+                .getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < output.length; i += 7)
+            stream.write(output, i, Math.min(7, output.length - i));
+
+        Assertions.assertEquals(3, frames.size(), "Every object should be framed exactly once.");
+        Assertions.assertEquals(1, frames.get(0).get("accelerometer").get("y").asInt(),
+                "Multi-line objects should be parsed whole.");
+        Assertions.assertEquals(72.0, frames.get(1).get("proximity").asDouble(),
+                "Consecutive objects should be split.");
+        Assertions.assertEquals("} { \" ]", frames.get(2).get("label").asText(),
+                "Braces inside strings should NOT end the object.");
+    }
+
+    /**
+     * Tests that the ring gives the newest sample or every sample since the last taken, dropping the oldest when full.
+     */
+    @Test
+    void sampleRingTest() {
+        final SampleRing<Integer> ring = new SampleRing<>(CAPACITY);
+        Assertions.assertNull(ring.pollLatest(), "An empty ring should have no sample.");
+        for (int i = 0; i < SAMPLES; i++)
+            ring.offer(i);
+        Assertions.assertEquals(SAMPLES - CAPACITY, ring.getDropped(), "Oldest samples should be dropped.");
+
+        final List<Integer> drained = new ArrayList<>();
+        Assertions.assertEquals(CAPACITY, ring.drain(drained::add), "Every kept sample should be drained.");
+        Assertions.assertEquals(List.of(6, 7, 8, 9), drained, "Samples should be drained oldest first.");
+
+        ring.offer(SAMPLES);
+        ring.offer(SAMPLES + 1);
+        Assertions.assertEquals(SAMPLES + 1, ring.pollLatest(), "The newest sample should be taken.");
+        Assertions.assertNull(ring.pollLatest(), "Older samples should be discarded once the newest is taken.");
+    }
+}
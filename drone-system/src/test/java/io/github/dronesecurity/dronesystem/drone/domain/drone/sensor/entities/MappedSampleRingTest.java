@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the memory-mapped ring written by the sensor drivers.
+ */
+class MappedSampleRingTest {
+
+    private static final int CAPACITY = 4;
+    private static final int VALUE_COUNT = 3;
+    private static final int RECORD_SIZE = 2 * Long.BYTES + VALUE_COUNT * Double.BYTES;
+    private static final int SAMPLES = 10;
+    private static final long TIMESTAMP = 1_650_000_000_000L;
+
+    /**
+     * Tests that the newest complete record is read once, as the drivers write it.
+     * @throws IOException if the ring can NOT be mapped
+     */
+    @Test
+    void readLatestTest() throws IOException {
+        try (MappedSampleRing ring = MappedSampleRing.create("accelerometer", CAPACITY, VALUE_COUNT);
+             FileChannel channel = FileChannel.open(ring.getPath(), StandardOpenOption.READ,
+                     StandardOpenOption.WRITE)) {
+            final ByteBuffer writer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            Assertions.assertEquals(MappedSampleRing.MAGIC, writer.getInt(0), "Header should be initialized.");
+            final double[] values = new double[VALUE_COUNT];
+            Assertions.assertFalse(ring.readLatest(values), "An empty ring should have no record.");
+
+            for (int i = 0; i < SAMPLES; i++)
+                write(writer, i);
+            Assertions.assertTrue(ring.readLatest(values), "The newest record should be read.");
+            Assertions.assertArrayEquals(new double[] {SAMPLES - 1, 1, 0}, values, 0,
+                    "Values should be the ones of the newest record.");
+            Assertions.assertEquals(TIMESTAMP + SAMPLES - 1, ring.getLastTimestamp(), "Timestamp should be read.");
+            Assertions.assertFalse(ring.readLatest(values), "A record should be read only once.");
+
+            writer.putLong(MappedSampleRing.HEADER_SIZE + (SAMPLES % CAPACITY) * RECORD_SIZE, -1);
+            writer.putLong(MappedSampleRing.WRITE_SEQUENCE_OFFSET, SAMPLES + 1);
+            Assertions.assertFalse(ring.readLatest(values), "A record being written should NOT be read.");
+        }
+    }
+
+    /**
+     * Tests that every record written since the last one read is drained in order, skipping the overwritten ones.
+     * @throws IOException if the ring can NOT be mapped
+     */
+    @Test
+    void drainTest() throws IOException {
+        try (MappedSampleRing ring = MappedSampleRing.create("accelerometer", CAPACITY, VALUE_COUNT);
+             FileChannel channel = FileChannel.open(ring.getPath(), StandardOpenOption.READ,
+                     StandardOpenOption.WRITE)) {
+            final ByteBuffer writer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            final double[] values = new double[VALUE_COUNT];
+            final List<Double> drained = new ArrayList<>();
+            Assertions.assertEquals(0, ring.drain(values, (sample, timestamp) -> drained.add(sample[0])),
+                    "An empty ring should have no record.");
+
+            write(writer, 0);
+            write(writer, 1);
+            Assertions.assertEquals(2, ring.drain(values, (sample, timestamp) -> drained.add(sample[0])),
+                    "Every new record should be drained.");
+            for (int i = 2; i < SAMPLES; i++)
+                write(writer, i);
+            Assertions.assertEquals(CAPACITY, ring.drain(values, (sample, timestamp) -> drained.add(sample[0])),
+                    "Only the records NOT overwritten should be drained.");
+            Assertions.assertEquals(List.of(0.0, 1.0, 6.0, 7.0, 8.0, 9.0), drained,
+                    "Records should be drained oldest first.");
+            Assertions.assertEquals(TIMESTAMP + SAMPLES - 1, ring.getLastTimestamp(), "Timestamp should be read.");
+            Assertions.assertFalse(ring.readLatest(values), "Drained records should NOT be read again.");
+        }
+    }
+
+    /**
+     * Tests that the file of the ring is deleted once closed.
+     * @throws IOException if the ring can NOT be mapped
+     */
+    @Test
+    void closeTest() throws IOException {
+        final MappedSampleRing ring = MappedSampleRing.create("proximity", CAPACITY, 1);
+        ring.close();
+        Assertions.assertFalse(Files.exists(ring.getPath()), "Ring file should be deleted.");
+    }
+
+    private static void write(final ByteBuffer writer, final long sequence) {
+        final int offset = MappedSampleRing.HEADER_SIZE + (int) (sequence % CAPACITY) * RECORD_SIZE;
+        writer.putLong(offset, -1)
+                .putLong(offset + Long.BYTES, TIMESTAMP + sequence)
+                .putDouble(offset + 2 * Long.BYTES, sequence)
+                .putDouble(offset + 2 * Long.BYTES + Double.BYTES, 1)
+                .putDouble(offset + 2 * Long.BYTES + 2 * Double.BYTES, 0)
+                .putLong(offset, sequence)
+                .putLong(MappedSampleRing.WRITE_SEQUENCE_OFFSET, sequence + 1);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.dronesystem.drone.domain.drone.sensor.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the helper reading the drone settings.
+ */
+class SensorPropertiesHelperTest {
+
+    private static final String KEY = "sensorPropertiesHelperTest";
+    private static final double DEFAULT_VALUE = 42;
+    private static final double VALUE = 2.5;
+
+    /**
+     * Tests that numeric settings are parsed, falling back to their default if missing or invalid.
+     */
+    @Test
+    void readNumberTest() {
+        Assertions.assertEquals(DEFAULT_VALUE, SensorPropertiesHelper.readNumber(KEY, DEFAULT_VALUE),
+                "Missing settings should have the default value.");
+        System.setProperty(KEY, " " + VALUE + " ");
+        Assertions.assertEquals(VALUE, SensorPropertiesHelper.readNumber(KEY, DEFAULT_VALUE),
+                "Numeric settings should be parsed.");
+        System.setProperty(KEY, "fast");
+        Assertions.assertEquals(DEFAULT_VALUE, SensorPropertiesHelper.readNumber(KEY, DEFAULT_VALUE),
+                "Invalid settings should have the default value.");
+        System.clearProperty(KEY);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the JSON codecs shared by every message exchanged through the connection.
+ * A single configured {@link ObjectMapper} backs an immutable {@link ObjectReader} and {@link ObjectWriter} for each
+ * message type, both thread-safe and built only the first time the type is requested. Encoding writes the UTF-8 bytes
+ * straight into the buffers recycled by Jackson, without going through an intermediate String: the only copy left is
+ * the exact-size payload, owned by the transport until the message is delivered.
+ */
+public final class MessageCodecHelper {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private MessageCodecHelper() { }
+
+    /**
+     * Gets the shared reader of a message type.
+     * @param type class of the message
+     * @return the {@link ObjectReader} bound to the type
+     */
+    public static @NotNull ObjectReader readerFor(final @NotNull Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Gets the shared writer of a message type.
+     * @param type class of the message
+     * @return the {@link ObjectWriter} bound to the type
+     */
+    public static @NotNull ObjectWriter writerFor(final @NotNull Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    /**
+     * Creates an empty JSON object, without building a new mapper.
+     * @return the new {@link ObjectNode}
+     */
+    public static @NotNull ObjectNode createObjectNode() {
+        return MAPPER.getNodeFactory().objectNode();
+    }
+
+    /**
+     * Reads a JSON tree directly from the raw payload of a message.
+     * @param payload UTF-8 encoded JSON
+     * @return the read {@link JsonNode}
+     * @throws JsonProcessingException if payload is not a valid JSON
+     */
+    public static @NotNull JsonNode readTree(final byte @NotNull [] payload) throws JsonProcessingException {
+        try {
+            return readerFor(JsonNode.class).readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * Reads a JSON tree from a portion of a buffer, like an object framed from the output of sensor scripts.
+     * @param content buffer holding UTF-8 encoded JSON
+     * @param offset index of the first byte of the JSON
+     * @param length number of bytes of the JSON
+     * @return the read {@link JsonNode}
+     * @throws JsonProcessingException if content is not a valid JSON
+     */
+    public static @NotNull JsonNode readTree(final byte @NotNull [] content, final int offset, final int length)
+            throws JsonProcessingException {
+        try {
+            return readerFor(JsonNode.class).readTree(content, offset, length);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * Reads a JSON tree from a text, like the output of sensor scripts.
+     * @param json JSON text
+     * @return the read {@link JsonNode}
+     * @throws JsonProcessingException if text is not a valid JSON
+     */
+    public static @NotNull JsonNode readTree(final @NotNull String json) throws JsonProcessingException {
+        return readerFor(JsonNode.class).readTree(json);
+    }
+
+    /**
+     * Reads a message directly from its raw payload.
+     * @param payload UTF-8 encoded JSON
+     * @param type class of the message
+     * @param <T> type of the message
+     * @return the read message
+     * @throws JsonProcessingException if payload can NOT be mapped to the message type
+     */
+    public static <T> T read(final byte @NotNull [] payload, final @NotNull Class<T> type)
+            throws JsonProcessingException {
+        try {
+            return readerFor(type).readValue(payload);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * Reads a message from an already parsed JSON tree.
+     * @param json the {@link JsonNode} holding the message
+     * @param type class of the message
+     * @param <T> type of the message
+     * @return the read message
+     * @throws JsonProcessingException if tree can NOT be mapped to the message type
+     */
+    public static <T> T read(final @NotNull JsonNode json, final @NotNull Class<T> type)
+            throws JsonProcessingException {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * Converts a message into a JSON tree, so that it can be composed with other nodes.
+     * @param value message to convert
+     * @return the {@link JsonNode} representing the message
+     */
+    public static @NotNull JsonNode valueToTree(final @NotNull Object value) {
+        return MAPPER.valueToTree(value);
+    }
+
+    /**
+     * Encodes a message into UTF-8 JSON bytes.
+     * @param value message to encode, either a {@link JsonNode} or a serializable object
+     * @return the encoded bytes
+     * @throws MessageEncodingException if value can NOT be serialized
+     */
+    public static byte @NotNull [] encode(final @NotNull Object value) {
+        final Class<?> type = value instanceof JsonNode ? JsonNode.class : value.getClass();
+        try {
+            return writerFor(type).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new MessageEncodingException(type, e);
+        }
+    }
+}
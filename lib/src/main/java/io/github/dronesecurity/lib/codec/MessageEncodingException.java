@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.codec;
+
+/**
+ * Exception thrown if a message can NOT be encoded by {@link MessageCodecHelper}.
+ */
+public final class MessageEncodingException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Build the exception.
+     * @param type type of the value that can NOT be encoded
+     * @param cause the cause of the failure
+     */
+    public MessageEncodingException(final Class<?> type, final Throwable cause) {
+        super("Can NOT encode message of type " + type.getName() + ".", cause);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.crt.io.ClientBootstrap;
+import software.amazon.awssdk.crt.io.EventLoopGroup;
+import software.amazon.awssdk.crt.io.HostResolver;
+import software.amazon.awssdk.crt.mqtt.MqttClientConnection;
+import software.amazon.awssdk.crt.mqtt.MqttClientConnectionEvents;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+import software.amazon.awssdk.iot.AwsIotMqttConnectionBuilder;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * {@link MqttTransport} towards AWS IoT, using mutual TLS. After an interruption the client reconnects by itself.
+ */
+final class AwsIotTransport implements MqttTransport {
+
+    private static final int EVENT_LOOP_THREADS = 2;
+    private final EventLoopGroup eventLoopGroup;
+    private final HostResolver hostResolver;
+    private final ClientBootstrap clientBootstrap;
+    private final MqttClientConnection clientConnection;
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private final AtomicReference<Consumer<Boolean>> linkListener = new AtomicReference<>(resumed -> { });
+
+    /**
+     * Build the transport using the certificates and the endpoint specified in the properties.
+     * @param properties properties read from {@link PropertiesConstants#PROPERTIES_FILENAME}
+     */
+    AwsIotTransport(final @NotNull Properties properties) {
+        this.eventLoopGroup = new EventLoopGroup(EVENT_LOOP_THREADS);
+        this.hostResolver = new HostResolver(this.eventLoopGroup);
+        this.clientBootstrap = new ClientBootstrap(this.eventLoopGroup, this.hostResolver);
+
+        final String certsFolderPath = properties.getProperty(PropertiesConstants.CERTS_FOLDER_PATH);
+        try (AwsIotMqttConnectionBuilder builder = AwsIotMqttConnectionBuilder.newMtlsBuilderFromPath(
+                certsFolderPath + properties.getProperty(PropertiesConstants.CERTIFICATE_FILENAME),
+                certsFolderPath + properties.getProperty(PropertiesConstants.PRIVATE_KEY_FILENAME))) {
+            this.clientConnection = builder
+                    .withCertificateAuthorityFromPath(
+                            System.getProperty("os.name").contains("win") ? "" : certsFolderPath,
+                            certsFolderPath
+                                    + properties.getProperty(PropertiesConstants.CERTIFICATE_AUTHORITY_FILENAME))
+                    .withBootstrap(this.clientBootstrap)
+                    .withClientId(properties.getProperty(PropertiesConstants.CLIENT_ID))
+                    .withEndpoint(properties.getProperty(PropertiesConstants.ENDPOINT))
+                    .withCleanSession(true)
+                    .withConnectionEventCallbacks(new MqttClientConnectionEvents() {
+                        /** {@inheritDoc} */
+                        @Override
+                        public void onConnectionInterrupted(final int errorCode) {
+                            AwsIotTransport.this.linkListener.get().accept(false);
+                        }
+
+                        /** {@inheritDoc} */
+                        @Override
+                        public void onConnectionResumed(final boolean sessionPresent) {
+                            AwsIotTransport.this.linkListener.get().accept(true);
+                        }
+                    })
+                    .build();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Boolean> connect() {
+        return this.clientConnection.connect().thenApply(sessionResumed -> {
+            this.connected.set(true);
+            return sessionResumed;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> publish(final MqttMessage message) {
+        return this.clientConnection.publish(message);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> subscribe(final String topic,
+                                               final QualityOfService qos,
+                                               final Consumer<MqttMessage> consumer) {
+        return this.clientConnection.subscribe(topic, qos, consumer);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> unsubscribe(final String topic) {
+        return this.clientConnection.unsubscribe(topic);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setLinkListener(final Consumer<Boolean> listener) {
+        this.linkListener.set(listener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (this.connected.getAndSet(false))
+            this.clientConnection.disconnect();
+        this.clientConnection.close();
+        this.clientBootstrap.close();
+        this.hostResolver.close();
+        this.eventLoopGroup.close();
+    }
+}
@@ -6,108 +6,246 @@
 package io.github.dronesecurity.lib.connection;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryEncoding;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.crt.io.ClientBootstrap;
-import software.amazon.awssdk.crt.io.EventLoopGroup;
-import software.amazon.awssdk.crt.io.HostResolver;
-import software.amazon.awssdk.crt.mqtt.MqttClientConnection;
 import software.amazon.awssdk.crt.mqtt.MqttMessage;
-import software.amazon.awssdk.crt.mqtt.QualityOfService;
-import software.amazon.awssdk.iot.AwsIotMqttConnectionBuilder;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
- * Singleton representing connection with AWS.
+ * Singleton representing connection with AWS, or with the in-process broker if selected through
+ * {@link PropertiesConstants#TRANSPORT}.
+ * Messages follow the {@link Lane} of their {@link TopicPolicy}: commands and alerts have their own outbound queue and
+ * inbound thread, and optionally their own client connection if {@link PropertiesConstants#PRIORITY_CONNECTION} is
+ * enabled, while the other messages can be spread over a pool of client connections, sharded by topic, setting
+ * {@link PropertiesConstants#CONNECTION_SHARDS}.
+ * While the connection is down, outbound messages are kept in an {@link OfflineSpool} and replayed once it is up again,
+ * and failed connections are retried with an exponential backoff.
  */
 public final class Connection {
 
-    private static Connection singleton;
-    private EventLoopGroup eventLoopGroup;
-    private ClientBootstrap clientBootstrap;
+    private static final long CLOSE_FLUSH_TIMEOUT = 2000;
+    private static final String PRIORITY_CLIENT_SUFFIX = "-priority";
+    private static final String SHARD_CLIENT_SEPARATOR = "-";
+    private static final int DEFAULT_SPOOL_CAPACITY = 8 * 1024 * 1024;
+    private static final String SPOOL_FILE_PREFIX = "dronesecurity-";
+    private static final String SPOOL_FILE_EXTENSION = ".spool";
+    private static final String DEFAULT_SPOOL_NAME = "default";
+    private static final String SCHEDULER_THREAD_NAME = "mqtt-scheduler";
     private final Properties properties;
-    private MqttClientConnection clientConnection;
-    private String certsFolderPath;
-    private String certificateFile;
-    private String privateKeyFile;
-    private String certificateAuthorityFile;
-    private String endpoint;
+    private final Map<Lane, OutboundPublisher> publishers = new EnumMap<>(Lane.class);
+    private final TrafficStatistics trafficStatistics = new TrafficStatistics();
+    private final InboundDispatcher inboundDispatcher = new InboundDispatcher(this.trafficStatistics);
+    private final TopicRouter router = new TopicRouter(this::subscribe, this::unsubscribe);
+    private final StoreAndForward storeAndForward;
+    private final ExponentialBackoff reconnectBackoff;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean reconnectScheduled = new AtomicBoolean();
+    private final AtomicInteger failedReconnections = new AtomicInteger();
+    private volatile MqttTransport transport;
+    private volatile MqttTransport priorityTransport;
+    private volatile boolean built;
+    private volatile TelemetryEncoding telemetryEncoding = TelemetryEncoding.JSON;
     private String clientID;
 
     private Connection() {
-        this.initConnectionSettings();
         this.properties = new Properties();
         try {
-            this.readProperties();
+            this.buildTransport();
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error("Can NOT read file .properties.", e);
         }
+        this.storeAndForward = new StoreAndForward(this.openSpool(), this::transmit, this.properties);
+        this.reconnectBackoff = new ExponentialBackoff(this.properties);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, SCHEDULER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (final Lane lane : Lane.values()) {
+            this.publishers.put(lane, new OutboundPublisher(lane, this::send, this.publisherProperties(lane),
+                    this.trafficStatistics));
+        }
+        this.scheduleTrafficReports();
     }
 
     /**
-     * Gets the singleton for the connection.
+     * Gets the singleton for the connection, created on first use and then returned without any locking.
      *
      * @return singleton for the connection
      */
     public static Connection getInstance() {
-        synchronized (Connection.class) {
-            if (singleton == null)
-                singleton = new Connection();
-            return singleton;
-        }
+        return InstanceHolder.INSTANCE;
     }
 
     /**
-     * Connects the client to the server.
+     * Connects the client to the server. If the connection fails, it is retried in background with an exponential
+     * backoff.
      *
      * @return {@link CompletableFuture} giving true only if session is resumed, otherwise false
      */
     public CompletableFuture<Boolean> connect() {
         try {
-            this.readProperties();
+            this.buildTransport();
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error("Can NOT read file .properties.", e);
             return CompletableFuture.failedFuture(e);
         }
-        return this.clientConnection.connect();
+        return this.connectTransports();
     }
 
     /**
-     * Publishes the message to the established connection.
+     * Publishes the message to the established connection, without blocking the caller unless the outbound queue is
+     * full and the {@link OverflowPolicy} of the topic is {@link OverflowPolicy#BLOCK}. Quality of service, retain flag
+     * and expiry of the message are given by the {@link TopicPolicy} of the topic.
      *
      * @param topic the topic to publish on
      * @param payload {@link JsonNode} to attach to the message
+     * @return {@link CompletableFuture} giving the packet identifier once the message has been sent, or 0 once it has
+     * been spooled because the connection is down, completed exceptionally with {@link PublishRejectedException} if the
+     * message has not been accepted or with {@link MessageExpiredException} if it has waited too long to be sent
      */
-    public void publish(final String topic, final @NotNull JsonNode payload) {
-        this.clientConnection.publish(new MqttMessage(topic,
-                payload.toString().getBytes(StandardCharsets.UTF_8),
-                QualityOfService.AT_LEAST_ONCE));
+    public CompletableFuture<Integer> publish(final String topic, final @NotNull JsonNode payload) {
+        return this.publisherOf(topic).publish(topic, payload);
     }
 
     /**
-     * Subscribes to the topic to receive messages of the established connection.
+     * Publishes an already encoded message to the established connection, like {@link #publish(String, JsonNode)}.
+     *
+     * @param topic the topic to publish on
+     * @param payload bytes to attach to the message
+     * @return {@link CompletableFuture} giving the packet identifier once the message has been sent, or 0 once it has
+     * been spooled because the connection is down, completed exceptionally with {@link PublishRejectedException} if the
+     * message has not been accepted
+     */
+    public CompletableFuture<Integer> publish(final String topic, final byte @NotNull [] payload) {
+        return this.publisherOf(topic).publish(topic, payload);
+    }
+
+    /**
+     * Publishes a telemetry sample using the selected {@link TelemetryEncoding}: JSON documents on the given topic and
+     * binary frames on the same topic followed by {@link MqttTopicConstants#BINARY_TOPIC_SUFFIX}.
+     *
+     * @param topic the base telemetry topic
+     * @param frame the {@link TelemetryFrame} to publish in binary form
+     * @param json supplier of the JSON document, invoked only if JSON has to be published
+     * @return {@link CompletableFuture} completed when every encoding has been sent
+     */
+    public CompletableFuture<Void> publishTelemetry(final String topic,
+                                                    final @NotNull TelemetryFrame frame,
+                                                    final @NotNull Supplier<JsonNode> json) {
+        final TelemetryEncoding encoding = this.getTelemetryEncoding();
+        final CompletableFuture<Integer> jsonPublishing = encoding.includesJson()
+                ? this.publish(topic, json.get())
+                : CompletableFuture.completedFuture(0);
+        final CompletableFuture<Integer> binaryPublishing = encoding.includesBinary()
+                ? this.publish(topic + MqttTopicConstants.BINARY_TOPIC_SUFFIX, TelemetryCodecHelper.encode(frame))
+                : CompletableFuture.completedFuture(0);
+        return CompletableFuture.allOf(jsonPublishing, binaryPublishing);
+    }
+
+    /**
+     * Gets the selected {@link TelemetryEncoding}, giving precedence to the system property over the properties file.
+     *
+     * @return the selected encoding, {@link TelemetryEncoding#JSON} if not specified
+     */
+    public TelemetryEncoding getTelemetryEncoding() {
+        return this.telemetryEncoding;
+    }
+
+    /**
+     * Subscribes to the topic to receive messages of the established connection, with the quality of service of the
+     * {@link TopicPolicy} of the topic.
      *
      * @param topic the topic to be subscribed to
      * @param consumer consumer that handles received messages
+     * @return {@link CompletableFuture} giving the packet identifier once the subscription is acknowledged
+     */
+    public CompletableFuture<Integer> subscribe(final String topic, final Consumer<MqttMessage> consumer) {
+        final TopicPolicy policy = TopicPolicy.of(topic);
+        final MqttTransport currentTransport = this.transportOf(policy.getLane());
+        if (currentTransport == null)
+            return CompletableFuture.failedFuture(notBuilt());
+        return currentTransport.subscribe(topic, policy.getQos(),
+                this.inboundDispatcher.wrap(policy.getLane(), consumer));
+    }
+
+    /**
+     * Gets the {@link TopicRouter} of the connection, useful to attach many handlers with a single subscription.
+     * @return the topic router
      */
-    public void subscribe(final String topic, final Consumer<MqttMessage> consumer) {
-        this.clientConnection.subscribe(topic, QualityOfService.AT_LEAST_ONCE, consumer);
+    public TopicRouter getRouter() {
+        return this.router;
     }
 
     /**
      * Unsubscribes from a topic.
      * @param topic topic to unsubscribe from
+     * @return {@link CompletableFuture} giving the packet identifier once the unsubscription is acknowledged
+     */
+    public CompletableFuture<Integer> unsubscribe(final String topic) {
+        final MqttTransport currentTransport = this.transportOf(TopicPolicy.of(topic).getLane());
+        if (currentTransport == null)
+            return CompletableFuture.failedFuture(notBuilt());
+        return currentTransport.unsubscribe(topic);
+    }
+
+    /**
+     * Gets the statistics of the time spent by messages of a lane in the outbound queue, before being handed to the
+     * transport.
+     * @param lane the {@link Lane} to inspect
+     * @return the outbound {@link QueueingDelayStatistics} of the lane
+     */
+    public QueueingDelayStatistics getOutboundQueueingDelay(final @NotNull Lane lane) {
+        return this.publishers.get(lane).getQueueingDelay();
+    }
+
+    /**
+     * Gets the statistics of the time spent by received messages of a lane before being handled.
+     * @param lane the {@link Lane} to inspect
+     * @return the inbound {@link QueueingDelayStatistics} of the lane
      */
-    public void unsubscribe(final String topic) {
-        this.clientConnection.unsubscribe(topic);
+    public QueueingDelayStatistics getInboundQueueingDelay(final @NotNull Lane lane) {
+        return this.inboundDispatcher.getQueueingDelay(lane);
+    }
+
+    /**
+     * Gets the traffic of the connection for each {@link TopicPolicy}, telling apart serialization, client library and
+     * subscription callbacks, together with the connection events.
+     * @return the {@link TrafficStatistics} of the connection
+     */
+    public TrafficStatistics getTrafficStatistics() {
+        return this.trafficStatistics;
+    }
+
+    /**
+     * Gets the number of messages stored while the connection is down and NOT yet replayed.
+     * @return the number of spooled messages
+     */
+    public int getSpooledMessageCount() {
+        return this.storeAndForward.getSpooledCount();
     }
 
     /**
@@ -119,50 +257,211 @@ public final class Connection {
     }
 
     /**
-     * Closes established connection.
+     * Closes established connection. Messages published from now on are spooled, to be replayed after the next
+     * connection.
      */
     public void closeConnection() {
-        this.eventLoopGroup.close();
-        this.clientBootstrap.close();
-        this.clientConnection.disconnect();
-        this.clientConnection.close();
-        this.initConnectionSettings();
+        final long deadline = System.currentTimeMillis() + CLOSE_FLUSH_TIMEOUT;
+        for (final OutboundPublisher publisher : this.publishers.values()) {
+            if (!publisher.flush(Math.max(0, deadline - System.currentTimeMillis())))
+                LoggerFactory.getLogger(getClass()).warn("Closing connection with messages still pending.");
+        }
+        this.storeAndForward.linkDown();
+        this.storeAndForward.force();
+        final MqttTransport currentTransport = this.transport;
+        final MqttTransport currentPriorityTransport = this.priorityTransport;
+        this.transport = null;
+        this.priorityTransport = null;
+        if (currentTransport != null)
+            currentTransport.close();
+        if (currentPriorityTransport != null)
+            currentPriorityTransport.close();
+    }
+
+    private OutboundPublisher publisherOf(final @NotNull String topic) {
+        return this.publishers.get(TopicPolicy.of(topic).getLane());
+    }
+
+    private MqttTransport transportOf(final @NotNull Lane lane) {
+        final MqttTransport currentPriorityTransport = this.priorityTransport;
+        return lane == Lane.PRIORITY && currentPriorityTransport != null ? currentPriorityTransport : this.transport;
+    }
+
+    private CompletableFuture<Integer> send(final MqttMessage message) {
+        if (!this.built)
+            return CompletableFuture.failedFuture(notBuilt());
+        // Once closed, the uplink is down and spools the message, to be replayed after the next connection.
+        return this.storeAndForward.send(message);
+    }
+
+    private CompletableFuture<Integer> transmit(final @NotNull MqttMessage message) {
+        final MqttTransport currentTransport = this.transportOf(TopicPolicy.of(message.getTopic()).getLane());
+        if (currentTransport == null)
+            return CompletableFuture.failedFuture(notBuilt());
+        final TopicTrafficStatistics topicStatistics = this.trafficStatistics.of(message.getTopic());
+        final long sentAt = System.nanoTime();
+        topicStatistics.recordSent(message.getPayload().length);
+        return currentTransport.publish(message).whenComplete((packetId, error) ->
+                topicStatistics.recordCompleted(System.nanoTime() - sentAt, error == null));
+    }
+
+    private CompletableFuture<Boolean> connectTransports() {
+        final MqttTransport currentTransport = this.transport;
+        final MqttTransport currentPriorityTransport = this.priorityTransport;
+        if (currentTransport == null)
+            return CompletableFuture.failedFuture(notBuilt());
+        final CompletableFuture<Boolean> priorityConnection = currentPriorityTransport == null
+                ? CompletableFuture.completedFuture(true)
+                : currentPriorityTransport.connect();
+        return currentTransport.connect().thenCombine(priorityConnection, (sessionResumed, prioritySessionResumed) -> {
+            this.failedReconnections.set(0);
+            this.router.resubscribe();
+            this.storeAndForward.linkUp();
+            return sessionResumed;
+        }).whenComplete((sessionResumed, error) -> {
+            this.trafficStatistics.recordConnection(error == null);
+            if (error != null)
+                this.scheduleReconnection();
+        });
+    }
+
+    private void scheduleReconnection() {
+        if (this.transport == null || !this.reconnectScheduled.compareAndSet(false, true))
+            return;
+        final long delay = this.reconnectBackoff.delayMillis(this.failedReconnections.getAndIncrement());
+        LoggerFactory.getLogger(getClass()).warn("Connection failed, retrying in " + delay + " ms.");
+        this.scheduler.schedule(() -> {
+            this.reconnectScheduled.set(false);
+            if (this.transport != null)
+                this.connectTransports();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void onLinkChange(final boolean resumed) {
+        this.trafficStatistics.recordLinkChange(resumed);
+        if (resumed) {
+            LoggerFactory.getLogger(getClass()).info("Connection resumed.");
+            this.storeAndForward.linkUp();
+        } else {
+            LoggerFactory.getLogger(getClass()).warn("Connection interrupted, spooling outbound messages.");
+            this.storeAndForward.linkDown();
+        }
+    }
+
+    private void scheduleTrafficReports() {
+        final int period = PropertiesHelper.readInt(this.properties, PropertiesConstants.TRAFFIC_REPORT_MILLIS, 0);
+        if (period <= 0)
+            return;
+        final String csvFile = this.properties.getProperty(PropertiesConstants.TRAFFIC_REPORT_FILE);
+        this.scheduler.scheduleAtFixedRate(
+                new TrafficReporter(this.trafficStatistics, csvFile == null ? null : Path.of(csvFile)),
+                period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private @NotNull OfflineSpool openSpool() {
+        final int capacity = PropertiesHelper.readInt(this.properties, PropertiesConstants.OFFLINE_SPOOL_CAPACITY,
+                DEFAULT_SPOOL_CAPACITY);
+        final String file = this.properties.getProperty(PropertiesConstants.OFFLINE_SPOOL_FILE);
+        if (file == null && TransportType.selected(this.properties) == TransportType.LOOPBACK)
+            return new OfflineSpool(ByteBuffer.allocate(capacity));
+        final Path path = file == null
+                ? Path.of(System.getProperty("java.io.tmpdir"),
+                        SPOOL_FILE_PREFIX + Objects.requireNonNullElse(this.clientID, DEFAULT_SPOOL_NAME)
+                                + SPOOL_FILE_EXTENSION)
+                : Path.of(file);
+        try {
+            return OfflineSpool.open(path, capacity);
+        } catch (IOException e) {
+            LoggerFactory.getLogger(getClass()).error("Can NOT open offline spool, keeping it in memory.", e);
+            return new OfflineSpool(ByteBuffer.allocate(capacity));
+        }
     }
 
-    private void initConnectionSettings() {
-        this.eventLoopGroup = new EventLoopGroup(2);
-        this.clientBootstrap = new ClientBootstrap(this.eventLoopGroup, new HostResolver(this.eventLoopGroup));
+    private void buildTransport() throws IOException {
+        try {
+            this.readProperties();
+        } catch (IOException e) {
+            if (TransportType.selected(this.properties) != TransportType.LOOPBACK)
+                throw e;
+        } finally {
+            this.telemetryEncoding = this.selectedTelemetryEncoding();
+        }
+        final TransportType transportType = TransportType.selected(this.properties);
+        final MqttTransport previousTransport = this.transport;
+        final MqttTransport previousPriorityTransport = this.priorityTransport;
+        this.transport = this.createBulkTransport(transportType);
+        this.transport.setLinkListener(this::onLinkChange);
+        this.built = true;
+        final boolean priorityConnection =
+                Boolean.parseBoolean(this.properties.getProperty(PropertiesConstants.PRIORITY_CONNECTION));
+        this.priorityTransport = priorityConnection
+                ? transportType.create(this.clientProperties(PRIORITY_CLIENT_SUFFIX))
+                : null;
+        if (previousTransport != null)
+            previousTransport.close();
+        if (previousPriorityTransport != null)
+            previousPriorityTransport.close();
+    }
+
+    private @NotNull MqttTransport createBulkTransport(final @NotNull TransportType transportType) {
+        final int shardCount = this.shardCount();
+        if (shardCount == 1)
+            return transportType.create(this.properties);
+        final List<MqttTransport> shards = new ArrayList<>(shardCount);
+        shards.add(transportType.create(this.properties));
+        for (int shard = 1; shard < shardCount; shard++)
+            shards.add(transportType.create(this.clientProperties(SHARD_CLIENT_SEPARATOR + shard)));
+        return new ShardedTransport(shards);
+    }
+
+    private int shardCount() {
+        return Math.max(1, PropertiesHelper.readInt(this.properties, PropertiesConstants.CONNECTION_SHARDS, 1));
+    }
+
+    private @NotNull Properties publisherProperties(final @NotNull Lane lane) {
+        final int shardCount = this.shardCount();
+        if (lane != Lane.BULK || shardCount == 1)
+            return this.properties;
+        final Properties publisherProperties = new Properties();
+        publisherProperties.putAll(this.properties);
+        publisherProperties.setProperty(PropertiesConstants.PUBLISH_MAX_IN_FLIGHT, String.valueOf(shardCount
+                * PropertiesHelper.readInt(this.properties, PropertiesConstants.PUBLISH_MAX_IN_FLIGHT,
+                        OutboundPublisher.DEFAULT_MAX_IN_FLIGHT)));
+        return publisherProperties;
+    }
+
+    private @NotNull Properties clientProperties(final String clientSuffix) {
+        final Properties clientProperties = new Properties();
+        clientProperties.putAll(this.properties);
+        final String baseClientID = this.properties.getProperty(PropertiesConstants.CLIENT_ID);
+        if (baseClientID != null)
+            clientProperties.setProperty(PropertiesConstants.CLIENT_ID, baseClientID + clientSuffix);
+        return clientProperties;
+    }
+
+    private TelemetryEncoding selectedTelemetryEncoding() {
+        final String value = System.getProperty(PropertiesConstants.TELEMETRY_ENCODING,
+                this.properties.getProperty(PropertiesConstants.TELEMETRY_ENCODING, TelemetryEncoding.JSON.name()));
+        try {
+            return TelemetryEncoding.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LoggerFactory.getLogger(getClass()).warn("Unknown telemetry encoding " + value + ", using JSON.", e);
+            return TelemetryEncoding.JSON;
+        }
     }
 
     private void readProperties() throws IOException {
         try (InputStream inputStream = Files.newInputStream(Path.of(PropertiesConstants.PROPERTIES_FILENAME))) {
             this.properties.load(inputStream);
-
-            this.certsFolderPath = this.properties.getProperty(PropertiesConstants.CERTS_FOLDER_PATH);
-            this.certificateFile = this.properties.getProperty(PropertiesConstants.CERTIFICATE_FILENAME);
-            this.privateKeyFile = this.properties.getProperty(PropertiesConstants.PRIVATE_KEY_FILENAME);
-            this.certificateAuthorityFile =
-                    this.properties.getProperty(PropertiesConstants.CERTIFICATE_AUTHORITY_FILENAME);
-            this.endpoint = this.properties.getProperty(PropertiesConstants.ENDPOINT);
             this.clientID = this.properties.getProperty(PropertiesConstants.CLIENT_ID);
-
-            this.buildConnection();
         }
     }
 
-    private void buildConnection() {
-        try (AwsIotMqttConnectionBuilder builder = AwsIotMqttConnectionBuilder.newMtlsBuilderFromPath(
-                this.certsFolderPath + this.certificateFile,
-                this.certsFolderPath + this.privateKeyFile)) {
-            this.clientConnection = builder
-                    .withCertificateAuthorityFromPath(
-                            System.getProperty("os.name").contains("win") ? "" : this.certsFolderPath,
-                            this.certsFolderPath + this.certificateAuthorityFile)
-                    .withBootstrap(this.clientBootstrap)
-                    .withClientId(this.clientID)
-                    .withEndpoint(this.endpoint)
-                    .withCleanSession(true)
-                    .build();
-        }
+    private static @NotNull IllegalStateException notBuilt() {
+        return new IllegalStateException("Connection has NOT been built.");
+    }
+
+    private static final class InstanceHolder {
+        private static final Connection INSTANCE = new Connection();
     }
 }
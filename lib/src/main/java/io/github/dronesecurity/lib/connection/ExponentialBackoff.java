@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Properties;
+
+/**
+ * Delays between consecutive attempts, doubling from {@link PropertiesConstants#RECONNECT_MIN_DELAY_MILLIS} up to
+ * {@link PropertiesConstants#RECONNECT_MAX_DELAY_MILLIS}.
+ */
+final class ExponentialBackoff {
+
+    private static final int DEFAULT_MIN_DELAY_MILLIS = 1000;
+    private static final int DEFAULT_MAX_DELAY_MILLIS = 60_000;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * Build the backoff.
+     * @param properties properties possibly overriding the default delays
+     */
+    ExponentialBackoff(final @NotNull Properties properties) {
+        this.minDelayMillis = Math.max(1, PropertiesHelper.readInt(properties,
+                PropertiesConstants.RECONNECT_MIN_DELAY_MILLIS, DEFAULT_MIN_DELAY_MILLIS));
+        this.maxDelayMillis = Math.max(this.minDelayMillis, PropertiesHelper.readInt(properties,
+                PropertiesConstants.RECONNECT_MAX_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS));
+    }
+
+    /**
+     * Gets the delay before an attempt.
+     * @param failedAttempts number of consecutive attempts already failed
+     * @return the delay in milliseconds
+     */
+    long delayMillis(final int failedAttempts) {
+        final int shift = Math.min(failedAttempts, Long.numberOfLeadingZeros(this.minDelayMillis) - 1);
+        return Math.min(this.maxDelayMillis, this.minDelayMillis << shift);
+    }
+}
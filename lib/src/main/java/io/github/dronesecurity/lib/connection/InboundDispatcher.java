@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hands received messages over from the transport threads to a dedicated thread for each {@link Lane}, so that slow
+ * handlers of telemetry never delay the handling of commands. Messages of the same lane are handled in order.
+ * Each lane has a bounded queue: when it is full, the {@link OverflowPolicy} of the topic either drops the message or
+ * makes the transport thread wait for space, so that no message is ever handled out of order.
+ */
+final class InboundDispatcher {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final String THREAD_NAME = "mqtt-inbound-";
+
+    private final Map<Lane, BlockingQueue<Runnable>> queues = new EnumMap<>(Lane.class);
+    private final Map<Lane, QueueingDelayStatistics> queueingDelays = new EnumMap<>(Lane.class);
+    private final Map<Lane, AtomicLong> droppedCounts = new EnumMap<>(Lane.class);
+    private final TrafficStatistics trafficStatistics;
+
+    /**
+     * Build the dispatcher, with a thread for each lane.
+     */
+    InboundDispatcher() {
+        this(new TrafficStatistics());
+    }
+
+    /**
+     * Build the dispatcher, with a thread for each lane, recording received messages and the time spent handling them.
+     * @param trafficStatistics statistics recording the traffic of each topic
+     */
+    InboundDispatcher(final TrafficStatistics trafficStatistics) {
+        this(trafficStatistics, QUEUE_CAPACITY);
+    }
+
+    /**
+     * Build the dispatcher, with a thread and a queue of the given capacity for each lane.
+     * @param trafficStatistics statistics recording the traffic of each topic
+     * @param queueCapacity maximum number of messages waiting to be handled in each lane
+     */
+    InboundDispatcher(final TrafficStatistics trafficStatistics, final int queueCapacity) {
+        this.trafficStatistics = trafficStatistics;
+        for (final Lane lane : Lane.values()) {
+            final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.queues.put(lane, queue);
+            this.queueingDelays.put(lane, new QueueingDelayStatistics());
+            this.droppedCounts.put(lane, new AtomicLong());
+            startWorker(lane, queue);
+        }
+    }
+
+    /**
+     * Wraps a consumer so that it handles messages on the thread of a lane. If the lane is saturated, messages whose
+     * {@link OverflowPolicy} is {@link OverflowPolicy#DROP} are discarded, while the others make the transport thread
+     * wait, slowing down reception instead of losing messages.
+     * @param lane the {@link Lane} of the subscribed topic
+     * @param consumer consumer that handles received messages
+     * @return the wrapped consumer
+     */
+    @NotNull Consumer<MqttMessage> wrap(final @NotNull Lane lane, final @NotNull Consumer<MqttMessage> consumer) {
+        final BlockingQueue<Runnable> queue = this.queues.get(lane);
+        final QueueingDelayStatistics queueingDelay = this.queueingDelays.get(lane);
+        final AtomicLong droppedCount = this.droppedCounts.get(lane);
+        return message -> {
+            final long receivedAt = System.nanoTime();
+            final Runnable handling = () -> {
+                final long handlingStart = System.nanoTime();
+                queueingDelay.record(handlingStart - receivedAt);
+                try {
+                    consumer.accept(message);
+                } finally {
+                    this.trafficStatistics.of(message.getTopic())
+                            .recordReceived(message.getPayload().length, System.nanoTime() - handlingStart);
+                }
+            };
+            if (TopicPolicy.of(message.getTopic()).getOverflowPolicy() == OverflowPolicy.DROP) {
+                if (!queue.offer(handling))
+                    droppedCount.incrementAndGet();
+            } else {
+                try {
+                    queue.put(handling);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.incrementAndGet();
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the statistics of the time spent by received messages before being handled.
+     * @param lane the {@link Lane} to inspect
+     * @return the {@link QueueingDelayStatistics} of the lane
+     */
+    QueueingDelayStatistics getQueueingDelay(final @NotNull Lane lane) {
+        return this.queueingDelays.get(lane);
+    }
+
+    /**
+     * Gets the number of received messages discarded because the lane was saturated.
+     * @param lane the {@link Lane} to inspect
+     * @return the number of dropped messages
+     */
+    long getDroppedCount(final @NotNull Lane lane) {
+        return this.droppedCounts.get(lane).get();
+    }
+
+    private static void startWorker(final @NotNull Lane lane, final @NotNull BlockingQueue<Runnable> queue) {
+        final Thread thread = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        queue.take().run();
+                    } catch (RuntimeException e) {
+                        LoggerFactory.getLogger(InboundDispatcher.class).error("Can NOT handle received message.", e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, THREAD_NAME + lane.name().toLowerCase(Locale.ROOT));
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
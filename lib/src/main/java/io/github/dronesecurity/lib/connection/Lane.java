@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+/**
+ * Independent paths followed by messages inside {@link Connection}, each one with its own outbound queue and inbound
+ * dispatching thread, so that messages of a lane never wait behind the ones of the other.
+ */
+public enum Lane {
+
+    /**
+     * Commands and alerts, whose latency must stay bounded.
+     */
+    PRIORITY,
+
+    /**
+     * Telemetry and any other traffic.
+     */
+    BULK
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of durations, with a bucket for every power of two of nanoseconds, so that percentiles are
+ * approximated by excess at most by a factor of two, without any allocation while recording.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE - 1;
+    private static final double PERCENT = 100.0;
+    private static final double MEDIAN = 50.0;
+    private static final double TAIL = 99.0;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a duration.
+     * @param nanos the duration in nanoseconds
+     */
+    void record(final long nanos) {
+        final long positiveNanos = Math.max(1, nanos);
+        this.buckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(positiveNanos));
+        this.count.increment();
+        this.totalNanos.add(positiveNanos);
+        this.maxNanos.accumulate(positiveNanos);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     * @return the number of durations
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the average of recorded durations.
+     * @return the average {@link Duration}, zero if nothing has been recorded
+     */
+    public Duration getAverage() {
+        final long recorded = this.count.sum();
+        return recorded == 0 ? Duration.ZERO : Duration.ofNanos(this.totalNanos.sum() / recorded);
+    }
+
+    /**
+     * Gets the maximum of recorded durations.
+     * @return the maximum {@link Duration}, zero if nothing has been recorded
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(this.maxNanos.get());
+    }
+
+    /**
+     * Gets the duration NOT exceeded by a percentage of recorded durations, as the upper bound of its bucket.
+     * @param percentile the percentage, between 0 and 100
+     * @return the percentile {@link Duration}, zero if nothing has been recorded
+     */
+    public Duration getPercentile(final double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += this.buckets.get(i);
+        final long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, PERCENT) / PERCENT));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank)
+                return Duration.ofNanos(Math.min((2L << i) - 1, this.maxNanos.get()));
+        }
+        return Duration.ZERO;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "count=" + this.getCount() + ", average=" + this.getAverage() + ", p50=" + this.getPercentile(MEDIAN)
+                + ", p99=" + this.getPercentile(TAIL) + ", max=" + this.getMax();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process MQTT broker shared by every {@link LoopbackTransport} of the JVM.
+ * Messages are dispatched in publishing order by a single thread: at most once messages are dropped when too many
+ * deliveries are pending, while at least once and exactly once messages are always delivered.
+ */
+final class LoopbackBroker {
+
+    private static final String LEVEL_SEPARATOR = "/";
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+    private static final int MAX_PENDING_AT_MOST_ONCE = 4096;
+    private static final String DISPATCHER_THREAD_NAME = "loopback-broker";
+    private static LoopbackBroker singleton;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<String, MqttMessage> retainedMessages = new ConcurrentHashMap<>();
+    private final AtomicInteger packetIdentifier = new AtomicInteger();
+    private final AtomicInteger pendingDeliveries = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    private LoopbackBroker() {
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, DISPATCHER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the broker of the JVM.
+     * @return the singleton broker
+     */
+    static LoopbackBroker getInstance() {
+        synchronized (LoopbackBroker.class) {
+            if (singleton == null)
+                singleton = new LoopbackBroker();
+            return singleton;
+        }
+    }
+
+    /**
+     * Publishes a message to every matching subscription, retaining it if requested.
+     * @param message the message to publish
+     * @return {@link CompletableFuture} giving the packet identifier
+     */
+    CompletableFuture<Integer> publish(final @NotNull MqttMessage message) {
+        if (message.getRetain()) {
+            if (message.getPayload().length == 0)
+                this.retainedMessages.remove(message.getTopic());
+            else
+                this.retainedMessages.put(message.getTopic(), message);
+        }
+        for (final Subscription subscription : this.subscriptions) {
+            if (matches(subscription.getTopicFilter(), message.getTopic()))
+                this.deliver(subscription, message, false);
+        }
+        return CompletableFuture.completedFuture(this.packetIdentifier.incrementAndGet());
+    }
+
+    /**
+     * Adds a subscription, delivering to it the matching retained messages.
+     * @param owner transport owning the subscription
+     * @param topicFilter the topic filter, possibly containing MQTT wildcards
+     * @param qos maximum {@link QualityOfService} of delivered messages
+     * @param consumer consumer that handles delivered messages
+     * @return {@link CompletableFuture} giving the packet identifier
+     */
+    CompletableFuture<Integer> subscribe(final LoopbackTransport owner,
+                                         final String topicFilter,
+                                         final QualityOfService qos,
+                                         final Consumer<MqttMessage> consumer) {
+        this.removeSubscription(owner, topicFilter);
+        final Subscription subscription = new Subscription(owner, topicFilter, qos, consumer);
+        this.subscriptions.add(subscription);
+        this.retainedMessages.forEach((topic, message) -> {
+            if (matches(topicFilter, topic))
+                this.deliver(subscription, message, true);
+        });
+        return CompletableFuture.completedFuture(this.packetIdentifier.incrementAndGet());
+    }
+
+    /**
+     * Removes a subscription.
+     * @param owner transport owning the subscription
+     * @param topicFilter the topic filter to unsubscribe from
+     * @return {@link CompletableFuture} giving the packet identifier
+     */
+    CompletableFuture<Integer> unsubscribe(final LoopbackTransport owner, final String topicFilter) {
+        this.removeSubscription(owner, topicFilter);
+        return CompletableFuture.completedFuture(this.packetIdentifier.incrementAndGet());
+    }
+
+    /**
+     * Removes every subscription of a transport.
+     * @param owner transport to disconnect
+     */
+    void disconnect(final LoopbackTransport owner) {
+        this.subscriptions.removeIf(subscription -> subscription.getOwner() == owner);
+    }
+
+    /**
+     * Checks if a topic matches a topic filter, following MQTT wildcard rules.
+     * @param topicFilter the topic filter, possibly containing MQTT wildcards
+     * @param topic the topic of a message
+     * @return true if the topic matches, false otherwise
+     */
+    static boolean matches(final @NotNull String topicFilter, final @NotNull String topic) {
+        final String[] filterLevels = topicFilter.split(LEVEL_SEPARATOR, -1);
+        final String[] topicLevels = topic.split(LEVEL_SEPARATOR, -1);
+        for (int i = 0; i < filterLevels.length; i++) {
+            if (MULTI_LEVEL_WILDCARD.equals(filterLevels[i]))
+                return true;
+            if (i >= topicLevels.length)
+                return false;
+            if (!SINGLE_LEVEL_WILDCARD.equals(filterLevels[i]) && !filterLevels[i].equals(topicLevels[i]))
+                return false;
+        }
+        return filterLevels.length == topicLevels.length;
+    }
+
+    private void removeSubscription(final LoopbackTransport owner, final String topicFilter) {
+        this.subscriptions.removeIf(subscription -> subscription.getOwner() == owner
+                && subscription.getTopicFilter().equals(topicFilter));
+    }
+
+    private void deliver(final @NotNull Subscription subscription,
+                         final @NotNull MqttMessage message,
+                         final boolean retained) {
+        final QualityOfService qos = message.getQos().getValue() < subscription.getQos().getValue()
+                ? message.getQos()
+                : subscription.getQos();
+        if (qos == QualityOfService.AT_MOST_ONCE && this.pendingDeliveries.get() >= MAX_PENDING_AT_MOST_ONCE)
+            return;
+        final MqttMessage delivered = new MqttMessage(message.getTopic(), message.getPayload(), qos, retained);
+        this.pendingDeliveries.incrementAndGet();
+        CompletableFuture.runAsync(() -> subscription.getConsumer().accept(delivered), this.dispatcher)
+                .whenComplete((ignored, error) -> {
+                    this.pendingDeliveries.decrementAndGet();
+                    if (error != null)
+                        LoggerFactory.getLogger(getClass())
+                                .error("Consumer failed on message of topic " + message.getTopic() + ".", error);
+                });
+    }
+
+    private static final class Subscription {
+
+        private final LoopbackTransport owner;
+        private final String topicFilter;
+        private final QualityOfService qos;
+        private final Consumer<MqttMessage> consumer;
+
+        private Subscription(final LoopbackTransport owner,
+                             final String topicFilter,
+                             final QualityOfService qos,
+                             final Consumer<MqttMessage> consumer) {
+            this.owner = owner;
+            this.topicFilter = topicFilter;
+            this.qos = qos;
+            this.consumer = consumer;
+        }
+
+        private LoopbackTransport getOwner() {
+            return this.owner;
+        }
+
+        private String getTopicFilter() {
+            return this.topicFilter;
+        }
+
+        private QualityOfService getQos() {
+            return this.qos;
+        }
+
+        private Consumer<MqttMessage> getConsumer() {
+            return this.consumer;
+        }
+    }
+}
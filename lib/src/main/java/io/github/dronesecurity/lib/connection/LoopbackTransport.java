@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link MqttTransport} exchanging messages through the in-process {@link LoopbackBroker}.
+ */
+final class LoopbackTransport implements MqttTransport {
+
+    private final LoopbackBroker broker;
+
+    /**
+     * Build the transport.
+     * @param broker broker to attach to
+     */
+    LoopbackTransport(final LoopbackBroker broker) {
+        this.broker = broker;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Boolean> connect() {
+        return CompletableFuture.completedFuture(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> publish(final MqttMessage message) {
+        return this.broker.publish(message);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> subscribe(final String topic,
+                                               final QualityOfService qos,
+                                               final Consumer<MqttMessage> consumer) {
+        return this.broker.subscribe(this, topic, qos, consumer);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> unsubscribe(final String topic) {
+        return this.broker.unsubscribe(this, topic);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setLinkListener(final Consumer<Boolean> listener) {
+        // The in-process broker never interrupts the connection.
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        this.broker.disconnect(this);
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+/**
+ * Exception thrown if a message has waited in the outbound queue of {@link Connection} longer than the expiry of its
+ * {@link TopicPolicy}.
+ */
+public final class MessageExpiredException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Build the exception.
+     * @param topic topic of the expired message
+     */
+    public MessageExpiredException(final String topic) {
+        super("Message on topic " + topic + " has expired before being sent!");
+    }
+}
@@ -102,5 +102,15 @@ public final class MqttMessageParameterConstants {
      */
     public static final String DRONE_MOVING_STATE_PARAMETER = "movingState";
 
+    /**
+     * Parameter that contains the number of camera frames recorded around the detection of a Negligence Report.
+     */
+    public static final String RECORDED_FRAMES = "recordedFrames";
+
+    /**
+     * Parameter that contains the identifier of the flight record of a Negligence Report, sent apart in chunks.
+     */
+    public static final String FLIGHT_RECORD = "flightRecord";
+
     private MqttMessageParameterConstants() { }
 }
@@ -55,5 +55,15 @@ public final class MqttTopicConstants {
      */
     public static final String CONTROL_TOPIC = "control";
 
+    /**
+     * Topic to send the chunks of the flight records attached to negligence reports.
+     */
+    public static final String FLIGHT_RECORDS_TOPIC = "flightRecords";
+
+    /**
+     * Suffix appended to a telemetry topic to publish binary frames instead of JSON documents.
+     */
+    public static final String BINARY_TOPIC_SUFFIX = "/bin";
+
     private MqttTopicConstants() { }
 }
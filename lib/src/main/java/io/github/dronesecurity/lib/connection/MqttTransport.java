@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * MQTT transport used by {@link Connection} to exchange messages.
+ */
+public interface MqttTransport {
+
+    /**
+     * Connects the transport to the broker.
+     * @return {@link CompletableFuture} giving true only if session is resumed, otherwise false
+     */
+    CompletableFuture<Boolean> connect();
+
+    /**
+     * Publishes a message.
+     * @param message the message to publish
+     * @return {@link CompletableFuture} giving the packet identifier once the message has been sent
+     */
+    CompletableFuture<Integer> publish(MqttMessage message);
+
+    /**
+     * Subscribes to a topic filter.
+     * @param topic the topic filter, possibly containing MQTT wildcards
+     * @param qos maximum {@link QualityOfService} of received messages
+     * @param consumer consumer that handles received messages
+     * @return {@link CompletableFuture} giving the packet identifier once the subscription is acknowledged
+     */
+    CompletableFuture<Integer> subscribe(String topic, QualityOfService qos, Consumer<MqttMessage> consumer);
+
+    /**
+     * Unsubscribes from a topic filter.
+     * @param topic the topic filter to unsubscribe from
+     * @return {@link CompletableFuture} giving the packet identifier once the unsubscription is acknowledged
+     */
+    CompletableFuture<Integer> unsubscribe(String topic);
+
+    /**
+     * Sets the listener notified when the connection is interrupted or resumed by the transport itself.
+     * @param listener consumer receiving true when the connection is resumed, false when it is interrupted
+     */
+    void setLinkListener(Consumer<Boolean> listener);
+
+    /**
+     * Disconnects the transport and releases its resources.
+     */
+    void close();
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of the messages published while the connection is down, usually backed by a memory-mapped file so
+ * that they survive a restart.
+ * The buffer starts with a header holding the offsets of the first record to replay and of the end of the last one,
+ * followed by the records, each one made of its length, its status, quality of service, retain flag, topic and
+ * payload. Replayed records and records exceeding the {@link TopicPolicy#getSpoolRetention()} of their topic are
+ * marked as superseded and skipped, while their space is reclaimed once the buffer is full.
+ */
+final class OfflineSpool {
+
+    /**
+     * Retention keeping every message of the topic.
+     */
+    static final int KEEP_ALL = -1;
+
+    /**
+     * Retention of the telemetry topics, keeping the latest frames only.
+     */
+    static final int LATEST_TELEMETRY = 16;
+
+    private static final int MAGIC = 0x53504F4C;
+    private static final int READ_OFFSET_POSITION = Integer.BYTES;
+    private static final int WRITE_OFFSET_POSITION = READ_OFFSET_POSITION + Integer.BYTES;
+    private static final int HEADER_SIZE = WRITE_OFFSET_POSITION + Integer.BYTES;
+    private static final int STATUS_POSITION = Integer.BYTES;
+    private static final int QOS_POSITION = STATUS_POSITION + 1;
+    private static final int RETAIN_POSITION = QOS_POSITION + 1;
+    private static final int TOPIC_LENGTH_POSITION = RETAIN_POSITION + 1;
+    private static final int RECORD_HEADER_SIZE = TOPIC_LENGTH_POSITION + Short.BYTES;
+    private static final byte LIVE = 1;
+    private static final byte SUPERSEDED = 2;
+
+    private final ByteBuffer buffer;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Map<String, Deque<Entry>> liveEntriesByTopic = new HashMap<>();
+    private int readOffset;
+    private int writeOffset;
+    private int liveCount;
+    private Entry peekedEntry;
+
+    /**
+     * Build the spool over a buffer, recovering the records it already contains.
+     * @param buffer buffer holding the records, either on heap or memory-mapped
+     */
+    OfflineSpool(final @NotNull ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (this.buffer.capacity() <= HEADER_SIZE)
+            throw new IllegalArgumentException("Spool capacity is too small.");
+        this.recover();
+    }
+
+    /**
+     * Opens a spool backed by a memory-mapped file, creating it if it does NOT exist.
+     * @param file the spool file
+     * @param capacity size of the file in bytes
+     * @return the spool containing the records not yet replayed
+     * @throws IOException if the file can NOT be opened or mapped
+     */
+    static @NotNull OfflineSpool open(final @NotNull Path file, final int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new OfflineSpool(channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Appends a message, superseding the oldest one of the same topic if its retention is exceeded.
+     * @param message the message to store
+     * @return true if the message has been stored, false if its topic is NOT spooled or there is no space left
+     */
+    synchronized boolean append(final @NotNull MqttMessage message) {
+        final int retention = TopicPolicy.of(message.getTopic()).getSpoolRetention();
+        if (retention == 0)
+            return false;
+        final byte[] topic = message.getTopic().getBytes(StandardCharsets.UTF_8);
+        final byte[] payload = message.getPayload();
+        final int length = RECORD_HEADER_SIZE + topic.length + payload.length;
+        if (topic.length > Short.MAX_VALUE || !this.ensureSpace(length))
+            return false;
+        final int offset = this.writeOffset;
+        this.buffer.putInt(offset, length);
+        this.buffer.put(offset + STATUS_POSITION, LIVE);
+        this.buffer.put(offset + QOS_POSITION, (byte) message.getQos().ordinal());
+        this.buffer.put(offset + RETAIN_POSITION, (byte) (message.getRetain() ? 1 : 0));
+        this.buffer.putShort(offset + TOPIC_LENGTH_POSITION, (short) topic.length);
+        this.putBytes(offset + RECORD_HEADER_SIZE, topic);
+        this.putBytes(offset + RECORD_HEADER_SIZE + topic.length, payload);
+        this.setWriteOffset(offset + length);
+        this.track(new Entry(offset, length, message.getTopic(), false), retention);
+        return true;
+    }
+
+    /**
+     * Gets the oldest message NOT yet replayed, without removing it.
+     * @return the oldest message, null if the spool is empty
+     */
+    synchronized @Nullable MqttMessage peek() {
+        this.skipSuperseded();
+        this.peekedEntry = this.entries.peekFirst();
+        return this.peekedEntry == null ? null : this.read(this.peekedEntry);
+    }
+
+    /**
+     * Removes the message given by the last {@link #peek()}, once it has been replayed. Nothing happens if it has been
+     * superseded in the meantime.
+     */
+    synchronized void remove() {
+        final Entry entry = this.peekedEntry;
+        this.peekedEntry = null;
+        if (entry == null || entry.isSuperseded())
+            return;
+        this.liveEntriesByTopic.get(entry.getTopic()).remove(entry);
+        this.discard(entry);
+        this.skipSuperseded();
+    }
+
+    /**
+     * Gets the number of messages waiting to be replayed.
+     * @return the number of spooled messages
+     */
+    synchronized int size() {
+        return this.liveCount;
+    }
+
+    /**
+     * Checks if there is no message waiting to be replayed.
+     * @return true if the spool is empty, false otherwise
+     */
+    synchronized boolean isEmpty() {
+        return this.liveCount == 0;
+    }
+
+    /**
+     * Writes the content of a memory-mapped spool to its file.
+     */
+    synchronized void force() {
+        if (this.buffer instanceof MappedByteBuffer)
+            ((MappedByteBuffer) this.buffer).force();
+    }
+
+    private void recover() {
+        final int read = this.buffer.getInt(READ_OFFSET_POSITION);
+        final int write = this.buffer.getInt(WRITE_OFFSET_POSITION);
+        if (this.buffer.getInt(0) != MAGIC || read < HEADER_SIZE || write < read || write > this.buffer.capacity()) {
+            this.buffer.putInt(0, MAGIC);
+            this.setReadOffset(HEADER_SIZE);
+            this.setWriteOffset(HEADER_SIZE);
+            return;
+        }
+        this.readOffset = read;
+        this.writeOffset = write;
+        int offset = read;
+        while (offset < write) {
+            final int length = this.buffer.getInt(offset);
+            if (length < RECORD_HEADER_SIZE || offset + length > write
+                    || RECORD_HEADER_SIZE + this.buffer.getShort(offset + TOPIC_LENGTH_POSITION) > length) {
+                this.setWriteOffset(offset);
+                break;
+            }
+            final boolean superseded = this.buffer.get(offset + STATUS_POSITION) == SUPERSEDED;
+            final String topic = this.readTopic(offset);
+            this.track(new Entry(offset, length, topic, superseded), TopicPolicy.of(topic).getSpoolRetention());
+            offset += length;
+        }
+        this.skipSuperseded();
+    }
+
+    private void track(final @NotNull Entry entry, final int retention) {
+        this.entries.addLast(entry);
+        if (entry.isSuperseded())
+            return;
+        final Deque<Entry> topicEntries =
+                this.liveEntriesByTopic.computeIfAbsent(entry.getTopic(), topic -> new ArrayDeque<>());
+        topicEntries.addLast(entry);
+        this.liveCount++;
+        if (retention > 0 && topicEntries.size() > retention)
+            this.discard(topicEntries.pollFirst());
+    }
+
+    private void discard(final @NotNull Entry entry) {
+        entry.supersede();
+        this.buffer.put(entry.getOffset() + STATUS_POSITION, SUPERSEDED);
+        this.liveCount--;
+    }
+
+    private void skipSuperseded() {
+        while (!this.entries.isEmpty() && this.entries.peekFirst().isSuperseded()) {
+            final Entry entry = this.entries.pollFirst();
+            this.setReadOffset(entry.getOffset() + entry.getLength());
+        }
+        if (this.entries.isEmpty() && this.writeOffset != HEADER_SIZE) {
+            this.setReadOffset(HEADER_SIZE);
+            this.setWriteOffset(HEADER_SIZE);
+        }
+    }
+
+    private boolean ensureSpace(final int length) {
+        if (this.writeOffset + length <= this.buffer.capacity())
+            return true;
+        this.compact();
+        return this.writeOffset + length <= this.buffer.capacity();
+    }
+
+    private void compact() {
+        final List<Entry> liveEntries = new ArrayList<>(this.liveCount);
+        int offset = HEADER_SIZE;
+        for (final Entry entry : this.entries) {
+            if (entry.isSuperseded())
+                continue;
+            final byte[] record = new byte[entry.getLength()];
+            this.getBytes(entry.getOffset(), record);
+            this.putBytes(offset, record);
+            entry.moveTo(offset);
+            offset += entry.getLength();
+            liveEntries.add(entry);
+        }
+        this.entries.clear();
+        this.entries.addAll(liveEntries);
+        this.setReadOffset(HEADER_SIZE);
+        this.setWriteOffset(offset);
+    }
+
+    private @NotNull MqttMessage read(final @NotNull Entry entry) {
+        final int offset = entry.getOffset();
+        final int topicLength = this.buffer.getShort(offset + TOPIC_LENGTH_POSITION);
+        final byte[] payload = new byte[entry.getLength() - RECORD_HEADER_SIZE - topicLength];
+        this.getBytes(offset + RECORD_HEADER_SIZE + topicLength, payload);
+        return new MqttMessage(entry.getTopic(), payload,
+                QualityOfService.values()[this.buffer.get(offset + QOS_POSITION)],
+                this.buffer.get(offset + RETAIN_POSITION) != 0);
+    }
+
+    private @NotNull String readTopic(final int offset) {
+        final byte[] topic = new byte[this.buffer.getShort(offset + TOPIC_LENGTH_POSITION)];
+        this.getBytes(offset + RECORD_HEADER_SIZE, topic);
+        return new String(topic, StandardCharsets.UTF_8);
+    }
+
+    private void getBytes(final int offset, final byte @NotNull [] destination) {
+        this.buffer.duplicate().position(offset).get(destination);
+    }
+
+    private void putBytes(final int offset, final byte @NotNull [] source) {
+        this.buffer.duplicate().position(offset).put(source);
+    }
+
+    private void setReadOffset(final int offset) {
+        this.readOffset = offset;
+        this.buffer.putInt(READ_OFFSET_POSITION, offset);
+    }
+
+    private void setWriteOffset(final int offset) {
+        this.writeOffset = offset;
+        this.buffer.putInt(WRITE_OFFSET_POSITION, offset);
+    }
+
+    private static final class Entry {
+
+        private final int length;
+        private final String topic;
+        private int offset;
+        private boolean superseded;
+
+        private Entry(final int offset, final int length, final String topic, final boolean superseded) {
+            this.offset = offset;
+            this.length = length;
+            this.topic = topic;
+            this.superseded = superseded;
+        }
+
+        private int getOffset() {
+            return this.offset;
+        }
+
+        private int getLength() {
+            return this.length;
+        }
+
+        private String getTopic() {
+            return this.topic;
+        }
+
+        private boolean isSuperseded() {
+            return this.superseded;
+        }
+
+        private void supersede() {
+            this.superseded = true;
+        }
+
+        private void moveTo(final int newOffset) {
+            this.offset = newOffset;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Asynchronous publishing pipeline of a {@link Lane} of {@link Connection}, made of a bounded queue drained by a
+ * dedicated sender thread, which hands messages to the transport one at a time while the in-flight window allows it.
+ */
+final class OutboundPublisher {
+
+    /**
+     * Maximum number of messages sent but not yet acknowledged, unless specified by
+     * {@link PropertiesConstants#PUBLISH_MAX_IN_FLIGHT}.
+     */
+    static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_BLOCK_TIMEOUT_MILLIS = 5000;
+    private static final String SENDER_THREAD_NAME = "mqtt-publisher-";
+    private static final String STOPPED_REASON = "publisher has been stopped";
+
+    private final Function<MqttMessage, CompletableFuture<Integer>> sink;
+    private final BlockingQueue<PendingPublish> queue;
+    private final Semaphore inFlight;
+    private final long blockTimeoutMillis;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object drainMonitor = new Object();
+    private final QueueingDelayStatistics queueingDelay = new QueueingDelayStatistics();
+    private final TrafficStatistics trafficStatistics;
+    private final Thread sender;
+    private volatile boolean stopped;
+
+    /**
+     * Build the publisher and starts its sender thread.
+     * @param lane the {@link Lane} served by the publisher
+     * @param sink function actually sending a message, giving the packet identifier once acknowledged
+     * @param properties properties possibly overriding the default settings
+     */
+    OutboundPublisher(final @NotNull Lane lane,
+                      final Function<MqttMessage, CompletableFuture<Integer>> sink,
+                      final @NotNull Properties properties) {
+        this(lane, sink, properties, new TrafficStatistics());
+    }
+
+    /**
+     * Build the publisher and starts its sender thread, recording the time spent encoding messages.
+     * @param lane the {@link Lane} served by the publisher
+     * @param sink function actually sending a message, giving the packet identifier once acknowledged
+     * @param properties properties possibly overriding the default settings
+     * @param trafficStatistics statistics recording the encoding time of each topic
+     */
+    OutboundPublisher(final @NotNull Lane lane,
+                      final Function<MqttMessage, CompletableFuture<Integer>> sink,
+                      final @NotNull Properties properties,
+                      final TrafficStatistics trafficStatistics) {
+        this.sink = sink;
+        this.trafficStatistics = trafficStatistics;
+        this.queue = new ArrayBlockingQueue<>(PropertiesHelper.readInt(properties,
+                PropertiesConstants.PUBLISH_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY));
+        this.inFlight = new Semaphore(PropertiesHelper.readInt(properties,
+                PropertiesConstants.PUBLISH_MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT));
+        this.blockTimeoutMillis = PropertiesHelper.readInt(properties,
+                PropertiesConstants.PUBLISH_BLOCK_TIMEOUT_MILLIS, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+
+        this.sender = new Thread(this::sendLoop, SENDER_THREAD_NAME + lane.name().toLowerCase(Locale.ROOT));
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * Enqueues a message, applying the {@link OverflowPolicy} of its {@link TopicPolicy} if the queue is full.
+     * @param topic the topic to publish on
+     * @param payload {@link JsonNode} to attach to the message
+     * @return {@link CompletableFuture} giving the packet identifier once the message has been sent
+     */
+    CompletableFuture<Integer> publish(final String topic, final JsonNode payload) {
+        return this.enqueue(new PendingPublish(topic, payload, null));
+    }
+
+    /**
+     * Enqueues an already encoded message, applying the {@link OverflowPolicy} of its {@link TopicPolicy} if the queue
+     * is full.
+     * @param topic the topic to publish on
+     * @param payload bytes to attach to the message
+     * @return {@link CompletableFuture} giving the packet identifier once the message has been sent
+     */
+    CompletableFuture<Integer> publish(final String topic, final byte[] payload) {
+        return this.enqueue(new PendingPublish(topic, null, payload));
+    }
+
+    private CompletableFuture<Integer> enqueue(final @NotNull PendingPublish message) {
+        final String topic = message.getTopic();
+        this.pending.incrementAndGet();
+        boolean accepted;
+        if (message.getPolicy().getOverflowPolicy() == OverflowPolicy.DROP)
+            accepted = this.queue.offer(message);
+        else {
+            try {
+                accepted = this.queue.offer(message, this.blockTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        }
+        if (!accepted) {
+            this.completed();
+            message.getFuture().completeExceptionally(new PublishRejectedException(topic));
+        } else if (this.stopped)
+            this.rejectQueued();
+        return message.getFuture();
+    }
+
+    /**
+     * Waits until every accepted message has been completed.
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @return true if the queue has been drained in time, false otherwise
+     */
+    boolean flush(final long timeoutMillis) {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this.drainMonitor) {
+            while (this.pending.get() > 0) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+                try {
+                    this.drainMonitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the statistics of the time spent by messages between being accepted and being handed to the transport.
+     * @return the {@link QueueingDelayStatistics} of the publisher
+     */
+    QueueingDelayStatistics getQueueingDelay() {
+        return this.queueingDelay;
+    }
+
+    /**
+     * Stops the sender thread. Messages NOT handed to the transport yet, and the ones published from now on, are
+     * completed exceptionally with {@link PublishRejectedException}.
+     */
+    void stop() {
+        this.sender.interrupt();
+    }
+
+    private void sendLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final PendingPublish message = this.queue.take();
+                try {
+                    this.send(message);
+                } catch (InterruptedException e) {
+                    this.reject(message);
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Messages accepted after this flag is seen are rejected by their publisher, so none is left pending.
+        this.stopped = true;
+        this.rejectQueued();
+    }
+
+    private void rejectQueued() {
+        PendingPublish message = this.queue.poll();
+        while (message != null) {
+            this.reject(message);
+            message = this.queue.poll();
+        }
+    }
+
+    private void reject(final @NotNull PendingPublish message) {
+        message.getFuture().completeExceptionally(new PublishRejectedException(message.getTopic(), STOPPED_REASON));
+        this.completed();
+    }
+
+    private void send(final @NotNull PendingPublish message) throws InterruptedException {
+        final TopicPolicy policy = message.getPolicy();
+        this.inFlight.acquire();
+        this.queueingDelay.record(System.nanoTime() - message.getEnqueuedAt());
+        if (message.isExpired()) {
+            this.inFlight.release();
+            message.getFuture().completeExceptionally(new MessageExpiredException(message.getTopic()));
+            this.completed();
+            return;
+        }
+        final long encodingStart = System.nanoTime();
+        final byte[] payload = message.toBytes();
+        if (message.isJson())
+            this.trafficStatistics.of(policy).recordEncoding(System.nanoTime() - encodingStart);
+        final MqttMessage mqttMessage =
+                new MqttMessage(message.getTopic(), payload, policy.getQos(), policy.isRetain());
+        CompletableFuture.completedFuture(mqttMessage).thenCompose(this.sink).whenComplete((packetId, error) -> {
+            this.inFlight.release();
+            if (error == null)
+                message.getFuture().complete(packetId);
+            else
+                message.getFuture().completeExceptionally(error);
+            this.completed();
+        });
+    }
+
+    private void completed() {
+        if (this.pending.decrementAndGet() == 0) {
+            synchronized (this.drainMonitor) {
+                this.drainMonitor.notifyAll();
+            }
+        }
+    }
+
+    private static final class PendingPublish {
+
+        private final String topic;
+        private final JsonNode json;
+        private final byte[] bytes;
+        private final TopicPolicy policy;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        private PendingPublish(final String topic, final JsonNode json, final byte[] bytes) {
+            this.topic = topic;
+            this.json = json;
+            this.bytes = bytes;
+            this.policy = TopicPolicy.of(topic);
+        }
+
+        private String getTopic() {
+            return this.topic;
+        }
+
+        private TopicPolicy getPolicy() {
+            return this.policy;
+        }
+
+        private long getEnqueuedAt() {
+            return this.enqueuedAt;
+        }
+
+        private boolean isExpired() {
+            final long expiryNanos = this.policy.getExpiry().toNanos();
+            return expiryNanos > 0 && System.nanoTime() - this.enqueuedAt > expiryNanos;
+        }
+
+        private boolean isJson() {
+            return this.bytes == null;
+        }
+
+        private byte[] toBytes() {
+            return this.bytes == null ? MessageCodecHelper.encode(this.json) : this.bytes;
+        }
+
+        private CompletableFuture<Integer> getFuture() {
+            return this.future;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+/**
+ * Behaviour of the outbound queue of {@link Connection} when it is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The new message is discarded, without stalling the caller.
+     */
+    DROP,
+
+    /**
+     * The caller waits for space in the queue, up to the configured timeout.
+     */
+    BLOCK
+}
@@ -45,5 +45,79 @@ public final class PropertiesConstants {
      */
     public static final String CLIENT_ID = "clientID";
 
+    /**
+     * Transport to use, either "aws" (default) or "loopback". It can be overridden by the system property with the
+     * same name.
+     */
+    public static final String TRANSPORT = "transport";
+
+    /**
+     * Encoding of published telemetry, either "json" (default), "binary" or "both". It can be overridden by the system
+     * property with the same name.
+     */
+    public static final String TELEMETRY_ENCODING = "telemetryEncoding";
+
+    /**
+     * Maximum number of messages waiting in the outbound queue.
+     */
+    public static final String PUBLISH_QUEUE_CAPACITY = "publishQueueCapacity";
+
+    /**
+     * Milliseconds a blocking publish waits for space in the outbound queue.
+     */
+    public static final String PUBLISH_BLOCK_TIMEOUT_MILLIS = "publishBlockTimeoutMillis";
+
+    /**
+     * Maximum number of messages sent but not yet acknowledged.
+     */
+    public static final String PUBLISH_MAX_IN_FLIGHT = "publishMaxInFlight";
+
+    /**
+     * Whether commands and alerts have to use a dedicated client connection, "true" or "false" (default).
+     */
+    public static final String PRIORITY_CONNECTION = "priorityConnection";
+
+    /**
+     * Number of client connections sharing the non-priority topics, assigned by topic hash, 1 by default. The
+     * maximum number of messages in flight is multiplied by the same amount.
+     */
+    public static final String CONNECTION_SHARDS = "connectionShards";
+
+    /**
+     * Path of the file storing the messages published while the connection is down. If NOT specified, the file is
+     * created in the temporary folder, or the messages are kept in memory when using the loopback transport.
+     */
+    public static final String OFFLINE_SPOOL_FILE = "offlineSpoolFile";
+
+    /**
+     * Size in bytes of the offline spool.
+     */
+    public static final String OFFLINE_SPOOL_CAPACITY = "offlineSpoolCapacity";
+
+    /**
+     * Maximum number of spooled messages replayed per second once the connection is up again.
+     */
+    public static final String SPOOL_REPLAY_RATE = "spoolReplayRate";
+
+    /**
+     * Milliseconds waited before the first reconnection attempt, doubled at every failed attempt.
+     */
+    public static final String RECONNECT_MIN_DELAY_MILLIS = "reconnectMinDelayMillis";
+
+    /**
+     * Maximum milliseconds waited between reconnection attempts.
+     */
+    public static final String RECONNECT_MAX_DELAY_MILLIS = "reconnectMaxDelayMillis";
+
+    /**
+     * Milliseconds between two dumps of the {@link TrafficStatistics} of the connection, 0 (default) to disable them.
+     */
+    public static final String TRAFFIC_REPORT_MILLIS = "trafficReportMillis";
+
+    /**
+     * Path of the CSV file the traffic dumps are appended to. If NOT specified, they are logged.
+     */
+    public static final String TRAFFIC_REPORT_FILE = "trafficReportFile";
+
     private PropertiesConstants() { }
 }
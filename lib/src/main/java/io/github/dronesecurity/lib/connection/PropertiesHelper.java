@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.Properties;
+
+/**
+ * Helper reading the optional settings of {@link PropertiesConstants}.
+ */
+final class PropertiesHelper {
+
+    private PropertiesHelper() { }
+
+    /**
+     * Reads an integer property.
+     * @param properties properties to read
+     * @param key key of the property
+     * @param defaultValue value used if the property is missing or invalid
+     * @return the value of the property
+     */
+    static int readInt(final @NotNull Properties properties, final String key, final int defaultValue) {
+        final String value = properties.getProperty(key);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LoggerFactory.getLogger(PropertiesHelper.class).warn("Invalid value for property " + key + ".", e);
+            return defaultValue;
+        }
+    }
+}
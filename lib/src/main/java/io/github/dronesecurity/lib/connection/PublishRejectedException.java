@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+/**
+ * Exception thrown if a message can NOT be accepted by the outbound queue of {@link Connection}.
+ */
+public final class PublishRejectedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Build the exception.
+     * @param topic topic of the rejected message
+     */
+    public PublishRejectedException(final String topic) {
+        this(topic, "outbound queue is full");
+    }
+
+    /**
+     * Build the exception, telling why the message has been rejected.
+     * @param topic topic of the rejected message
+     * @param reason why the message has been rejected
+     */
+    public PublishRejectedException(final String topic, final String reason) {
+        super("Message on topic " + topic + " has been rejected, " + reason + "!");
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe statistics of the time spent by messages waiting in a queue of a {@link Lane}.
+ */
+public final class QueueingDelayStatistics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records the delay of a message.
+     * @param delayNanos time waited in nanoseconds
+     */
+    void record(final long delayNanos) {
+        this.count.increment();
+        this.totalNanos.add(delayNanos);
+        this.maxNanos.accumulate(delayNanos);
+    }
+
+    /**
+     * Gets the number of recorded messages.
+     * @return the number of messages
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the average delay of recorded messages.
+     * @return the average {@link Duration}, zero if nothing has been recorded
+     */
+    public Duration getAverage() {
+        final long recorded = this.count.sum();
+        return recorded == 0 ? Duration.ZERO : Duration.ofNanos(this.totalNanos.sum() / recorded);
+    }
+
+    /**
+     * Gets the maximum delay of recorded messages.
+     * @return the maximum {@link Duration}, zero if nothing has been recorded
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(this.maxNanos.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "count=" + this.getCount() + ", average=" + this.getAverage() + ", max=" + this.getMax();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link MqttTransport} made of a pool of client connections, each one carrying the topics whose hash falls in its
+ * shard. Messages of the same topic keep their order, while different topics are sent in parallel over as many
+ * sockets, each one with its own in-flight window.
+ * Subscriptions follow the same hashing, so that the received messages of different topics are read in parallel as
+ * well: this needs subscriptions to concrete topics, like the ones made by {@link TopicRouter}, since a wildcard filter
+ * is carried by a single shard.
+ * The pool is reported as interrupted as soon as any shard is interrupted, and as resumed only once every shard is.
+ */
+final class ShardedTransport implements MqttTransport {
+
+    private final List<MqttTransport> shards;
+    private final boolean[] interruptedShards;
+    private int interruptedCount;
+    private Consumer<Boolean> linkListener = resumed -> { };
+
+    /**
+     * Build the transport.
+     * @param shards the client connections of the pool
+     */
+    ShardedTransport(final @NotNull List<MqttTransport> shards) {
+        if (shards.isEmpty())
+            throw new IllegalArgumentException("At least one shard is needed.");
+        this.shards = List.copyOf(shards);
+        this.interruptedShards = new boolean[shards.size()];
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            final int index = shard;
+            this.shards.get(shard).setLinkListener(resumed -> this.onShardLinkChange(index, resumed));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Boolean> connect() {
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<Boolean>[] connections = this.shards.stream()
+                .map(MqttTransport::connect)
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(connections).thenApply(ignored -> connections[0].join());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> publish(final @NotNull MqttMessage message) {
+        return this.shardFor(message.getTopic()).publish(message);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> subscribe(final String topic,
+                                               final QualityOfService qos,
+                                               final Consumer<MqttMessage> consumer) {
+        return this.shardFor(topic).subscribe(topic, qos, consumer);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Integer> unsubscribe(final String topic) {
+        return this.shardFor(topic).unsubscribe(topic);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void setLinkListener(final Consumer<Boolean> listener) {
+        this.linkListener = listener;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        this.shards.forEach(MqttTransport::close);
+    }
+
+    /*
+     * Changes are notified while holding the lock, so that the listener sees them in the same order as they are
+     * counted.
+     */
+    private synchronized void onShardLinkChange(final int shard, final boolean resumed) {
+        if (this.interruptedShards[shard] != resumed)
+            return;
+        this.interruptedShards[shard] = !resumed;
+        if (resumed) {
+            this.interruptedCount--;
+            if (this.interruptedCount == 0)
+                this.linkListener.accept(true);
+        } else {
+            this.interruptedCount++;
+            if (this.interruptedCount == 1)
+                this.linkListener.accept(false);
+        }
+    }
+
+    private MqttTransport shardFor(final @NotNull String topic) {
+        return this.shards.get(Math.floorMod(topic.hashCode(), this.shards.size()));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Uplink of {@link Connection} handing messages to the transport while the connection is up, and storing them in the
+ * {@link OfflineSpool} while it is down. Once the connection is up again, spooled messages are replayed in order at a
+ * limited rate by a dedicated thread, and newer messages are spooled behind them until the spool is empty.
+ * Messages of topics with no {@link TopicPolicy#getSpoolRetention()} are always handed to the transport.
+ */
+final class StoreAndForward {
+
+    /**
+     * Packet identifier given to messages stored in the spool instead of being sent.
+     */
+    static final int SPOOLED_PACKET_ID = 0;
+
+    private static final int DEFAULT_REPLAY_RATE = 20;
+    private static final long REPLAY_ACK_TIMEOUT_MILLIS = 10_000;
+    private static final String REPLAY_THREAD_NAME = "mqtt-spool-replay";
+
+    private final OfflineSpool spool;
+    private final Function<MqttMessage, CompletableFuture<Integer>> uplink;
+    private final ExponentialBackoff backoff;
+    private final long replayIntervalNanos;
+    private final ExecutorService replayer;
+    private boolean online;
+    private boolean replaying;
+
+    /**
+     * Build the uplink, initially offline.
+     * @param spool spool storing messages while offline
+     * @param uplink function actually sending a message, giving the packet identifier once acknowledged
+     * @param properties properties possibly overriding the replay rate and the retry delays
+     */
+    StoreAndForward(final @NotNull OfflineSpool spool,
+                    final Function<MqttMessage, CompletableFuture<Integer>> uplink,
+                    final @NotNull Properties properties) {
+        this.spool = spool;
+        this.uplink = uplink;
+        this.backoff = new ExponentialBackoff(properties);
+        this.replayIntervalNanos = TimeUnit.SECONDS.toNanos(1)
+                / Math.max(1, PropertiesHelper.readInt(properties, PropertiesConstants.SPOOL_REPLAY_RATE,
+                        DEFAULT_REPLAY_RATE));
+        this.replayer = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, REPLAY_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends a message if the connection is up and nothing is waiting to be replayed, otherwise spools it. A message
+     * failing to be sent is spooled too, to be retried in order.
+     * @param message the message to send
+     * @return {@link CompletableFuture} giving the packet identifier once the message has been sent, or
+     * {@link #SPOOLED_PACKET_ID} once it has been spooled
+     */
+    CompletableFuture<Integer> send(final @NotNull MqttMessage message) {
+        if (TopicPolicy.of(message.getTopic()).getSpoolRetention() == 0)
+            return this.uplink.apply(message);
+        synchronized (this) {
+            if (!this.online || this.replaying || !this.spool.isEmpty())
+                return this.store(message);
+        }
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        this.uplink.apply(message).whenComplete((packetId, error) -> {
+            if (error == null)
+                result.complete(packetId);
+            else {
+                LoggerFactory.getLogger(getClass()).warn("Can NOT send message, spooling it.", error);
+                this.store(message).whenComplete((spooled, spoolError) -> {
+                    if (spoolError == null)
+                        result.complete(spooled);
+                    else
+                        result.completeExceptionally(error);
+                });
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Notifies that the connection is up, starting the replay of the spooled messages.
+     */
+    void linkUp() {
+        synchronized (this) {
+            this.online = true;
+        }
+        this.startReplay();
+    }
+
+    /**
+     * Notifies that the connection is down, so that messages are spooled from now on.
+     */
+    void linkDown() {
+        synchronized (this) {
+            this.online = false;
+        }
+    }
+
+    /**
+     * Gets the number of messages waiting to be replayed.
+     * @return the number of spooled messages
+     */
+    int getSpooledCount() {
+        return this.spool.size();
+    }
+
+    /**
+     * Writes the spool to its file, if any.
+     */
+    void force() {
+        this.spool.force();
+    }
+
+    private CompletableFuture<Integer> store(final @NotNull MqttMessage message) {
+        if (!this.spool.append(message)) {
+            LoggerFactory.getLogger(getClass()).warn("Offline spool is full, message on topic " + message.getTopic()
+                    + " is handed to the transport.");
+            return this.uplink.apply(message);
+        }
+        this.startReplay();
+        return CompletableFuture.completedFuture(SPOOLED_PACKET_ID);
+    }
+
+    private void startReplay() {
+        synchronized (this) {
+            if (!this.online || this.replaying || this.spool.isEmpty())
+                return;
+            this.replaying = true;
+        }
+        this.replayer.execute(this::replay);
+    }
+
+    private void replay() {
+        int failedAttempts = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            final MqttMessage message;
+            synchronized (this) {
+                message = this.online ? this.spool.peek() : null;
+                if (message == null) {
+                    this.replaying = false;
+                    return;
+                }
+            }
+            try {
+                this.uplink.apply(message).get(REPLAY_ACK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                this.spool.remove();
+                failedAttempts = 0;
+                LockSupport.parkNanos(this.replayIntervalNanos);
+            } catch (ExecutionException | TimeoutException e) {
+                LoggerFactory.getLogger(getClass()).warn("Can NOT replay spooled message, retrying later.", e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(this.backoff.delayMillis(failedAttempts++)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            this.replaying = false;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.time.Duration;
+
+/**
+ * Delivery guarantees of every family of topics, matched by the prefixes of {@link MqttTopicConstants}.
+ * Telemetry is fire-and-forget, since a stale sample is worthless and acknowledging each one is most of the broker
+ * load, while commands, lifecycle and reports are delivered at least once. Commands and alerts travel on the
+ * {@link Lane#PRIORITY} lane. While the connection is down, messages are kept according to their spool retention.
+ */
+public enum TopicPolicy {
+
+    /**
+     * Sensor data snapshots, discarded if they can NOT be sent within a second. Only the latest ones are spooled
+     * while offline.
+     */
+    DATA(MqttTopicConstants.DATA_TOPIC, QualityOfService.AT_MOST_ONCE, false, Duration.ofSeconds(1), Lane.BULK,
+            OfflineSpool.LATEST_TELEMETRY),
+
+    /**
+     * Performance measurements, never expired so that delays are tracked faithfully, but NOT spooled since delays
+     * measured across an outage are meaningless.
+     */
+    PERFORMANCE(MqttTopicConstants.PERFORMANCE_TOPIC, QualityOfService.AT_MOST_ONCE, false, Duration.ZERO, Lane.BULK,
+            0),
+
+    /**
+     * Alert level changes.
+     */
+    ALERT_LEVEL(MqttTopicConstants.ALERT_LEVEL_TOPIC, QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO,
+            Lane.PRIORITY, OfflineSpool.KEEP_ALL),
+
+    /**
+     * Synchronization commands between User Application and Drone System, never spooled since they make sense only
+     * while both sides are connected.
+     */
+    ORDER(MqttTopicConstants.ORDER_TOPIC, QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO, Lane.PRIORITY, 0),
+
+    /**
+     * Delivery status, retained so that late subscribers get the current one.
+     */
+    LIFECYCLE(MqttTopicConstants.LIFECYCLE_TOPIC, QualityOfService.AT_LEAST_ONCE, true, Duration.ZERO, Lane.BULK,
+            OfflineSpool.KEEP_ALL),
+
+    /**
+     * Drone moving state changes, of which only the current one is spooled.
+     */
+    DRONE_MOVING(MqttTopicConstants.DRONE_MOVING_TOPIC, QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO,
+            Lane.BULK, 1),
+
+    /**
+     * Issue reports.
+     */
+    ISSUE(MqttTopicConstants.ISSUE_TOPIC, QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO, Lane.BULK,
+            OfflineSpool.KEEP_ALL),
+
+    /**
+     * Negligence reports, every one of them spooled while offline.
+     */
+    NEGLIGENCE_REPORTS(MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC, QualityOfService.AT_LEAST_ONCE, false,
+            Duration.ZERO, Lane.BULK, OfflineSpool.KEEP_ALL),
+
+    /**
+     * Chunks of the flight records attached to negligence reports, every one of them spooled while offline, since a
+     * record can NOT be rebuilt if any chunk is missing.
+     */
+    FLIGHT_RECORDS(MqttTopicConstants.FLIGHT_RECORDS_TOPIC, QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO,
+            Lane.BULK, OfflineSpool.KEEP_ALL),
+
+    /**
+     * Driving commands, like halt and proceed, never spooled since a stale command must NOT be executed.
+     */
+    CONTROL(MqttTopicConstants.CONTROL_TOPIC, QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO, Lane.PRIORITY,
+            0),
+
+    /**
+     * Any other topic.
+     */
+    DEFAULT("", QualityOfService.AT_LEAST_ONCE, false, Duration.ZERO, Lane.BULK, OfflineSpool.KEEP_ALL);
+
+    private final String prefix;
+    private final QualityOfService qos;
+    private final boolean retain;
+    private final Duration expiry;
+    private final Lane lane;
+    private final int spoolRetention;
+
+    TopicPolicy(final String prefix,
+                final QualityOfService qos,
+                final boolean retain,
+                final Duration expiry,
+                final Lane lane,
+                final int spoolRetention) {
+        this.prefix = prefix;
+        this.qos = qos;
+        this.retain = retain;
+        this.expiry = expiry;
+        this.lane = lane;
+        this.spoolRetention = spoolRetention;
+    }
+
+    /**
+     * Finds the policy of a topic, choosing the one with the longest matching prefix.
+     * @param topic topic to classify
+     * @return the matching policy, {@link TopicPolicy#DEFAULT} if none matches
+     */
+    public static @NotNull TopicPolicy of(final @NotNull String topic) {
+        TopicPolicy matching = DEFAULT;
+        for (final TopicPolicy policy : values()) {
+            if (topic.startsWith(policy.prefix) && policy.prefix.length() > matching.prefix.length())
+                matching = policy;
+        }
+        return matching;
+    }
+
+    /**
+     * Gets the prefix of the topics following this policy.
+     * @return the topic prefix
+     */
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    /**
+     * Gets the quality of service used both to publish and to subscribe.
+     * @return the {@link QualityOfService}
+     */
+    public QualityOfService getQos() {
+        return this.qos;
+    }
+
+    /**
+     * Checks if published messages have to be retained by the broker.
+     * @return true if messages are retained, false otherwise
+     */
+    public boolean isRetain() {
+        return this.retain;
+    }
+
+    /**
+     * Gets how long a message can wait before being sent, after which it is discarded.
+     * @return the expiry, {@link Duration#ZERO} if messages never expire
+     */
+    public Duration getExpiry() {
+        return this.expiry;
+    }
+
+    /**
+     * Gets the {@link Lane} followed by messages of the topic, both outbound and inbound.
+     * @return the lane
+     */
+    public Lane getLane() {
+        return this.lane;
+    }
+
+    /**
+     * Gets how many messages of each topic are kept by the offline spool while the connection is down, older ones
+     * being discarded as newer ones arrive.
+     * @return the number of spooled messages per topic, 0 if messages are NOT spooled, negative if every message is
+     * kept
+     */
+    public int getSpoolRetention() {
+        return this.spoolRetention;
+    }
+
+    /**
+     * Gets the {@link OverflowPolicy} applied when the outbound queue is full: fire-and-forget messages are dropped,
+     * while the others make the caller wait.
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.qos == QualityOfService.AT_MOST_ONCE ? OverflowPolicy.DROP : OverflowPolicy.BLOCK;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handler registered on the {@link TopicRouter}, which can be cancelled at most once.
+ */
+public final class TopicRegistration {
+
+    private final Runnable removal;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * Build the registration.
+     * @param removal action removing the handler from the router
+     */
+    TopicRegistration(final Runnable removal) {
+        this.removal = removal;
+    }
+
+    /**
+     * Removes the handler from the router, unsubscribing from the broker if it was the last one of its topic.
+     */
+    public void cancel() {
+        if (!this.cancelled.getAndSet(true))
+            this.removal.run();
+    }
+}
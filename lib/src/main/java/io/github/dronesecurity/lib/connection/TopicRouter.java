@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Local router dispatching received messages to the handlers of their topic, so that many handlers of the same topic
+ * share a single subscription to the broker, made with the first handler and removed with the last one.
+ * Topics of the application have a single level, the order being part of its name, so there is no prefix a wildcard
+ * could follow: only concrete topics are routed, each one followed costing a subscription to the broker, while further
+ * handlers of a topic are attached and detached locally. Dispatching a message never blocks, as the handlers of each
+ * topic are replaced as a whole; subscribing and unsubscribing are serialized per topic only.
+ */
+public final class TopicRouter {
+
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private final BiFunction<String, Consumer<MqttMessage>, CompletableFuture<Integer>> subscriber;
+    private final Function<String, CompletableFuture<Integer>> unsubscriber;
+    private final ConcurrentMap<String, Routes> topics = new ConcurrentHashMap<>();
+
+    /**
+     * Build the router.
+     * @param subscriber function subscribing to the broker
+     * @param unsubscriber function unsubscribing from the broker
+     */
+    TopicRouter(final BiFunction<String, Consumer<MqttMessage>, CompletableFuture<Integer>> subscriber,
+                final Function<String, CompletableFuture<Integer>> unsubscriber) {
+        this.subscriber = subscriber;
+        this.unsubscriber = unsubscriber;
+    }
+
+    /**
+     * Registers a handler for a topic, subscribing to the broker only if no other handler is registered on it.
+     * @param topic the concrete topic, with no MQTT wildcards
+     * @param handler consumer that handles received messages
+     * @return the {@link TopicRegistration} to cancel in order to stop receiving messages
+     */
+    public TopicRegistration register(final @NotNull String topic, final Consumer<MqttMessage> handler) {
+        if (topic.contains(SINGLE_LEVEL_WILDCARD) || topic.contains(MULTI_LEVEL_WILDCARD))
+            throw new IllegalArgumentException("Routed topics MUST NOT contain wildcards!");
+        final Route route = new Route(handler);
+        Routes routes = this.topics.computeIfAbsent(topic, Routes::new);
+        while (!routes.add(route))
+            routes = this.topics.computeIfAbsent(topic, Routes::new);
+        final Routes registered = routes;
+        return new TopicRegistration(() -> registered.remove(route));
+    }
+
+    /**
+     * Dispatches a message to every handler registered on its topic.
+     * @param message the received message
+     */
+    void dispatch(final @NotNull MqttMessage message) {
+        final Routes routes = this.topics.get(message.getTopic());
+        if (routes != null)
+            routes.deliver(message);
+    }
+
+    /**
+     * Subscribes again to every routed topic, needed when the transport has been rebuilt.
+     */
+    void resubscribe() {
+        this.topics.values().forEach(Routes::resubscribe);
+    }
+
+    private static final class Route {
+
+        private final Consumer<MqttMessage> handler;
+
+        private Route(final Consumer<MqttMessage> handler) {
+            this.handler = handler;
+        }
+
+        private Consumer<MqttMessage> getHandler() {
+            return this.handler;
+        }
+    }
+
+    /**
+     * Handlers of a topic, retired together with the subscription once the last one is removed.
+     */
+    private final class Routes {
+
+        private final String topic;
+        private volatile List<Route> routes = Collections.emptyList();
+        private boolean retired;
+
+        private Routes(final String topic) {
+            this.topic = topic;
+        }
+
+        private synchronized boolean add(final Route route) {
+            if (this.retired)
+                return false;
+            final List<Route> updated = new ArrayList<>(this.routes);
+            updated.add(route);
+            this.routes = Collections.unmodifiableList(updated);
+            if (updated.size() == 1)
+                TopicRouter.this.subscriber.apply(this.topic, TopicRouter.this::dispatch);
+            return true;
+        }
+
+        private synchronized void remove(final Route route) {
+            final List<Route> updated = new ArrayList<>(this.routes);
+            updated.remove(route);
+            this.routes = Collections.unmodifiableList(updated);
+            if (updated.isEmpty()) {
+                // Retired before leaving the map, so a new registration subscribes only after this unsubscription.
+                this.retired = true;
+                TopicRouter.this.unsubscriber.apply(this.topic);
+                TopicRouter.this.topics.remove(this.topic, this);
+            }
+        }
+
+        private synchronized void resubscribe() {
+            if (!this.retired)
+                TopicRouter.this.subscriber.apply(this.topic, TopicRouter.this::dispatch);
+        }
+
+        private void deliver(final MqttMessage message) {
+            for (final Route route : this.routes)
+                route.getHandler().accept(message);
+        }
+    }
+}
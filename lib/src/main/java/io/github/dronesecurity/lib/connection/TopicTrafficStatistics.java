@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe traffic of the topics of a {@link TopicPolicy}, telling apart the time spent serializing messages, the
+ * time spent by the client library until the broker acknowledges them and the time spent by subscription callbacks.
+ */
+public final class TopicTrafficStatistics {
+
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder publishFailures = new LongAdder();
+    private final LatencyHistogram encodingTime = new LatencyHistogram();
+    private final LatencyHistogram acknowledgementLatency = new LatencyHistogram();
+    private final LatencyHistogram callbackTime = new LatencyHistogram();
+
+    /**
+     * Records the serialization of a message.
+     * @param nanos time spent encoding the payload
+     */
+    void recordEncoding(final long nanos) {
+        this.encodingTime.record(nanos);
+    }
+
+    /**
+     * Records a message handed to the client library.
+     * @param bytes size of the payload
+     */
+    void recordSent(final int bytes) {
+        this.messagesOut.increment();
+        this.bytesOut.add(bytes);
+        this.inFlight.increment();
+    }
+
+    /**
+     * Records the completion of a message handed to the client library.
+     * @param nanos time elapsed since the message has been handed over
+     * @param acknowledged true if the message has been acknowledged, false if it has failed
+     */
+    void recordCompleted(final long nanos, final boolean acknowledged) {
+        this.inFlight.decrement();
+        if (acknowledged)
+            this.acknowledgementLatency.record(nanos);
+        else
+            this.publishFailures.increment();
+    }
+
+    /**
+     * Records a received message, once handled.
+     * @param bytes size of the payload
+     * @param nanos time spent by the subscription callback
+     */
+    void recordReceived(final int bytes, final long nanos) {
+        this.messagesIn.increment();
+        this.bytesIn.add(bytes);
+        this.callbackTime.record(nanos);
+    }
+
+    /**
+     * Gets the number of messages handed to the client library.
+     * @return the number of sent messages
+     */
+    public long getMessagesOut() {
+        return this.messagesOut.sum();
+    }
+
+    /**
+     * Gets the payload bytes handed to the client library.
+     * @return the number of sent bytes
+     */
+    public long getBytesOut() {
+        return this.bytesOut.sum();
+    }
+
+    /**
+     * Gets the number of received messages.
+     * @return the number of received messages
+     */
+    public long getMessagesIn() {
+        return this.messagesIn.sum();
+    }
+
+    /**
+     * Gets the payload bytes of received messages.
+     * @return the number of received bytes
+     */
+    public long getBytesIn() {
+        return this.bytesIn.sum();
+    }
+
+    /**
+     * Gets the number of messages handed to the client library and NOT yet completed.
+     * @return the number of messages in flight
+     */
+    public long getInFlight() {
+        return this.inFlight.sum();
+    }
+
+    /**
+     * Gets the number of messages the client library failed to send.
+     * @return the number of failed publications
+     */
+    public long getPublishFailures() {
+        return this.publishFailures.sum();
+    }
+
+    /**
+     * Gets the time spent serializing JSON payloads.
+     * @return the encoding {@link LatencyHistogram}
+     */
+    public LatencyHistogram getEncodingTime() {
+        return this.encodingTime;
+    }
+
+    /**
+     * Gets the time elapsed between handing a message to the client library and its acknowledgement, which for at
+     * most once messages is just the time needed to write them.
+     * @return the acknowledgement {@link LatencyHistogram}
+     */
+    public LatencyHistogram getAcknowledgementLatency() {
+        return this.acknowledgementLatency;
+    }
+
+    /**
+     * Gets the time spent by subscription callbacks handling received messages.
+     * @return the callback {@link LatencyHistogram}
+     */
+    public LatencyHistogram getCallbackTime() {
+        return this.callbackTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "out=" + this.getMessagesOut() + " (" + this.getBytesOut() + " B), in=" + this.getMessagesIn()
+                + " (" + this.getBytesIn() + " B), inFlight=" + this.getInFlight()
+                + ", failures=" + this.getPublishFailures()
+                + ", encoding=[" + this.encodingTime + "], acknowledgement=[" + this.acknowledgementLatency
+                + "], callback=[" + this.callbackTime + "]";
+    }
+}
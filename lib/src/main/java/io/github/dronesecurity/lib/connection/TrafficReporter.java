@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic dump of {@link TrafficStatistics}, appended as rows to a CSV file if specified, otherwise logged.
+ * Only policies with some traffic are reported, with durations in microseconds.
+ */
+final class TrafficReporter implements Runnable {
+
+    /**
+     * Header of the CSV file.
+     */
+    static final String CSV_HEADER = "timestamp,policy,messagesOut,bytesOut,messagesIn,bytesIn,inFlight,"
+            + "publishFailures,encodingP50Micros,encodingP99Micros,acknowledgementP50Micros,acknowledgementP99Micros,"
+            + "acknowledgementMaxMicros,callbackP50Micros,callbackP99Micros,callbackMaxMicros,"
+            + "connectionAttempts,connectionFailures,interruptions,resumptions";
+
+    private static final String CSV_SEPARATOR = ",";
+    private static final double MEDIAN = 50.0;
+    private static final double TAIL = 99.0;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrafficReporter.class);
+    private final TrafficStatistics statistics;
+    private final Path csvFile;
+
+    /**
+     * Build the reporter.
+     * @param statistics statistics to report
+     * @param csvFile file to append rows to, null to log them
+     */
+    TrafficReporter(final TrafficStatistics statistics, final @Nullable Path csvFile) {
+        this.statistics = statistics;
+        this.csvFile = csvFile;
+    }
+
+    /**
+     * Reports the current statistics.
+     */
+    @Override
+    public void run() {
+        if (this.csvFile == null)
+            this.log();
+        else
+            this.appendRows(this.csvFile);
+    }
+
+    private void log() {
+        for (final TopicPolicy policy : TopicPolicy.values()) {
+            final TopicTrafficStatistics topic = this.statistics.of(policy);
+            if (hasTraffic(topic))
+                LOGGER.info("Traffic of " + policy + ": " + topic);
+        }
+        LOGGER.info("Connection attempts=" + this.statistics.getConnectionAttempts()
+                + ", failures=" + this.statistics.getConnectionFailures()
+                + ", interruptions=" + this.statistics.getInterruptions()
+                + ", resumptions=" + this.statistics.getResumptions());
+    }
+
+    private void appendRows(final @NotNull Path file) {
+        final boolean newFile = Files.notExists(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (newFile) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+            final String timestamp = Instant.now().toString();
+            for (final TopicPolicy policy : TopicPolicy.values()) {
+                final TopicTrafficStatistics topic = this.statistics.of(policy);
+                if (hasTraffic(topic)) {
+                    writer.write(this.toRow(timestamp, policy, topic));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Can NOT write traffic statistics to " + file + ".", e);
+        }
+    }
+
+    private @NotNull String toRow(final String timestamp,
+                                  final @NotNull TopicPolicy policy,
+                                  final @NotNull TopicTrafficStatistics topic) {
+        return new StringJoiner(CSV_SEPARATOR)
+                .add(timestamp)
+                .add(policy.name())
+                .add(String.valueOf(topic.getMessagesOut()))
+                .add(String.valueOf(topic.getBytesOut()))
+                .add(String.valueOf(topic.getMessagesIn()))
+                .add(String.valueOf(topic.getBytesIn()))
+                .add(String.valueOf(topic.getInFlight()))
+                .add(String.valueOf(topic.getPublishFailures()))
+                .add(micros(topic.getEncodingTime().getPercentile(MEDIAN)))
+                .add(micros(topic.getEncodingTime().getPercentile(TAIL)))
+                .add(micros(topic.getAcknowledgementLatency().getPercentile(MEDIAN)))
+                .add(micros(topic.getAcknowledgementLatency().getPercentile(TAIL)))
+                .add(micros(topic.getAcknowledgementLatency().getMax()))
+                .add(micros(topic.getCallbackTime().getPercentile(MEDIAN)))
+                .add(micros(topic.getCallbackTime().getPercentile(TAIL)))
+                .add(micros(topic.getCallbackTime().getMax()))
+                .add(String.valueOf(this.statistics.getConnectionAttempts()))
+                .add(String.valueOf(this.statistics.getConnectionFailures()))
+                .add(String.valueOf(this.statistics.getInterruptions()))
+                .add(String.valueOf(this.statistics.getResumptions()))
+                .toString();
+    }
+
+    private static boolean hasTraffic(final @NotNull TopicTrafficStatistics topic) {
+        return topic.getMessagesOut() > 0 || topic.getMessagesIn() > 0;
+    }
+
+    private static @NotNull String micros(final @NotNull Duration duration) {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(duration.toNanos()));
+    }
+}
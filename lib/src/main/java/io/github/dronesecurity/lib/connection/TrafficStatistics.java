@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe traffic of a {@link Connection}, with a {@link TopicTrafficStatistics} for each {@link TopicPolicy} and
+ * the counters of the connection events.
+ */
+public final class TrafficStatistics {
+
+    private final Map<TopicPolicy, TopicTrafficStatistics> topics = new EnumMap<>(TopicPolicy.class);
+    private final LongAdder connectionAttempts = new LongAdder();
+    private final LongAdder connectionFailures = new LongAdder();
+    private final LongAdder interruptions = new LongAdder();
+    private final LongAdder resumptions = new LongAdder();
+
+    /**
+     * Build empty statistics.
+     */
+    TrafficStatistics() {
+        for (final TopicPolicy policy : TopicPolicy.values())
+            this.topics.put(policy, new TopicTrafficStatistics());
+    }
+
+    /**
+     * Gets the traffic of the topics of a policy.
+     * @param policy the {@link TopicPolicy} to inspect
+     * @return the {@link TopicTrafficStatistics} of the policy
+     */
+    public TopicTrafficStatistics of(final @NotNull TopicPolicy policy) {
+        return this.topics.get(policy);
+    }
+
+    /**
+     * Gets the traffic of the topics sharing the policy of a topic.
+     * @param topic the topic to inspect
+     * @return the {@link TopicTrafficStatistics} of its policy
+     */
+    public TopicTrafficStatistics of(final @NotNull String topic) {
+        return this.topics.get(TopicPolicy.of(topic));
+    }
+
+    /**
+     * Records an attempt to connect.
+     * @param succeeded true if the connection has been established, false otherwise
+     */
+    void recordConnection(final boolean succeeded) {
+        this.connectionAttempts.increment();
+        if (!succeeded)
+            this.connectionFailures.increment();
+    }
+
+    /**
+     * Records a change of the link reported by the transport.
+     * @param resumed true if the connection has been resumed, false if it has been interrupted
+     */
+    void recordLinkChange(final boolean resumed) {
+        if (resumed)
+            this.resumptions.increment();
+        else
+            this.interruptions.increment();
+    }
+
+    /**
+     * Gets the number of attempts to connect, including the automatic reconnections.
+     * @return the number of attempts
+     */
+    public long getConnectionAttempts() {
+        return this.connectionAttempts.sum();
+    }
+
+    /**
+     * Gets the number of failed attempts to connect.
+     * @return the number of failures
+     */
+    public long getConnectionFailures() {
+        return this.connectionFailures.sum();
+    }
+
+    /**
+     * Gets the number of interruptions of an established connection.
+     * @return the number of interruptions
+     */
+    public long getInterruptions() {
+        return this.interruptions.sum();
+    }
+
+    /**
+     * Gets the number of connections resumed by the transport after an interruption.
+     * @return the number of resumptions
+     */
+    public long getResumptions() {
+        return this.resumptions.sum();
+    }
+}
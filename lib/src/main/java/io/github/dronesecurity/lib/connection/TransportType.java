@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Available implementations of {@link MqttTransport}.
+ */
+enum TransportType {
+
+    /**
+     * Transport towards AWS IoT, authenticated with certificates.
+     */
+    AWS,
+
+    /**
+     * In-process broker, needing neither network nor certificates.
+     */
+    LOOPBACK;
+
+    /**
+     * Gets the selected transport, giving precedence to the system property over the properties file.
+     * @param properties properties possibly containing {@link PropertiesConstants#TRANSPORT}
+     * @return the selected transport, {@link TransportType#AWS} if not specified
+     */
+    static TransportType selected(final @NotNull Properties properties) {
+        final String value = System.getProperty(PropertiesConstants.TRANSPORT,
+                properties.getProperty(PropertiesConstants.TRANSPORT, AWS.name()));
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LoggerFactory.getLogger(TransportType.class).warn("Unknown transport " + value + ", using AWS.", e);
+            return AWS;
+        }
+    }
+
+    /**
+     * Creates a new transport of this type.
+     * @param properties properties needed to configure the transport
+     * @return the new {@link MqttTransport}
+     */
+    @Contract("_ -> new")
+    @NotNull MqttTransport create(final Properties properties) {
+        return this == LOOPBACK
+                ? new LoopbackTransport(LoopbackBroker.getInstance())
+                : new AwsIotTransport(properties);
+    }
+}
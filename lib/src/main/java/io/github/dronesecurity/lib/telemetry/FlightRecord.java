@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Samples of every sensor stream of a drone recorded around a critical event, identified by a {@link TelemetryType}.
+ * Samples are kept as primitive arrays, the values of each sample laid out one after the other.
+ */
+public final class FlightRecord {
+
+    private static final Samples NO_SAMPLES = new Samples(TelemetryType.PROXIMITY, new long[0], new double[0]);
+
+    private final String id;
+    private final long detectionMillis;
+    private final Map<TelemetryType, Samples> samples;
+
+    /**
+     * Build the record.
+     * @param id identifier of the record, referred by the negligence report it is attached to
+     * @param detectionMillis milliseconds from the epoch at which the critical event has been detected
+     * @param samples samples of each recorded stream
+     */
+    public FlightRecord(final @NotNull String id,
+                        final long detectionMillis,
+                        final @NotNull Map<TelemetryType, Samples> samples) {
+        this.id = id;
+        this.detectionMillis = detectionMillis;
+        this.samples = Collections.unmodifiableMap(samples.isEmpty()
+                ? new EnumMap<>(TelemetryType.class) : new EnumMap<>(samples));
+    }
+
+    /**
+     * Gets the identifier of the record.
+     * @return the identifier
+     */
+    public @NotNull String getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the instant at which the critical event has been detected.
+     * @return the milliseconds from the epoch
+     */
+    public long getDetectionMillis() {
+        return this.detectionMillis;
+    }
+
+    /**
+     * Gets the samples of a stream.
+     * @param type type of the stream
+     * @return the samples, empty if the stream has NOT been recorded
+     */
+    public @NotNull Samples getSamples(final @NotNull TelemetryType type) {
+        return this.samples.getOrDefault(type, NO_SAMPLES);
+    }
+
+    /**
+     * Gets the recorded streams.
+     * @return the samples of each recorded stream
+     */
+    public @NotNull Map<TelemetryType, Samples> getStreams() {
+        return this.samples;
+    }
+
+    /**
+     * Samples of a single stream, in chronological order.
+     */
+    public static final class Samples {
+
+        private final int valueCount;
+        private final long[] times;
+        private final double[] values;
+
+        /**
+         * Build the samples.
+         * @param type type of the stream, giving the number of values of each sample
+         * @param times milliseconds from the epoch of each sample
+         * @param values values of each sample, one after the other
+         */
+        public Samples(final @NotNull TelemetryType type, final long @NotNull [] times,
+                       final double @NotNull [] values) {
+            if (values.length != times.length * type.getValueCount())
+                throw new IllegalArgumentException("Expected " + type.getValueCount() + " values per sample.");
+            this.valueCount = type.getValueCount();
+            this.times = Arrays.copyOf(times, times.length);
+            this.values = Arrays.copyOf(values, values.length);
+        }
+
+        /**
+         * Gets the number of samples.
+         * @return the number of samples
+         */
+        public int size() {
+            return this.times.length;
+        }
+
+        /**
+         * Gets the instant of a sample.
+         * @param sample index of the sample
+         * @return the milliseconds from the epoch
+         */
+        public long getTime(final int sample) {
+            return this.times[sample];
+        }
+
+        /**
+         * Gets a value of a sample.
+         * @param sample index of the sample
+         * @param value index of the value, like 0 for the pitch of the accelerometer
+         * @return the value
+         */
+        public double getValue(final int sample, final int value) {
+            return this.values[sample * this.valueCount + value];
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Assembler of the chunks written by {@link FlightRecordCodecHelper#split(String, byte[], int)} back into
+ * {@link FlightRecord}s. Chunks can be received in any order and more than once. Only the last records started are
+ * kept while incomplete, the oldest one being dropped to make room for a new one.
+ */
+public final class FlightRecordAssembler {
+
+    private final int maxPending;
+    private final Map<String, byte[][]> pending = new LinkedHashMap<>();
+
+    /**
+     * Build the assembler.
+     * @param maxPending number of incomplete records kept at most
+     */
+    public FlightRecordAssembler(final int maxPending) {
+        if (maxPending <= 0)
+            throw new IllegalArgumentException("At least one incomplete record must be kept.");
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Adds a chunk.
+     * @param chunk the received chunk
+     * @return the record, once all its chunks have been received, null otherwise
+     * @throws InvalidTelemetryFrameException if the chunk, or the record it completes, is NOT valid
+     */
+    public @Nullable FlightRecord add(final byte @NotNull [] chunk) {
+        final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        final String id;
+        final int index;
+        final int count;
+        try {
+            id = FlightRecordCodecHelper.readHeader(buffer);
+            index = buffer.getShort();
+            count = buffer.getShort();
+        } catch (BufferUnderflowException e) {
+            throw new InvalidTelemetryFrameException("Flight record chunk is truncated.");
+        }
+        if (count <= 0 || index < 0 || index >= count)
+            throw new InvalidTelemetryFrameException("Invalid flight record chunk " + index + " of " + count + ".");
+        final byte[] part = Arrays.copyOfRange(chunk, buffer.position(), chunk.length);
+
+        final byte[][] parts;
+        synchronized (this) {
+            parts = this.pending.computeIfAbsent(id, ignored -> new byte[count][]);
+            if (parts.length != count)
+                throw new InvalidTelemetryFrameException("Flight record " + id + " has inconsistent chunks.");
+            parts[index] = part;
+            for (final byte[] received : parts) {
+                if (received == null) {
+                    this.evictOldest();
+                    return null;
+                }
+            }
+            this.pending.remove(id);
+        }
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        for (final byte[] received : parts)
+            encoded.writeBytes(received);
+        return FlightRecordCodecHelper.decode(encoded.toByteArray());
+    }
+
+    /**
+     * Gets the number of incomplete records.
+     * @return the number of records
+     */
+    public synchronized int getPending() {
+        return this.pending.size();
+    }
+
+    private void evictOldest() {
+        if (this.pending.size() > this.maxPending)
+            this.pending.remove(this.pending.keySet().iterator().next());
+    }
+}
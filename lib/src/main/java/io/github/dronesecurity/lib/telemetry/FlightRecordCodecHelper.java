@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Helper to encode and decode {@link FlightRecord}, and to split them into chunks small enough for a single message.
+ * A record is made of magic byte, version, identifier (2 bytes of length followed by UTF-8 bytes), detection instant
+ * in milliseconds from the epoch (8 bytes) and stream count (1 byte). Each stream follows with the tag of its
+ * {@link TelemetryType}, the sample count (4 bytes), the offset in milliseconds of each sample from the previous one,
+ * or from the detection for the first one (4 bytes each), and the values of each sample as floats. The whole record is
+ * deflated, since consecutive samples are alike.
+ * Each chunk is made of magic byte, version, identifier of the record, index and count of the chunks (2 bytes each),
+ * followed by its part of the deflated record. All values are big-endian.
+ */
+public final class FlightRecordCodecHelper {
+
+    /**
+     * First byte of every record and chunk.
+     */
+    public static final byte MAGIC = (byte) 0xF5;
+
+    /**
+     * Version of the layout written by this encoder.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Default size in bytes of the part of the record carried by each chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    private static final int BUFFER_SIZE = 4 * 1024;
+
+    private FlightRecordCodecHelper() { }
+
+    /**
+     * Encodes a record.
+     * @param record the {@link FlightRecord} to encode
+     * @return the deflated bytes
+     */
+    public static byte @NotNull [] encode(final @NotNull FlightRecord record) {
+        final byte[] id = record.getId().getBytes(StandardCharsets.UTF_8);
+        int size = 2 + Short.BYTES + id.length + Long.BYTES + 1;
+        for (final Map.Entry<TelemetryType, FlightRecord.Samples> stream : record.getStreams().entrySet())
+            size += 1 + Integer.BYTES
+                    + stream.getValue().size() * (Integer.BYTES + stream.getKey().getValueCount() * Float.BYTES);
+        final ByteBuffer buffer = ByteBuffer.allocate(size)
+                .put(MAGIC)
+                .put(VERSION)
+                .putShort((short) id.length)
+                .put(id)
+                .putLong(record.getDetectionMillis())
+                .put((byte) record.getStreams().size());
+        for (final Map.Entry<TelemetryType, FlightRecord.Samples> stream : record.getStreams().entrySet()) {
+            final FlightRecord.Samples samples = stream.getValue();
+            buffer.put(stream.getKey().getTag()).putInt(samples.size());
+            long previous = record.getDetectionMillis();
+            for (int i = 0; i < samples.size(); i++) {
+                buffer.putInt((int) (samples.getTime(i) - previous));
+                previous = samples.getTime(i);
+            }
+            for (int i = 0; i < samples.size(); i++) {
+                for (int value = 0; value < stream.getKey().getValueCount(); value++)
+                    buffer.putFloat((float) samples.getValue(i, value));
+            }
+        }
+        return deflate(buffer.array());
+    }
+
+    /**
+     * Decodes a record.
+     * @param payload the deflated bytes to decode
+     * @return the decoded {@link FlightRecord}
+     * @throws InvalidTelemetryFrameException if the payload is NOT a valid record
+     */
+    public static @NotNull FlightRecord decode(final byte @NotNull [] payload) {
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(inflate(payload));
+            final String id = readHeader(buffer);
+            final long detectionMillis = buffer.getLong();
+            final int streams = Byte.toUnsignedInt(buffer.get());
+            final Map<TelemetryType, FlightRecord.Samples> samples = new EnumMap<>(TelemetryType.class);
+            for (int stream = 0; stream < streams; stream++) {
+                final TelemetryType type = TelemetryType.fromTag(buffer.get());
+                final int count = buffer.getInt();
+                if (count < 0 || count > buffer.remaining())
+                    throw new InvalidTelemetryFrameException("Invalid flight record sample count.");
+                final long[] times = new long[count];
+                long previous = detectionMillis;
+                for (int i = 0; i < count; i++) {
+                    times[i] = previous + buffer.getInt();
+                    previous = times[i];
+                }
+                final double[] values = new double[count * type.getValueCount()];
+                for (int i = 0; i < values.length; i++)
+                    values[i] = buffer.getFloat();
+                samples.put(type, new FlightRecord.Samples(type, times, values));
+            }
+            return new FlightRecord(id, detectionMillis, samples);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidTelemetryFrameException("Flight record is truncated.");
+        }
+    }
+
+    /**
+     * Splits an encoded record into chunks.
+     * @param id identifier of the record
+     * @param encoded the encoded record
+     * @param chunkSize bytes of the record carried by each chunk
+     * @return the chunks, to be sent in any order
+     */
+    public static @NotNull List<byte[]> split(final @NotNull String id, final byte @NotNull [] encoded,
+                                              final int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        final byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        final int count = Math.max(1, (encoded.length + chunkSize - 1) / chunkSize);
+        if (count > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Flight record is too large for the chunk size.");
+        final List<byte[]> chunks = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            final int from = index * chunkSize;
+            final int length = Math.min(chunkSize, encoded.length - from);
+            chunks.add(ByteBuffer.allocate(2 + Short.BYTES + idBytes.length + 2 * Short.BYTES + length)
+                    .put(MAGIC)
+                    .put(VERSION)
+                    .putShort((short) idBytes.length)
+                    .put(idBytes)
+                    .putShort((short) index)
+                    .putShort((short) count)
+                    .put(encoded, from, length)
+                    .array());
+        }
+        return chunks;
+    }
+
+    /**
+     * Reads the header shared by records and chunks.
+     * @param buffer the buffer positioned at the start of the header, left after it
+     * @return the identifier of the record
+     * @throws InvalidTelemetryFrameException if the header is NOT valid
+     */
+    static @NotNull String readHeader(final @NotNull ByteBuffer buffer) {
+        if (buffer.get() != MAGIC)
+            throw new InvalidTelemetryFrameException("Payload is NOT a flight record.");
+        if (buffer.get() < 1)
+            throw new InvalidTelemetryFrameException("Invalid flight record version.");
+        final byte[] id = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    private static byte @NotNull [] deflate(final byte @NotNull [] bytes) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2 + 1);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished())
+                output.write(buffer, 0, deflater.deflate(buffer));
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte @NotNull [] inflate(final byte @NotNull [] bytes) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length * 2);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new InvalidTelemetryFrameException("Flight record is truncated.");
+                output.write(buffer, 0, inflated);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new InvalidTelemetryFrameException("Flight record is NOT deflated: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+}
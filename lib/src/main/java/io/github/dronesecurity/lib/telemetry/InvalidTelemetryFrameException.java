@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+/**
+ * Exception thrown if a payload can NOT be decoded as {@link TelemetryFrame}.
+ */
+public final class InvalidTelemetryFrameException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Build the exception.
+     * @param message detail of the decoding failure
+     */
+    public InvalidTelemetryFrameException(final String message) {
+        super(message);
+    }
+}
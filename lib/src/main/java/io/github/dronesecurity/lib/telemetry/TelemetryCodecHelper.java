@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helper to encode and decode {@link TelemetryFrame} with a versioned fixed layout.
+ * Every frame starts with a header made of magic byte, version, type tag, reserved byte, order identifier (8 bytes),
+ * sequence number (4 bytes) and timestamp in nanoseconds since epoch (8 bytes), followed by the body of its
+ * {@link TelemetryType}. All values are big-endian. Newer versions can only append fields, so older decoders can still
+ * read the known prefix.
+ */
+public final class TelemetryCodecHelper {
+
+    /**
+     * First byte of every binary frame, which can NOT start a JSON payload.
+     */
+    public static final byte MAGIC = (byte) 0xD5;
+
+    /**
+     * Version of the layout written by this encoder.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Size in bytes of the header preceding the body.
+     */
+    public static final int HEADER_SIZE = 4 + Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private static final byte RESERVED = 0;
+    private static final int MAGIC_INDEX = 0;
+
+    private TelemetryCodecHelper() { }
+
+    /**
+     * Encodes a frame.
+     * @param frame the {@link TelemetryFrame} to encode
+     * @return the encoded bytes
+     */
+    public static byte @NotNull [] encode(final @NotNull TelemetryFrame frame) {
+        final TelemetryType type = frame.getType();
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + type.getBodySize())
+                .put(MAGIC)
+                .put(VERSION)
+                .put(type.getTag())
+                .put(RESERVED)
+                .putLong(frame.getOrderId())
+                .putInt(frame.getSequence())
+                .putLong(frame.getEpochNanos());
+        switch (type) {
+            case PROXIMITY:
+                buffer.putDouble(frame.getDistance());
+                break;
+            case ACCELEROMETER:
+                buffer.putInt(frame.getPitch()).putInt(frame.getRoll()).putInt(frame.getYaw());
+                break;
+            case CAMERA:
+                buffer.putInt(frame.getImageLength());
+                break;
+            default:
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a frame.
+     * @param payload the bytes to decode
+     * @return the decoded {@link TelemetryFrame}
+     * @throws InvalidTelemetryFrameException if the payload is NOT a valid frame
+     */
+    public static @NotNull TelemetryFrame decode(final byte @NotNull [] payload) {
+        if (!isBinaryFrame(payload))
+            throw new InvalidTelemetryFrameException("Payload is NOT a binary telemetry frame.");
+        final ByteBuffer buffer = ByteBuffer.wrap(payload);
+        buffer.get();
+        if (buffer.get() < 1)
+            throw new InvalidTelemetryFrameException("Invalid telemetry frame version.");
+        final TelemetryType type = TelemetryType.fromTag(buffer.get());
+        buffer.get();
+        if (payload.length < HEADER_SIZE + type.getBodySize())
+            throw new InvalidTelemetryFrameException("Telemetry frame is truncated.");
+        final long orderId = buffer.getLong();
+        final int sequence = buffer.getInt();
+        final long epochNanos = buffer.getLong();
+        switch (type) {
+            case PROXIMITY:
+                return TelemetryFrame.proximity(orderId, sequence, epochNanos, buffer.getDouble());
+            case ACCELEROMETER:
+                return TelemetryFrame.accelerometer(orderId, sequence, epochNanos,
+                        new int[] {buffer.getInt(), buffer.getInt(), buffer.getInt()});
+            case CAMERA:
+            default:
+                return TelemetryFrame.camera(orderId, sequence, epochNanos, buffer.getInt());
+        }
+    }
+
+    /**
+     * Checks if a payload is a binary frame rather than a JSON document.
+     * @param payload the received payload
+     * @return true if the payload starts like a binary frame, false otherwise
+     */
+    public static boolean isBinaryFrame(final byte @NotNull [] payload) {
+        return payload.length >= HEADER_SIZE && payload[MAGIC_INDEX] == MAGIC;
+    }
+
+    /**
+     * Gets the current time in nanoseconds since epoch, with the best precision of the system clock.
+     * @return the current timestamp in nanoseconds
+     */
+    public static long nowEpochNanos() {
+        final Instant now = Instant.now();
+        return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+/**
+ * Encodings used to publish telemetry. JSON is published on the base topic, while binary frames are published on the
+ * base topic followed by the binary suffix, so consumers not knowing the binary layout keep working.
+ */
+public enum TelemetryEncoding {
+
+    /**
+     * Only JSON documents are published.
+     */
+    JSON,
+
+    /**
+     * Only binary frames are published.
+     */
+    BINARY,
+
+    /**
+     * Both JSON documents and binary frames are published, useful while consumers are being migrated.
+     */
+    BOTH;
+
+    /**
+     * Checks if JSON documents have to be published.
+     * @return true if JSON is included, false otherwise
+     */
+    public boolean includesJson() {
+        return this != BINARY;
+    }
+
+    /**
+     * Checks if binary frames have to be published.
+     * @return true if binary frames are included, false otherwise
+     */
+    public boolean includesBinary() {
+        return this != JSON;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single sensor sample exchanged in binary form, see {@link TelemetryCodecHelper}.
+ */
+public final class TelemetryFrame {
+
+    private static final int PITCH_INDEX = 0;
+    private static final int ROLL_INDEX = 1;
+    private static final int YAW_INDEX = 2;
+    private static final int IMAGE_LENGTH_INDEX = 0;
+
+    private final TelemetryType type;
+    private final long orderId;
+    private final int sequence;
+    private final long epochNanos;
+    private final double distance;
+    private final int[] integers;
+
+    private TelemetryFrame(final TelemetryType type,
+                           final long orderId,
+                           final int sequence,
+                           final long epochNanos,
+                           final double distance,
+                           final int... integers) {
+        this.type = type;
+        this.orderId = orderId;
+        this.sequence = sequence;
+        this.epochNanos = epochNanos;
+        this.distance = distance;
+        this.integers = integers.clone();
+    }
+
+    /**
+     * Creates a proximity sensor frame.
+     * @param orderId identifier of the order the sample belongs to
+     * @param sequence sequence number of the sample
+     * @param epochNanos nanoseconds since epoch at which the sample has been read
+     * @param distance distance read
+     * @return the new frame
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull TelemetryFrame proximity(final long orderId,
+                                                    final int sequence,
+                                                    final long epochNanos,
+                                                    final double distance) {
+        return new TelemetryFrame(TelemetryType.PROXIMITY, orderId, sequence, epochNanos, distance);
+    }
+
+    /**
+     * Creates an accelerometer frame.
+     * @param orderId identifier of the order the sample belongs to
+     * @param sequence sequence number of the sample
+     * @param epochNanos nanoseconds since epoch at which the sample has been read
+     * @param angles pitch, roll and yaw read, in this order
+     * @return the new frame
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull TelemetryFrame accelerometer(final long orderId,
+                                                        final int sequence,
+                                                        final long epochNanos,
+                                                        final int @NotNull [] angles) {
+        return new TelemetryFrame(TelemetryType.ACCELEROMETER, orderId, sequence, epochNanos, 0,
+                angles[PITCH_INDEX], angles[ROLL_INDEX], angles[YAW_INDEX]);
+    }
+
+    /**
+     * Creates a camera frame.
+     * @param orderId identifier of the order the sample belongs to
+     * @param sequence sequence number of the sample
+     * @param epochNanos nanoseconds since epoch at which the sample has been read
+     * @param imageLength length of the image read
+     * @return the new frame
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull TelemetryFrame camera(final long orderId,
+                                                 final int sequence,
+                                                 final long epochNanos,
+                                                 final int imageLength) {
+        return new TelemetryFrame(TelemetryType.CAMERA, orderId, sequence, epochNanos, 0, imageLength);
+    }
+
+    /**
+     * Gets the type of the frame.
+     * @return the {@link TelemetryType}
+     */
+    public TelemetryType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the identifier of the order the sample belongs to.
+     * @return the order identifier
+     */
+    public long getOrderId() {
+        return this.orderId;
+    }
+
+    /**
+     * Gets the sequence number of the sample.
+     * @return the sequence number
+     */
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Gets the nanoseconds since epoch at which the sample has been read.
+     * @return the timestamp in nanoseconds
+     */
+    public long getEpochNanos() {
+        return this.epochNanos;
+    }
+
+    /**
+     * Gets the instant at which the sample has been read.
+     * @return the {@link Instant} of the sample
+     */
+    public @NotNull Instant getInstant() {
+        return Instant.ofEpochSecond(0, this.epochNanos);
+    }
+
+    /**
+     * Gets the milliseconds since epoch at which the sample has been read.
+     * @return the timestamp in milliseconds
+     */
+    public long getEpochMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.epochNanos);
+    }
+
+    /**
+     * Gets the distance of a proximity sensor frame.
+     * @return the distance
+     */
+    public double getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * Gets the pitch of an accelerometer frame.
+     * @return the pitch
+     */
+    public int getPitch() {
+        return this.integers[PITCH_INDEX];
+    }
+
+    /**
+     * Gets the roll of an accelerometer frame.
+     * @return the roll
+     */
+    public int getRoll() {
+        return this.integers[ROLL_INDEX];
+    }
+
+    /**
+     * Gets the yaw of an accelerometer frame.
+     * @return the yaw
+     */
+    public int getYaw() {
+        return this.integers[YAW_INDEX];
+    }
+
+    /**
+     * Gets the image length of a camera frame.
+     * @return the image length
+     */
+    public int getImageLength() {
+        return this.integers[IMAGE_LENGTH_INDEX];
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Types of {@link TelemetryFrame}, each one with its own fixed-size body.
+ */
+public enum TelemetryType {
+
+    /**
+     * Proximity sensor sample, made of the distance as double.
+     */
+    PROXIMITY((byte) 1, Double.BYTES, 1),
+
+    /**
+     * Accelerometer sample, made of pitch, roll and yaw as integers.
+     */
+    ACCELEROMETER((byte) 2, 3 * Integer.BYTES, 3),
+
+    /**
+     * Camera sample, made of the image length as integer.
+     */
+    CAMERA((byte) 3, Integer.BYTES, 1);
+
+    private final byte tag;
+    private final int bodySize;
+    private final int valueCount;
+
+    TelemetryType(final byte tag, final int bodySize, final int valueCount) {
+        this.tag = tag;
+        this.bodySize = bodySize;
+        this.valueCount = valueCount;
+    }
+
+    /**
+     * Gets the tag identifying the type on the wire.
+     * @return the tag
+     */
+    public byte getTag() {
+        return this.tag;
+    }
+
+    /**
+     * Gets the size in bytes of the body following the header.
+     * @return the body size
+     */
+    public int getBodySize() {
+        return this.bodySize;
+    }
+
+    /**
+     * Gets the number of values of each sample.
+     * @return the value count
+     */
+    public int getValueCount() {
+        return this.valueCount;
+    }
+
+    /**
+     * Gets the type identified by a tag.
+     * @param tag the tag read from the wire
+     * @return the corresponding {@link TelemetryType}
+     * @throws InvalidTelemetryFrameException if no type has the given tag
+     */
+    public static @NotNull TelemetryType fromTag(final byte tag) {
+        for (final TelemetryType type : values()) {
+            if (type.tag == tag)
+                return type;
+        }
+        throw new InvalidTelemetryFrameException("Unknown telemetry type " + tag + ".");
+    }
+}
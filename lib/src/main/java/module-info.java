@@ -1,6 +1,8 @@
 open module io.github.dronesecurity.lib {
     exports io.github.dronesecurity.lib.shared;
+    exports io.github.dronesecurity.lib.codec;
     exports io.github.dronesecurity.lib.connection;
+    exports io.github.dronesecurity.lib.telemetry;
     exports io.github.dronesecurity.lib.utilities;
 
     requires aws.iot.device.sdk;
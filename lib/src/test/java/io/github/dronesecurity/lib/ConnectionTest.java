@@ -15,6 +15,9 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +29,7 @@ final class ConnectionTest {
     private static final String TEST_TOPIC = "Test Topic";
     private static final String TEST_PARAMETER = "message";
     private static final String TEST_MESSAGE = "Test Message";
+    private static final long PUBLISH_TIMEOUT = 5;
 
     @Test
     void cannotConnectWithoutCertificateFiles() {
@@ -35,6 +39,16 @@ final class ConnectionTest {
         }
     }
 
+    @Test
+    void cannotPublishWithoutCertificateFiles() {
+        if (!Files.exists(Paths.get(System.getProperty("user.dir") + File.separator + "project.properties"))) {
+            final CompletableFuture<Integer> publishing = Connection.getInstance().publish(TEST_TOPIC,
+                    new ObjectMapper().createObjectNode().put(TEST_PARAMETER, TEST_MESSAGE));
+            assertThrows(ExecutionException.class, () -> publishing.get(PUBLISH_TIMEOUT, TimeUnit.SECONDS),
+                    "Publishing should complete exceptionally without certificate files.");
+        }
+    }
+
     @Test
     void testSubscribeOnCI() {
         if (Files.exists(Paths.get(System.getProperty("user.dir") + File.separator + "project.properties"))) {
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
+import io.github.dronesecurity.lib.connection.MqttMessageValueConstants;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compares, for every message type exchanged by the systems, a full encode/decode round trip made with a new
+ * {@link ObjectMapper} and a String detour against the same round trip made with {@link MessageCodecHelper}.
+ * Average latency and allocated bytes per operation are logged, while the test only checks both paths produce the
+ * same payload, so it never fails because of a slow machine.
+ */
+@Tag("benchmark")
+final class MessageCodecBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageCodecBenchmark.class);
+    private static final int WARMUP_ITERATIONS = 10_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+    private static final double DISTANCE = 123.45;
+    private static final int ANGLE = 12;
+    private static final int IMAGE_LENGTH = 4096;
+    private static final long ORDER_ID = 1_234_567L;
+    private static final String REPORT_FORMAT = "{} [{}] {} ns/op, {} B/op";
+    private static final Map<String, Consumer<ObjectNode>> MESSAGE_TYPES = new LinkedHashMap<>();
+
+    private long sink;
+
+    static {
+        MESSAGE_TYPES.put("proximity", json -> json.put(MqttMessageParameterConstants.PROXIMITY_PARAMETER, DISTANCE));
+        MESSAGE_TYPES.put("accelerometer", json -> json.putObject(MqttMessageParameterConstants.ACCELEROMETER_PARAMETER)
+                .put(MqttMessageParameterConstants.PITCH, ANGLE)
+                .put(MqttMessageParameterConstants.ROLL, -ANGLE)
+                .put(MqttMessageParameterConstants.YAW, ANGLE));
+        MESSAGE_TYPES.put("camera", json -> json.put(MqttMessageParameterConstants.CAMERA_PARAMETER, IMAGE_LENGTH));
+        MESSAGE_TYPES.put("alertLevel", json -> json.put(MqttMessageParameterConstants.ALERT_LEVEL_PARAMETER, "WARNING")
+                .put(MqttMessageParameterConstants.ALERT_TYPE_PARAMETER, "PROXIMITY"));
+        MESSAGE_TYPES.put("lifecycle", json -> json.put(MqttMessageParameterConstants.STATUS_PARAMETER,
+                MqttMessageValueConstants.DELIVERING_MESSAGE));
+        MESSAGE_TYPES.put("movingState", json -> json.put(MqttMessageParameterConstants.DRONE_MOVING_STATE_PARAMETER,
+                MqttMessageValueConstants.DRONE_MOVING_STATE_MESSAGE));
+        MESSAGE_TYPES.put("control", json -> json.put(MqttMessageParameterConstants.MODE_PARAMETER,
+                MqttMessageValueConstants.AUTOMATIC_MODE_MESSAGE));
+        MESSAGE_TYPES.put("order", json -> json
+                .put(MqttMessageParameterConstants.SYNC_PARAMETER, MqttMessageValueConstants.PERFORM_DELIVERY_MESSAGE)
+                .put(MqttMessageParameterConstants.COURIER_PARAMETER, "courier")
+                .putObject(MqttMessageParameterConstants.ORDER_PARAMETER)
+                .put(MqttMessageParameterConstants.ORDER_ID_PARAMETER, ORDER_ID)
+                .put("product", "Product")
+                .put("client", "client")
+                .put("placingDate", "2022-06-01T10:15:30Z"));
+    }
+
+    @Test
+    void benchmarkMessageTypes() throws JsonProcessingException {
+        for (final Map.Entry<String, Consumer<ObjectNode>> messageType : MESSAGE_TYPES.entrySet()) {
+            final Consumer<ObjectNode> filler = messageType.getValue();
+            Assertions.assertTrue(Arrays.equals(this.legacyRoundTrip(filler), this.sharedRoundTrip(filler)),
+                    "Both codecs should produce the same payload for " + messageType.getKey() + ".");
+
+            this.measure(messageType.getKey(), "legacy", () -> this.legacyRoundTrip(filler));
+            this.measure(messageType.getKey(), "shared", () -> this.sharedRoundTrip(filler));
+        }
+        Assertions.assertTrue(this.sink > 0, "Round trips should have produced some payload.");
+    }
+
+    private byte @NotNull [] legacyRoundTrip(final @NotNull Consumer<ObjectNode> filler)
+            throws JsonProcessingException {
+        final ObjectNode json = new ObjectMapper().createObjectNode();
+        filler.accept(json);
+        final byte[] payload = json.toString().getBytes(StandardCharsets.UTF_8);
+        this.sink += new ObjectMapper().readTree(new String(payload, StandardCharsets.UTF_8)).size();
+        return payload;
+    }
+
+    private byte @NotNull [] sharedRoundTrip(final @NotNull Consumer<ObjectNode> filler)
+            throws JsonProcessingException {
+        final ObjectNode json = MessageCodecHelper.createObjectNode();
+        filler.accept(json);
+        final byte[] payload = MessageCodecHelper.encode(json);
+        this.sink += MessageCodecHelper.readTree(payload).size();
+        return payload;
+    }
+
+    private void measure(final String messageType, final String codec, final @NotNull RoundTrip roundTrip)
+            throws JsonProcessingException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            this.sink += roundTrip.run().length;
+
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++)
+            this.sink += roundTrip.run().length;
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = allocatedBytes() - allocatedBefore;
+
+        LOGGER.info(REPORT_FORMAT, messageType, codec, elapsed / MEASURED_ITERATIONS,
+                allocatedBefore < 0 ? "n/a" : String.valueOf(allocated / MEASURED_ITERATIONS));
+    }
+
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) threadBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        return -1;
+    }
+
+    /**
+     * A single encode/decode round trip of a message.
+     */
+    @FunctionalInterface
+    private interface RoundTrip {
+        byte[] run() throws JsonProcessingException;
+    }
+}
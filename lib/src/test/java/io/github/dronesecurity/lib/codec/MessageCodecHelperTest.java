@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Tests {@link MessageCodecHelper}.
+ */
+final class MessageCodecHelperTest {
+
+    private static final String KEY = "proximity";
+    private static final double VALUE = 42.5;
+
+    @Test
+    void testEncodeMatchesTreeText() throws JsonProcessingException {
+        final ObjectNode json = MessageCodecHelper.createObjectNode().put(KEY, VALUE);
+        final byte[] encoded = MessageCodecHelper.encode(json);
+        Assertions.assertEquals(json.toString(), new String(encoded, StandardCharsets.UTF_8),
+                "Encoded bytes should be the same JSON text of the tree.");
+        Assertions.assertEquals(json, MessageCodecHelper.readTree(encoded), "Decoded tree should equal the original.");
+    }
+
+    @Test
+    void testBufferIsReusedSafely() {
+        final byte[] large = MessageCodecHelper.encode(MessageCodecHelper.createObjectNode()
+                .put(KEY, "x".repeat(4096)));
+        final byte[] small = MessageCodecHelper.encode(MessageCodecHelper.createObjectNode().put(KEY, VALUE));
+        Assertions.assertTrue(large.length > 4096, "Large message should be fully encoded.");
+        Assertions.assertEquals("{\"proximity\":42.5}", new String(small, StandardCharsets.UTF_8),
+                "A following message should not contain leftovers of the previous one.");
+    }
+
+    @Test
+    void testReadersAreShared() throws JsonProcessingException {
+        final ObjectReader reader = MessageCodecHelper.readerFor(Map.class);
+        Assertions.assertSame(reader, MessageCodecHelper.readerFor(Map.class), "Reader should be built only once.");
+        final Map<?, ?> map = MessageCodecHelper.read("{\"proximity\":42.5}".getBytes(StandardCharsets.UTF_8),
+                Map.class);
+        Assertions.assertEquals(VALUE, map.get(KEY), "Message should be read from raw bytes.");
+    }
+
+    @Test
+    void testInvalidPayloadIsRejected() {
+        final byte[] invalid = "{not json".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertThrows(JsonProcessingException.class, () -> MessageCodecHelper.readTree(invalid),
+                "Invalid JSON should be rejected.");
+        final JsonNode json = MessageCodecHelper.valueToTree(Map.of(KEY, VALUE));
+        Assertions.assertEquals(VALUE, json.get(KEY).asDouble(), "Values should be converted into trees.");
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Tests {@link InboundDispatcher}.
+ */
+final class InboundDispatcherTest {
+
+    private static final byte[] PAYLOAD = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final long TIMEOUT = 2;
+    private static final int MESSAGES = 10;
+
+    @Test
+    void testPriorityLaneIsNotBlockedByBulkLane() throws InterruptedException {
+        final InboundDispatcher dispatcher = new InboundDispatcher();
+        final CountDownLatch bulkReleased = new CountDownLatch(1);
+        final CountDownLatch bulkHandled = new CountDownLatch(1);
+        final CountDownLatch priorityHandled = new CountDownLatch(1);
+        final Consumer<MqttMessage> bulkConsumer = dispatcher.wrap(Lane.BULK, message -> {
+            try {
+                bulkReleased.await();
+                bulkHandled.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final Consumer<MqttMessage> priorityConsumer =
+                dispatcher.wrap(Lane.PRIORITY, message -> priorityHandled.countDown());
+
+        bulkConsumer.accept(new MqttMessage(MqttTopicConstants.DATA_TOPIC + 1, PAYLOAD,
+                QualityOfService.AT_MOST_ONCE));
+        priorityConsumer.accept(new MqttMessage(MqttTopicConstants.CONTROL_TOPIC + 1, PAYLOAD,
+                QualityOfService.AT_LEAST_ONCE));
+        Assertions.assertTrue(priorityHandled.await(TIMEOUT, TimeUnit.SECONDS),
+                "Commands should be handled while telemetry handling is stuck.");
+
+        bulkReleased.countDown();
+        Assertions.assertTrue(bulkHandled.await(TIMEOUT, TimeUnit.SECONDS), "Telemetry should be handled later.");
+        Assertions.assertEquals(1, dispatcher.getQueueingDelay(Lane.PRIORITY).getCount(),
+                "Queueing delay of the priority lane should be measured.");
+        Assertions.assertEquals(1, dispatcher.getQueueingDelay(Lane.BULK).getCount(),
+                "Queueing delay of the bulk lane should be measured.");
+    }
+
+    @Test
+    void testSaturatedLaneDropsTelemetry() throws InterruptedException {
+        final InboundDispatcher dispatcher = new InboundDispatcher(new TrafficStatistics(), 1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final CountDownLatch handling = new CountDownLatch(1);
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final Consumer<MqttMessage> consumer = dispatcher.wrap(Lane.BULK, message -> {
+            handling.countDown();
+            awaitQuietly(released);
+            handled.add(new String(message.getPayload(), StandardCharsets.UTF_8));
+        });
+
+        consumer.accept(telemetry(0));
+        Assertions.assertTrue(handling.await(TIMEOUT, TimeUnit.SECONDS), "First message should be handled.");
+        consumer.accept(telemetry(1));
+        consumer.accept(telemetry(2));
+        Assertions.assertEquals(1, dispatcher.getDroppedCount(Lane.BULK),
+                "Telemetry should be dropped once the lane is saturated.");
+        released.countDown();
+        awaitHandled(handled, 2);
+        Assertions.assertEquals(List.of("0", "1"), handled, "Accepted telemetry should be handled in order.");
+    }
+
+    @Test
+    void testSaturatedLaneKeepsOrderOfReliableMessages() throws InterruptedException {
+        final InboundDispatcher dispatcher = new InboundDispatcher(new TrafficStatistics(), 1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final Consumer<MqttMessage> consumer = dispatcher.wrap(Lane.BULK, message -> {
+            awaitQuietly(released);
+            handled.add(new String(message.getPayload(), StandardCharsets.UTF_8));
+        });
+        final Thread transport = new Thread(() -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                consumer.accept(new MqttMessage(MqttTopicConstants.LIFECYCLE_TOPIC + 1,
+                        String.valueOf(i).getBytes(StandardCharsets.UTF_8), QualityOfService.AT_LEAST_ONCE));
+            }
+        });
+        transport.start();
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+        while (transport.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline)
+            Thread.sleep(1);
+        Assertions.assertEquals(Thread.State.WAITING, transport.getState(),
+                "Transport thread should wait for space in the saturated lane.");
+        released.countDown();
+        transport.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+
+        awaitHandled(handled, MESSAGES);
+        Assertions.assertEquals(IntStream.range(0, MESSAGES).mapToObj(String::valueOf).collect(Collectors.toList()),
+                handled, "Reliable messages should never be dropped nor reordered.");
+        Assertions.assertEquals(0, dispatcher.getDroppedCount(Lane.BULK), "Reliable messages should NOT be dropped.");
+    }
+
+    @Test
+    void testLanesOfPolicies() {
+        Assertions.assertEquals(Lane.PRIORITY, TopicPolicy.CONTROL.getLane(), "Commands should be prioritised.");
+        Assertions.assertEquals(Lane.PRIORITY, TopicPolicy.ALERT_LEVEL.getLane(), "Alerts should be prioritised.");
+        Assertions.assertEquals(Lane.BULK, TopicPolicy.DATA.getLane(), "Telemetry should NOT be prioritised.");
+    }
+
+    private static MqttMessage telemetry(final int index) {
+        return new MqttMessage(MqttTopicConstants.DATA_TOPIC + 1,
+                String.valueOf(index).getBytes(StandardCharsets.UTF_8), QualityOfService.AT_MOST_ONCE);
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitHandled(final List<String> handled, final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+        while (handled.size() < count && System.currentTimeMillis() < deadline)
+            Thread.sleep(1);
+    }
+}
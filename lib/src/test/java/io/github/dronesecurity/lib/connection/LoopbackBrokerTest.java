@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests {@link LoopbackBroker}.
+ */
+final class LoopbackBrokerTest {
+
+    private static final String TOPIC = "sync/42";
+    private static final String RETAINED_TOPIC = "lifecycle/42";
+    private static final byte[] PAYLOAD = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final long TIMEOUT = 2;
+
+    @Test
+    void testTopicMatching() {
+        Assertions.assertTrue(LoopbackBroker.matches(TOPIC, TOPIC), "Equal topics should match.");
+        Assertions.assertTrue(LoopbackBroker.matches("sync/+", TOPIC), "Single level wildcard should match.");
+        Assertions.assertTrue(LoopbackBroker.matches("#", TOPIC), "Multi level wildcard should match everything.");
+        Assertions.assertTrue(LoopbackBroker.matches("sync/#", "sync"), "Multi level wildcard should match parent.");
+        Assertions.assertFalse(LoopbackBroker.matches("sync/+", "sync/42/1"),
+                "Single level wildcard should NOT match more levels.");
+        Assertions.assertFalse(LoopbackBroker.matches("data/+", TOPIC), "Different topics should NOT match.");
+    }
+
+    @Test
+    void testDelivery() throws InterruptedException {
+        final LoopbackTransport transport = new LoopbackTransport(LoopbackBroker.getInstance());
+        final List<MqttMessage> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(1);
+        transport.subscribe("sync/+", QualityOfService.AT_LEAST_ONCE, message -> {
+            received.add(message);
+            delivered.countDown();
+        });
+        transport.publish(new MqttMessage(TOPIC, PAYLOAD, QualityOfService.AT_MOST_ONCE));
+        Assertions.assertTrue(delivered.await(TIMEOUT, TimeUnit.SECONDS), "Message should be delivered.");
+        Assertions.assertEquals(QualityOfService.AT_MOST_ONCE, received.get(0).getQos(),
+                "Delivered QoS should be the minimum between publishing and subscription QoS.");
+
+        transport.close();
+        final LoopbackTransport otherTransport = new LoopbackTransport(LoopbackBroker.getInstance());
+        final CountDownLatch otherDelivered = new CountDownLatch(1);
+        otherTransport.subscribe(TOPIC, QualityOfService.AT_LEAST_ONCE, message -> otherDelivered.countDown());
+        otherTransport.publish(new MqttMessage(TOPIC, PAYLOAD, QualityOfService.AT_LEAST_ONCE));
+        Assertions.assertTrue(otherDelivered.await(TIMEOUT, TimeUnit.SECONDS), "Message should be delivered.");
+        Assertions.assertEquals(1, received.size(), "Closed transport should NOT receive messages.");
+        otherTransport.close();
+    }
+
+    @Test
+    void testRetainedMessage() throws InterruptedException {
+        final LoopbackTransport transport = new LoopbackTransport(LoopbackBroker.getInstance());
+        final List<MqttMessage> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(1);
+        transport.publish(new MqttMessage(RETAINED_TOPIC, PAYLOAD, QualityOfService.AT_LEAST_ONCE, true));
+        transport.subscribe(RETAINED_TOPIC, QualityOfService.AT_LEAST_ONCE, message -> {
+            received.add(message);
+            delivered.countDown();
+        });
+        Assertions.assertTrue(delivered.await(TIMEOUT, TimeUnit.SECONDS), "Retained message should be delivered.");
+        Assertions.assertTrue(received.get(0).getRetain(), "Message delivered on subscription should be retained.");
+        transport.close();
+    }
+}
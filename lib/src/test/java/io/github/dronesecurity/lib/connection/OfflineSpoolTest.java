@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests {@link OfflineSpool}.
+ */
+final class OfflineSpoolTest {
+
+    private static final String DATA_TOPIC = MqttTopicConstants.DATA_TOPIC + "1 proximity";
+    private static final String REPORT_TOPIC = MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + "1";
+    private static final int CAPACITY = 4096;
+    private static final int REPORTS = 20;
+
+    @Test
+    void testRetention() {
+        final OfflineSpool spool = new OfflineSpool(ByteBuffer.allocate(CAPACITY));
+        for (int i = 0; i < REPORTS; i++) {
+            Assertions.assertTrue(spool.append(message(DATA_TOPIC, i)), "Telemetry should be spooled.");
+            Assertions.assertTrue(spool.append(message(REPORT_TOPIC, i)), "Reports should be spooled.");
+        }
+        Assertions.assertFalse(spool.append(message(MqttTopicConstants.CONTROL_TOPIC + 1, 0)),
+                "Commands should NOT be spooled.");
+        Assertions.assertEquals(REPORTS + OfflineSpool.LATEST_TELEMETRY, spool.size(),
+                "Only the latest telemetry should be kept.");
+        int reports = 0;
+        int lastFrame = -1;
+        for (MqttMessage message = spool.peek(); message != null; message = spool.peek()) {
+            if (message.getTopic().equals(REPORT_TOPIC))
+                Assertions.assertEquals(reports++, index(message), "Reports should be replayed in order.");
+            else {
+                Assertions.assertTrue(index(message) >= REPORTS - OfflineSpool.LATEST_TELEMETRY,
+                        "Superseded telemetry should be skipped.");
+                Assertions.assertTrue(index(message) > lastFrame, "Telemetry should be replayed in order.");
+                lastFrame = index(message);
+            }
+            spool.remove();
+        }
+        Assertions.assertEquals(REPORTS, reports, "Every report should be replayed.");
+        Assertions.assertTrue(spool.isEmpty(), "Spool should be empty after replay.");
+    }
+
+    @Test
+    void testCompaction() {
+        final OfflineSpool spool = new OfflineSpool(ByteBuffer.allocate(CAPACITY));
+        for (int i = 0; i < CAPACITY; i++)
+            Assertions.assertTrue(spool.append(message(DATA_TOPIC, i)), "Superseded telemetry should be reclaimed.");
+        Assertions.assertEquals(OfflineSpool.LATEST_TELEMETRY, spool.size(),
+                "Only the latest telemetry should be kept.");
+        Assertions.assertEquals(CAPACITY - OfflineSpool.LATEST_TELEMETRY, index(spool.peek()),
+                "Oldest kept frame should be replayed first.");
+    }
+
+    @Test
+    void testRecovery() throws IOException {
+        final Path file = Files.createTempFile("spool", ".bin");
+        file.toFile().deleteOnExit();
+        final OfflineSpool spool = OfflineSpool.open(file, CAPACITY);
+        spool.append(message(REPORT_TOPIC, 0));
+        spool.append(new MqttMessage(MqttTopicConstants.LIFECYCLE_TOPIC + 1, new byte[0],
+                QualityOfService.AT_LEAST_ONCE, true));
+        spool.peek();
+        spool.remove();
+        spool.force();
+
+        final OfflineSpool recovered = OfflineSpool.open(file, CAPACITY);
+        Assertions.assertEquals(1, recovered.size(), "Replayed messages should NOT be recovered.");
+        final MqttMessage message = recovered.peek();
+        Assertions.assertNotNull(message, "Spooled message should be recovered.");
+        Assertions.assertEquals(MqttTopicConstants.LIFECYCLE_TOPIC + 1, message.getTopic(),
+                "Topic should be recovered.");
+        Assertions.assertEquals(QualityOfService.AT_LEAST_ONCE, message.getQos(), "QoS should be recovered.");
+        Assertions.assertTrue(message.getRetain(), "Retain flag should be recovered.");
+    }
+
+    private static MqttMessage message(final String topic, final int index) {
+        return new MqttMessage(topic, String.valueOf(index).getBytes(StandardCharsets.UTF_8),
+                TopicPolicy.of(topic).getQos(), false);
+    }
+
+    private static int index(final MqttMessage message) {
+        return Integer.parseInt(new String(message.getPayload(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests {@link OutboundPublisher}.
+ */
+final class OutboundPublisherTest {
+
+    private static final String REPORT_TOPIC = MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + "1";
+    private static final byte[] PAYLOAD = new byte[1];
+    private static final long TIMEOUT = 2;
+
+    @Test
+    void testStopCompletesPendingMessages() throws InterruptedException {
+        final CompletableFuture<Integer> stuck = new CompletableFuture<>();
+        final Properties properties = new Properties();
+        properties.setProperty(PropertiesConstants.PUBLISH_MAX_IN_FLIGHT, "1");
+        final CountDownLatch handed = new CountDownLatch(1);
+        final OutboundPublisher publisher = new OutboundPublisher(Lane.BULK, message -> {
+            handed.countDown();
+            return stuck;
+        }, properties);
+        final CompletableFuture<Integer> inFlight = publisher.publish(REPORT_TOPIC, PAYLOAD);
+        Assertions.assertTrue(handed.await(TIMEOUT, TimeUnit.SECONDS), "First message should be handed to the sink.");
+        final CompletableFuture<Integer> waiting = publisher.publish(REPORT_TOPIC, PAYLOAD);
+        final CompletableFuture<Integer> queued = publisher.publish(REPORT_TOPIC, PAYLOAD);
+
+        publisher.stop();
+        assertRejected(waiting, "Message waiting for the in-flight window should be rejected once stopped.");
+        assertRejected(queued, "Queued message should be rejected once stopped.");
+        assertRejected(publisher.publish(REPORT_TOPIC, PAYLOAD), "Message published once stopped should be rejected.");
+        Assertions.assertFalse(inFlight.isDone(), "Message handed to the transport should wait for it.");
+        stuck.complete(1);
+        Assertions.assertTrue(publisher.flush(TimeUnit.SECONDS.toMillis(TIMEOUT)),
+                "Nothing should be left pending once stopped.");
+    }
+
+    private static void assertRejected(final CompletableFuture<Integer> future, final String message) {
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> future.get(TIMEOUT, TimeUnit.SECONDS), message);
+        Assertions.assertTrue(exception.getCause() instanceof PublishRejectedException, message);
+    }
+}
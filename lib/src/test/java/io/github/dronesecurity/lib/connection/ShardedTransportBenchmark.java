@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Measures the throughput of a {@link ShardedTransport} of 1, 2, 4 and 8 simulated sockets. Outbound, each socket
+ * acknowledges messages of the {@link OutboundPublisher} after a fixed delay and accepts a limited number of them in
+ * flight. Inbound, each socket reads the messages of the topics subscribed on it one at a time, spending a fixed time
+ * on each, like the single I/O thread of a client connection.
+ * Messages per second are logged, while the tests only check every message is delivered, so they never fail
+ * because of a slow machine.
+ */
+@Tag("benchmark")
+final class ShardedTransportBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedTransportBenchmark.class);
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8};
+    private static final int MESSAGES = 10_000;
+    private static final int TOPICS = 64;
+    private static final int SOCKET_WINDOW = 16;
+    private static final long ACK_DELAY_MICROS = 2000;
+    private static final long READ_MICROS = 100;
+    private static final long FLUSH_TIMEOUT_MILLIS = 60_000;
+    private static final byte[] PAYLOAD = new byte[64];
+    private static final String TOPIC_PREFIX = "benchmark/";
+    private static final String REPORT_FORMAT = "{} shard(s): {} msg/s";
+    private static final String INBOUND_REPORT_FORMAT = "{} shard(s): {} msg/s received";
+
+    private final ScheduledExecutorService network = Executors.newScheduledThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "simulated-network");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Test
+    void benchmarkShardCounts() {
+        for (final int shardCount : SHARD_COUNTS)
+            this.measure(shardCount);
+    }
+
+    @Test
+    void benchmarkInboundShardCounts() throws InterruptedException {
+        for (final int shardCount : SHARD_COUNTS)
+            this.measureInbound(shardCount);
+    }
+
+    private void measure(final int shardCount) {
+        final List<SimulatedSocket> sockets = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++)
+            sockets.add(new SimulatedSocket(this.network));
+        final Properties properties = new Properties();
+        properties.setProperty(PropertiesConstants.PUBLISH_MAX_IN_FLIGHT,
+                String.valueOf(OutboundPublisher.DEFAULT_MAX_IN_FLIGHT * shardCount));
+        final OutboundPublisher publisher =
+                new OutboundPublisher(Lane.BULK, new ShardedTransport(new ArrayList<>(sockets))::publish, properties);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++)
+            publisher.publish(TOPIC_PREFIX + i % TOPICS, PAYLOAD);
+        Assertions.assertTrue(publisher.flush(FLUSH_TIMEOUT_MILLIS), "Every message should be acknowledged.");
+        final long elapsed = System.nanoTime() - start;
+
+        LOGGER.info(REPORT_FORMAT, shardCount, MESSAGES * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        Assertions.assertEquals(MESSAGES, sockets.stream().mapToInt(SimulatedSocket::getAcknowledged).sum(),
+                "Every message should be sent exactly once.");
+        sockets.forEach(socket -> Assertions.assertTrue(socket.getAcknowledged() > 0,
+                "Topics should be spread over every shard."));
+        sockets.forEach(SimulatedSocket::close);
+    }
+
+    private void measureInbound(final int shardCount) throws InterruptedException {
+        final List<SimulatedSocket> sockets = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++)
+            sockets.add(new SimulatedSocket(this.network));
+        final ShardedTransport transport = new ShardedTransport(new ArrayList<>(sockets));
+        final CountDownLatch received = new CountDownLatch(MESSAGES);
+        for (int i = 0; i < TOPICS; i++)
+            transport.subscribe(TOPIC_PREFIX + i, QualityOfService.AT_MOST_ONCE, message -> received.countDown());
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            final MqttMessage message = new MqttMessage(TOPIC_PREFIX + i % TOPICS, PAYLOAD,
+                    QualityOfService.AT_MOST_ONCE);
+            sockets.forEach(socket -> socket.deliver(message));
+        }
+        Assertions.assertTrue(received.await(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+                "Every message should be received.");
+        final long elapsed = System.nanoTime() - start;
+
+        LOGGER.info(INBOUND_REPORT_FORMAT, shardCount, MESSAGES * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        sockets.forEach(socket -> Assertions.assertTrue(socket.getDelivered() > 0,
+                "Subscribed topics should be spread over every shard."));
+        sockets.forEach(SimulatedSocket::close);
+    }
+
+    /**
+     * Socket writing messages one at a time, with at most {@link #SOCKET_WINDOW} of them waiting for acknowledgement,
+     * and reading the messages of its subscriptions one at a time.
+     */
+    private static final class SimulatedSocket implements MqttTransport {
+
+        private final ScheduledExecutorService network;
+        private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "simulated-socket");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "simulated-socket-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final Semaphore window = new Semaphore(SOCKET_WINDOW);
+        private final AtomicInteger acknowledged = new AtomicInteger();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final Map<String, Consumer<MqttMessage>> subscriptions = new ConcurrentHashMap<>();
+
+        private SimulatedSocket(final ScheduledExecutorService network) {
+            this.network = network;
+        }
+
+        private int getAcknowledged() {
+            return this.acknowledged.get();
+        }
+
+        private int getDelivered() {
+            return this.delivered.get();
+        }
+
+        private void deliver(final @NotNull MqttMessage message) {
+            final Consumer<MqttMessage> consumer = this.subscriptions.get(message.getTopic());
+            if (consumer == null)
+                return;
+            this.reader.execute(() -> {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(READ_MICROS));
+                this.delivered.incrementAndGet();
+                consumer.accept(message);
+            });
+        }
+
+        @Override
+        public CompletableFuture<Boolean> connect() {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        public CompletableFuture<Integer> publish(final @NotNull MqttMessage message) {
+            final CompletableFuture<Integer> acknowledgement = new CompletableFuture<>();
+            this.writer.execute(() -> {
+                this.window.acquireUninterruptibly();
+                this.network.schedule(() -> {
+                    this.window.release();
+                    acknowledgement.complete(this.acknowledged.incrementAndGet());
+                }, ACK_DELAY_MICROS, TimeUnit.MICROSECONDS);
+            });
+            return acknowledgement;
+        }
+
+        @Override
+        public CompletableFuture<Integer> subscribe(final String topic,
+                                                   final QualityOfService qos,
+                                                   final Consumer<MqttMessage> consumer) {
+            this.subscriptions.put(topic, consumer);
+            return CompletableFuture.completedFuture(0);
+        }
+
+        @Override
+        public CompletableFuture<Integer> unsubscribe(final String topic) {
+            this.subscriptions.remove(topic);
+            return CompletableFuture.completedFuture(0);
+        }
+
+        @Override
+        public void setLinkListener(final Consumer<Boolean> listener) {
+            // Simulated sockets are never interrupted.
+        }
+
+        @Override
+        public void close() {
+            this.writer.shutdownNow();
+            this.reader.shutdownNow();
+        }
+    }
+}
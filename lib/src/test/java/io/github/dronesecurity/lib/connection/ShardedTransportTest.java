@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Tests {@link ShardedTransport}.
+ */
+final class ShardedTransportTest {
+
+    private static final int SHARDS = 3;
+
+    @Test
+    void testLinkStateOfEveryShard() {
+        final List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++)
+            shards.add(new Shard());
+        final ShardedTransport transport = new ShardedTransport(new ArrayList<>(shards));
+        final List<Boolean> changes = new ArrayList<>();
+        transport.setLinkListener(changes::add);
+
+        shards.get(0).changeLink(false);
+        shards.get(1).changeLink(false);
+        Assertions.assertEquals(List.of(false), changes, "Link should be down as soon as any shard is down.");
+        shards.get(0).changeLink(true);
+        Assertions.assertEquals(List.of(false), changes, "Link should NOT be up while any shard is down.");
+        shards.get(1).changeLink(true);
+        Assertions.assertEquals(List.of(false, true), changes, "Link should be up once every shard is up.");
+        shards.get(2).changeLink(true);
+        Assertions.assertEquals(List.of(false, true), changes, "Repeated changes should NOT be notified.");
+    }
+
+    /**
+     * Shard whose link changes are driven by the test.
+     */
+    private static final class Shard implements MqttTransport {
+
+        private Consumer<Boolean> listener;
+
+        private void changeLink(final boolean resumed) {
+            this.listener.accept(resumed);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> connect() {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        public CompletableFuture<Integer> publish(final @NotNull MqttMessage message) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        @Override
+        public CompletableFuture<Integer> subscribe(final String topic,
+                                                   final QualityOfService qos,
+                                                   final Consumer<MqttMessage> consumer) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        @Override
+        public CompletableFuture<Integer> unsubscribe(final String topic) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        @Override
+        public void setLinkListener(final Consumer<Boolean> linkListener) {
+            this.listener = linkListener;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release.
+        }
+    }
+}
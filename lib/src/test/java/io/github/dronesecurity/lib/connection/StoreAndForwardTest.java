@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests {@link StoreAndForward}.
+ */
+final class StoreAndForwardTest {
+
+    private static final String REPORT_TOPIC = MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + "1";
+    private static final String CONTROL_TOPIC = MqttTopicConstants.CONTROL_TOPIC + "1";
+    private static final int CAPACITY = 4096;
+    private static final int MESSAGES = 10;
+    private static final long TIMEOUT = 2;
+    private static final long POLL_MILLIS = 10;
+
+    private final List<MqttMessage> sent = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean linkUp = new AtomicBoolean();
+
+    @Test
+    void testOfflineMessagesAreReplayedInOrder()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        final StoreAndForward uplink = this.createUplink();
+        for (int i = 0; i < MESSAGES; i++) {
+            Assertions.assertEquals(StoreAndForward.SPOOLED_PACKET_ID,
+                    uplink.send(message(REPORT_TOPIC, i)).get(TIMEOUT, TimeUnit.SECONDS),
+                    "Messages should be spooled while offline.");
+        }
+        Assertions.assertTrue(this.sent.isEmpty(), "Nothing should be sent while offline.");
+        this.linkUp.set(true);
+        uplink.linkUp();
+        uplink.send(message(REPORT_TOPIC, MESSAGES));
+        this.awaitSent(MESSAGES + 1);
+        for (int i = 0; i <= MESSAGES; i++)
+            Assertions.assertEquals(i, index(this.sent.get(i)), "Messages should be replayed in order.");
+        Assertions.assertEquals(0, uplink.getSpooledCount(), "Spool should be empty after replay.");
+    }
+
+    @Test
+    void testFailedMessagesAreSpooled() throws ExecutionException, InterruptedException, TimeoutException {
+        final StoreAndForward uplink = this.createUplink();
+        uplink.linkUp();
+        Assertions.assertEquals(StoreAndForward.SPOOLED_PACKET_ID,
+                uplink.send(message(REPORT_TOPIC, 0)).get(TIMEOUT, TimeUnit.SECONDS),
+                "Messages failing to be sent should be spooled.");
+        this.linkUp.set(true);
+        this.awaitSent(1);
+        Assertions.assertEquals(0, index(this.sent.get(0)), "Spooled message should be retried.");
+    }
+
+    @Test
+    void testMessagesAfterCloseAreReplayedOnReconnect()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        final StoreAndForward uplink = this.createUplink();
+        this.linkUp.set(true);
+        uplink.linkUp();
+        uplink.send(message(REPORT_TOPIC, 0)).get(TIMEOUT, TimeUnit.SECONDS);
+        this.linkUp.set(false);
+        uplink.linkDown();
+        for (int i = 1; i <= MESSAGES; i++) {
+            Assertions.assertEquals(StoreAndForward.SPOOLED_PACKET_ID,
+                    uplink.send(message(REPORT_TOPIC, i)).get(TIMEOUT, TimeUnit.SECONDS),
+                    "Messages published after closing should be spooled.");
+        }
+        Assertions.assertEquals(MESSAGES, uplink.getSpooledCount(), "Messages published after closing should be kept.");
+        this.linkUp.set(true);
+        uplink.linkUp();
+        this.awaitSent(MESSAGES + 1);
+        for (int i = 0; i <= MESSAGES; i++)
+            Assertions.assertEquals(i, index(this.sent.get(i)), "Messages should be replayed in order on reconnect.");
+    }
+
+    @Test
+    void testCommandsAreNotSpooled() {
+        final StoreAndForward uplink = this.createUplink();
+        Assertions.assertThrows(ExecutionException.class,
+                () -> uplink.send(message(CONTROL_TOPIC, 0)).get(TIMEOUT, TimeUnit.SECONDS),
+                "Commands should be handed to the transport even if offline.");
+        Assertions.assertEquals(0, uplink.getSpooledCount(), "Commands should NOT be spooled.");
+    }
+
+    private StoreAndForward createUplink() {
+        final Properties properties = new Properties();
+        properties.setProperty(PropertiesConstants.SPOOL_REPLAY_RATE, "1000");
+        properties.setProperty(PropertiesConstants.RECONNECT_MIN_DELAY_MILLIS, "10");
+        return new StoreAndForward(new OfflineSpool(ByteBuffer.allocate(CAPACITY)), message -> {
+            if (!this.linkUp.get())
+                return CompletableFuture.failedFuture(new IllegalStateException("Link is down."));
+            this.sent.add(message);
+            return CompletableFuture.completedFuture(this.sent.size());
+        }, properties);
+    }
+
+    private void awaitSent(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+        while (this.sent.size() < count && System.currentTimeMillis() < deadline)
+            Thread.sleep(POLL_MILLIS);
+        Assertions.assertEquals(count, this.sent.size(), "Every message should be sent.");
+    }
+
+    private static MqttMessage message(final String topic, final int index) {
+        return new MqttMessage(topic, String.valueOf(index).getBytes(StandardCharsets.UTF_8),
+                TopicPolicy.of(topic).getQos(), false);
+    }
+
+    private static int index(final MqttMessage message) {
+        return Integer.parseInt(new String(message.getPayload(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tests {@link TopicPolicy}.
+ */
+final class TopicPolicyTest {
+
+    private static final String DATA_TOPIC = MqttTopicConstants.DATA_TOPIC + "1 proximity";
+    private static final long TIMEOUT = 2;
+
+    @Test
+    void testPolicyLookup() {
+        Assertions.assertEquals(TopicPolicy.DATA, TopicPolicy.of(DATA_TOPIC), "Sensor data should be telemetry.");
+        Assertions.assertEquals(TopicPolicy.DATA, TopicPolicy.of(DATA_TOPIC + MqttTopicConstants.BINARY_TOPIC_SUFFIX),
+                "Binary frames should follow the policy of their JSON topic.");
+        Assertions.assertEquals(TopicPolicy.CONTROL, TopicPolicy.of(MqttTopicConstants.CONTROL_TOPIC + 1),
+                "Control topic should have its own policy.");
+        Assertions.assertEquals(TopicPolicy.DEFAULT, TopicPolicy.of("unknown"), "Unknown topics should use default.");
+    }
+
+    @Test
+    void testTiers() {
+        Assertions.assertEquals(QualityOfService.AT_MOST_ONCE, TopicPolicy.DATA.getQos(),
+                "Telemetry should be fire-and-forget.");
+        Assertions.assertEquals(OverflowPolicy.DROP, TopicPolicy.DATA.getOverflowPolicy(),
+                "Telemetry should be dropped if the queue is full.");
+        Assertions.assertEquals(QualityOfService.AT_LEAST_ONCE, TopicPolicy.CONTROL.getQos(),
+                "Commands should be delivered at least once.");
+        Assertions.assertEquals(OverflowPolicy.BLOCK, TopicPolicy.LIFECYCLE.getOverflowPolicy(),
+                "Lifecycle messages should never be dropped.");
+        Assertions.assertTrue(TopicPolicy.LIFECYCLE.isRetain(), "Lifecycle messages should be retained.");
+    }
+
+    @Test
+    void testPublisherAppliesPolicy() throws ExecutionException, InterruptedException, TimeoutException {
+        final List<MqttMessage> sent = new CopyOnWriteArrayList<>();
+        final OutboundPublisher publisher = new OutboundPublisher(Lane.BULK, message -> {
+            sent.add(message);
+            return CompletableFuture.completedFuture(sent.size());
+        }, new Properties());
+        publisher.publish(DATA_TOPIC, MessageCodecHelper.createObjectNode()).get(TIMEOUT, TimeUnit.SECONDS);
+        publisher.publish(MqttTopicConstants.LIFECYCLE_TOPIC + 1, MessageCodecHelper.createObjectNode())
+                .get(TIMEOUT, TimeUnit.SECONDS);
+        Assertions.assertEquals(QualityOfService.AT_MOST_ONCE, sent.get(0).getQos(), "Telemetry QoS should be 0.");
+        Assertions.assertFalse(sent.get(0).getRetain(), "Telemetry should NOT be retained.");
+        Assertions.assertEquals(QualityOfService.AT_LEAST_ONCE, sent.get(1).getQos(), "Lifecycle QoS should be 1.");
+        Assertions.assertTrue(sent.get(1).getRetain(), "Lifecycle should be retained.");
+    }
+
+    @Test
+    void testStaleTelemetryExpires() throws InterruptedException {
+        final CompletableFuture<Integer> stuck = new CompletableFuture<>();
+        final Properties properties = new Properties();
+        properties.setProperty(PropertiesConstants.PUBLISH_MAX_IN_FLIGHT, "1");
+        final OutboundPublisher publisher = new OutboundPublisher(Lane.BULK, message -> stuck, properties);
+        publisher.publish(DATA_TOPIC, MessageCodecHelper.createObjectNode());
+        final CompletableFuture<Integer> stale = publisher.publish(DATA_TOPIC, MessageCodecHelper.createObjectNode());
+        Thread.sleep(TopicPolicy.DATA.getExpiry().toMillis() + TimeUnit.SECONDS.toMillis(1) / 2);
+        stuck.complete(0);
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> stale.get(TIMEOUT, TimeUnit.SECONDS), "Stale telemetry should NOT be sent.");
+        Assertions.assertTrue(exception.getCause() instanceof MessageExpiredException,
+                "Stale telemetry should be expired.");
+    }
+}
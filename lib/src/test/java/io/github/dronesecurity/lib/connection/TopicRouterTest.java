@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests {@link TopicRouter}.
+ */
+final class TopicRouterTest {
+
+    private static final String FIRST_ORDER_TOPIC = MqttTopicConstants.ALERT_LEVEL_TOPIC + 1;
+    private static final String SECOND_ORDER_TOPIC = MqttTopicConstants.ALERT_LEVEL_TOPIC + 2;
+    private static final byte[] PAYLOAD = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> subscriptions = new ArrayList<>();
+    private final List<String> unsubscriptions = new ArrayList<>();
+
+    @Test
+    void testSingleSubscriptionPerTopic() {
+        final TopicRouter router = this.createRouter();
+        final TopicRegistration first = router.register(FIRST_ORDER_TOPIC, message -> { });
+        final TopicRegistration second = router.register(FIRST_ORDER_TOPIC, message -> { });
+        router.register(SECOND_ORDER_TOPIC, message -> { });
+        Assertions.assertEquals(List.of(FIRST_ORDER_TOPIC, SECOND_ORDER_TOPIC), this.subscriptions,
+                "Only one subscription should be made for each concrete topic.");
+
+        first.cancel();
+        Assertions.assertTrue(this.unsubscriptions.isEmpty(), "Topics still followed should NOT be unsubscribed.");
+        second.cancel();
+        Assertions.assertEquals(List.of(FIRST_ORDER_TOPIC), this.unsubscriptions,
+                "Topics should be unsubscribed with their last handler.");
+    }
+
+    @Test
+    void testWildcardsAreRejected() {
+        final TopicRouter router = this.createRouter();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> router.register(MqttTopicConstants.ALERT_LEVEL_TOPIC + "#", message -> { }),
+                "Wildcards should NOT be routed.");
+        Assertions.assertTrue(this.subscriptions.isEmpty(), "Rejected topics should NOT be subscribed.");
+    }
+
+    @Test
+    void testDispatch() {
+        final TopicRouter router = this.createRouter();
+        final List<String> received = new ArrayList<>();
+        final TopicRegistration first = router.register(FIRST_ORDER_TOPIC, message -> received.add(FIRST_ORDER_TOPIC));
+        router.register(SECOND_ORDER_TOPIC, message -> received.add(SECOND_ORDER_TOPIC));
+
+        router.dispatch(new MqttMessage(FIRST_ORDER_TOPIC, PAYLOAD, QualityOfService.AT_LEAST_ONCE));
+        Assertions.assertEquals(List.of(FIRST_ORDER_TOPIC), received,
+                "Message should be dispatched to the handlers of its topic only.");
+
+        received.clear();
+        first.cancel();
+        router.dispatch(new MqttMessage(FIRST_ORDER_TOPIC, PAYLOAD, QualityOfService.AT_LEAST_ONCE));
+        Assertions.assertTrue(received.isEmpty(), "Cancelled handler should NOT receive messages.");
+
+        router.register(FIRST_ORDER_TOPIC, message -> received.add(FIRST_ORDER_TOPIC));
+        router.dispatch(new MqttMessage(FIRST_ORDER_TOPIC, PAYLOAD, QualityOfService.AT_LEAST_ONCE));
+        Assertions.assertEquals(List.of(FIRST_ORDER_TOPIC), received,
+                "Handler registered again after the last one was cancelled should receive messages.");
+    }
+
+    private TopicRouter createRouter() {
+        return new TopicRouter((topic, consumer) -> {
+            this.subscriptions.add(topic);
+            return CompletableFuture.completedFuture(0);
+        }, topic -> {
+            this.unsubscriptions.add(topic);
+            return CompletableFuture.completedFuture(0);
+        });
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.connection;
+
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
+import software.amazon.awssdk.crt.mqtt.QualityOfService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tests {@link TrafficStatistics}.
+ */
+final class TrafficStatisticsTest {
+
+    private static final String DATA_TOPIC = MqttTopicConstants.DATA_TOPIC + "1 proximity";
+    private static final byte[] PAYLOAD = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final int SAMPLES = 100;
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long TIMEOUT = 2;
+    private static final double MEDIAN = 50;
+    private static final double HIGHEST_PERCENTILE = 100;
+
+    @Test
+    void testHistogramPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i < SAMPLES; i++)
+            histogram.record(i);
+        histogram.record(SLOW_NANOS);
+        Assertions.assertEquals(SAMPLES, histogram.getCount(), "Every duration should be counted.");
+        Assertions.assertTrue(histogram.getPercentile(MEDIAN).toNanos() < SAMPLES,
+                "Median should NOT be affected by the slow sample.");
+        Assertions.assertEquals(Duration.ofNanos(SLOW_NANOS), histogram.getPercentile(HIGHEST_PERCENTILE),
+                "Highest percentile should be the maximum.");
+        Assertions.assertEquals(Duration.ofNanos(SLOW_NANOS), histogram.getMax(), "Maximum should be tracked.");
+    }
+
+    @Test
+    void testPublisherRecordsEncoding() throws ExecutionException, InterruptedException, TimeoutException {
+        final TrafficStatistics statistics = new TrafficStatistics();
+        final OutboundPublisher publisher = new OutboundPublisher(Lane.BULK,
+                message -> CompletableFuture.completedFuture(1), new Properties(), statistics);
+        publisher.publish(DATA_TOPIC, MessageCodecHelper.createObjectNode()).get(TIMEOUT, TimeUnit.SECONDS);
+        publisher.publish(DATA_TOPIC, PAYLOAD).get(TIMEOUT, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, statistics.of(TopicPolicy.DATA).getEncodingTime().getCount(),
+                "Only JSON payloads should be encoded.");
+    }
+
+    @Test
+    void testDispatcherRecordsCallbacks() throws InterruptedException {
+        final TrafficStatistics statistics = new TrafficStatistics();
+        final CountDownLatch handled = new CountDownLatch(1);
+        new InboundDispatcher(statistics).wrap(Lane.BULK, message -> handled.countDown())
+                .accept(new MqttMessage(DATA_TOPIC, PAYLOAD, QualityOfService.AT_MOST_ONCE));
+        Assertions.assertTrue(handled.await(TIMEOUT, TimeUnit.SECONDS), "Message should be handled.");
+        final TopicTrafficStatistics data = statistics.of(DATA_TOPIC);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (data.getMessagesIn() == 0 && System.nanoTime() < deadline)
+            Thread.onSpinWait();
+        Assertions.assertEquals(1, data.getMessagesIn(), "Received message should be counted.");
+        Assertions.assertEquals(PAYLOAD.length, data.getBytesIn(), "Received bytes should be counted.");
+        Assertions.assertEquals(1, data.getCallbackTime().getCount(), "Callback time should be measured.");
+    }
+
+    @Test
+    void testCsvReport() throws IOException {
+        final TrafficStatistics statistics = new TrafficStatistics();
+        statistics.of(TopicPolicy.NEGLIGENCE_REPORTS).recordSent(PAYLOAD.length);
+        statistics.recordConnection(false);
+        final Path file = Files.createTempFile("traffic", ".csv");
+        Files.delete(file);
+        try {
+            new TrafficReporter(statistics, file).run();
+            final List<String> lines = Files.readAllLines(file);
+            Assertions.assertEquals(2, lines.size(), "Only policies with traffic should be reported.");
+            Assertions.assertEquals(TrafficReporter.CSV_HEADER, lines.get(0), "Header should be written first.");
+            Assertions.assertTrue(lines.get(1).contains(TopicPolicy.NEGLIGENCE_REPORTS.name()),
+                    "Row should name its policy.");
+            Assertions.assertEquals(TrafficReporter.CSV_HEADER.split(",").length, lines.get(1).split(",").length,
+                    "Row should have a value for every column.");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests {@link FlightRecordCodecHelper} and {@link FlightRecordAssembler}.
+ */
+final class FlightRecordCodecHelperTest {
+
+    private static final String ID = "42-1650000000000";
+    private static final long DETECTION_MILLIS = 1_650_000_000_000L;
+    private static final int SAMPLES = 500;
+    private static final long PERIOD_MILLIS = 20;
+    private static final double DISTANCE = 100;
+    private static final double PITCH = 10.5;
+    private static final double ROLL = -20;
+    private static final double YAW = 30;
+    private static final int CHUNK_SIZE = 256;
+    private static final int MAX_PENDING = 4;
+    private static final double DELTA = 1e-3;
+
+    @Test
+    void testRoundTrip() {
+        final FlightRecord record = FlightRecordCodecHelper.decode(FlightRecordCodecHelper.encode(record()));
+        Assertions.assertEquals(ID, record.getId(), "Identifier should survive the round trip.");
+        Assertions.assertEquals(DETECTION_MILLIS, record.getDetectionMillis(),
+                "Detection instant should survive the round trip.");
+        final FlightRecord.Samples distances = record.getSamples(TelemetryType.PROXIMITY);
+        Assertions.assertEquals(SAMPLES, distances.size(), "Every sample should survive the round trip.");
+        Assertions.assertEquals(DETECTION_MILLIS - PERIOD_MILLIS * SAMPLES, distances.getTime(0),
+                "Times before the detection should survive the round trip.");
+        Assertions.assertEquals(DISTANCE - SAMPLES + 1, distances.getValue(SAMPLES - 1, 0), DELTA,
+                "Values should survive the round trip.");
+        final FlightRecord.Samples angles = record.getSamples(TelemetryType.ACCELEROMETER);
+        Assertions.assertEquals(ROLL, angles.getValue(SAMPLES - 1, 1), DELTA,
+                "Every value of a sample should survive the round trip.");
+        Assertions.assertEquals(0, record.getSamples(TelemetryType.CAMERA).size(),
+                "Streams NOT recorded should be empty.");
+    }
+
+    @Test
+    void testCompression() {
+        final int raw = SAMPLES * (Integer.BYTES + Float.BYTES)
+                + SAMPLES * (Integer.BYTES + TelemetryType.ACCELEROMETER.getValueCount() * Float.BYTES);
+        Assertions.assertTrue(FlightRecordCodecHelper.encode(record()).length < raw / 2,
+                "Alike consecutive samples should be compressed.");
+    }
+
+    @Test
+    void testChunksInAnyOrder() {
+        final List<byte[]> chunks = new ArrayList<>(
+                FlightRecordCodecHelper.split(ID, FlightRecordCodecHelper.encode(record()), CHUNK_SIZE));
+        Assertions.assertTrue(chunks.size() > 1, "Record should be split into many chunks.");
+        Collections.reverse(chunks);
+        chunks.add(chunks.get(0));
+        final FlightRecordAssembler assembler = new FlightRecordAssembler(MAX_PENDING);
+        FlightRecord assembled = null;
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            Assertions.assertNull(assembled, "Record should be assembled only once all its chunks are received.");
+            assembled = assembler.add(chunks.get(i));
+        }
+        Assertions.assertNotNull(assembled, "Record should be assembled once all its chunks are received.");
+        Assertions.assertEquals(SAMPLES, assembled.getSamples(TelemetryType.PROXIMITY).size(),
+                "Assembled record should be complete.");
+        Assertions.assertEquals(0, assembler.getPending(), "Assembled records should NOT be kept.");
+    }
+
+    @Test
+    void testInvalidPayloads() {
+        final byte[] encoded = FlightRecordCodecHelper.encode(record());
+        Assertions.assertThrows(InvalidTelemetryFrameException.class,
+                () -> FlightRecordCodecHelper.decode(Arrays.copyOf(encoded, encoded.length / 2)),
+                "Truncated records should be rejected.");
+        Assertions.assertThrows(InvalidTelemetryFrameException.class,
+                () -> new FlightRecordAssembler(MAX_PENDING).add(new byte[] {1, 2, 3}),
+                "Invalid chunks should be rejected.");
+    }
+
+    private static FlightRecord record() {
+        final long[] times = new long[SAMPLES];
+        final double[] distances = new double[SAMPLES];
+        final int angleCount = TelemetryType.ACCELEROMETER.getValueCount();
+        final double[] angles = new double[SAMPLES * angleCount];
+        for (int i = 0; i < SAMPLES; i++) {
+            times[i] = DETECTION_MILLIS - PERIOD_MILLIS * (SAMPLES - i);
+            distances[i] = DISTANCE - i;
+            angles[i * angleCount] = PITCH;
+            angles[i * angleCount + 1] = ROLL;
+            angles[i * angleCount + 2] = YAW;
+        }
+        final Map<TelemetryType, FlightRecord.Samples> samples = new EnumMap<>(TelemetryType.class);
+        samples.put(TelemetryType.PROXIMITY, new FlightRecord.Samples(TelemetryType.PROXIMITY, times, distances));
+        samples.put(TelemetryType.ACCELEROMETER,
+                new FlightRecord.Samples(TelemetryType.ACCELEROMETER, times, angles));
+        return new FlightRecord(ID, DETECTION_MILLIS, samples);
+    }
+}
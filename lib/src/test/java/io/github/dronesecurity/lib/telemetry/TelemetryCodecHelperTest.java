@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021-2022, Mirko Felice & Maxim Derevyanchenko. All rights reserved.
+ * Licensed under the MIT license. See LICENSE file in the project root for details.
+ */
+
+package io.github.dronesecurity.lib.telemetry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests {@link TelemetryCodecHelper}.
+ */
+final class TelemetryCodecHelperTest {
+
+    private static final long ORDER_ID = 42;
+    private static final int SEQUENCE = 7;
+    private static final long EPOCH_NANOS = 1_650_000_000_123_456_789L;
+    private static final double DISTANCE = 12.5;
+    private static final int PITCH = 10;
+    private static final int ROLL = -20;
+    private static final int YAW = 30;
+    private static final int IMAGE_LENGTH = 4096;
+
+    @Test
+    void testProximityRoundTrip() {
+        final TelemetryFrame frame = TelemetryCodecHelper.decode(TelemetryCodecHelper.encode(
+                TelemetryFrame.proximity(ORDER_ID, SEQUENCE, EPOCH_NANOS, DISTANCE)));
+        Assertions.assertEquals(TelemetryType.PROXIMITY, frame.getType(), "Type should survive the round trip.");
+        Assertions.assertEquals(ORDER_ID, frame.getOrderId(), "Order id should survive the round trip.");
+        Assertions.assertEquals(SEQUENCE, frame.getSequence(), "Sequence should survive the round trip.");
+        Assertions.assertEquals(EPOCH_NANOS, frame.getEpochNanos(), "Timestamp should keep nanosecond precision.");
+        Assertions.assertEquals(DISTANCE, frame.getDistance(), "Distance should survive the round trip.");
+    }
+
+    @Test
+    void testAccelerometerRoundTrip() {
+        final TelemetryFrame frame = TelemetryCodecHelper.decode(TelemetryCodecHelper.encode(
+                TelemetryFrame.accelerometer(ORDER_ID, SEQUENCE, EPOCH_NANOS, new int[] {PITCH, ROLL, YAW})));
+        Assertions.assertEquals(TelemetryType.ACCELEROMETER, frame.getType(), "Type should survive the round trip.");
+        Assertions.assertEquals(PITCH, frame.getPitch(), "Pitch should survive the round trip.");
+        Assertions.assertEquals(ROLL, frame.getRoll(), "Negative roll should survive the round trip.");
+        Assertions.assertEquals(YAW, frame.getYaw(), "Yaw should survive the round trip.");
+    }
+
+    @Test
+    void testCameraRoundTrip() {
+        final byte[] payload = TelemetryCodecHelper.encode(
+                TelemetryFrame.camera(ORDER_ID, SEQUENCE, EPOCH_NANOS, IMAGE_LENGTH));
+        Assertions.assertEquals(TelemetryCodecHelper.HEADER_SIZE + TelemetryType.CAMERA.getBodySize(),
+                payload.length, "Frame should be exactly header plus body.");
+        Assertions.assertEquals(IMAGE_LENGTH, TelemetryCodecHelper.decode(payload).getImageLength(),
+                "Image length should survive the round trip.");
+    }
+
+    @Test
+    void testJsonIsNotBinaryFrame() {
+        final byte[] json = "{\"proximity\":1.0}".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertFalse(TelemetryCodecHelper.isBinaryFrame(json), "JSON should not be sniffed as binary.");
+        Assertions.assertThrows(InvalidTelemetryFrameException.class, () -> TelemetryCodecHelper.decode(json),
+                "Decoding JSON should be rejected.");
+    }
+}
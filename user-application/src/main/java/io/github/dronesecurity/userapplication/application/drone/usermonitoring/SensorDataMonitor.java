@@ -9,6 +9,9 @@ import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.shared.Date;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.connection.TopicRegistration;
+import io.github.dronesecurity.lib.telemetry.TelemetryCodecHelper;
+import io.github.dronesecurity.lib.telemetry.TelemetryFrame;
 import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.events.AccelerometerRead;
 import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.events.CameraRead;
 import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.events.ProximityRead;
@@ -17,15 +20,28 @@ import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.objec
 import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.objects.ProximityData;
 import io.github.dronesecurity.userapplication.events.DomainEvents;
 import io.vertx.core.json.JsonObject;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Helper that tracks sensor data published by the drone delivering an order.
+ * Each stream is listened on both its JSON topic and its binary sub-topic: once a binary frame has been received,
+ * the JSON topic of the same stream is no longer listened, as it only carries duplicates. Samples are dated when they
+ * are received on both topics, since JSON documents carry no instant, so that the dates of a stream always come from
+ * the same clock.
  */
 public final class SensorDataMonitor {
 
     private static final String SPACE_SEPARATOR = " ";
+    private static final Map<Long, List<TopicRegistration>> REGISTRATIONS = new ConcurrentHashMap<>();
 
     private SensorDataMonitor() { }
 
@@ -34,9 +50,11 @@ public final class SensorDataMonitor {
      * @param orderId order identifier to track data from
      */
     public static void startSensorDataMonitoring(final long orderId) {
-        subscribeToProximityDataRead(orderId);
-        subscribeToAccelerometerDataRead(orderId);
-        subscribeToCameraDataRead(orderId);
+        final List<TopicRegistration> registrations = new ArrayList<>();
+        registrations.addAll(subscribeToProximityDataRead(orderId));
+        registrations.addAll(subscribeToAccelerometerDataRead(orderId));
+        registrations.addAll(subscribeToCameraDataRead(orderId));
+        REGISTRATIONS.put(orderId, List.copyOf(registrations));
     }
 
     /**
@@ -44,27 +62,23 @@ public final class SensorDataMonitor {
      * @param orderId order identifier to track data from
      */
     public static void stopSensorDataMonitoring(final long orderId) {
-        final Connection connection = Connection.getInstance();
-        connection.unsubscribe(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
-                + MqttMessageParameterConstants.PROXIMITY_PARAMETER);
-        connection.unsubscribe(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
-                + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER);
-        connection.unsubscribe(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
-                + MqttMessageParameterConstants.CAMERA_PARAMETER);
+        final List<TopicRegistration> registrations = REGISTRATIONS.remove(orderId);
+        if (registrations != null)
+            registrations.forEach(TopicRegistration::cancel);
     }
 
-    private static void subscribeToProximityDataRead(final long orderId) {
-        Connection.getInstance().subscribe(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
+    private static List<TopicRegistration> subscribeToProximityDataRead(final long orderId) {
+        return subscribeToTelemetry(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
                 + MqttMessageParameterConstants.PROXIMITY_PARAMETER, msg -> {
             final JsonObject json = new JsonObject(new String(msg.getPayload(), StandardCharsets.UTF_8));
             final double proximity = json.getDouble(MqttMessageParameterConstants.PROXIMITY_PARAMETER);
 
             DomainEvents.raise(new ProximityRead(new ProximityData(Date.now(), orderId, proximity)));
-        });
+        }, frame -> DomainEvents.raise(new ProximityRead(new ProximityData(Date.now(), orderId, frame.getDistance()))));
     }
 
-    private static void subscribeToAccelerometerDataRead(final long orderId) {
-        Connection.getInstance().subscribe(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
+    private static List<TopicRegistration> subscribeToAccelerometerDataRead(final long orderId) {
+        return subscribeToTelemetry(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
                 + MqttMessageParameterConstants.ACCELEROMETER_PARAMETER, msg -> {
             final JsonObject json = new JsonObject(new String(msg.getPayload(), StandardCharsets.UTF_8));
 
@@ -76,17 +90,37 @@ public final class SensorDataMonitor {
             final int yaw = accelerometerJson.getInteger(MqttMessageParameterConstants.YAW);
 
             DomainEvents.raise(new AccelerometerRead(new AccelerometerData(Date.now(), orderId, pitch, roll, yaw)));
-        });
+        }, frame -> DomainEvents.raise(new AccelerometerRead(new AccelerometerData(
+                Date.now(), orderId, frame.getPitch(), frame.getRoll(), frame.getYaw()))));
     }
 
-    private static void subscribeToCameraDataRead(final long orderId) {
-        Connection.getInstance().subscribe(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
+    private static List<TopicRegistration> subscribeToCameraDataRead(final long orderId) {
+        return subscribeToTelemetry(MqttTopicConstants.DATA_TOPIC + orderId + SPACE_SEPARATOR
                 + MqttMessageParameterConstants.CAMERA_PARAMETER, msg -> {
             final JsonObject json = new JsonObject(new String(msg.getPayload(), StandardCharsets.UTF_8));
 
             final int camera = json.getInteger(MqttMessageParameterConstants.CAMERA_PARAMETER);
 
             DomainEvents.raise(new CameraRead(new CameraData(Date.now(), orderId, camera)));
-        });
+        }, frame -> DomainEvents.raise(new CameraRead(new CameraData(Date.now(), orderId, frame.getImageLength()))));
+    }
+
+    private static List<TopicRegistration> subscribeToTelemetry(final String topic,
+                                                                final Consumer<MqttMessage> jsonHandler,
+                                                                final Consumer<TelemetryFrame> binaryHandler) {
+        final AtomicBoolean binarySeen = new AtomicBoolean();
+        final AtomicReference<TopicRegistration> jsonRegistration = new AtomicReference<>();
+        final Consumer<MqttMessage> handler = msg -> {
+            if (TelemetryCodecHelper.isBinaryFrame(msg.getPayload())) {
+                // JSON messages already dispatched are still ignored by the check below.
+                if (!binarySeen.getAndSet(true))
+                    jsonRegistration.get().cancel();
+                binaryHandler.accept(TelemetryCodecHelper.decode(msg.getPayload()));
+            } else if (!binarySeen.get())
+                jsonHandler.accept(msg);
+        };
+        jsonRegistration.set(Connection.getInstance().getRouter().register(topic, handler));
+        return List.of(jsonRegistration.get(),
+                Connection.getInstance().getRouter().register(topic + MqttTopicConstants.BINARY_TOPIC_SUFFIX, handler));
     }
 }
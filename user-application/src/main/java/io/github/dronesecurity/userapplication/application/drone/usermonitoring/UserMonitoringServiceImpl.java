@@ -7,10 +7,11 @@ package io.github.dronesecurity.userapplication.application.drone.usermonitoring
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.connection.TopicRegistration;
 import io.github.dronesecurity.lib.shared.AlertLevel;
 import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.events.*;
 import io.github.dronesecurity.userapplication.domain.drone.usermonitoring.repo.DataRepository;
@@ -20,6 +21,9 @@ import io.vertx.core.json.JsonObject;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link UserMonitoringService}.
@@ -28,6 +32,7 @@ public final class UserMonitoringServiceImpl implements UserMonitoringService {
 
     private static final String JSON_ERROR_MESSAGE = "Can NOT read json correctly.";
     private final DataRepository dataRepository;
+    private final Map<Long, List<TopicRegistration>> registrations = new ConcurrentHashMap<>();
 
     /**
      * Build the service.
@@ -49,9 +54,10 @@ public final class UserMonitoringServiceImpl implements UserMonitoringService {
     @Override
     public void startOrderMonitoring(final long orderId) {
         SensorDataMonitor.startSensorDataMonitoring(orderId);
-        this.subscribeToAlerts(orderId);
-        this.subscribeToOrderStatusChange(orderId);
-        this.subscribeToMovingStateChange(orderId);
+        this.registrations.put(orderId, List.of(
+                this.subscribeToAlerts(orderId),
+                this.subscribeToOrderStatusChange(orderId),
+                this.subscribeToMovingStateChange(orderId)));
     }
 
     /**
@@ -60,14 +66,13 @@ public final class UserMonitoringServiceImpl implements UserMonitoringService {
     @Override
     public void stopOrderMonitoring(final long orderId) {
         SensorDataMonitor.stopSensorDataMonitoring(orderId);
-        final Connection connection = Connection.getInstance();
-        connection.unsubscribe(MqttTopicConstants.ALERT_LEVEL_TOPIC + orderId);
-        connection.unsubscribe(MqttTopicConstants.LIFECYCLE_TOPIC + orderId);
-        connection.unsubscribe(MqttTopicConstants.DRONE_MOVING_TOPIC + orderId);
+        final List<TopicRegistration> orderRegistrations = this.registrations.remove(orderId);
+        if (orderRegistrations != null)
+            orderRegistrations.forEach(TopicRegistration::cancel);
     }
 
-    private void subscribeToAlerts(final long orderId) {
-        Connection.getInstance().subscribe(MqttTopicConstants.ALERT_LEVEL_TOPIC + orderId, msg -> {
+    private TopicRegistration subscribeToAlerts(final long orderId) {
+        return Connection.getInstance().getRouter().register(MqttTopicConstants.ALERT_LEVEL_TOPIC + orderId, msg -> {
             final JsonObject json = new JsonObject(new String(msg.getPayload(), StandardCharsets.UTF_8));
             final String alertLevel = json.getString(MqttMessageParameterConstants.ALERT_LEVEL_PARAMETER);
             final String alertType = json.getString(MqttMessageParameterConstants.ALERT_TYPE_PARAMETER);
@@ -86,10 +91,10 @@ public final class UserMonitoringServiceImpl implements UserMonitoringService {
         });
     }
 
-    private void subscribeToOrderStatusChange(final long orderId) {
-        Connection.getInstance().subscribe(MqttTopicConstants.LIFECYCLE_TOPIC + orderId, msg -> {
+    private TopicRegistration subscribeToOrderStatusChange(final long orderId) {
+        return Connection.getInstance().getRouter().register(MqttTopicConstants.LIFECYCLE_TOPIC + orderId, msg -> {
             try {
-                final JsonNode json = new ObjectMapper().readTree(new String(msg.getPayload(), StandardCharsets.UTF_8));
+                final JsonNode json = MessageCodecHelper.readTree(msg.getPayload());
                 final String status = json.get(MqttMessageParameterConstants.STATUS_PARAMETER).asText();
                 DomainEvents.raise(new StatusChanged(status));
             } catch (JsonProcessingException e) {
@@ -98,10 +103,10 @@ public final class UserMonitoringServiceImpl implements UserMonitoringService {
         });
     }
 
-    private void subscribeToMovingStateChange(final long orderId) {
-        Connection.getInstance().subscribe(MqttTopicConstants.DRONE_MOVING_TOPIC + orderId, msg -> {
+    private TopicRegistration subscribeToMovingStateChange(final long orderId) {
+        return Connection.getInstance().getRouter().register(MqttTopicConstants.DRONE_MOVING_TOPIC + orderId, msg -> {
             try {
-                final JsonNode json = new ObjectMapper().readTree(new String(msg.getPayload(), StandardCharsets.UTF_8));
+                final JsonNode json = MessageCodecHelper.readTree(msg.getPayload());
                 final String movingState =
                         json.get(MqttMessageParameterConstants.DRONE_MOVING_STATE_PARAMETER).asText();
                 DomainEvents.raise(new MovingStateChanged(movingState));
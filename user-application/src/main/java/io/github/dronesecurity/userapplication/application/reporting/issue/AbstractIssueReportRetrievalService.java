@@ -6,7 +6,7 @@
 package io.github.dronesecurity.userapplication.application.reporting.issue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
 import io.github.dronesecurity.userapplication.application.reporting.issue.activeissue.ActiveIssueServiceImpl;
@@ -18,7 +18,6 @@ import io.github.dronesecurity.userapplication.domain.reporting.issue.closedissu
 import io.github.dronesecurity.userapplication.domain.reporting.issue.openissue.entities.OpenIssue;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -77,8 +76,7 @@ public abstract class AbstractIssueReportRetrievalService implements IssueReport
     public void subscribeToNewIssue(final String maintainerUsername, final Consumer<OpenIssue> consumer) {
         Connection.getInstance().subscribe(MqttTopicConstants.ISSUE_TOPIC + maintainerUsername, mqttMessage -> {
             try {
-                final OpenIssue issue = new ObjectMapper()
-                        .readValue(new String(mqttMessage.getPayload(), StandardCharsets.UTF_8), OpenIssue.class);
+                final OpenIssue issue = MessageCodecHelper.read(mqttMessage.getPayload(), OpenIssue.class);
                 consumer.accept(issue);
             } catch (JsonProcessingException e) {
                 LoggerFactory.getLogger(this.getClass()).warn("Can not deserialize issue.", e);
@@ -7,7 +7,7 @@ package io.github.dronesecurity.userapplication.application.reporting.issue.crea
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
 import io.github.dronesecurity.userapplication.domain.reporting.issue.creation.entities.SendingIssue;
@@ -36,7 +36,7 @@ public class CreationServiceImpl implements CreationService {
     @Override
     public void addIssueReport(final SendingIssue issue) {
         try {
-            final JsonNode json = new ObjectMapper().readTree(this.repository.addIssue(issue).toString());
+            final JsonNode json = MessageCodecHelper.readTree(this.repository.addIssue(issue).toString());
             Connection.getInstance().publish(MqttTopicConstants.ISSUE_TOPIC + issue.assignedTo(), json);
         } catch (JsonProcessingException e) {
             LoggerFactory.getLogger(this.getClass()).warn("Can not deserialize correctly the issue.", e);
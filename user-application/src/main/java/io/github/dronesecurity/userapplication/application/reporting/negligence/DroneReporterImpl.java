@@ -5,6 +5,7 @@
 
 package io.github.dronesecurity.userapplication.application.reporting.negligence;
 
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.OpenNegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.impl.OpenNegligenceReportImpl;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.events.NewNegligence;
@@ -43,4 +44,12 @@ public final class DroneReporterImpl implements DroneReporter {
         this.negligenceRepository.createReport(report);
         DomainEvents.raise(new NewNegligence(report));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordsFlight(final FlightRecord record) {
+        this.negligenceRepository.saveFlightRecord(record);
+    }
 }
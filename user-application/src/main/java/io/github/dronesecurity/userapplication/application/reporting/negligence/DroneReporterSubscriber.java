@@ -7,9 +7,13 @@ package io.github.dronesecurity.userapplication.application.reporting.negligence
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttTopicConstants;
+import io.github.dronesecurity.lib.connection.TopicRegistration;
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.FlightRecordAssembler;
+import io.github.dronesecurity.lib.telemetry.InvalidTelemetryFrameException;
 import io.github.dronesecurity.userapplication.application.user.ohs.pl.Courier;
 import io.github.dronesecurity.userapplication.application.user.ohs.pl.Maintainer;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Assignee;
@@ -20,11 +24,14 @@ import io.github.dronesecurity.userapplication.infrastructure.reporting.negligen
 import io.github.dronesecurity.userapplication.infrastructure.reporting.negligence.repo.MongoNegligenceRepository;
 import io.github.dronesecurity.userapplication.utilities.user.UserAPIHelper;
 import io.vertx.ext.web.codec.BodyCodec;
+import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.crt.mqtt.MqttMessage;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Helper class to start and stop receiving negligence reports.
@@ -32,6 +39,11 @@ import java.util.List;
 public final class DroneReporterSubscriber {
 
     private static final DroneReporter DRONE_REPORTER = new DroneReporterImpl(new MongoNegligenceRepository());
+    private static final Map<String, TopicRegistration> REGISTRATIONS = new ConcurrentHashMap<>();
+    private static final Map<String, TopicRegistration> FLIGHT_RECORD_REGISTRATIONS = new ConcurrentHashMap<>();
+    private static final int MAX_PENDING_FLIGHT_RECORDS = 16;
+    private static final FlightRecordAssembler FLIGHT_RECORD_ASSEMBLER =
+            new FlightRecordAssembler(MAX_PENDING_FLIGHT_RECORDS);
 
     private DroneReporterSubscriber() { }
 
@@ -91,23 +103,48 @@ public final class DroneReporterSubscriber {
     }
 
     private static void subscribeToNegligence(final String courier, final String maintainer) {
-        Connection.getInstance().subscribe(MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + courier, msg -> {
-            try {
-                final ObjectMapper mapper = new ObjectMapper();
-                final JsonNode json = mapper.readTree(new String(msg.getPayload(), StandardCharsets.UTF_8));
-                final Negligent negligent = Negligent.parse(json.get(NegligenceConstants.NEGLIGENT).asText());
-                final Assignee assignee = Assignee.parse(maintainer);
-                final DroneData droneData =
-                        mapper.readValue(json.get(NegligenceConstants.DATA).toString(), DroneData.class);
+        final TopicRegistration registration = Connection.getInstance().getRouter().register(
+                MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + courier, msg -> reportNegligence(msg, maintainer));
+        final TopicRegistration previous = REGISTRATIONS.put(courier, registration);
+        if (previous != null)
+            previous.cancel();
+        final TopicRegistration flightRecordRegistration = Connection.getInstance().getRouter().register(
+                MqttTopicConstants.FLIGHT_RECORDS_TOPIC + courier, DroneReporterSubscriber::recordFlight);
+        final TopicRegistration previousFlightRecord =
+                FLIGHT_RECORD_REGISTRATIONS.put(courier, flightRecordRegistration);
+        if (previousFlightRecord != null)
+            previousFlightRecord.cancel();
+    }
+
+    private static void reportNegligence(final @NotNull MqttMessage msg, final String maintainer) {
+        try {
+            final JsonNode json = MessageCodecHelper.readTree(msg.getPayload());
+            final Negligent negligent = Negligent.parse(json.get(NegligenceConstants.NEGLIGENT).asText());
+            final Assignee assignee = Assignee.parse(maintainer);
+            final DroneData droneData = MessageCodecHelper.read(json.get(NegligenceConstants.DATA), DroneData.class);
+
+            DRONE_REPORTER.reportsNegligence(negligent, assignee, droneData);
+        } catch (JsonProcessingException e) {
+            LoggerFactory.getLogger(DroneReporterSubscriber.class).error("Can NOT convert negligence report.", e);
+        }
+    }
 
-                DRONE_REPORTER.reportsNegligence(negligent, assignee, droneData);
-            } catch (JsonProcessingException e) {
-                LoggerFactory.getLogger(DroneReporterSubscriber.class).error("Can NOT convert negligence report.", e);
-            }
-        });
+    private static void recordFlight(final @NotNull MqttMessage msg) {
+        try {
+            final FlightRecord record = FLIGHT_RECORD_ASSEMBLER.add(msg.getPayload());
+            if (record != null)
+                DRONE_REPORTER.recordsFlight(record);
+        } catch (InvalidTelemetryFrameException e) {
+            LoggerFactory.getLogger(DroneReporterSubscriber.class).error("Can NOT assemble flight record.", e);
+        }
     }
 
     private static void unsubscribeToNegligence(final String username) {
-        Connection.getInstance().unsubscribe(MqttTopicConstants.NEGLIGENCE_REPORTS_TOPIC + username);
+        final TopicRegistration registration = REGISTRATIONS.remove(username);
+        if (registration != null)
+            registration.cancel();
+        final TopicRegistration flightRecordRegistration = FLIGHT_RECORD_REGISTRATIONS.remove(username);
+        if (flightRecordRegistration != null)
+            flightRecordRegistration.cancel();
     }
 }
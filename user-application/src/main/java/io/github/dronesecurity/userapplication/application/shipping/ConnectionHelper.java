@@ -6,8 +6,8 @@
 package io.github.dronesecurity.userapplication.application.shipping;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.dronesecurity.lib.codec.MessageCodecHelper;
 import io.github.dronesecurity.lib.connection.Connection;
 import io.github.dronesecurity.lib.connection.MqttMessageParameterConstants;
 import io.github.dronesecurity.lib.connection.MqttMessageValueConstants;
@@ -33,11 +33,10 @@ public final class ConnectionHelper {
     public static void sendPerformDeliveryMessage(final String droneId,
                                                   final @NotNull Order order,
                                                   final String courier) {
-        final ObjectMapper mapper = new ObjectMapper();
-        final JsonNode messageJson = mapper.createObjectNode()
+        final JsonNode messageJson = MessageCodecHelper.createObjectNode()
                 .put(MqttMessageParameterConstants.SYNC_PARAMETER, MqttMessageValueConstants.PERFORM_DELIVERY_MESSAGE)
                 .put(MqttMessageParameterConstants.COURIER_PARAMETER, courier)
-                .set(MqttMessageParameterConstants.ORDER_PARAMETER, mapper.convertValue(order, JsonNode.class));
+                .set(MqttMessageParameterConstants.ORDER_PARAMETER, MessageCodecHelper.valueToTree(order));
         Connection.getInstance().publish(MqttTopicConstants.ORDER_TOPIC + droneId, messageJson);
     }
 
@@ -46,7 +45,7 @@ public final class ConnectionHelper {
      * @param orderId {@link OrderIdentifier} used to identify the drone
      */
     public static void sendCallBackMessage(final @NotNull OrderIdentifier orderId) {
-        final JsonNode recallMessage = new ObjectMapper().createObjectNode()
+        final JsonNode recallMessage = MessageCodecHelper.createObjectNode()
                 .put(MqttMessageParameterConstants.SYNC_PARAMETER,
                         MqttMessageValueConstants.DRONE_CALLBACK_MESSAGE);
         Connection.getInstance().publish(MqttTopicConstants.ORDER_TOPIC + orderId.asLong(), recallMessage);
@@ -58,7 +57,7 @@ public final class ConnectionHelper {
      * @param drivingMode {@link DrivingMode} to set
      */
     public static void sendChangeModeMessage(final @NotNull OrderIdentifier orderId, final DrivingMode drivingMode) {
-        final ObjectNode jsonNode = new ObjectMapper().createObjectNode();
+        final ObjectNode jsonNode = MessageCodecHelper.createObjectNode();
         final String modeMessage = drivingMode == DrivingMode.AUTOMATIC
                 ? MqttMessageValueConstants.AUTOMATIC_MODE_MESSAGE
                 : MqttMessageValueConstants.MANUAL_MODE_MESSAGE;
@@ -71,7 +70,7 @@ public final class ConnectionHelper {
      * @param orderId {@link OrderIdentifier} used to identify the drone
      */
     public static void sendProceedMessage(final @NotNull OrderIdentifier orderId) {
-        final ObjectNode jsonNode = new ObjectMapper().createObjectNode();
+        final ObjectNode jsonNode = MessageCodecHelper.createObjectNode();
         jsonNode.put(MqttMessageParameterConstants.MOVE_PARAMETER, MqttMessageValueConstants.PROCEED_MESSAGE);
         Connection.getInstance().publish(MqttTopicConstants.CONTROL_TOPIC + orderId.asLong(), jsonNode);
     }
@@ -81,7 +80,7 @@ public final class ConnectionHelper {
      * @param orderId {@link OrderIdentifier} used to identify the drone
      */
     public static void sendHaltMessage(final @NotNull OrderIdentifier orderId) {
-        final ObjectNode jsonNode = new ObjectMapper().createObjectNode();
+        final ObjectNode jsonNode = MessageCodecHelper.createObjectNode();
         jsonNode.put(MqttMessageParameterConstants.MOVE_PARAMETER, MqttMessageValueConstants.HALT_MESSAGE);
         Connection.getInstance().publish(MqttTopicConstants.CONTROL_TOPIC + orderId.asLong(), jsonNode);
     }
@@ -33,20 +33,28 @@ public final class DroneData implements ValueObject<DroneData> {
     private final int pitch;
     private final int yaw;
     private final long imageSize;
+    private final long recordedFrames;
+    private final String flightRecordId;
 
     private DroneData(final Date detectionInstant,
                      final double proximity,
                      final int roll,
                      final int pitch,
                      final int yaw,
-                     final long imageSize) {
+                     final long imageSize,
+                     final long recordedFrames,
+                     final @NotNull String flightRecordId) {
         this.detectionInstant = detectionInstant;
         this.validate(proximity, roll, pitch, yaw, imageSize);
+        if (recordedFrames < 0L)
+            throw new InvalidDroneDataException();
         this.proximity = proximity;
         this.roll = roll;
         this.pitch = pitch;
         this.yaw = yaw;
         this.imageSize = imageSize;
+        this.recordedFrames = recordedFrames;
+        this.flightRecordId = flightRecordId;
     }
 
     /**
@@ -85,7 +93,56 @@ public final class DroneData implements ValueObject<DroneData> {
                                            final int pitch,
                                            final int yaw,
                                            final long imageSize) {
-        return new DroneData(detectionInstant, proximity, roll, pitch, yaw, imageSize);
+        return parse(detectionInstant, proximity, roll, pitch, yaw, imageSize, 0);
+    }
+
+    /**
+     * Parses the values into the value object.
+     * @param detectionInstant {@link Date} of the detection
+     * @param proximity proximity distance detected
+     * @param roll roll angle detected
+     * @param pitch pitch angle detected
+     * @param yaw yaw angle detected
+     * @param imageSize size of the image detected
+     * @param recordedFrames number of camera frames recorded on the drone before the detection
+     * @return a new {@link DroneData}
+     * @throws InvalidDroneDataException if at least one of the detected data is invalid
+     */
+    @Contract(value = "_, _, _, _, _, _, _ -> new", pure = true)
+    public static @NotNull DroneData parse(final Date detectionInstant,
+                                           final double proximity,
+                                           final int roll,
+                                           final int pitch,
+                                           final int yaw,
+                                           final long imageSize,
+                                           final long recordedFrames) {
+        return parse(detectionInstant, proximity, roll, pitch, yaw, imageSize, recordedFrames, "");
+    }
+
+    /**
+     * Parses the values into the value object.
+     * @param detectionInstant {@link Date} of the detection
+     * @param proximity proximity distance detected
+     * @param roll roll angle detected
+     * @param pitch pitch angle detected
+     * @param yaw yaw angle detected
+     * @param imageSize size of the image detected
+     * @param recordedFrames number of camera frames recorded on the drone before the detection
+     * @param flightRecordId identifier of the flight record around the detection, empty if none
+     * @return a new {@link DroneData}
+     * @throws InvalidDroneDataException if at least one of the detected data is invalid
+     */
+    @Contract(value = "_, _, _, _, _, _, _, _ -> new", pure = true)
+    public static @NotNull DroneData parse(final Date detectionInstant,
+                                           final double proximity,
+                                           final int roll,
+                                           final int pitch,
+                                           final int yaw,
+                                           final long imageSize,
+                                           final long recordedFrames,
+                                           final @NotNull String flightRecordId) {
+        return new DroneData(detectionInstant, proximity, roll, pitch, yaw, imageSize, recordedFrames,
+                flightRecordId);
     }
 
     /**
@@ -98,6 +155,8 @@ public final class DroneData implements ValueObject<DroneData> {
                 && this.pitch == value.pitch
                 && this.yaw == value.yaw
                 && this.imageSize == value.imageSize
+                && this.recordedFrames == value.recordedFrames
+                && this.flightRecordId.equals(value.flightRecordId)
                 && this.detectionInstant.equals(value.detectionInstant)
                 && BigDecimal.valueOf(this.proximity).compareTo(BigDecimal.valueOf(value.proximity)) == 0;
     }
@@ -167,6 +226,22 @@ public final class DroneData implements ValueObject<DroneData> {
         return this.imageSize;
     }
 
+    /**
+     * Gets the number of camera frames recorded on the drone before the detection.
+     * @return the number of frames, 0 if the camera was NOT being recorded
+     */
+    public long getRecordedFrames() {
+        return this.recordedFrames;
+    }
+
+    /**
+     * Gets the identifier of the flight record of the drone around the detection.
+     * @return the identifier, empty if none has been recorded
+     */
+    public @NotNull String getFlightRecordId() {
+        return this.flightRecordId;
+    }
+
     private void validate(final double proximityValue,
                           final int rollAngle,
                           final int pitchAngle,
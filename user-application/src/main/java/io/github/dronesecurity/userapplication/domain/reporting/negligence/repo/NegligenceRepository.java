@@ -5,12 +5,14 @@
 
 package io.github.dronesecurity.userapplication.domain.reporting.negligence.repo;
 
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.ClosedNegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.NegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.OpenNegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Assignee;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.NegligenceIdentifier;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Negligent;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -65,4 +67,17 @@ public interface NegligenceRepository {
      */
     List<ClosedNegligenceReport> retrieveClosedReportsForAssignee(Assignee assignee);
 
+    /**
+     * Saves the flight record of the drone around a negligence, referred by its {@link NegligenceReport}.
+     * @param record the {@link FlightRecord} to save
+     */
+    void saveFlightRecord(FlightRecord record);
+
+    /**
+     * Retrieve a flight record.
+     * @param id identifier of the record
+     * @return the {@link FlightRecord}, null if NOT received yet
+     */
+    @Nullable FlightRecord retrieveFlightRecord(String id);
+
 }
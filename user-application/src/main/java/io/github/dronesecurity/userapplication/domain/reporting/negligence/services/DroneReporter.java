@@ -5,6 +5,7 @@
 
 package io.github.dronesecurity.userapplication.domain.reporting.negligence.services;
 
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Assignee;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.DroneData;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Negligent;
@@ -21,4 +22,10 @@ public interface DroneReporter {
      * @param data {@link DroneData} retrieved in that instant
      */
     void reportsNegligence(Negligent negligent, Assignee assignee, DroneData data);
+
+    /**
+     * Records the flight of the drone around a negligence, referred by the {@link DroneData} of its report.
+     * @param record {@link FlightRecord} sent by the drone
+     */
+    void recordsFlight(FlightRecord record);
 }
@@ -65,6 +65,21 @@ public final class NegligenceConstants {
      */
     public static final String CAMERA = "camera";
 
+    /**
+     * Key for the number of camera frames recorded.
+     */
+    public static final String RECORDED_FRAMES = "recordedFrames";
+
+    /**
+     * Key for the identifier of the flight record.
+     */
+    public static final String FLIGHT_RECORD = "flightRecord";
+
+    /**
+     * Key for the encoded flight record.
+     */
+    public static final String RECORD = "record";
+
     /**
      * Key for the action form.
      */
@@ -5,6 +5,7 @@
 
 package io.github.dronesecurity.userapplication.infrastructure.reporting.negligence.repo;
 
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.ClosedNegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.NegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.OpenNegligenceReport;
@@ -12,9 +13,12 @@ import io.github.dronesecurity.userapplication.domain.reporting.negligence.objec
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.NegligenceIdentifier;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Negligent;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.repo.NegligenceRepository;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +27,7 @@ import java.util.stream.Collectors;
 public class InMemoryNegligenceRepository implements NegligenceRepository {
 
     private final List<NegligenceReport> reports = new ArrayList<>();
+    private final Map<String, FlightRecord> flightRecords = new HashMap<>();
 
     /**
      * {@inheritDoc}
@@ -91,4 +96,20 @@ public class InMemoryNegligenceRepository implements NegligenceRepository {
                 .map(ClosedNegligenceReport.class::cast)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveFlightRecord(final FlightRecord record) {
+        this.flightRecords.put(record.getId(), record);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable FlightRecord retrieveFlightRecord(final String id) {
+        return this.flightRecords.get(id);
+    }
 }
@@ -5,6 +5,8 @@
 
 package io.github.dronesecurity.userapplication.infrastructure.reporting.negligence.repo;
 
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.FlightRecordCodecHelper;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.ClosedNegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.NegligenceReport;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.entities.contracts.OpenNegligenceReport;
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 public final class MongoNegligenceRepository extends MongoRepository implements NegligenceRepository {
 
     private static final String COLLECTION_NAME = "negligenceReports";
+    private static final String FLIGHT_RECORDS_COLLECTION_NAME = "flightRecords";
 
     /**
      * {@inheritDoc}
@@ -99,6 +102,28 @@ public final class MongoNegligenceRepository extends MongoRepository implements
         return this.retrieveReportsForUser(query, ClosedNegligenceReport.class);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveFlightRecord(final @NotNull FlightRecord record) {
+        final JsonObject document = new JsonObject()
+                .put(NegligenceConstants.ID, record.getId())
+                .put(NegligenceConstants.RECORD, FlightRecordCodecHelper.encode(record));
+        this.waitFutureResult(this.mongo().save(FLIGHT_RECORDS_COLLECTION_NAME, document));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable FlightRecord retrieveFlightRecord(final String id) {
+        final JsonObject query = new JsonObject().put(NegligenceConstants.ID, id);
+        return this.waitFutureResult(this.mongo().findOne(FLIGHT_RECORDS_COLLECTION_NAME, query, null)
+                .map(document -> document == null
+                        ? null : FlightRecordCodecHelper.decode(document.getBinary(NegligenceConstants.RECORD))));
+    }
+
     private @Nullable <T extends NegligenceReport> List<T> retrieveReportsForUser(final JsonObject query,
                                                                                   final Class<T> clazz) {
         return this.waitFutureResult(this.mongo().find(COLLECTION_NAME, query)
@@ -46,11 +46,17 @@ public final class DroneDataDeserializer extends JsonDeserializer<DroneData> {
             yaw = root.get(NegligenceConstants.YAW).asInt();
         }
         final long imageSize = root.get(NegligenceConstants.CAMERA).asLong();
+        final long recordedFrames = root.has(NegligenceConstants.RECORDED_FRAMES)
+                ? root.get(NegligenceConstants.RECORDED_FRAMES).asLong() : 0;
+        final String flightRecordId = root.has(NegligenceConstants.FLIGHT_RECORD)
+                ? root.get(NegligenceConstants.FLIGHT_RECORD).asText() : "";
         if (root.has(NegligenceConstants.DETECTION_INSTANT)) {
             final Date detectionInstant =
                     Date.parseString(root.get(NegligenceConstants.DETECTION_INSTANT).asText());
-            return DroneData.parse(detectionInstant, proximity, roll, pitch, yaw, imageSize);
+            return DroneData.parse(detectionInstant, proximity, roll, pitch, yaw, imageSize, recordedFrames,
+                    flightRecordId);
         } else
-            return DroneData.generate(proximity, roll, pitch, yaw, imageSize);
+            return DroneData.parse(Date.now(), proximity, roll, pitch, yaw, imageSize, recordedFrames,
+                    flightRecordId);
     }
 }
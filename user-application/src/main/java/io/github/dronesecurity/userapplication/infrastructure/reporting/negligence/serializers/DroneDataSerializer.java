@@ -33,6 +33,8 @@ public final class DroneDataSerializer extends JsonSerializer<DroneData> {
         gen.writeNumberField(NegligenceConstants.PITCH, value.getPitch());
         gen.writeNumberField(NegligenceConstants.YAW, value.getYaw());
         gen.writeNumberField(NegligenceConstants.CAMERA, value.getImageSize());
+        gen.writeNumberField(NegligenceConstants.RECORDED_FRAMES, value.getRecordedFrames());
+        gen.writeStringField(NegligenceConstants.FLIGHT_RECORD, value.getFlightRecordId());
         gen.writeEndObject();
         gen.flush();
     }
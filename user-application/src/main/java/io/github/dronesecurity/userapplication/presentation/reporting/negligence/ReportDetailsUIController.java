@@ -5,6 +5,8 @@
 
 package io.github.dronesecurity.userapplication.presentation.reporting.negligence;
 
+import io.github.dronesecurity.lib.telemetry.FlightRecord;
+import io.github.dronesecurity.lib.telemetry.TelemetryType;
 import io.github.dronesecurity.userapplication.application.user.ohs.pl.GenericUser;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.DroneData;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.NegligenceActionForm;
@@ -12,6 +14,8 @@ import io.github.dronesecurity.userapplication.infrastructure.reporting.negligen
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
 import javafx.scene.text.Text;
@@ -22,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller dedicated to control the detail node linked to a {@link org.controlsfx.control.MasterDetailPane}.
@@ -32,6 +37,7 @@ public final class ReportDetailsUIController implements Initializable {
     private static final String EMPTY_STRING = "";
     private static final String ARROW = " -> ";
     private static final String DEGREES = " \u00B0\t";
+    private static final double MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
     @FXML private Label usernameLabel;
     @FXML private Label usernameValueLabel;
     @FXML private Label roleLabel;
@@ -44,12 +50,17 @@ public final class ReportDetailsUIController implements Initializable {
     @FXML private Label cameraLabel;
     @FXML private Label cameraValueLabel;
 
+    @FXML private Label flightRecordLabel;
+    @FXML private LineChart<Number, Number> flightRecordChart;
+
     @FXML private Label solutionLabel;
     @FXML private Text solutionText;
 
     private List<Node> userElements;
     private List<Node> dataElements;
+    private List<Node> flightRecordElements;
     private List<Node> solutionElements;
+    private String flightRecordId = EMPTY_STRING;
 
     /**
      * {@inheritDoc}
@@ -62,6 +73,7 @@ public final class ReportDetailsUIController implements Initializable {
                 Arrays.asList(this.proximityLabel, this.proximityValueLabel,
                         this.accelerometerLabel, this.accelerometerValueLabel,
                         this.cameraLabel, this.cameraValueLabel));
+        this.flightRecordElements = new ArrayList<>(Arrays.asList(this.flightRecordLabel, this.flightRecordChart));
         this.solutionElements = new ArrayList<>(Arrays.asList(this.solutionLabel, this.solutionText));
     }
 
@@ -74,6 +86,7 @@ public final class ReportDetailsUIController implements Initializable {
         this.roleValueLabel.setText(user.getRole().toString());
         this.userElements.forEach(n -> n.setVisible(true));
         this.dataElements.forEach(n -> n.setVisible(false));
+        this.flightRecordElements.forEach(n -> n.setVisible(false));
         this.solutionElements.forEach(n -> n.setVisible(false));
     }
 
@@ -96,12 +109,43 @@ public final class ReportDetailsUIController implements Initializable {
                 + data.getYaw()
                 + DEGREES;
         this.accelerometerValueLabel.setText(angles);
-        this.cameraValueLabel.setText(data.getImageSize() + " bytes");
+        this.cameraValueLabel.setText(data.getRecordedFrames() > 0
+                ? data.getImageSize() + " bytes, " + data.getRecordedFrames() + " frames recorded on the drone"
+                : data.getImageSize() + " bytes");
+        this.flightRecordId = data.getFlightRecordId();
+        this.flightRecordChart.getData().clear();
+        this.flightRecordChart.setTitle(this.flightRecordId.isEmpty()
+                ? "Flight NOT recorded" : "Flight record NOT received yet");
         this.userElements.forEach(n -> n.setVisible(false));
         this.dataElements.forEach(n -> n.setVisible(true));
+        this.flightRecordElements.forEach(n -> n.setVisible(true));
         this.solutionElements.forEach(n -> n.setVisible(false));
     }
 
+    /**
+     * Update detail node using the {@link FlightRecord} of the {@link DroneData} shown, plotting the distance and
+     * the tilt around the detection.
+     * @param record flight record providing information
+     */
+    public void updateDetails(final @NotNull FlightRecord record) {
+        if (!record.getId().equals(this.flightRecordId))
+            return;
+        final XYChart.Series<Number, Number> distance = new XYChart.Series<>();
+        distance.setName("Distance (cm)");
+        final FlightRecord.Samples distances = record.getSamples(TelemetryType.PROXIMITY);
+        for (int i = 0; i < distances.size(); i++)
+            distance.getData().add(new XYChart.Data<>(secondsFromDetection(record, distances.getTime(i)),
+                    distances.getValue(i, 0)));
+        final XYChart.Series<Number, Number> tilt = new XYChart.Series<>();
+        tilt.setName("Tilt (\u00B0)");
+        final FlightRecord.Samples angles = record.getSamples(TelemetryType.ACCELEROMETER);
+        for (int i = 0; i < angles.size(); i++)
+            tilt.getData().add(new XYChart.Data<>(secondsFromDetection(record, angles.getTime(i)),
+                    Math.max(Math.abs(angles.getValue(i, 0)), Math.abs(angles.getValue(i, 1)))));
+        this.flightRecordChart.setTitle("Flight record, detection at 0 s");
+        this.flightRecordChart.getData().setAll(List.of(distance, tilt));
+    }
+
     /**
      * Update detail node using the action form of the report.
      * @param solution {@link NegligenceActionForm} related to the report
@@ -110,6 +154,7 @@ public final class ReportDetailsUIController implements Initializable {
         this.solutionText.setText(solution.getSolution());
         this.userElements.forEach(n -> n.setVisible(false));
         this.dataElements.forEach(n -> n.setVisible(false));
+        this.flightRecordElements.forEach(n -> n.setVisible(false));
         this.solutionElements.forEach(n -> n.setVisible(true));
     }
 
@@ -127,10 +172,17 @@ public final class ReportDetailsUIController implements Initializable {
             if (GridPane.getColumnIndex(n) == CLEARABLE_LABEL_COLUMN_INDEX)
                 ((Label) n).setText(EMPTY_STRING);
         });
+        this.flightRecordElements.forEach(n -> n.setVisible(false));
+        this.flightRecordChart.getData().clear();
+        this.flightRecordId = EMPTY_STRING;
         this.solutionElements.forEach(n -> {
             n.setVisible(false);
             if (n instanceof Text)
                 ((Text) n).setText(EMPTY_STRING);
         });
     }
+
+    private static double secondsFromDetection(final @NotNull FlightRecord record, final long timeMillis) {
+        return (timeMillis - record.getDetectionMillis()) / MILLIS_PER_SECOND;
+    }
 }
@@ -12,6 +12,8 @@ import io.github.dronesecurity.userapplication.domain.reporting.negligence.objec
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.DroneData;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.NegligenceActionForm;
 import io.github.dronesecurity.userapplication.domain.reporting.negligence.objects.Negligent;
+import io.github.dronesecurity.userapplication.domain.reporting.negligence.repo.NegligenceRepository;
+import io.github.dronesecurity.userapplication.infrastructure.reporting.negligence.repo.MongoNegligenceRepository;
 import io.github.dronesecurity.userapplication.utilities.user.UserAPIHelper;
 import io.vertx.ext.web.codec.BodyCodec;
 import javafx.application.Platform;
@@ -26,6 +28,7 @@ import javafx.scene.control.cell.TextFieldTableCell;
 
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -34,6 +37,8 @@ import java.util.function.Consumer;
  */
 public final class ReportsTableUIController<T extends NegligenceReport> implements Initializable {
 
+    private static final NegligenceRepository NEGLIGENCE_REPOSITORY = new MongoNegligenceRepository();
+
     @FXML private TableView<T> table;
     @FXML private TableColumn<T, Negligent> negligentColumn;
     @FXML private TableColumn<T, Assignee> assigneeColumn;
@@ -74,8 +79,16 @@ public final class ReportsTableUIController<T extends NegligenceReport> implemen
         this.negligentColumn.setCellValueFactory(value -> new SimpleObjectProperty<>(value.getValue().getNegligent()));
         this.negligentColumn.setReorderable(false);
 
-        final Consumer<DroneData> dataConsumer = data ->
-                Platform.runLater(() -> this.detailsController.updateDetails(data));
+        final Consumer<DroneData> dataConsumer = data -> {
+            Platform.runLater(() -> this.detailsController.updateDetails(data));
+            if (!data.getFlightRecordId().isEmpty())
+                CompletableFuture.supplyAsync(() ->
+                                NEGLIGENCE_REPOSITORY.retrieveFlightRecord(data.getFlightRecordId()))
+                        .thenAccept(record -> {
+                            if (record != null)
+                                Platform.runLater(() -> this.detailsController.updateDetails(record));
+                        });
+        };
 
         this.dataColumn.setCellFactory(ignored -> new NegligenceReportCell<>(dataConsumer));
         this.dataColumn.setCellValueFactory(value -> new SimpleObjectProperty<>(value.getValue().getData()));